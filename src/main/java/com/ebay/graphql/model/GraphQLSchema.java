@@ -1,12 +1,24 @@
 package com.ebay.graphql.model;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
 
-import com.ebay.graphql.Generated;
+import com.ebay.graphql.types.GraphQLFingerprint;
+import com.ebay.graphql.types.GraphQLInputObject;
+import com.ebay.graphql.types.GraphQLReference;
+import com.ebay.graphql.types.GraphQLSymbolTable;
 import com.ebay.graphql.types.GraphQLType;
 
 public class GraphQLSchema {
@@ -19,8 +31,17 @@ public class GraphQLSchema {
 	private Map<String, GraphQLType> mutation = new HashMap<>();
 	private Map<String, GraphQLType> subscription = new HashMap<>();
 
+	// Arguments of each operation, as decoded by the parser that added it.
+	// Operations added without them have none.
+	private Map<String, GraphQLInputObject> queryArguments = new HashMap<>();
+	private Map<String, GraphQLInputObject> mutationArguments = new HashMap<>();
+	private Map<String, GraphQLInputObject> subscriptionArguments = new HashMap<>();
+
+	// Interns type and field names, types are stored by the id of their name.
+	private final GraphQLSymbolTable symbols;
+
 	// Types tracks all Object, Scalar and Enum definitions in the schema.
-	private Map<String, GraphQLType> types = new HashMap<>();
+	private Map<String, GraphQLType> types;
 
 	// Tracks union definitions in the schema.
 	private Map<String, List<String>> unions = new HashMap<>();
@@ -28,27 +49,148 @@ public class GraphQLSchema {
 	private String queryTypeName;
 	private String mutationTypeName;
 	private String subscriptionTypeName;
+
+	// Everything a frozen schema holds, null unless frozen. Reached through a
+	// final field so that a frozen schema is safe to share without locking.
+	private final Frozen frozen;
+
+	// Taken on first use, dropped when the schema changes.
+	private volatile GraphQLFingerprint fingerprint;
+
+	public GraphQLSchema() {
+		symbols = new GraphQLSymbolTable();
+		types = new TypeTable(symbols);
+		frozen = null;
+	}
+
+	/**
+	 * Create a schema backed by the given maps. Used by
+	 * {@link GraphQLSchemaSnapshot} to hand out maps that decode their values on
+	 * demand.
+	 */
+	GraphQLSchema(Map<String, GraphQLType> query, Map<String, GraphQLType> mutation,
+			Map<String, GraphQLType> subscription, Map<String, GraphQLType> types, Map<String, List<String>> unions) {
+		this.query = query;
+		this.mutation = mutation;
+		this.subscription = subscription;
+		this.types = types;
+		this.unions = unions;
+		symbols = new GraphQLSymbolTable();
+		frozen = null;
+	}
+
+	/**
+	 * Create a frozen copy of a schema. It reads the symbol table of the schema
+	 * without adding to it, so references keep the ids they were given when they
+	 * were added.
+	 */
+	private GraphQLSchema(GraphQLSchema schema) {
+		frozen = new Frozen(schema);
+		symbols = frozen.symbols;
+		schemaQueryType = frozen.schemaQueryType;
+		schemaMutationType = frozen.schemaMutationType;
+		schemaSubscriptionType = frozen.schemaSubscriptionType;
+		query = frozen.query;
+		mutation = frozen.mutation;
+		subscription = frozen.subscription;
+		queryArguments = frozen.queryArguments;
+		mutationArguments = frozen.mutationArguments;
+		subscriptionArguments = frozen.subscriptionArguments;
+		types = frozen.types;
+		unions = frozen.unions;
+		queryTypeName = frozen.queryTypeName;
+		mutationTypeName = frozen.mutationTypeName;
+		subscriptionTypeName = frozen.subscriptionTypeName;
+	}
+
+	/**
+	 * Get a read-only copy of the schema for converting, for example by several
+	 * threads at once. Lazy types are resolved first. The copy is safe to share
+	 * between threads without locking, and its lookups allocate nothing: its
+	 * maps are open addressing tables that the getters return as they are, and
+	 * {@link #resolve(GraphQLReference)} is an array access.
+	 * 
+	 * The copy shares the type instances, which must not be changed anymore.
+	 * Changing this schema afterwards does not change the copy.
+	 * 
+	 * @return Frozen copy, or this schema if it is frozen.
+	 */
+	public GraphQLSchema freeze() {
+		return frozen != null ? this : new GraphQLSchema(this);
+	}
+
+	/**
+	 * Check if this schema is a frozen copy. Adding to a frozen schema or
+	 * changing its type names throws {@link UnsupportedOperationException}.
+	 * 
+	 * @return True if frozen.
+	 */
+	public boolean isFrozen() {
+		return frozen != null;
+	}
+
+	/**
+	 * Called before every change. Frozen schemas can't be changed, and the
+	 * fingerprint of others no longer holds.
+	 */
+	private void startChange() {
+		if (frozen != null) {
+			throw new UnsupportedOperationException("Frozen schemas can't be changed.");
+		}
+		fingerprint = null;
+	}
+
+	/**
+	 * Get the fingerprint of the schema, equal for equal schemas. It combines the
+	 * fingerprints of the operations, types and unions, with each kept by its
+	 * type, so it is taken once and then kept until the schema changes. Frozen
+	 * schemas keep theirs for good. Types and union lists changed in place
+	 * after the fingerprint was taken are not noticed, the same as for
+	 * {@link GraphQLType#getFingerprint()}. Lazy types are resolved.
+	 * 
+	 * @return Fingerprint.
+	 */
+	public GraphQLFingerprint getFingerprint() {
+		GraphQLFingerprint current = fingerprint;
+		if (current == null) {
+			current = GraphQLFingerprint.builder("schema").add(getSchemaQueryType()).add(getSchemaMutationType())
+					.add(getSchemaSubscriptionType()).addTypes(getQuerys()).addTypes(getMutations())
+					.addTypes(getSubscriptions()).addTypes(getTypes()).addLists(getUnions()).build();
+			fingerprint = current;
+		}
+		return current;
+	}
 	
 	public void addSchema(GraphQLSchema schema) {
 		
+		startChange();
+		// The arguments are taken over as they are.
 		Map<String, GraphQLType> mutations = schema.getMutations();
 		for (Map.Entry<String, GraphQLType> entry : mutations.entrySet()) {
-			addMutation(entry.getKey(), entry.getValue());
+			addOperation(mutation, mutationArguments, entry.getKey(), entry.getValue(),
+					schema.getMutationArguments(entry.getKey()));
 		}
 		
 		Map<String, GraphQLType> queries = schema.getQuerys();
 		for (Map.Entry<String, GraphQLType> entry : queries.entrySet()) {
-			addQuery(entry.getKey(), entry.getValue());
+			addOperation(query, queryArguments, entry.getKey(), entry.getValue(),
+					schema.getQueryArguments(entry.getKey()));
 		}
 		
 		Map<String, GraphQLType> subscriptions = schema.getSubscriptions();
 		for (Map.Entry<String, GraphQLType> entry : subscriptions.entrySet()) {
-			addSubscription(entry.getKey(), entry.getValue());
+			addOperation(subscription, subscriptionArguments, entry.getKey(), entry.getValue(),
+					schema.getSubscriptionArguments(entry.getKey()));
 		}
 		
-		Map<String, GraphQLType> types = schema.getTypes();
-		for (Map.Entry<String, GraphQLType> entry : types.entrySet()) {
-			addType(entry.getKey(), entry.getValue());
+		if (schema.types instanceof TypeTable) {
+			// Leave types that haven't been looked up yet unparsed.
+			typeTable().putAllUnresolved((TypeTable) schema.types);
+		} else {
+			Map<String, GraphQLType> types = schema.getTypes();
+			for (Map.Entry<String, GraphQLType> entry : types.entrySet()) {
+				addType(entry.getKey(), entry.getValue());
+			}
 		}
 		
 		Map<String, List<String>> unions = schema.getUnions();
@@ -58,101 +200,268 @@ public class GraphQLSchema {
 	}
 	
 	public String getQueryTypeName() {
-		return queryTypeName;
+		return frozen != null ? frozen.queryTypeName : queryTypeName;
 	}
 
 	public void setQueryTypeName(String queryTypeName) {
+		startChange();
 		this.queryTypeName = queryTypeName;
 	}
 
 	public String getMutationTypeName() {
-		return mutationTypeName;
+		return frozen != null ? frozen.mutationTypeName : mutationTypeName;
 	}
 
 	public void setMutationTypeName(String mutationTypeName) {
+		startChange();
 		this.mutationTypeName = mutationTypeName;
 	}
 
 	public String getSubscriptionTypeName() {
-		return subscriptionTypeName;
+		return frozen != null ? frozen.subscriptionTypeName : subscriptionTypeName;
 	}
 
 	public void setSubscriptionTypeName(String subscriptionTypeName) {
+		startChange();
 		this.subscriptionTypeName = subscriptionTypeName;
 	}
 
 	public String getSchemaQueryType() {
-		return schemaQueryType;
+		return frozen != null ? frozen.schemaQueryType : schemaQueryType;
 	}
 
 	public void setSchemaQueryType(String schemaQueryType) {
+		startChange();
 		this.schemaQueryType = schemaQueryType;
 	}
 
 	public String getSchemaMutationType() {
-		return schemaMutationType;
+		return frozen != null ? frozen.schemaMutationType : schemaMutationType;
 	}
 
 	public void setSchemaMutationType(String schemaMutationType) {
+		startChange();
 		this.schemaMutationType = schemaMutationType;
 	}
 
 	public String getSchemaSubscriptionType() {
-		return schemaSubscriptionType;
+		return frozen != null ? frozen.schemaSubscriptionType : schemaSubscriptionType;
 	}
 
 	public void setSchemaSubscriptionType(String schemaSubscriptionType) {
+		startChange();
 		this.schemaSubscriptionType = schemaSubscriptionType;
 	}
 
 	public void addQuery(String name, GraphQLType type) {
-		query.put(name, type);
+		addQuery(name, type, null);
+	}
+
+	/**
+	 * Add a query along with its arguments, as decoded from its name by a parser.
+	 * 
+	 * @param name      Full query name as defined in the schema.
+	 * @param type      Type the query returns.
+	 * @param arguments Arguments, or null if they were not decoded.
+	 */
+	public void addQuery(String name, GraphQLType type, GraphQLInputObject arguments) {
+		startChange();
+		addOperation(query, queryArguments, name, type, arguments);
 	}
 
 	public Map<String, GraphQLType> getQuerys() {
-		return Collections.unmodifiableMap(query);
+		return frozen != null ? frozen.query : Collections.unmodifiableMap(query);
+	}
+
+	/**
+	 * Get the arguments of a query, as decoded by the parser that added it.
+	 * Queries added without their arguments, for example those of a schema
+	 * loaded from a {@link GraphQLSchemaSnapshot}, have none; their arguments can
+	 * be decoded from the name with
+	 * {@link com.ebay.graphql.parser.GraphQLFieldDecoder#decodeArguments(String)}.
+	 * 
+	 * @param name Full query name as defined in the schema. (EG:
+	 *             {@code people(first: Int = 10, filter: PersonFilter)})
+	 * @return Non-null input object with a field per argument, in declaration
+	 *         order, or null if the query is unknown or was added without its
+	 *         arguments.
+	 */
+	public GraphQLInputObject getQueryArguments(String name) {
+		return queryArguments.get(name);
 	}
 
 	public void addMutation(String name, GraphQLType type) {
-		mutation.put(name, type);
+		addMutation(name, type, null);
+	}
+
+	/**
+	 * Add a mutation along with its arguments, as decoded from its name by a parser.
+	 * 
+	 * @param name      Full mutation name as defined in the schema.
+	 * @param type      Type the mutation returns.
+	 * @param arguments Arguments, or null if they were not decoded.
+	 */
+	public void addMutation(String name, GraphQLType type, GraphQLInputObject arguments) {
+		startChange();
+		addOperation(mutation, mutationArguments, name, type, arguments);
 	}
 
 	public Map<String, GraphQLType> getMutations() {
-		return Collections.unmodifiableMap(mutation);
+		return frozen != null ? frozen.mutation : Collections.unmodifiableMap(mutation);
+	}
+
+	/**
+	 * Get the arguments of a mutation. See {@link #getQueryArguments(String)}.
+	 * 
+	 * @param name Full mutation name as defined in the schema.
+	 * @return Arguments, or null if the mutation is unknown or was added without
+	 *         its arguments.
+	 */
+	public GraphQLInputObject getMutationArguments(String name) {
+		return mutationArguments.get(name);
 	}
 
 	public void addSubscription(String name, GraphQLType type) {
-		subscription.put(name, type);
+		addSubscription(name, type, null);
+	}
+
+	/**
+	 * Add a subscription along with its arguments, as decoded from its name by a parser.
+	 * 
+	 * @param name      Full subscription name as defined in the schema.
+	 * @param type      Type the subscription returns.
+	 * @param arguments Arguments, or null if they were not decoded.
+	 */
+	public void addSubscription(String name, GraphQLType type, GraphQLInputObject arguments) {
+		startChange();
+		addOperation(subscription, subscriptionArguments, name, type, arguments);
 	}
 
 	public Map<String, GraphQLType> getSubscriptions() {
-		return Collections.unmodifiableMap(subscription);
+		return frozen != null ? frozen.subscription : Collections.unmodifiableMap(subscription);
+	}
+
+	/**
+	 * Get the arguments of a subscription. See {@link #getQueryArguments(String)}.
+	 * 
+	 * @param name Full subscription name as defined in the schema.
+	 * @return Arguments, or null if the subscription is unknown or was added
+	 *         without its arguments.
+	 */
+	public GraphQLInputObject getSubscriptionArguments(String name) {
+		return subscriptionArguments.get(name);
+	}
+
+	private void addOperation(Map<String, GraphQLType> operations, Map<String, GraphQLInputObject> arguments,
+			String name, GraphQLType type, GraphQLInputObject operationArguments) {
+		symbols.internNames(type);
+		operations.put(name, type);
+		if (operationArguments != null) {
+			symbols.internNames(operationArguments);
+			arguments.put(name, operationArguments);
+		} else {
+			arguments.remove(name);
+		}
 	}
 
 	public void addType(String name, GraphQLType type) {
+		startChange();
+		symbols.internNames(type);
 		types.put(name, type);
 	}
 
+	/**
+	 * Add a type that is only created the first time it is looked up in
+	 * {@link #getTypes()}. Until then it counts as defined, but costs nothing
+	 * beyond the supplier.
+	 * 
+	 * @param name       Type name.
+	 * @param definition Supplies the type. Called at most once, possibly from
+	 *                   the thread of a later lookup.
+	 */
+	public void addLazyType(String name, Supplier<? extends GraphQLType> definition) {
+		startChange();
+		typeTable().putLazy(name, definition);
+	}
+
 	public Map<String, GraphQLType> getTypes() {
-		return Collections.unmodifiableMap(types);
+		return frozen != null ? frozen.types : Collections.unmodifiableMap(types);
+	}
+
+	/**
+	 * Get the symbol table that interns the type and field names of the schema.
+	 * 
+	 * @return Symbol table.
+	 */
+	public GraphQLSymbolTable getSymbolTable() {
+		return symbols;
+	}
+
+	/**
+	 * Get the id of a type name, for {@link #getType(int)}.
+	 * 
+	 * @param name Type name.
+	 * @return Id of the name, or -1 if the schema has never seen it.
+	 */
+	public int getTypeId(String name) {
+		return symbols.getId(name);
+	}
+
+	/**
+	 * Look up a type by the id of its name, without hashing the name.
+	 * 
+	 * @param id Id of the type name.
+	 * @return Type, or null if there is no type with that name.
+	 */
+	public GraphQLType getType(int id) {
+		if (frozen != null) {
+			return frozen.getType(id);
+		} else if (types instanceof TypeTable) {
+			return ((TypeTable) types).get(id);
+		}
+		return id < 0 || id >= symbols.size() ? null : types.get(symbols.getName(id));
+	}
+
+	/**
+	 * Look up the type a reference points to. References keep the id of the type
+	 * name from when they were added to the schema, so this is an array access.
+	 * Only a reference that was added to another schema since has its name
+	 * looked up in the symbol table.
+	 * 
+	 * @param reference Reference.
+	 * @return Referenced type, or null if it is not defined.
+	 */
+	public GraphQLType resolve(GraphQLReference reference) {
+		if (frozen != null || types instanceof TypeTable) {
+			return getType(reference.getTypeId(symbols));
+		}
+		return types.get(reference.getReferenceTypeName());
+	}
+
+	private TypeTable typeTable() {
+		if (!(types instanceof TypeTable)) {
+			TypeTable table = new TypeTable(symbols);
+			table.putAll(types);
+			types = table;
+		}
+		return (TypeTable) types;
 	}
 
 	public void addUnion(String name, List<String> types) {
+		startChange();
 		unions.put(name, types);
 	}
 
 	public Map<String, List<String>> getUnions() {
-		return Collections.unmodifiableMap(unions);
+		return frozen != null ? frozen.unions : Collections.unmodifiableMap(unions);
 	}
 
-	@Generated
 	@Override
 	public int hashCode() {
-		return Objects.hash(mutation, query, schemaMutationType, schemaQueryType, schemaSubscriptionType, subscription,
-				types, unions);
+		return Objects.hash(getMutations(), getQuerys(), getSchemaMutationType(), getSchemaQueryType(),
+				getSchemaSubscriptionType(), getSubscriptions(), getTypes(), getUnions());
 	}
 
-	@Generated
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
@@ -162,20 +471,361 @@ public class GraphQLSchema {
 		if (getClass() != obj.getClass())
 			return false;
 		GraphQLSchema other = (GraphQLSchema) obj;
-		return Objects.equals(mutation, other.mutation) && Objects.equals(query, other.query)
-				&& Objects.equals(schemaMutationType, other.schemaMutationType)
-				&& Objects.equals(schemaQueryType, other.schemaQueryType)
-				&& Objects.equals(schemaSubscriptionType, other.schemaSubscriptionType)
-				&& Objects.equals(subscription, other.subscription) && Objects.equals(types, other.types)
-				&& Objects.equals(unions, other.unions);
+		return Objects.equals(getMutations(), other.getMutations()) && Objects.equals(getQuerys(), other.getQuerys())
+				&& Objects.equals(getSchemaMutationType(), other.getSchemaMutationType())
+				&& Objects.equals(getSchemaQueryType(), other.getSchemaQueryType())
+				&& Objects.equals(getSchemaSubscriptionType(), other.getSchemaSubscriptionType())
+				&& Objects.equals(getSubscriptions(), other.getSubscriptions())
+				&& Objects.equals(getTypes(), other.getTypes()) && Objects.equals(getUnions(), other.getUnions());
 	}
 
-	@Generated
 	@Override
 	public String toString() {
-		return "GraphQLSchema [schemaQueryType=" + schemaQueryType + ", schemaMutationType=" + schemaMutationType
-				+ ", schemaSubscriptionType=" + schemaSubscriptionType + ", query=" + query + ", mutation=" + mutation
-				+ ", subscription=" + subscription + ", types=" + types + ", unions=" + unions + "]";
+		return "GraphQLSchema [schemaQueryType=" + getSchemaQueryType() + ", schemaMutationType="
+				+ getSchemaMutationType() + ", schemaSubscriptionType=" + getSchemaSubscriptionType() + ", query="
+				+ getQuerys() + ", mutation=" + getMutations() + ", subscription=" + getSubscriptions() + ", types="
+				+ getTypes() + ", unions=" + getUnions() + "]";
+	}
+
+	/**
+	 * Read-only map of a frozen {@link GraphQLSchema}. Keys are found through an
+	 * open addressing table of positions, so a lookup hashes the key (Strings cache
+	 * their hash) and compares it to the keys in its probe sequence, without
+	 * allocating. Iterates in the order of the map it was copied from.
+	 *
+	 * @param <V> Value type.
+	 */
+	static final class FrozenMap<V> extends AbstractMap<String, V> {
+
+		private final String[] keys;
+		private final Object[] values;
+		// Position of a key plus one, 0 for an empty slot. Never more than half full.
+		private final int[] slots;
+		private final Set<Map.Entry<String, V>> entrySet;
+
+		FrozenMap(Map<String, ? extends V> map) {
+
+			int size = map.size();
+			keys = new String[size];
+			values = new Object[size];
+			slots = new int[Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1];
+			List<Map.Entry<String, V>> entries = new ArrayList<>(size);
+
+			int position = 0;
+			for (Map.Entry<String, ? extends V> entry : map.entrySet()) {
+				keys[position] = entry.getKey();
+				values[position] = entry.getValue();
+				entries.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+
+				int slot = firstSlot(entry.getKey());
+				while (slots[slot] != 0) {
+					slot = (slot + 1) & (slots.length - 1);
+				}
+				slots[slot] = ++position;
+			}
+
+			List<Map.Entry<String, V>> entryList = Collections.unmodifiableList(entries);
+			entrySet = new AbstractSet<Map.Entry<String, V>>() {
+				@Override
+				public Iterator<Map.Entry<String, V>> iterator() {
+					return entryList.iterator();
+				}
+
+				@Override
+				public int size() {
+					return entryList.size();
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return keys.length;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return find(key) >= 0;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public V get(Object key) {
+			int position = find(key);
+			return position < 0 ? null : (V) values[position];
+		}
+
+		@Override
+		public Set<Map.Entry<String, V>> entrySet() {
+			return entrySet;
+		}
+
+		private int find(Object key) {
+
+			if (key == null) {
+				return -1;
+			}
+
+			for (int slot = firstSlot(key);; slot = (slot + 1) & (slots.length - 1)) {
+				int position = slots[slot] - 1;
+				if (position < 0) {
+					return -1;
+				} else if (keys[position].equals(key)) {
+					return position;
+				}
+			}
+		}
+
+		private int firstSlot(Object key) {
+			int hash = key.hashCode();
+			return (hash ^ (hash >>> 16)) & (slots.length - 1);
+		}
 	}
 
+	/**
+	 * State of a frozen schema. Every field is final and nothing changes after
+	 * construction, so anything reached through it is visible to every thread
+	 * that can see the schema.
+	 */
+	private static final class Frozen {
+
+		private final String schemaQueryType;
+		private final String schemaMutationType;
+		private final String schemaSubscriptionType;
+		private final String queryTypeName;
+		private final String mutationTypeName;
+		private final String subscriptionTypeName;
+
+		private final FrozenMap<GraphQLType> query;
+		private final FrozenMap<GraphQLType> mutation;
+		private final FrozenMap<GraphQLType> subscription;
+		private final FrozenMap<GraphQLInputObject> queryArguments;
+		private final FrozenMap<GraphQLInputObject> mutationArguments;
+		private final FrozenMap<GraphQLInputObject> subscriptionArguments;
+		private final FrozenMap<GraphQLType> types;
+		private final FrozenMap<List<String>> unions;
+
+		// Symbol table of the source schema, or a table of its own if the source
+		// doesn't store its types by id.
+		private final GraphQLSymbolTable symbols;
+
+		// Types by the id of their name in the symbol table.
+		private final GraphQLType[] typesById;
+
+		Frozen(GraphQLSchema schema) {
+
+			schemaQueryType = schema.schemaQueryType;
+			schemaMutationType = schema.schemaMutationType;
+			schemaSubscriptionType = schema.schemaSubscriptionType;
+			queryTypeName = schema.queryTypeName;
+			mutationTypeName = schema.mutationTypeName;
+			subscriptionTypeName = schema.subscriptionTypeName;
+
+			query = new FrozenMap<>(schema.query);
+			mutation = new FrozenMap<>(schema.mutation);
+			subscription = new FrozenMap<>(schema.subscription);
+			queryArguments = new FrozenMap<>(schema.queryArguments);
+			mutationArguments = new FrozenMap<>(schema.mutationArguments);
+			subscriptionArguments = new FrozenMap<>(schema.subscriptionArguments);
+			// Resolves lazy types.
+			types = new FrozenMap<>(schema.types);
+
+			Map<String, List<String>> unionLists = new LinkedHashMap<>();
+			for (Map.Entry<String, List<String>> union : schema.unions.entrySet()) {
+				unionLists.put(union.getKey(), union.getValue() == null ? null
+						: Collections.unmodifiableList(new ArrayList<>(union.getValue())));
+			}
+			unions = new FrozenMap<>(unionLists);
+
+			if (schema.types instanceof TypeTable) {
+				// Every type name is in the table already, nothing is added to it.
+				symbols = schema.symbols;
+			} else {
+				// Decoded types are only reachable from here, so their
+				// references can be given ids in a table of this copy.
+				symbols = new GraphQLSymbolTable();
+				for (String name : types.keySet()) {
+					symbols.intern(name);
+				}
+				for (GraphQLType type : types.values()) {
+					symbols.internNames(type);
+				}
+				for (Map<String, GraphQLType> operations : Arrays.asList(query, mutation, subscription)) {
+					for (GraphQLType type : operations.values()) {
+						symbols.internNames(type);
+					}
+				}
+			}
+
+			int[] ids = new int[types.size()];
+			int position = 0;
+			int size = 0;
+			for (String name : types.keySet()) {
+				ids[position] = symbols.getId(name);
+				size = Math.max(size, ids[position++] + 1);
+			}
+			typesById = new GraphQLType[size];
+			position = 0;
+			for (GraphQLType type : types.values()) {
+				typesById[ids[position++]] = type;
+			}
+		}
+
+		GraphQLType getType(int id) {
+			return id < 0 || id >= typesById.length ? null : typesById[id];
+		}
+	}
+
+	/**
+	 * Type map stored in an array indexed by the symbol id of the type name.
+	 * Values may be supplied the first time they are looked up. Lookups from
+	 * several threads are safe as long as nothing is added at the same time,
+	 * same as a {@link HashMap}. Iterates in the order the names were interned.
+	 */
+	private static final class TypeTable extends AbstractMap<String, GraphQLType> {
+
+		// Stands in for a null type, so that null slots mean absent.
+		private static final Object NULL = new Object();
+
+		private final GraphQLSymbolTable symbols;
+		private Object[] entries = new Object[16];
+		private int size;
+
+		TypeTable(GraphQLSymbolTable symbols) {
+			this.symbols = symbols;
+		}
+
+		/**
+		 * Add a type that is supplied on first lookup.
+		 *
+		 * @param name       Type name.
+		 * @param definition Supplies the type. Called at most once.
+		 */
+		void putLazy(String name, Supplier<? extends GraphQLType> definition) {
+			set(symbols.intern(name), new Deferred(definition));
+		}
+
+		/**
+		 * Copy the entries of another table without resolving them. Both tables
+		 * then share the deferred types, which are still only supplied once.
+		 *
+		 * @param other Table to copy.
+		 */
+		void putAllUnresolved(TypeTable other) {
+			for (int id = 0; id < other.entries.length; id++) {
+				Object entry = other.entries[id];
+				if (entry != null) {
+					if (!(entry instanceof Deferred)) {
+						symbols.internNames(entry == NULL ? null : (GraphQLType) entry);
+					}
+					set(symbols.intern(other.symbols.getName(id)), entry);
+				}
+			}
+		}
+
+		GraphQLType get(int id) {
+			Object[] current = entries;
+			return id < 0 || id >= current.length ? null : resolve(current[id]);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			int id = key instanceof String ? symbols.getId((String) key) : -1;
+			return id >= 0 && id < entries.length && entries[id] != null;
+		}
+
+		@Override
+		public GraphQLType get(Object key) {
+			return key instanceof String ? get(symbols.getId((String) key)) : null;
+		}
+
+		@Override
+		public GraphQLType put(String key, GraphQLType value) {
+			return resolve(set(symbols.intern(key), value == null ? NULL : value));
+		}
+
+		private Object set(int id, Object entry) {
+			if (id >= entries.length) {
+				entries = Arrays.copyOf(entries, Math.max(id + 1, entries.length * 2));
+			}
+			Object previous = entries[id];
+			entries[id] = entry;
+			if (previous == null) {
+				size++;
+			}
+			return previous;
+		}
+
+		@Override
+		public Set<Map.Entry<String, GraphQLType>> entrySet() {
+			return new AbstractSet<Map.Entry<String, GraphQLType>>() {
+				@Override
+				public Iterator<Map.Entry<String, GraphQLType>> iterator() {
+					return new Iterator<Map.Entry<String, GraphQLType>>() {
+
+						private int next = advance(0);
+
+						@Override
+						public boolean hasNext() {
+							return next < entries.length;
+						}
+
+						@Override
+						public Map.Entry<String, GraphQLType> next() {
+							if (!hasNext()) {
+								throw new NoSuchElementException();
+							}
+							int id = next;
+							next = advance(id + 1);
+							return new SimpleImmutableEntry<>(symbols.getName(id), resolve(entries[id]));
+						}
+
+						private int advance(int id) {
+							while (id < entries.length && entries[id] == null) {
+								id++;
+							}
+							return id;
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+
+		private GraphQLType resolve(Object value) {
+			if (value instanceof Deferred) {
+				return ((Deferred) value).get(symbols);
+			}
+			return value == NULL ? null : (GraphQLType) value;
+		}
+
+		private static final class Deferred {
+
+			private Supplier<? extends GraphQLType> definition;
+			private GraphQLType type;
+
+			Deferred(Supplier<? extends GraphQLType> definition) {
+				this.definition = definition;
+			}
+
+			synchronized GraphQLType get(GraphQLSymbolTable symbols) {
+				if (definition != null) {
+					type = definition.get();
+					symbols.internNames(type);
+					// Let go of whatever the supplier holds on to.
+					definition = null;
+				}
+				return type;
+			}
+		}
+	}
 }
@@ -0,0 +1,706 @@
+package com.ebay.graphql.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+import com.ebay.graphql.types.GraphQLEnum;
+import com.ebay.graphql.types.GraphQLInputObject;
+import com.ebay.graphql.types.GraphQLInputValue;
+import com.ebay.graphql.types.GraphQLList;
+import com.ebay.graphql.types.GraphQLList.Dimensionality;
+import com.ebay.graphql.types.GraphQLObject;
+import com.ebay.graphql.types.GraphQLReference;
+import com.ebay.graphql.types.GraphQLScalar;
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+import com.ebay.graphql.types.GraphQLType;
+
+/**
+ * Binary snapshot of a parsed {@link GraphQLSchema}, so a schema can be loaded
+ * without parsing its text again.
+ *
+ * A snapshot starts with a fixed size header, followed by the type records, a
+ * sorted name index per section (queries, mutations, subscriptions, types and
+ * unions) and a string table. {@link #load(Path)} memory maps the file and only
+ * reads the header; a definition is decoded the first time it is looked up and
+ * then kept. Iterating over a section, or comparing schemas, decodes all of
+ * it.
+ *
+ * Loading checks that the header, the name indexes and the string table lie
+ * within the bytes, so a truncated file fails with an {@link IOException}.
+ * A corrupt record fails with an {@link IllegalStateException} when it is
+ * decoded.
+ *
+ * All numbers are big endian ints, strings are UTF-8.
+ */
+public final class GraphQLSchemaSnapshot {
+
+	private static final int MAGIC = 0x47514C53; // "GQLS"
+	private static final int VERSION = 1;
+
+	private static final int SECTIONS = 5;
+	private static final int QUERIES = 0;
+	private static final int MUTATIONS = 1;
+	private static final int SUBSCRIPTIONS = 2;
+	private static final int TYPES = 3;
+	private static final int UNIONS = 4;
+
+	// Magic, version, string table offset and count, section count and index
+	// offset pairs, then the ids of the six root type names.
+	private static final int SECTIONS_OFFSET = 16;
+	private static final int NAMES_OFFSET = SECTIONS_OFFSET + SECTIONS * 8;
+	private static final int HEADER_SIZE = NAMES_OFFSET + 6 * 4;
+
+	private static final int TAG_NULL = 0;
+	private static final int TAG_SCALAR = 1;
+	private static final int TAG_REFERENCE = 2;
+	private static final int TAG_LIST = 3;
+	private static final int TAG_OBJECT = 4;
+	private static final int TAG_ENUM = 5;
+	private static final int TAG_INPUT_OBJECT = 6;
+
+	private static final int FLAG_NULLABLE = 1;
+	private static final int FLAG_INNER_DIMENSION_NULLABLE = 2;
+
+	// The dimension count of a list is stored in a signed byte.
+	private static final int MAX_LIST_DIMENSIONS = Byte.MAX_VALUE + 1;
+
+	private GraphQLSchemaSnapshot() {
+	}
+
+	/**
+	 * Write a snapshot of a schema to a file, replacing any existing file.
+	 *
+	 * @param schema Schema to write.
+	 * @param path   File to write to.
+	 * @throws IOException if the file can't be written.
+	 */
+	public static void write(GraphQLSchema schema, Path path) throws IOException {
+		try (OutputStream outputStream = Files.newOutputStream(path)) {
+			write(schema, outputStream);
+		}
+	}
+
+	/**
+	 * Write a snapshot of a schema to a stream. The stream is not closed.
+	 *
+	 * @param schema       Schema to write.
+	 * @param outputStream Stream to write to.
+	 * @throws IOException              if the stream fails.
+	 * @throws IllegalArgumentException if the schema is null or contains a type
+	 *                                  the snapshot format doesn't support.
+	 */
+	public static void write(GraphQLSchema schema, OutputStream outputStream) throws IOException {
+
+		if (schema == null || outputStream == null) {
+			throw new IllegalArgumentException("Schema and output stream must not be null.");
+		}
+
+		new Writer().write(schema, outputStream);
+	}
+
+	/**
+	 * Memory map a snapshot file. The file stays mapped while the schema is in
+	 * use and must not be modified.
+	 *
+	 * @param path Snapshot file.
+	 * @return Schema whose definitions are decoded on first access.
+	 * @throws IOException if the file can't be mapped or isn't a snapshot.
+	 */
+	public static GraphQLSchema load(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return load(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Load a snapshot from the remaining bytes of a buffer. The buffer is read
+	 * on demand and must not be modified while the schema is in use.
+	 *
+	 * @param buffer Snapshot bytes.
+	 * @return Schema whose definitions are decoded on first access.
+	 * @throws IOException if the bytes aren't a snapshot.
+	 */
+	public static GraphQLSchema load(ByteBuffer buffer) throws IOException {
+
+		if (buffer == null) {
+			throw new IllegalArgumentException("Buffer must not be null.");
+		}
+
+		return new Reader(buffer.slice()).toSchema();
+	}
+
+	private static final class Writer {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		private final DataOutputStream out = new DataOutputStream(bytes);
+		private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+		void write(GraphQLSchema schema, OutputStream outputStream) throws IOException {
+
+			int[][] sections = new int[SECTIONS][];
+			sections[QUERIES] = writeTypes(schema.getQuerys());
+			sections[MUTATIONS] = writeTypes(schema.getMutations());
+			sections[SUBSCRIPTIONS] = writeTypes(schema.getSubscriptions());
+			sections[TYPES] = writeTypes(schema.getTypes());
+			sections[UNIONS] = writeUnions(schema.getUnions());
+
+			int[] names = new int[] { string(schema.getSchemaQueryType()), string(schema.getSchemaMutationType()),
+					string(schema.getSchemaSubscriptionType()), string(schema.getQueryTypeName()),
+					string(schema.getMutationTypeName()), string(schema.getSubscriptionTypeName()) };
+
+			int stringTableOffset = writeStrings();
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putInt(VERSION).putInt(stringTableOffset).putInt(strings.size());
+			for (int[] section : sections) {
+				header.putInt(section[0]).putInt(section[1]);
+			}
+			for (int name : names) {
+				header.putInt(name);
+			}
+
+			outputStream.write(header.array());
+			bytes.writeTo(outputStream);
+			outputStream.flush();
+		}
+
+		/**
+		 * Write the records of a section, then its index.
+		 *
+		 * @return Entry count and index offset.
+		 */
+		private int[] writeTypes(Map<String, GraphQLType> types) throws IOException {
+
+			Map<String, GraphQLType> sorted = new TreeMap<>(types);
+			int[] offsets = new int[sorted.size()];
+			int i = 0;
+			for (GraphQLType type : sorted.values()) {
+				offsets[i++] = offset();
+				writeType(type);
+			}
+			return writeIndex(sorted.keySet(), offsets);
+		}
+
+		private int[] writeUnions(Map<String, List<String>> unions) throws IOException {
+
+			Map<String, List<String>> sorted = new TreeMap<>(unions);
+			int[] offsets = new int[sorted.size()];
+			int i = 0;
+			for (List<String> members : sorted.values()) {
+				offsets[i++] = offset();
+				writeStringList(members);
+			}
+			return writeIndex(sorted.keySet(), offsets);
+		}
+
+		private int[] writeIndex(Set<String> names, int[] offsets) throws IOException {
+			int indexOffset = offset();
+			int i = 0;
+			for (String name : names) {
+				out.writeInt(string(name));
+				out.writeInt(offsets[i++]);
+			}
+			return new int[] { names.size(), indexOffset };
+		}
+
+		private void writeType(GraphQLType type) throws IOException {
+
+			if (type == null) {
+				out.writeByte(TAG_NULL);
+				return;
+			}
+
+			int flags = type.isNullable() ? FLAG_NULLABLE : 0;
+
+			if (type instanceof GraphQLScalar) {
+				out.writeByte(TAG_SCALAR);
+				out.writeByte(flags);
+				out.writeByte(((GraphQLScalar) type).getScalarValue().ordinal());
+			} else if (type instanceof GraphQLReference) {
+				out.writeByte(TAG_REFERENCE);
+				out.writeByte(flags);
+				out.writeInt(string(((GraphQLReference) type).getReferenceTypeName()));
+			} else if (type instanceof GraphQLList) {
+				GraphQLList list = (GraphQLList) type;
+				if (list.getDimensionality() != Dimensionality.MULTI || list.isInnerDimensionNullable()) {
+					flags |= FLAG_INNER_DIMENSION_NULLABLE;
+				}
+				if (list.getDimensions() > MAX_LIST_DIMENSIONS) {
+					throw new IllegalArgumentException(String.format(
+							"Lists of more than %d dimensions can't be written to a snapshot.", MAX_LIST_DIMENSIONS));
+				}
+				out.writeByte(TAG_LIST);
+				out.writeByte(flags);
+				// Dimensions after the first; SINGLE and MULTI lists write their ordinal.
+				out.writeByte(list.getDimensionality() == null ? -1 : list.getDimensions() - 1);
+				for (int dimension = 2; dimension < list.getDimensions(); dimension++) {
+					out.writeByte(list.isDimensionNullable(dimension) ? FLAG_NULLABLE : 0);
+				}
+				writeType(list.getType());
+			} else if (type instanceof GraphQLObject) {
+				Map<String, GraphQLType> fields = new TreeMap<>(((GraphQLObject) type).getFields());
+				out.writeByte(TAG_OBJECT);
+				out.writeByte(flags);
+				out.writeInt(fields.size());
+				for (Map.Entry<String, GraphQLType> field : fields.entrySet()) {
+					out.writeInt(string(field.getKey()));
+					writeType(field.getValue());
+				}
+			} else if (type instanceof GraphQLEnum) {
+				out.writeByte(TAG_ENUM);
+				out.writeByte(flags);
+				writeStringList(((GraphQLEnum) type).getEnumValues());
+			} else if (type instanceof GraphQLInputObject) {
+				// Declaration order, which input objects keep.
+				Map<String, GraphQLInputValue> inputFields = ((GraphQLInputObject) type).getFields();
+				out.writeByte(TAG_INPUT_OBJECT);
+				out.writeByte(flags);
+				out.writeInt(inputFields.size());
+				for (GraphQLInputValue inputField : inputFields.values()) {
+					out.writeInt(string(inputField.getName()));
+					out.writeInt(string(inputField.getDefaultValue()));
+					writeType(inputField.getType());
+				}
+			} else {
+				throw new IllegalArgumentException(
+						String.format("Type [%s] can't be written to a snapshot.", type.getClass().getName()));
+			}
+		}
+
+		private void writeStringList(List<String> values) throws IOException {
+			if (values == null) {
+				out.writeInt(-1);
+				return;
+			}
+			out.writeInt(values.size());
+			for (String value : values) {
+				out.writeInt(string(value));
+			}
+		}
+
+		/**
+		 * Write the string offsets, then the strings.
+		 *
+		 * @return String table offset.
+		 */
+		private int writeStrings() throws IOException {
+
+			int tableOffset = offset();
+			int stringOffset = tableOffset + strings.size() * 4;
+			List<byte[]> encoded = new ArrayList<>(strings.size());
+			for (String value : strings.keySet()) {
+				byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+				encoded.add(utf8);
+				out.writeInt(stringOffset);
+				stringOffset += 4 + utf8.length;
+			}
+			for (byte[] utf8 : encoded) {
+				out.writeInt(utf8.length);
+				out.write(utf8);
+			}
+			return tableOffset;
+		}
+
+		private int string(String value) {
+			if (value == null) {
+				return -1;
+			}
+			return strings.computeIfAbsent(value, key -> strings.size());
+		}
+
+		private int offset() {
+			return HEADER_SIZE + out.size();
+		}
+	}
+
+	private static final class Reader {
+
+		private final ByteBuffer buffer;
+		private final int stringTableOffset;
+		private final String[] strings;
+
+		Reader(ByteBuffer buffer) throws IOException {
+
+			if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+				throw new IOException("Not a GraphQL schema snapshot.");
+			} else if (buffer.getInt(4) != VERSION) {
+				throw new IOException(String.format("Unsupported snapshot version [%d].", buffer.getInt(4)));
+			}
+
+			this.buffer = buffer;
+			this.stringTableOffset = buffer.getInt(8);
+			int stringCount = buffer.getInt(12);
+			if (stringCount < 0 || stringTableOffset < HEADER_SIZE
+					|| (long) stringTableOffset + stringCount * 4L > buffer.limit()) {
+				throw new IOException("Snapshot string table is out of bounds.");
+			}
+			this.strings = new String[stringCount];
+			// Strings are written one after the other, so a truncated file cuts off
+			// the last one.
+			if (stringCount > 0) {
+				try {
+					string(stringCount - 1);
+				} catch (IllegalStateException e) {
+					throw new IOException("Snapshot string table is out of bounds.", e);
+				}
+			}
+
+			// Records and indexes come before the string table.
+			for (int section = 0; section < SECTIONS; section++) {
+				int count = buffer.getInt(SECTIONS_OFFSET + section * 8);
+				int indexOffset = buffer.getInt(SECTIONS_OFFSET + section * 8 + 4);
+				if (count < 0 || indexOffset < HEADER_SIZE || (long) indexOffset + count * 8L > stringTableOffset) {
+					throw new IOException(String.format("Snapshot section [%d] is out of bounds.", section));
+				}
+			}
+			for (int name = 0; name < 6; name++) {
+				int id = buffer.getInt(NAMES_OFFSET + name * 4);
+				if (id < -1 || id >= stringCount) {
+					throw new IOException(String.format("Snapshot string id [%d] is out of bounds.", id));
+				}
+			}
+		}
+
+		GraphQLSchema toSchema() throws IOException {
+
+			GraphQLSchema schema = new GraphQLSchema(section(QUERIES, this::readType),
+					section(MUTATIONS, this::readType), section(SUBSCRIPTIONS, this::readType),
+					section(TYPES, this::readType), section(UNIONS, offset -> readStringList(new int[] { offset })));
+
+			try {
+				schema.setSchemaQueryType(string(buffer.getInt(NAMES_OFFSET)));
+				schema.setSchemaMutationType(string(buffer.getInt(NAMES_OFFSET + 4)));
+				schema.setSchemaSubscriptionType(string(buffer.getInt(NAMES_OFFSET + 8)));
+				schema.setQueryTypeName(string(buffer.getInt(NAMES_OFFSET + 12)));
+				schema.setMutationTypeName(string(buffer.getInt(NAMES_OFFSET + 16)));
+				schema.setSubscriptionTypeName(string(buffer.getInt(NAMES_OFFSET + 20)));
+			} catch (IllegalStateException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+			return schema;
+		}
+
+		private <V> Map<String, V> section(int section, IntFunction<V> record) {
+			int count = buffer.getInt(SECTIONS_OFFSET + section * 8);
+			int indexOffset = buffer.getInt(SECTIONS_OFFSET + section * 8 + 4);
+			return new SnapshotMap<>(count, i -> string(buffer.getInt(indexOffset + i * 8)),
+					i -> record.apply(checkOffset(buffer.getInt(indexOffset + i * 8 + 4), 1)));
+		}
+
+		/**
+		 * Check that a number of bytes at an offset are part of the records.
+		 *
+		 * @return The offset.
+		 * @throws IllegalStateException if they are not.
+		 */
+		private int checkOffset(int offset, long length) {
+			if (offset < HEADER_SIZE || (long) offset + length > stringTableOffset) {
+				throw new IllegalStateException(String.format("Snapshot offset [%d] is out of bounds.", offset));
+			}
+			return offset;
+		}
+
+		private GraphQLType readType(int offset) {
+			return readType(new int[] { offset });
+		}
+
+		/**
+		 * Decode the type record at a position and move the position past it.
+		 */
+		private GraphQLType readType(int[] position) {
+
+			int tag = readByte(position);
+			if (tag == TAG_NULL) {
+				return null;
+			}
+			int flags = readByte(position);
+
+			GraphQLType type;
+			switch (tag) {
+			case TAG_SCALAR:
+				int scalar = readByte(position);
+				if (scalar < 0 || scalar >= GraphQLScalarValue.values().length) {
+					throw new IllegalStateException(
+							String.format("Unknown scalar [%d] at snapshot offset [%d].", scalar, position[0] - 1));
+				}
+				type = new GraphQLScalar(GraphQLScalarValue.values()[scalar]);
+				break;
+			case TAG_REFERENCE:
+				type = new GraphQLReference(string(readInt(position)));
+				break;
+			case TAG_LIST:
+				int dimensions = readByte(position) + 1;
+				if (dimensions < 0) {
+					throw new IllegalStateException(String.format("Invalid list dimensions [%d] at snapshot offset [%d].",
+							dimensions, position[0] - 1));
+				}
+				int firstDimensionFlags = position[0];
+				position[0] += Math.max(dimensions - 2, 0);
+				checkOffset(firstDimensionFlags, position[0] - firstDimensionFlags);
+				GraphQLList list = dimensions == 0 ? new GraphQLList(readType(position), (Dimensionality) null)
+						: new GraphQLList(readType(position), dimensions);
+				if ((flags & FLAG_INNER_DIMENSION_NULLABLE) == 0) {
+					list.makeInnerDimensionNonNullable();
+				}
+				for (int dimension = 2; dimension < dimensions; dimension++) {
+					if ((buffer.get(firstDimensionFlags + dimension - 2) & FLAG_NULLABLE) == 0) {
+						list.makeDimensionNonNullable(dimension);
+					}
+				}
+				type = list;
+				break;
+			case TAG_OBJECT:
+				GraphQLObject object = new GraphQLObject();
+				int fieldCount = readInt(position);
+				for (int i = 0; i < fieldCount; i++) {
+					String name = string(readInt(position));
+					object.addField(name, readType(position));
+				}
+				type = object;
+				break;
+			case TAG_ENUM:
+				GraphQLEnum graphQLEnum = new GraphQLEnum();
+				for (String value : readStringList(position)) {
+					graphQLEnum.addEnumValue(value);
+				}
+				type = graphQLEnum;
+				break;
+			case TAG_INPUT_OBJECT:
+				GraphQLInputObject inputObject = new GraphQLInputObject();
+				int inputFieldCount = readInt(position);
+				for (int i = 0; i < inputFieldCount; i++) {
+					String name = string(readInt(position));
+					String defaultValue = string(readInt(position));
+					inputObject.addField(new GraphQLInputValue(name, readType(position), defaultValue));
+				}
+				type = inputObject;
+				break;
+			default:
+				throw new IllegalStateException(
+						String.format("Unknown type tag [%d] at snapshot offset [%d].", tag, position[0] - 2));
+			}
+
+			if ((flags & FLAG_NULLABLE) == 0) {
+				type.makeNonNullable();
+			}
+			return type;
+		}
+
+		private List<String> readStringList(int[] position) {
+			int count = readInt(position);
+			if (count < 0) {
+				return null;
+			}
+			checkOffset(position[0], count * 4L);
+			List<String> values = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				values.add(string(readInt(position)));
+			}
+			return values;
+		}
+
+		private int readByte(int[] position) {
+			int value = buffer.get(checkOffset(position[0], 1));
+			position[0]++;
+			return value;
+		}
+
+		private int readInt(int[] position) {
+			int value = buffer.getInt(checkOffset(position[0], 4));
+			position[0] += 4;
+			return value;
+		}
+
+		/**
+		 * Decode a string from the string table. Strings are immutable, so a racy
+		 * cache only costs the occasional extra decode.
+		 */
+		private String string(int id) {
+
+			if (id < 0) {
+				return null;
+			} else if (id >= strings.length) {
+				throw new IllegalStateException(String.format("Snapshot string id [%d] is out of bounds.", id));
+			}
+
+			String value = strings[id];
+			if (value == null) {
+				int offset = buffer.getInt(stringTableOffset + id * 4);
+				int length = offset < stringTableOffset || offset > buffer.limit() - 4 ? -1 : buffer.getInt(offset);
+				if (length < 0 || (long) offset + 4 + length > buffer.limit()) {
+					throw new IllegalStateException(String.format("Snapshot string [%d] is out of bounds.", id));
+				}
+				byte[] utf8 = new byte[length];
+				ByteBuffer view = buffer.duplicate();
+				view.position(offset + 4);
+				view.get(utf8);
+				value = new String(utf8, StandardCharsets.UTF_8);
+				strings[id] = value;
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * View of a snapshot section, sorted by name. Values are decoded on first
+	 * access. Putting a value copies the map into a {@link HashMap} first, so a
+	 * loaded schema can still be merged into.
+	 */
+	private static final class SnapshotMap<V> extends AbstractMap<String, V> {
+
+		private static final Object NULL = new Object();
+
+		private final int size;
+		private final IntFunction<String> keys;
+		private final IntFunction<V> values;
+		private final AtomicReferenceArray<Object> decoded;
+		// Set by the first put. Reads may come from any thread, puts must not
+		// run at the same time as other access, same as for a HashMap.
+		private volatile Map<String, V> modified;
+
+		SnapshotMap(int size, IntFunction<String> keys, IntFunction<V> values) {
+			this.size = size;
+			this.keys = keys;
+			this.values = values;
+			this.decoded = new AtomicReferenceArray<>(size);
+		}
+
+		@Override
+		public int size() {
+			Map<String, V> current = modified;
+			return current != null ? current.size() : size;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			Map<String, V> current = modified;
+			return current != null ? current.containsKey(key) : indexOf(key) >= 0;
+		}
+
+		@Override
+		public V get(Object key) {
+			Map<String, V> current = modified;
+			if (current != null) {
+				return current.get(key);
+			}
+			int index = indexOf(key);
+			return index < 0 ? null : value(index);
+		}
+
+		@Override
+		public V put(String key, V value) {
+			return modifiable().put(key, value);
+		}
+
+		@Override
+		public Set<Map.Entry<String, V>> entrySet() {
+
+			Map<String, V> current = modified;
+			if (current != null) {
+				return current.entrySet();
+			}
+
+			return new AbstractSet<Map.Entry<String, V>>() {
+				@Override
+				public Iterator<Map.Entry<String, V>> iterator() {
+					return new Iterator<Map.Entry<String, V>>() {
+
+						private int index = 0;
+
+						@Override
+						public boolean hasNext() {
+							return index < size;
+						}
+
+						@Override
+						public Map.Entry<String, V> next() {
+							if (!hasNext()) {
+								throw new NoSuchElementException();
+							}
+							Map.Entry<String, V> entry = new SimpleImmutableEntry<>(keys.apply(index), value(index));
+							index++;
+							return entry;
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+
+		private Map<String, V> modifiable() {
+			Map<String, V> current = modified;
+			if (current == null) {
+				current = new HashMap<>();
+				for (Map.Entry<String, V> entry : entrySet()) {
+					current.put(entry.getKey(), entry.getValue());
+				}
+				modified = current;
+			}
+			return current;
+		}
+
+		/**
+		 * Binary search of the sorted names.
+		 */
+		private int indexOf(Object key) {
+
+			if (!(key instanceof String)) {
+				return -1;
+			}
+
+			int low = 0;
+			int high = size - 1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				int compare = keys.apply(middle).compareTo((String) key);
+				if (compare < 0) {
+					low = middle + 1;
+				} else if (compare > 0) {
+					high = middle - 1;
+				} else {
+					return middle;
+				}
+			}
+			return -1;
+		}
+
+		@SuppressWarnings("unchecked")
+		private V value(int index) {
+			Object value = decoded.get(index);
+			if (value == null) {
+				V decodedValue = values.apply(index);
+				value = decodedValue == null ? NULL : decodedValue;
+				// Keep the first decoded value if another thread got there first.
+				if (!decoded.compareAndSet(index, null, value)) {
+					value = decoded.get(index);
+				}
+			}
+			return value == NULL ? null : (V) value;
+		}
+	}
+}
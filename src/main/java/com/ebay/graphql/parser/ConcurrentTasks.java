@@ -0,0 +1,59 @@
+package com.ebay.graphql.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Where the parser runs work it splits up itself: parallel parses without an
+ * executor of their own and the parallel directory walk of
+ * {@link GraphQLSchemaFinder}.
+ *
+ * This is the Java 8 version, which uses the common fork-join pool. The
+ * multi-release JAR replaces it on Java 21 and later with a version that
+ * starts a virtual thread per task (see {@code src/main/java21}), so blocking
+ * file reads don't tie up pool threads. Both versions must keep the same
+ * methods.
+ */
+final class ConcurrentTasks {
+
+	private ConcurrentTasks() {
+	}
+
+	/**
+	 * Get the executor for parallel and asynchronous parses that aren't given
+	 * one. It is shared and must not be shut down.
+	 *
+	 * @return The common fork-join pool.
+	 */
+	static ExecutorService defaultExecutor() {
+		return ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * Run tasks in parallel and wait for all of them. Tasks may call this method
+	 * again to split their work further.
+	 *
+	 * @param tasks Tasks to run.
+	 * @return Results, in the order of the tasks.
+	 * @throws RuntimeException or Error thrown by a task. Tasks must not throw
+	 *                          checked exceptions.
+	 */
+	static <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+
+		List<ForkJoinTask<T>> forkJoinTasks = new ArrayList<>(tasks.size());
+		for (Callable<T> task : tasks) {
+			forkJoinTasks.add(ForkJoinTask.adapt(task));
+		}
+		ForkJoinTask.invokeAll(forkJoinTasks);
+
+		List<T> results = new ArrayList<>(tasks.size());
+		for (ForkJoinTask<T> forkJoinTask : forkJoinTasks) {
+			results.add(forkJoinTask.join());
+		}
+		return results;
+	}
+}
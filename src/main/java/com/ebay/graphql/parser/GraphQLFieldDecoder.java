@@ -0,0 +1,285 @@
+package com.ebay.graphql.parser;
+
+import java.text.ParseException;
+
+import com.ebay.graphql.parser.matcher.GraphQLMatcher;
+import com.ebay.graphql.types.FieldKeyValuePair;
+import com.ebay.graphql.types.GraphQLInputObject;
+import com.ebay.graphql.types.GraphQLList;
+import com.ebay.graphql.types.GraphQLReference;
+import com.ebay.graphql.types.GraphQLScalar;
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+import com.ebay.graphql.types.GraphQLType;
+
+/**
+ * Decodes a field definition line ({@code <key>:<type>}) in a single left to
+ * right scan, without regular expressions or intermediate strings. The field
+ * name, argument span, list depth, named type and every non null marker are
+ * recorded as positions in the line, and the {@link GraphQLType} is built
+ * straight from them.
+ *
+ * The lines accepted, and the keys and types produced, are the same as
+ * classifying the line with
+ * {@link com.ebay.graphql.parser.matcher.GraphQLMatcher#getLineType(String)}
+ * and splitting it with {@link GraphQLParserUtil}. Character classes mirror
+ * the JDK regex defaults: {@code \s} is {@code [ \t\n\x0B\f\r]} and
+ * {@code .} matches everything but line terminators.
+ *
+ * Named types follow the GraphQL name rule and can't start with a digit. The
+ * classifier alone takes {@code a: 1Foo} for a reference field, but the split
+ * rejects it, and so does this decoder.
+ */
+public final class GraphQLFieldDecoder {
+
+	private static final String NOT_A_FIELD_ERROR = "Line of text [%s] is not parsable into a key value pair.";
+
+	private GraphQLFieldDecoder() {
+		// Prevent instantiation.
+	}
+
+	/**
+	 * Decode a field definition.
+	 *
+	 * @param line Line of text with the format {@code <key>:<type>}, EG:
+	 *             {@code name(upper: Boolean): [String!]!}
+	 * @return Key (field name and arguments) and type of the field.
+	 * @throws ParseException if the line is not a field definition.
+	 */
+	public static FieldKeyValuePair decode(String line) throws ParseException {
+
+		if (line == null) {
+			throw notAField(line);
+		}
+
+		int length = line.length();
+
+		int i = 0;
+		while (i < length && isSpace(line.charAt(i))) {
+			i++;
+		}
+
+		int nameStart = i;
+		if (i == length || !isNameStart(line.charAt(i))) {
+			throw notAField(line);
+		}
+		i++;
+		while (i < length && isNameChar(line.charAt(i))) {
+			i++;
+		}
+		int keyEnd = i;
+
+		// Arguments can hold anything but line terminators. The type can't hold a
+		// colon or a parenthesis, so the arguments end at the last ')' before the
+		// last ':' on the line.
+		boolean tripleQuote = false;
+		int colon;
+		if (i < length && line.charAt(i) == '(') {
+			int closingParenthesis = -1;
+			int lastParenthesis = -1;
+			int firstLineBreak = length;
+			int quotes = 0;
+			colon = -1;
+			for (; i < length; i++) {
+				char c = line.charAt(i);
+				if (c == ')') {
+					lastParenthesis = i;
+				} else if (c == ':') {
+					colon = i;
+					closingParenthesis = lastParenthesis;
+				} else if (isLineBreak(c) && firstLineBreak == length) {
+					firstLineBreak = i;
+				}
+				quotes = c == '"' ? quotes + 1 : 0;
+				tripleQuote |= quotes >= 3;
+			}
+
+			if (colon < 0 || closingParenthesis < 0 || firstLineBreak < closingParenthesis) {
+				throw notAField(line);
+			}
+			for (i = closingParenthesis + 1; i < colon; i++) {
+				if (!isSpace(line.charAt(i))) {
+					throw notAField(line);
+				}
+			}
+			keyEnd = closingParenthesis + 1;
+		} else {
+			while (i < length && isSpace(line.charAt(i))) {
+				i++;
+			}
+			if (i == length || line.charAt(i) != ':') {
+				throw notAField(line);
+			}
+			colon = i;
+		}
+		int spacesBeforeColon = colon - keyEnd;
+
+		// Type: [ [ Name ! ] ! ] !, with any number of dimensions.
+		i = colon + 1;
+		while (i < length && isSpace(line.charAt(i))) {
+			i++;
+		}
+
+		int depth = 0;
+		while (i < length && line.charAt(i) == '[') {
+			depth++;
+			i++;
+		}
+
+		int typeStart = i;
+		if (i == length || !isNameStart(line.charAt(i))) {
+			throw notAField(line);
+		}
+		i++;
+		while (i < length && isNameChar(line.charAt(i))) {
+			i++;
+		}
+		int typeEnd = i;
+
+		boolean typeNullable = !isAt(line, i, '!');
+		if (!typeNullable) {
+			i++;
+		}
+
+		// One closing bracket per dimension, innermost first.
+		boolean[] nullableDimensions = new boolean[depth];
+		for (int dimension = depth - 1; dimension >= 0; dimension--) {
+			if (!isAt(line, i, ']')) {
+				throw notAField(line);
+			}
+			i++;
+			nullableDimensions[dimension] = !isAt(line, i, '!');
+			if (!nullableDimensions[dimension]) {
+				i++;
+			}
+		}
+
+		while (i < length && isSpace(line.charAt(i))) {
+			i++;
+		}
+
+		// A list field allows one whitespace before the colon.
+		if (i < length || (depth > 0 && spacesBeforeColon > 1)) {
+			throw notAField(line);
+		}
+
+		// Rare lines that an earlier line type claims: "query: Int" is an entry of
+		// a schema definition and a triple quote can make the line a description.
+		// The classifier settles those.
+		if ((tripleQuote || isSchemaOperation(line, nameStart, keyEnd)) && !isFieldLine(line)) {
+			throw notAField(line);
+		}
+
+		String key = line.substring(nameStart, keyEnd);
+		GraphQLType value;
+		if (depth == 0) {
+			value = getNamedType(line, typeStart, typeEnd, false);
+			if (!typeNullable) {
+				value.makeNonNullable();
+			}
+		} else {
+			GraphQLType type = getNamedType(line, typeStart, typeEnd, true);
+			if (!typeNullable) {
+				type.makeNonNullable();
+			}
+			GraphQLList list = new GraphQLList(type, depth);
+			for (int dimension = 0; dimension < depth; dimension++) {
+				if (!nullableDimensions[dimension]) {
+					list.makeDimensionNonNullable(dimension);
+				}
+			}
+			value = list;
+		}
+
+		return new FieldKeyValuePair(key, value);
+	}
+
+	/**
+	 * Decode the arguments of a field or operation key, as produced by any of
+	 * the parsers. Unlike {@link #decode(String)} this reads GraphQL tokens, so
+	 * default values may hold any GraphQL value.
+	 *
+	 * @param key Key with the format {@code <name>(<arguments>)}, EG:
+	 *            {@code people(first: Int = 10, filter: [String!])}
+	 * @return Non-null input object with a field per argument, in declaration
+	 *         order. The fields of an operation's arguments are the variables
+	 *         sent with it.
+	 * @throws ParseException if the key is not a field name followed by an
+	 *                        optional argument list.
+	 */
+	public static GraphQLInputObject decodeArguments(String key) throws ParseException {
+		if (key == null) {
+			throw notAField(key);
+		}
+		return GraphQLTokenParser.parseArguments(key);
+	}
+
+	/**
+	 * Built-in scalars are matched exactly for fields, and ignoring case for list
+	 * elements.
+	 */
+	private static GraphQLType getNamedType(String line, int start, int end, boolean ignoreCase) {
+
+		int length = end - start;
+		if (isName(line, start, length, "Boolean", ignoreCase)) {
+			return new GraphQLScalar(GraphQLScalarValue.BOOLEAN);
+		} else if (isName(line, start, length, "Float", ignoreCase)) {
+			return new GraphQLScalar(GraphQLScalarValue.FLOAT);
+		} else if (isName(line, start, length, "Int", ignoreCase)) {
+			return new GraphQLScalar(GraphQLScalarValue.INT);
+		} else if (isName(line, start, length, "ID", ignoreCase)) {
+			return new GraphQLScalar(GraphQLScalarValue.ID);
+		} else if (isName(line, start, length, "String", ignoreCase)) {
+			return new GraphQLScalar(GraphQLScalarValue.STRING);
+		}
+		return new GraphQLReference(line.substring(start, end));
+	}
+
+	private static boolean isName(String line, int start, int length, String name, boolean ignoreCase) {
+		return length == name.length() && line.regionMatches(ignoreCase, start, name, 0, length);
+	}
+
+	private static boolean isFieldLine(String line) {
+		switch (GraphQLMatcher.getLineType(line)) {
+		case FIELD_BOOLEAN:
+		case FIELD_FLOAT:
+		case FIELD_ID:
+		case FIELD_INT:
+		case FIELD_LIST:
+		case FIELD_REFERENCE:
+		case FIELD_STRING:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private static boolean isSchemaOperation(String line, int start, int end) {
+		int length = end - start;
+		return isName(line, start, length, "query", false) || isName(line, start, length, "mutation", false)
+				|| isName(line, start, length, "subscription", false);
+	}
+
+	private static boolean isAt(String line, int index, char c) {
+		return index < line.length() && line.charAt(index) == c;
+	}
+
+	private static boolean isSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	private static boolean isLineBreak(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	private static boolean isNameStart(char c) {
+		return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '_';
+	}
+
+	private static boolean isNameChar(char c) {
+		return isNameStart(c) || (c >= '0' && c <= '9');
+	}
+
+	private static ParseException notAField(String line) {
+		return new ParseException(String.format(NOT_A_FIELD_ERROR, line), -1);
+	}
+}
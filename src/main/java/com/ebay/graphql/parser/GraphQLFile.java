@@ -1,19 +1,72 @@
 package com.ebay.graphql.parser;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class GraphQLFile {
+import com.ebay.graphql.parser.diagnostics.ParseDiagnostics;
+import com.ebay.graphql.parser.matcher.GraphQLMatcher;
+
+public class GraphQLFile implements Closeable {
+
+	/**
+	 * How the contents of a file are loaded.
+	 */
+	public enum LoadMode {
+		/**
+		 * Decode the whole file into a list of lines up front.
+		 */
+		READ_LINES,
+		/**
+		 * Memory map the file and decode each line when it is read.
+		 */
+		MEMORY_MAP,
+		/**
+		 * Read the file through a sliding window of lines, releasing each line
+		 * once the parser has moved past it. Close the file when done.
+		 */
+		STREAM
+	}
 
 	private int currentLineNumber = 0;
 	List<String> linesOfText;
+	private StreamedLines streamedLines;
+	// Reader opened for a streamed file, closed with the file.
+	private Reader fileReader;
+	private ParseBudget budget;
+	private ParseDiagnostics diagnostics;
 
 	public GraphQLFile(File schemaFile) {
+		this(schemaFile, LoadMode.READ_LINES);
+	}
+
+	public GraphQLFile(File schemaFile, LoadMode loadMode) {
+
+		if (loadMode == LoadMode.MEMORY_MAP) {
+			try {
+				linesOfText = MappedFile.map(schemaFile).getLines();
+			} catch (IOException e) {
+				// Same as an unreadable file below, no lines.
+			}
+			return;
+		}
+
+		if (loadMode == LoadMode.STREAM) {
+			try {
+				fileReader = Files.newBufferedReader(schemaFile.toPath(), StandardCharsets.UTF_8);
+				streamedLines = new StreamedLines(fileReader);
+			} catch (IOException e) {
+				// Same as an unreadable file below, no lines.
+			}
+			return;
+		}
 
 		Stream<String> rawLines;
 		try {
@@ -30,6 +83,24 @@ public class GraphQLFile {
 		this.linesOfText = new ArrayList<>(linesOfText);
 	}
 
+	private GraphQLFile(List<String> linesOfText, int currentLineNumber) {
+		this.linesOfText = linesOfText;
+		this.currentLineNumber = currentLineNumber;
+	}
+
+	/**
+	 * Read lines from a reader as they are needed. Lines before the current line
+	 * are released, so {@link #getLine(int)} only returns the current line and
+	 * the lines after it. The reader is not closed.
+	 * 
+	 * @param reader Reader of GraphQL text.
+	 * @throws java.io.UncheckedIOException from the line methods if the reader
+	 *                                      fails.
+	 */
+	public GraphQLFile(Reader reader) {
+		streamedLines = new StreamedLines(reader);
+	}
+
 	/**
 	 * Get the current line number. If on the first line, expect 1 back.
 	 * 
@@ -45,7 +116,7 @@ public class GraphQLFile {
 	 * @return True if there are more lines to read, false otherwise.
 	 */
 	public boolean hasMoreLines() {
-		if (linesOfText != null && currentLineNumber < linesOfText.size() - 1) {
+		if (hasLine(currentLineNumber + 1)) {
 			return true;
 		}
 		return false;
@@ -57,8 +128,8 @@ public class GraphQLFile {
 	 * @return Next line of text.
 	 */
 	public String peekNextLine() {
-		if (linesOfText != null && currentLineNumber < linesOfText.size()-1) {
-			return linesOfText.get(currentLineNumber + 1);
+		if (hasLine(currentLineNumber + 1)) {
+			return line(currentLineNumber + 1);
 		}
 
 		return null;
@@ -71,8 +142,8 @@ public class GraphQLFile {
 	 *         available.
 	 */
 	public String getCurrentLine() {
-		if (linesOfText != null && currentLineNumber < linesOfText.size()) {
-			return linesOfText.get(currentLineNumber);
+		if (hasLine(currentLineNumber)) {
+			return line(currentLineNumber);
 		}
 
 		return null;
@@ -86,9 +157,9 @@ public class GraphQLFile {
 	 */
 	public String getCurrentLineAndThenAdvance() {
 		String line = null;
-		if (linesOfText != null && currentLineNumber < linesOfText.size()) {
-			 line = linesOfText.get(currentLineNumber);
-			 currentLineNumber++;
+		if (hasLine(currentLineNumber)) {
+			 line = line(currentLineNumber);
+			 advanceTo(currentLineNumber + 1);
 		}
 
 		return line;
@@ -100,9 +171,9 @@ public class GraphQLFile {
 	 * @return Next line of text or null if no more lines of text are available.
 	 */
 	public String getNextLine() {
-		currentLineNumber++;
-		if (linesOfText != null && currentLineNumber < linesOfText.size()) {
-			return linesOfText.get(currentLineNumber);
+		advanceTo(currentLineNumber + 1);
+		if (hasLine(currentLineNumber)) {
+			return line(currentLineNumber);
 		}
 
 		return null;
@@ -114,7 +185,10 @@ public class GraphQLFile {
 	 * @return Total number of lines of text.
 	 */
 	public int getNumberOfLines() {
-		if (linesOfText != null) {
+		if (streamedLines != null) {
+			// Reads the rest of the stream.
+			return streamedLines.count();
+		} else if (linesOfText != null) {
 			return linesOfText.size();
 		}
 		return 0;
@@ -128,10 +202,100 @@ public class GraphQLFile {
 	 *         not inside the valid range of line numbers.
 	 */
 	public String getLine(int lineNumber) {
-		if (linesOfText != null && lineNumber > 0 && lineNumber <= linesOfText.size()) {
-			return linesOfText.get(lineNumber-1);
+		if (lineNumber > 0 && hasLine(lineNumber - 1)) {
+			return line(lineNumber - 1);
 		}
 
 		return null;
 	}
+
+	/**
+	 * Close the reader of a file opened with {@link LoadMode#STREAM}. Readers
+	 * passed to {@link #GraphQLFile(Reader)} are left open.
+	 */
+	@Override
+	public void close() {
+		if (fileReader != null) {
+			try {
+				fileReader.close();
+			} catch (IOException e) {
+				// Nothing was written, nothing is lost.
+			}
+		}
+	}
+
+	/**
+	 * Check if lines can be read again once passed, which is the case unless
+	 * the lines are read from a reader.
+	 * 
+	 * @return True if lines can be read again.
+	 */
+	boolean isRandomAccess() {
+		return streamedLines == null && linesOfText != null;
+	}
+
+	/**
+	 * Get a file sharing these lines, positioned at a line. Only for files with
+	 * random access.
+	 * 
+	 * @param lineNumber Line number to start at. (not 0 indexed)
+	 * @return File positioned at the line.
+	 */
+	GraphQLFile atLine(int lineNumber) {
+		return new GraphQLFile(linesOfText, lineNumber - 1);
+	}
+
+	/**
+	 * Charge every line passed to a budget. Files returned by
+	 * {@link #atLine(int)} don't share the budget.
+	 * 
+	 * @param budget Parse budget, or null for no limit.
+	 */
+	void setBudget(ParseBudget budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Report the type of every line reached, starting with the current line.
+	 * Files returned by {@link #atLine(int)} don't report their lines.
+	 * 
+	 * @param diagnostics Diagnostics, or null to report nothing.
+	 */
+	void setDiagnostics(ParseDiagnostics diagnostics) {
+		this.diagnostics = diagnostics;
+		reportCurrentLine();
+	}
+
+	private boolean hasLine(int index) {
+		if (streamedLines != null) {
+			return streamedLines.hasLine(index);
+		}
+		return linesOfText != null && index < linesOfText.size();
+	}
+
+	private String line(int index) {
+		if (streamedLines != null) {
+			return streamedLines.getLine(index);
+		}
+		return linesOfText.get(index);
+	}
+
+	private void advanceTo(int lineNumber) {
+		if (budget != null) {
+			// The line and its line break. Reads past the end still cost a step.
+			String line = hasLine(currentLineNumber) ? line(currentLineNumber) : "";
+			budget.charge(line.length() + 1L, getCurrentLineNumber());
+		}
+		currentLineNumber = lineNumber;
+		if (streamedLines != null) {
+			streamedLines.releaseBefore(currentLineNumber);
+		}
+		reportCurrentLine();
+	}
+
+	private void reportCurrentLine() {
+		if (diagnostics != null && hasLine(currentLineNumber)) {
+			diagnostics.line(GraphQLMatcher.getLineType(line(currentLineNumber)), getCurrentLineNumber());
+		}
+	}
 }
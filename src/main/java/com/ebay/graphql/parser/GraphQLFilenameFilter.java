@@ -3,6 +3,13 @@ package com.ebay.graphql.parser;
 import java.io.File;
 import java.io.FilenameFilter;
 
+/**
+ * Accepts directories and GraphQL schema files.
+ * 
+ * @deprecated Schema files are discovered with {@link GraphQLSchemaFinder},
+ *             which also supports include and exclude patterns.
+ */
+@Deprecated
 public class GraphQLFilenameFilter implements FilenameFilter {
 
 	@Override
@@ -0,0 +1,607 @@
+package com.ebay.graphql.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.types.GraphQLEnum;
+import com.ebay.graphql.types.GraphQLInputObject;
+import com.ebay.graphql.types.GraphQLInputValue;
+import com.ebay.graphql.types.GraphQLList;
+import com.ebay.graphql.types.GraphQLObject;
+import com.ebay.graphql.types.GraphQLReference;
+import com.ebay.graphql.types.GraphQLScalar;
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+import com.ebay.graphql.types.GraphQLType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads the result of an introspection query ({@code __schema}, with or
+ * without the {@code data} wrapper) into a {@link GraphQLSchema}. The JSON is
+ * read token by token with a Jackson {@link JsonParser}; no tree of the
+ * document is built, only the schema itself.
+ *
+ * The schema is the same as the one parsed from the equivalent SDL: fields of
+ * the root operation types become operations keyed by their name and
+ * arguments, built-in scalars, interfaces and {@code __} types are left out,
+ * and custom scalars are strings.
+ */
+public class GraphQLIntrospectionReader {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory()
+			.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+	private static final List<String> BUILT_IN_SCALARS = Arrays.asList("Boolean", "Float", "ID", "Int", "String");
+	private static final String NON_NULL = "NON_NULL";
+	private static final String LIST = "LIST";
+
+	/**
+	 * Read an introspection result from a UTF-8, UTF-16 or UTF-32 encoded file.
+	 *
+	 * @param file Introspection JSON file.
+	 * @return Schema.
+	 * @throws IOException    if the file can't be read or isn't JSON.
+	 * @throws ParseException if the JSON isn't an introspection result.
+	 */
+	public GraphQLSchema read(File file) throws IOException, ParseException {
+		if (file == null) {
+			throw new IllegalArgumentException("File must not be null.");
+		}
+		try (JsonParser parser = JSON_FACTORY.createParser(file)) {
+			return read(parser);
+		}
+	}
+
+	/**
+	 * Read an introspection result from a stream. The stream is not closed.
+	 *
+	 * @param inputStream Introspection JSON.
+	 * @return Schema.
+	 * @throws IOException    if the stream fails or isn't JSON.
+	 * @throws ParseException if the JSON isn't an introspection result.
+	 */
+	public GraphQLSchema read(InputStream inputStream) throws IOException, ParseException {
+		if (inputStream == null) {
+			throw new IllegalArgumentException("Input stream must not be null.");
+		}
+		try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+			return read(parser);
+		}
+	}
+
+	/**
+	 * Read an introspection result from a reader. The reader is not closed.
+	 *
+	 * @param reader Introspection JSON.
+	 * @return Schema.
+	 * @throws IOException    if the reader fails or isn't JSON.
+	 * @throws ParseException if the JSON isn't an introspection result.
+	 */
+	public GraphQLSchema read(Reader reader) throws IOException, ParseException {
+		if (reader == null) {
+			throw new IllegalArgumentException("Reader must not be null.");
+		}
+		try (JsonParser parser = JSON_FACTORY.createParser(reader)) {
+			return read(parser);
+		}
+	}
+
+	private GraphQLSchema read(JsonParser parser) throws IOException, ParseException {
+
+		IntrospectedSchema introspectedSchema = new IntrospectedSchema();
+
+		expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+		readFields(parser, name -> {
+			if ("data".equals(name) && parser.currentToken() == JsonToken.START_OBJECT) {
+				readFields(parser, dataName -> {
+					if ("__schema".equals(dataName)) {
+						readSchema(parser, introspectedSchema);
+					} else {
+						parser.skipChildren();
+					}
+				});
+			} else if ("__schema".equals(name)) {
+				readSchema(parser, introspectedSchema);
+			} else {
+				// Errors and extensions.
+				parser.skipChildren();
+			}
+		});
+
+		if (!introspectedSchema.found) {
+			throw new ParseException("Introspection result has no __schema.", -1);
+		}
+		return introspectedSchema.toSchema();
+	}
+
+	private void readSchema(JsonParser parser, IntrospectedSchema schema) throws IOException, ParseException {
+
+		expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+		schema.found = true;
+
+		readFields(parser, name -> {
+			switch (name) {
+			case "queryType":
+				schema.queryTypeName = readRootTypeName(parser);
+				break;
+			case "mutationType":
+				schema.mutationTypeName = readRootTypeName(parser);
+				break;
+			case "subscriptionType":
+				schema.subscriptionTypeName = readRootTypeName(parser);
+				break;
+			case "types":
+				expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+				while (parser.nextToken() != JsonToken.END_ARRAY) {
+					readType(parser, schema);
+				}
+				break;
+			default:
+				// Directives and descriptions.
+				parser.skipChildren();
+				break;
+			}
+		});
+	}
+
+	private String readRootTypeName(JsonParser parser) throws IOException, ParseException {
+
+		if (parser.currentToken() == JsonToken.VALUE_NULL) {
+			return null;
+		}
+
+		String[] typeName = new String[1];
+		expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+		readFields(parser, name -> {
+			if ("name".equals(name)) {
+				typeName[0] = parser.getValueAsString();
+			} else {
+				parser.skipChildren();
+			}
+		});
+		return typeName[0];
+	}
+
+	/**
+	 * Read one entry of the types array. Its members may come in any order, so
+	 * the definition is collected before it is added.
+	 */
+	private void readType(JsonParser parser, IntrospectedSchema schema) throws IOException, ParseException {
+
+		expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+		TypeDefinition definition = new TypeDefinition();
+
+		readFields(parser, name -> {
+			switch (name) {
+			case "kind":
+				definition.kind = parser.getValueAsString();
+				break;
+			case "name":
+				definition.name = parser.getValueAsString();
+				break;
+			case "fields":
+				definition.fields = readArray(parser, () -> readField(parser));
+				break;
+			case "inputFields":
+				definition.inputFields = readArray(parser, () -> readInputValue(parser));
+				break;
+			case "enumValues":
+				definition.enumValues = readArray(parser, () -> readName(parser));
+				break;
+			case "possibleTypes":
+				definition.possibleTypes = readArray(parser, () -> readName(parser));
+				break;
+			default:
+				parser.skipChildren();
+				break;
+			}
+		});
+
+		if (definition.name == null || definition.kind == null) {
+			throw new ParseException(String.format("Type without a name or kind [ln: %d].", line(parser)), -1);
+		}
+		schema.add(definition);
+	}
+
+	private Field readField(JsonParser parser) throws IOException, ParseException {
+
+		expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+		String[] fieldName = new String[1];
+		List<InputValue> arguments = new ArrayList<>();
+		TypeReference[] type = new TypeReference[1];
+
+		readFields(parser, name -> {
+			switch (name) {
+			case "name":
+				fieldName[0] = parser.getValueAsString();
+				break;
+			case "args":
+				List<InputValue> values = readArray(parser, () -> readInputValue(parser));
+				if (values != null) {
+					arguments.addAll(values);
+				}
+				break;
+			case "type":
+				type[0] = readTypeReference(parser);
+				break;
+			default:
+				parser.skipChildren();
+				break;
+			}
+		});
+
+		if (fieldName[0] == null || type[0] == null) {
+			throw new ParseException(String.format("Field without a name or type [ln: %d].", line(parser)), -1);
+		}
+
+		// Same key as the SDL parsers: the field name followed by its arguments.
+		String key = fieldName[0];
+		if (!arguments.isEmpty()) {
+			key += arguments.stream().map(InputValue::toString).collect(Collectors.joining(", ", "(", ")"));
+		}
+		return new Field(key, type[0].toGraphQLType(), arguments);
+	}
+
+	/**
+	 * Read an argument or input field.
+	 */
+	private InputValue readInputValue(JsonParser parser) throws IOException, ParseException {
+
+		expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+		InputValue inputValue = new InputValue();
+
+		readFields(parser, name -> {
+			switch (name) {
+			case "name":
+				inputValue.name = parser.getValueAsString();
+				break;
+			case "type":
+				inputValue.type = readTypeReference(parser);
+				break;
+			case "defaultValue":
+				inputValue.defaultValue = parser.getValueAsString();
+				break;
+			default:
+				parser.skipChildren();
+				break;
+			}
+		});
+
+		if (inputValue.name == null || inputValue.type == null) {
+			throw new ParseException(String.format("Argument without a name or type [ln: %d].", line(parser)), -1);
+		}
+		return inputValue;
+	}
+
+	private TypeReference readTypeReference(JsonParser parser) throws IOException, ParseException {
+
+		if (parser.currentToken() == JsonToken.VALUE_NULL) {
+			return null;
+		}
+
+		expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+		TypeReference reference = new TypeReference();
+		readFields(parser, name -> {
+			switch (name) {
+			case "kind":
+				reference.kind = parser.getValueAsString();
+				break;
+			case "name":
+				reference.name = parser.getValueAsString();
+				break;
+			case "ofType":
+				reference.ofType = readTypeReference(parser);
+				break;
+			default:
+				parser.skipChildren();
+				break;
+			}
+		});
+
+		if ((NON_NULL.equals(reference.kind) || LIST.equals(reference.kind)) ? reference.ofType == null
+				: reference.name == null) {
+			throw new ParseException(String.format("Incomplete type reference [ln: %d].", line(parser)), -1);
+		}
+		return reference;
+	}
+
+	private String readName(JsonParser parser) throws IOException, ParseException {
+
+		expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+		String[] value = new String[1];
+		readFields(parser, name -> {
+			if ("name".equals(name)) {
+				value[0] = parser.getValueAsString();
+			} else {
+				parser.skipChildren();
+			}
+		});
+		return value[0];
+	}
+
+	/**
+	 * Read an array, or null.
+	 *
+	 * @return Elements, or null if the value is null.
+	 */
+	private <T> List<T> readArray(JsonParser parser, ElementReader<T> elementReader)
+			throws IOException, ParseException {
+
+		if (parser.currentToken() == JsonToken.VALUE_NULL) {
+			return null;
+		}
+
+		expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+		List<T> elements = new ArrayList<>();
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			elements.add(elementReader.read());
+		}
+		return elements;
+	}
+
+	/**
+	 * Call the field reader for each member of the current object, with the
+	 * parser on the member's value. The field reader must consume the value.
+	 */
+	private void readFields(JsonParser parser, FieldReader fieldReader) throws IOException, ParseException {
+		JsonToken token;
+		while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			parser.nextToken();
+			fieldReader.read(name);
+		}
+		expect(parser, token, JsonToken.END_OBJECT);
+	}
+
+	private void expect(JsonParser parser, JsonToken token, JsonToken expected) throws IOException, ParseException {
+		if (token != expected) {
+			throw new ParseException(String.format("Unexpected token [%s] [ln: %d].",
+					token == null ? "<EOF>" : parser.getText(), line(parser)), -1);
+		}
+	}
+
+	private int line(JsonParser parser) {
+		return parser.getTokenLocation().getLineNr();
+	}
+
+	private interface FieldReader {
+		void read(String name) throws IOException, ParseException;
+	}
+
+	private interface ElementReader<T> {
+		T read() throws IOException, ParseException;
+	}
+
+	private static final class TypeDefinition {
+		private String kind;
+		private String name;
+		private List<Field> fields;
+		private List<InputValue> inputFields;
+		private List<String> enumValues;
+		private List<String> possibleTypes;
+	}
+
+	/**
+	 * A field or operation with its arguments.
+	 */
+	private static final class Field {
+
+		private final String key;
+		private final GraphQLType type;
+		private final List<InputValue> arguments;
+
+		Field(String key, GraphQLType type, List<InputValue> arguments) {
+			this.key = key;
+			this.type = type;
+			this.arguments = arguments;
+		}
+
+		/**
+		 * Arguments as the fields of a non-null input object, the same as
+		 * {@link GraphQLFieldDecoder#decodeArguments(String)} decodes from the key.
+		 */
+		GraphQLInputObject toGraphQLArguments() {
+			GraphQLInputObject inputObject = new GraphQLInputObject();
+			inputObject.makeNonNullable();
+			arguments.forEach(argument -> inputObject.addField(argument.toGraphQLInputValue()));
+			return inputObject;
+		}
+	}
+
+	/**
+	 * An argument or input field.
+	 */
+	private static final class InputValue {
+
+		private String name;
+		private TypeReference type;
+		private String defaultValue;
+
+		GraphQLInputValue toGraphQLInputValue() {
+			return new GraphQLInputValue(name, type.toGraphQLType(), defaultValue);
+		}
+
+		/**
+		 * Input value as written in SDL. (EG: {@code first: Int = 10})
+		 */
+		@Override
+		public String toString() {
+			return name + ": " + type + (defaultValue != null ? " = " + defaultValue : "");
+		}
+	}
+
+	/**
+	 * A {@code type} member: a named type wrapped in any number of lists and
+	 * non null markers.
+	 */
+	private static final class TypeReference {
+
+		private String kind;
+		private String name;
+		private TypeReference ofType;
+
+		/**
+		 * Build the type the SDL parsers build for the same type signature.
+		 */
+		GraphQLType toGraphQLType() {
+
+			// Nullability of each list, from the outermost inwards.
+			List<Boolean> nullableDimensions = new ArrayList<>();
+			TypeReference reference = this;
+			boolean nullable;
+			while (true) {
+				nullable = !NON_NULL.equals(reference.kind);
+				if (!nullable) {
+					reference = reference.ofType;
+				}
+				if (!LIST.equals(reference.kind)) {
+					break;
+				}
+				nullableDimensions.add(nullable);
+				reference = reference.ofType;
+			}
+
+			GraphQLType type = reference.toNamedType();
+			if (!nullable) {
+				type.makeNonNullable();
+			}
+			if (nullableDimensions.isEmpty()) {
+				return type;
+			}
+
+			GraphQLList list = new GraphQLList(type, nullableDimensions.size());
+			for (int dimension = 0; dimension < nullableDimensions.size(); dimension++) {
+				if (!nullableDimensions.get(dimension)) {
+					list.makeDimensionNonNullable(dimension);
+				}
+			}
+			return list;
+		}
+
+		private GraphQLType toNamedType() {
+			switch (name) {
+			case "Boolean":
+				return new GraphQLScalar(GraphQLScalarValue.BOOLEAN);
+			case "Float":
+				return new GraphQLScalar(GraphQLScalarValue.FLOAT);
+			case "ID":
+				return new GraphQLScalar(GraphQLScalarValue.ID);
+			case "Int":
+				return new GraphQLScalar(GraphQLScalarValue.INT);
+			case "String":
+				return new GraphQLScalar(GraphQLScalarValue.STRING);
+			default:
+				return new GraphQLReference(name);
+			}
+		}
+
+		/**
+		 * Type signature as written in SDL. (EG: {@code [String!]!})
+		 */
+		@Override
+		public String toString() {
+			if (NON_NULL.equals(kind)) {
+				return ofType + "!";
+			} else if (LIST.equals(kind)) {
+				return "[" + ofType + "]";
+			}
+			return name;
+		}
+	}
+
+	/**
+	 * Definitions read so far. Object types are held until the end, because the
+	 * root operation type names may come after the types.
+	 */
+	private static final class IntrospectedSchema {
+
+		private boolean found = false;
+		private String queryTypeName = "Query";
+		private String mutationTypeName;
+		private String subscriptionTypeName;
+		private final Map<String, List<Field>> objectTypes = new LinkedHashMap<>();
+		private final GraphQLSchema schema = new GraphQLSchema();
+
+		void add(TypeDefinition definition) {
+
+			if (definition.name.startsWith("__")) {
+				return;
+			}
+
+			switch (definition.kind) {
+			case "OBJECT":
+				objectTypes.put(definition.name,
+						definition.fields != null ? definition.fields : new ArrayList<>());
+				break;
+			case "ENUM":
+				GraphQLEnum graphQLEnum = new GraphQLEnum();
+				if (definition.enumValues != null) {
+					for (String enumValue : definition.enumValues) {
+						graphQLEnum.addEnumValue(enumValue);
+					}
+				}
+				schema.addType(definition.name, graphQLEnum);
+				break;
+			case "UNION":
+				schema.addUnion(definition.name,
+						definition.possibleTypes != null ? definition.possibleTypes : new ArrayList<>());
+				break;
+			case "INPUT_OBJECT":
+				GraphQLInputObject inputObject = new GraphQLInputObject();
+				if (definition.inputFields != null) {
+					for (InputValue inputField : definition.inputFields) {
+						inputObject.addField(inputField.toGraphQLInputValue());
+					}
+				}
+				schema.addType(definition.name, inputObject);
+				break;
+			case "SCALAR":
+				if (!BUILT_IN_SCALARS.contains(definition.name)) {
+					// Custom scalars are strings, same as scalar definitions in SDL.
+					schema.addType(definition.name, new GraphQLScalar(GraphQLScalarValue.STRING));
+				}
+				break;
+			default:
+				// Interfaces are not part of the schema model.
+				break;
+			}
+		}
+
+		GraphQLSchema toSchema() {
+
+			schema.setQueryTypeName(queryTypeName);
+			schema.setMutationTypeName(mutationTypeName);
+			schema.setSubscriptionTypeName(subscriptionTypeName);
+
+			for (Map.Entry<String, List<Field>> objectType : objectTypes.entrySet()) {
+				String name = objectType.getKey();
+				if (name.equals(queryTypeName)) {
+					objectType.getValue().forEach(
+							field -> schema.addQuery(field.key, field.type, field.toGraphQLArguments()));
+				} else if (name.equals(mutationTypeName)) {
+					objectType.getValue().forEach(
+							field -> schema.addMutation(field.key, field.type, field.toGraphQLArguments()));
+				} else if (name.equals(subscriptionTypeName)) {
+					objectType.getValue().forEach(
+							field -> schema.addSubscription(field.key, field.type, field.toGraphQLArguments()));
+				} else {
+					GraphQLObject graphQLObject = new GraphQLObject();
+					objectType.getValue().forEach(field -> graphQLObject.addField(field.key, field.type));
+					schema.addType(name, graphQLObject);
+				}
+			}
+			return schema;
+		}
+	}
+}
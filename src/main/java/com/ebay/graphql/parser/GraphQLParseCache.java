@@ -0,0 +1,250 @@
+package com.ebay.graphql.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.ebay.graphql.Generated;
+import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.parser.GraphQLParser.Frontend;
+import com.ebay.graphql.parser.GraphQLFile.LoadMode;
+
+/**
+ * Cache of the schema parsed from each file, so that parsing a directory again
+ * only re-parses the files that changed. Set it on a {@link GraphQLParser} with
+ * {@link GraphQLParser#setParseCache(GraphQLParseCache)}.
+ *
+ * A file is unchanged when its size and last modified time match the cached
+ * entry. With content hashing enabled a file whose time stamp changed, but
+ * whose SHA-256 digest did not (EG: after a checkout), is also treated as
+ * unchanged.
+ *
+ * Each parser configuration has its own entries: the front-end, load mode,
+ * lazy types, descriptions, interned types and parse budget all change the
+ * schema parsed from a file, so parsers that differ in any of them can share a
+ * cache without being handed each other's schemas.
+ *
+ * Cached schemas are shared by every parse that reuses them and must not be
+ * modified. The cache is safe to use from parallel parses.
+ */
+public class GraphQLParseCache {
+
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	private final boolean hashContent;
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public GraphQLParseCache() {
+		this(false);
+	}
+
+	/**
+	 * @param hashContent True to compare content digests of files whose size or
+	 *                    last modified time changed.
+	 */
+	public GraphQLParseCache(boolean hashContent) {
+		this.hashContent = hashContent;
+	}
+
+	public boolean isHashContent() {
+		return hashContent;
+	}
+
+	/**
+	 * Get the number of cached files.
+	 *
+	 * @return Number of cached files.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Get the number of parses answered from the cache.
+	 *
+	 * @return Number of cache hits.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Get the number of files that had to be parsed.
+	 *
+	 * @return Number of cache misses.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Drop the cached schemas of a file.
+	 *
+	 * @param file File to drop.
+	 */
+	public void invalidate(File file) {
+		Path path = normalize(file);
+		entries.keySet().removeIf(key -> key.path.equals(path));
+	}
+
+	/**
+	 * Drop all cached schemas and reset the hit and miss counts.
+	 */
+	public void clear() {
+		entries.clear();
+		hits.set(0);
+		misses.set(0);
+	}
+
+	/**
+	 * Get the schema of a file, parsing it only if it changed since it was
+	 * cached.
+	 *
+	 * @param file   File to parse.
+	 * @param config Parser the file is parsed with. Each configuration has its
+	 *               own entries.
+	 * @param parser Parses the file on a cache miss.
+	 * @return Schema of the file.
+	 */
+	GraphQLSchema get(File file, GraphQLParser config, Function<File, GraphQLSchema> parser) {
+
+		Key key = new Key(normalize(file), config);
+
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(key.path, BasicFileAttributes.class);
+		} catch (IOException e) {
+			// Nothing to compare against, leave it to the parser.
+			entries.remove(key);
+			misses.incrementAndGet();
+			return parser.apply(file);
+		}
+
+		// Read the stamp before parsing. A file changing during the parse then
+		// leaves a stale stamp, which only costs an extra parse next time.
+		long size = attributes.size();
+		long lastModified = attributes.lastModifiedTime().toMillis();
+
+		Entry entry = entries.get(key);
+		if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+			hits.incrementAndGet();
+			return entry.schema;
+		}
+
+		byte[] digest = null;
+		if (hashContent) {
+			digest = digest(key.path);
+			if (entry != null && digest != null && Arrays.equals(digest, entry.digest)) {
+				entries.put(key, new Entry(size, lastModified, digest, entry.schema));
+				hits.incrementAndGet();
+				return entry.schema;
+			}
+		}
+
+		misses.incrementAndGet();
+		GraphQLSchema schema = parser.apply(file);
+		entries.put(key, new Entry(size, lastModified, digest, schema));
+		return schema;
+	}
+
+	private static Path normalize(File file) {
+		return file.toPath().toAbsolutePath().normalize();
+	}
+
+	private static byte[] digest(Path path) {
+
+		MessageDigest messageDigest;
+		try {
+			messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256.
+			throw new IllegalStateException(e);
+		}
+
+		byte[] buffer = new byte[8192];
+		try (InputStream inputStream = Files.newInputStream(path)) {
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				messageDigest.update(buffer, 0, read);
+			}
+		} catch (IOException e) {
+			return null;
+		}
+
+		return messageDigest.digest();
+	}
+
+	private static final class Key {
+
+		private final Path path;
+		private final Frontend frontend;
+		private final LoadMode loadMode;
+		private final boolean lazyTypes;
+		private final boolean keepDescriptions;
+		private final boolean internTypes;
+		private final long maxParseSteps;
+		private final long maxParseMillis;
+
+		Key(Path path, GraphQLParser config) {
+			this.path = path;
+			frontend = config.getFrontend();
+			loadMode = config.getLoadMode();
+			lazyTypes = config.isLazyTypes();
+			keepDescriptions = config.isKeepDescriptions();
+			internTypes = config.isInternTypes();
+			maxParseSteps = config.getMaxParseSteps();
+			maxParseMillis = config.getMaxParseMillis();
+		}
+
+		@Generated
+		@Override
+		public int hashCode() {
+			return Objects.hash(frontend, internTypes, keepDescriptions, lazyTypes, loadMode, maxParseMillis,
+					maxParseSteps, path);
+		}
+
+		@Generated
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			Key other = (Key) obj;
+			return frontend == other.frontend && internTypes == other.internTypes
+					&& keepDescriptions == other.keepDescriptions && lazyTypes == other.lazyTypes
+					&& loadMode == other.loadMode && maxParseMillis == other.maxParseMillis
+					&& maxParseSteps == other.maxParseSteps && Objects.equals(path, other.path);
+		}
+	}
+
+	private static final class Entry {
+
+		private final long size;
+		private final long lastModified;
+		private final byte[] digest;
+		private final GraphQLSchema schema;
+
+		Entry(long size, long lastModified, byte[] digest, GraphQLSchema schema) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.digest = digest;
+			this.schema = schema;
+		}
+	}
+}
@@ -1,32 +1,664 @@
 package com.ebay.graphql.parser;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
 
 import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.parser.GraphQLFile.LoadMode;
+import com.ebay.graphql.parser.diagnostics.ParseDiagnostics;
+import com.ebay.graphql.parser.diagnostics.ParseDiagnostics.Problem;
+import com.ebay.graphql.parser.lexer.GraphQLLexer;
 import com.ebay.graphql.parser.matcher.GraphQLMatcher;
 import com.ebay.graphql.parser.matcher.GraphQLMatcher.LineType;
+import com.ebay.graphql.types.GraphQLDescription;
 import com.ebay.graphql.types.GraphQLEnum;
+import com.ebay.graphql.types.GraphQLInputObject;
+import com.ebay.graphql.types.GraphQLInputValue;
 import com.ebay.graphql.types.GraphQLObject;
 import com.ebay.graphql.types.GraphQLScalar;
 import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
 import com.ebay.graphql.types.GraphQLType;
+import com.ebay.graphql.types.GraphQLTypeInterner;
 import com.ebay.graphql.types.FieldKeyValuePair;
 
 public class GraphQLParser {
 
 	private static final String IMPLEMENTS_KEYWORD = " implements ";
 
+	// Budget diagnostics name the file, or this for text that has no file.
+	private static final String TEXT_SOURCE = "GraphQL text";
+
+	/**
+	 * Front-end used to read GraphQL files.
+	 */
+	public enum Frontend {
+		/**
+		 * Classify the file line by line. Definitions must follow the line layout
+		 * described in the README.
+		 */
+		LINE,
+		/**
+		 * Tokenize the file and parse definitions regardless of line layout.
+		 */
+		TOKEN
+	}
+
+	private final Frontend frontend;
+	private LoadMode loadMode = LoadMode.READ_LINES;
+	private GraphQLSchemaFinder schemaFinder = new GraphQLSchemaFinder();
+	private GraphQLParseCache parseCache;
+	private boolean lazyTypes = false;
+	private boolean keepDescriptions = false;
+	private boolean internTypes = false;
+	private final GraphQLTypeInterner typeInterner = new GraphQLTypeInterner();
+	private long maxParseSteps = 0;
+	private long maxParseMillis = 0;
+	private ParseDiagnostics diagnostics = ParseDiagnostics.NONE;
+
+	public GraphQLParser() {
+		this(Frontend.LINE);
+	}
+
+	public GraphQLParser(Frontend frontend) {
+		if (frontend == null) {
+			throw new IllegalArgumentException("Frontend must not be null.");
+		}
+		this.frontend = frontend;
+	}
+
+	public Frontend getFrontend() {
+		return frontend;
+	}
+
+	public LoadMode getLoadMode() {
+		return loadMode;
+	}
+
+	/**
+	 * Choose how schema files are loaded. {@link LoadMode#MEMORY_MAP}
+	 * avoids decoding large files up front. {@link LoadMode#STREAM} keeps only
+	 * the lines of the definition being parsed in memory, and unless a parse
+	 * cache is set, adds each definition straight to the schema returned by
+	 * {@link #parseGraphQL(File)}. The token front-end memory maps streamed
+	 * files, since tokens can span any number of lines.
+	 * 
+	 * @param loadMode Load mode of schema files.
+	 */
+	public void setLoadMode(LoadMode loadMode) {
+		if (loadMode == null) {
+			throw new IllegalArgumentException("Load mode must not be null.");
+		}
+		this.loadMode = loadMode;
+	}
+
+	public GraphQLSchemaFinder getSchemaFinder() {
+		return schemaFinder;
+	}
+
+	/**
+	 * Set the finder used to discover schema files next to, and below, the file
+	 * passed to {@link #parseGraphQL(File)}.
+	 * 
+	 * @param schemaFinder Schema file finder.
+	 */
+	public void setSchemaFinder(GraphQLSchemaFinder schemaFinder) {
+		if (schemaFinder == null) {
+			throw new IllegalArgumentException("Schema finder must not be null.");
+		}
+		this.schemaFinder = schemaFinder;
+	}
+
+	public GraphQLParseCache getParseCache() {
+		return parseCache;
+	}
+
+	/**
+	 * Reuse the schemas of files that did not change since the cache last saw
+	 * them. Only changed files are parsed again before the merge.
+	 * 
+	 * @param parseCache Parse cache, or null to parse every file.
+	 */
+	public void setParseCache(GraphQLParseCache parseCache) {
+		this.parseCache = parseCache;
+	}
+
+	public boolean isLazyTypes() {
+		return lazyTypes;
+	}
+
+	/**
+	 * Only scan for object and enum type definitions, and parse the body of a
+	 * type the first time it is looked up in {@link GraphQLSchema#getTypes()}
+	 * (EG: when a reference to it is converted). Combine with
+	 * {@link LoadMode#MEMORY_MAP} so unused types are never decoded either.
+	 * 
+	 * Applies to the line front-end when the lines can be read again, so not to
+	 * {@link #parseGraphQL(Reader)}. A type that fails to parse is reported when
+	 * it is looked up and is missing from the schema, instead of ending the parse
+	 * of its file.
+	 * 
+	 * @param lazyTypes True to parse types on demand.
+	 */
+	public void setLazyTypes(boolean lazyTypes) {
+		this.lazyTypes = lazyTypes;
+	}
+
+	public boolean isKeepDescriptions() {
+		return keepDescriptions;
+	}
+
+	/**
+	 * Keep the descriptions of types and of their fields, available from
+	 * {@link GraphQLType#getDescription()}. A description is kept as a
+	 * reference to its place in the parsed text and decoded each time it is
+	 * asked for, so the text of the file stays reachable from the schema; memory
+	 * map large files to keep that cheap. Descriptions are skipped without being
+	 * decoded when they are not kept.
+	 * 
+	 * @param keepDescriptions True to keep descriptions.
+	 */
+	public void setKeepDescriptions(boolean keepDescriptions) {
+		this.keepDescriptions = keepDescriptions;
+	}
+
+	public boolean isInternTypes() {
+		return internTypes;
+	}
+
+	/**
+	 * Share one canonical instance between all fields, arguments and operations
+	 * of equal scalar, reference or list type, from a {@link GraphQLTypeInterner}
+	 * kept by this parser for all the schemas it parses. Canonical types can't
+	 * be changed, so don't set this if the parsed types are changed afterwards.
+	 * Types that carry a kept description are not shared.
+	 * 
+	 * @param internTypes True to share equal types.
+	 */
+	public void setInternTypes(boolean internTypes) {
+		this.internTypes = internTypes;
+	}
+
+	public long getMaxParseSteps() {
+		return maxParseSteps;
+	}
+
+	/**
+	 * Limit the work spent on each file. Steps are counted in characters of
+	 * input consumed. A file that exceeds the budget stops parsing, reports
+	 * {@link Problem#BUDGET_EXCEEDED} with a message naming the file, line and
+	 * limit, and contributes the definitions parsed before it, the same as a
+	 * parse error. Definitions
+	 * deferred by {@link #setLazyTypes(boolean)} are parsed without a budget.
+	 * 
+	 * @param maxParseSteps Maximum number of steps per file, 0 for no limit.
+	 */
+	public void setMaxParseSteps(long maxParseSteps) {
+		if (maxParseSteps < 0) {
+			throw new IllegalArgumentException("Maximum parse steps must not be negative.");
+		}
+		this.maxParseSteps = maxParseSteps;
+	}
+
+	public long getMaxParseMillis() {
+		return maxParseMillis;
+	}
+
+	/**
+	 * Limit the time spent on each file, with the same diagnostic and result as
+	 * {@link #setMaxParseSteps(long)}.
+	 * 
+	 * @param maxParseMillis Maximum parse time per file in milliseconds, 0 for no
+	 *                       limit.
+	 */
+	public void setMaxParseMillis(long maxParseMillis) {
+		if (maxParseMillis < 0) {
+			throw new IllegalArgumentException("Maximum parse time must not be negative.");
+		}
+		this.maxParseMillis = maxParseMillis;
+	}
+
+	public ParseDiagnostics getDiagnostics() {
+		return diagnostics;
+	}
+
+	/**
+	 * Choose where the parser reports the lines and tokens it skips and the
+	 * errors that end a parse, for example a
+	 * {@link com.ebay.graphql.parser.diagnostics.ParseDiagnosticsCollector}.
+	 * By default nothing is reported and lines are not classified for it.
+	 * 
+	 * @param diagnostics Diagnostics, {@link ParseDiagnostics#NONE} to report
+	 *                    nothing.
+	 */
+	public void setDiagnostics(ParseDiagnostics diagnostics) {
+		if (diagnostics == null) {
+			throw new IllegalArgumentException("Diagnostics must not be null.");
+		}
+		this.diagnostics = diagnostics;
+	}
+
 	public GraphQLSchema parseGraphQL(File schemaFile) {
 
 		GraphQLSchema completeSchema = new GraphQLSchema();
 
-		if (schemaFile == null || !schemaFile.exists()) {
+		GraphQLSchema schema;
+		for (File file : getSchemaFilesToParse(schemaFile)) {
+			if (loadMode == LoadMode.STREAM && frontend == Frontend.LINE && parseCache == null) {
+				// No schema per file, definitions go straight into the complete schema.
+				streamFile(file, completeSchema);
+				continue;
+			}
+			schema = parseFile(file);
+			completeSchema.addSchema(schema);
+		}
+
+		return completeSchema;
+	}
+
+	/**
+	 * Parse GraphQL text from a reader. The line front-end reads one line at a
+	 * time rather than loading the whole text first. The reader is not closed.
+	 * 
+	 * @param reader Reader of GraphQL text.
+	 * @return Schema.
+	 * @throws IOException if the reader fails.
+	 */
+	public GraphQLSchema parseGraphQL(Reader reader) throws IOException {
+
+		if (reader == null) {
+			throw new IllegalArgumentException("Reader must not be null.");
+		}
+
+		if (frontend == Frontend.TOKEN) {
+			return processTokens(new GraphQLLexer(read(reader)), newBudget(TEXT_SOURCE));
+		}
+
+		try {
+			return processLinesOfText(prepare(new GraphQLFile(reader), TEXT_SOURCE));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Parse UTF-8 encoded GraphQL text from an input stream. The stream is not
+	 * closed.
+	 * 
+	 * @param inputStream Input stream of GraphQL text.
+	 * @return Schema.
+	 * @throws IOException if the input stream fails.
+	 */
+	public GraphQLSchema parseGraphQL(InputStream inputStream) throws IOException {
+		if (inputStream == null) {
+			throw new IllegalArgumentException("Input stream must not be null.");
+		}
+		return parseGraphQL(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parse GraphQL text held in memory.
+	 * 
+	 * @param schema GraphQL text.
+	 * @return Schema.
+	 */
+	public GraphQLSchema parseGraphQL(CharSequence schema) {
+
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema must not be null.");
+		}
+
+		if (frontend == Frontend.TOKEN) {
+			return processTokens(new GraphQLLexer(schema), newBudget(TEXT_SOURCE));
+		}
+		return processLinesOfText(prepare(new GraphQLFile(new StringReader(schema.toString())), TEXT_SOURCE));
+	}
+
+	/**
+	 * Parse a UTF-8 encoded GraphQL resource with the context class loader, or
+	 * the class loader of this class if there is no context class loader.
+	 * 
+	 * @param resourceName Resource name. (EG: {@code com/example/schema.graphqls})
+	 * @return Schema.
+	 * @throws IOException if the resource can't be found or read.
+	 */
+	public GraphQLSchema parseGraphQLResource(String resourceName) throws IOException {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return parseGraphQLResource(resourceName, classLoader != null ? classLoader : GraphQLParser.class.getClassLoader());
+	}
+
+	/**
+	 * Parse a UTF-8 encoded GraphQL resource.
+	 * 
+	 * @param resourceName Resource name. (EG: {@code com/example/schema.graphqls})
+	 * @param classLoader  Class loader to load the resource with.
+	 * @return Schema.
+	 * @throws IOException if the resource can't be found or read.
+	 */
+	public GraphQLSchema parseGraphQLResource(String resourceName, ClassLoader classLoader) throws IOException {
+
+		if (resourceName == null || classLoader == null) {
+			throw new IllegalArgumentException("Resource name and class loader must not be null.");
+		}
+
+		try (InputStream inputStream = classLoader.getResourceAsStream(resourceName)) {
+			if (inputStream == null) {
+				throw new FileNotFoundException(String.format("Resource [%s] not found.", resourceName));
+			}
+			return parseGraphQL(inputStream);
+		}
+	}
+
+	/**
+	 * Parse the schema files on the common fork-join pool, or on virtual threads
+	 * on Java 21 and later.
+	 * 
+	 * @param schemaFile Schema file or directory of schema files.
+	 * @return Schema identical to the one returned by {@link #parseGraphQL(File)}.
+	 * @see #parseGraphQL(File, ExecutorService)
+	 */
+	public GraphQLSchema parseGraphQLInParallel(File schemaFile) {
+		return parseGraphQL(schemaFile, ConcurrentTasks.defaultExecutor());
+	}
+
+	/**
+	 * Parse the schema files in parallel, one task per file. Files only depend on
+	 * their own contents, so the per file schemas are merged afterwards in the
+	 * same order as {@link #parseGraphQL(File)} merges them and the result is
+	 * identical.
+	 * 
+	 * @param schemaFile      Schema file or directory of schema files.
+	 * @param executorService Executor to parse the files on. It is not shut down.
+	 * @return Complete schema.
+	 * @throws IllegalArgumentException if executorService is null.
+	 * @throws IllegalStateException    if parsing is interrupted or a file fails
+	 *                                  with a checked exception.
+	 */
+	public GraphQLSchema parseGraphQL(File schemaFile, ExecutorService executorService) {
+
+		if (executorService == null) {
+			throw new IllegalArgumentException("Executor service must not be null.");
+		}
+
+		List<Future<GraphQLSchema>> futures = new ArrayList<>();
+		for (File file : getSchemaFilesToParse(schemaFile)) {
+			futures.add(executorService.submit(() -> parseFile(file)));
+		}
+		return mergeSchemas(futures);
+	}
+
+	/**
+	 * Parse the schema files on the common fork-join pool, or on virtual threads
+	 * on Java 21 and later, without blocking the calling thread.
+	 * 
+	 * @param schemaFile Schema file or directory of schema files.
+	 * @return Future of a schema identical to the one returned by
+	 *         {@link #parseGraphQL(File)}.
+	 * @see #parseGraphQLAsync(File, Executor)
+	 */
+	public CompletableFuture<GraphQLSchema> parseGraphQLAsync(File schemaFile) {
+		return parseGraphQLAsync(schemaFile, ConcurrentTasks.defaultExecutor());
+	}
+
+	/**
+	 * Parse the schema files without blocking the calling thread. The directory
+	 * is searched on the executor, then each file is read and parsed by a task
+	 * of its own, so reading later files overlaps parsing earlier ones. The per
+	 * file schemas are merged in the same order as {@link #parseGraphQL(File)}
+	 * merges them.
+	 * 
+	 * Cancelling the returned future cancels the files that haven't started
+	 * yet; files already being parsed run to the end and are discarded. A file
+	 * that fails completes the future exceptionally with its error and cancels
+	 * the rest.
+	 * 
+	 * @param schemaFile Schema file or directory of schema files.
+	 * @param executor   Executor to search and parse on.
+	 * @return Future of the complete schema.
+	 * @throws IllegalArgumentException if executor is null.
+	 */
+	public CompletableFuture<GraphQLSchema> parseGraphQLAsync(File schemaFile, Executor executor) {
+
+		if (executor == null) {
+			throw new IllegalArgumentException("Executor must not be null.");
+		}
+
+		CompletableFuture<GraphQLSchema> result = new CompletableFuture<>();
+		try {
+			executor.execute(() -> parseFilesAsync(schemaFile, executor, result));
+		} catch (RejectedExecutionException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
+	private void parseFilesAsync(File schemaFile, Executor executor, CompletableFuture<GraphQLSchema> result) {
+
+		List<CompletableFuture<GraphQLSchema>> futures = new ArrayList<>();
+		try {
+			for (File file : getSchemaFilesToParse(schemaFile)) {
+				if (result.isDone()) {
+					return;
+				}
+				CompletableFuture<GraphQLSchema> future = CompletableFuture.supplyAsync(() -> parseFile(file), executor);
+				future.whenComplete((schema, error) -> {
+					if (error != null) {
+						result.completeExceptionally(unwrap(error));
+					}
+				});
+				futures.add(future);
+			}
+		} catch (RuntimeException | Error e) {
+			result.completeExceptionally(e);
+		} finally {
+			// Cancelled or failed tasks that haven't started yet are skipped.
+			result.whenComplete((schema, error) -> futures.forEach(future -> future.cancel(false)));
+		}
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+			try {
+				GraphQLSchema completeSchema = new GraphQLSchema();
+				for (CompletableFuture<GraphQLSchema> future : futures) {
+					completeSchema.addSchema(future.join());
+				}
+				result.complete(completeSchema);
+			} catch (RuntimeException | Error e) {
+				result.completeExceptionally(e);
+			}
+		});
+	}
+
+	private static Throwable unwrap(Throwable error) {
+		return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+	}
+
+	/**
+	 * Parse the schema files inside a JAR or ZIP archive without extracting it.
+	 * The archive is read front to back and entries ending in {@code .graphql} or
+	 * {@code .graphqls} are parsed as they are reached, then merged in entry name
+	 * order.
+	 * 
+	 * @param archive JAR or ZIP file.
+	 * @return Complete schema.
+	 * @throws IOException if the archive can't be read.
+	 */
+	public GraphQLSchema parseGraphQLArchive(File archive) throws IOException {
+
+		if (archive == null) {
+			throw new IllegalArgumentException("Archive must not be null.");
+		}
+
+		try (InputStream inputStream = new BufferedInputStream(new FileInputStream(archive))) {
+			return parseGraphQLArchive(inputStream);
+		}
+	}
+
+	/**
+	 * Parse the schema files inside a JAR or ZIP archive read from a stream. The
+	 * stream is not closed.
+	 * 
+	 * @param inputStream Input stream of a JAR or ZIP archive.
+	 * @return Complete schema.
+	 * @throws IOException if the archive can't be read.
+	 * @see #parseGraphQLArchive(File)
+	 */
+	public GraphQLSchema parseGraphQLArchive(InputStream inputStream) throws IOException {
+
+		if (inputStream == null) {
+			throw new IllegalArgumentException("Input stream must not be null.");
+		}
+
+		Map<String, GraphQLSchema> schemas = new TreeMap<>();
+		ZipInputStream zipInputStream = new ZipInputStream(inputStream, StandardCharsets.UTF_8);
+		ZipEntry entry;
+		while ((entry = zipInputStream.getNextEntry()) != null) {
+			if (isSchemaEntry(entry)) {
+				// Only the current entry is read, the archive stays open.
+				schemas.put(entry.getName(), parseGraphQL(zipInputStream));
+			}
+		}
+
+		GraphQLSchema completeSchema = new GraphQLSchema();
+		for (GraphQLSchema schema : schemas.values()) {
+			completeSchema.addSchema(schema);
+		}
+		return completeSchema;
+	}
+
+	/**
+	 * Parse the schema files inside a JAR or ZIP archive on the common fork-join
+	 * pool, or on virtual threads on Java 21 and later.
+	 * 
+	 * @param archive JAR or ZIP file.
+	 * @return Schema identical to the one returned by
+	 *         {@link #parseGraphQLArchive(File)}.
+	 * @throws IOException if the archive can't be read.
+	 * @see #parseGraphQLArchive(File, ExecutorService)
+	 */
+	public GraphQLSchema parseGraphQLArchiveInParallel(File archive) throws IOException {
+		return parseGraphQLArchive(archive, ConcurrentTasks.defaultExecutor());
+	}
+
+	/**
+	 * Parse the schema files inside a JAR or ZIP archive in parallel, one task
+	 * per entry. Entries are read straight from the archive through its central
+	 * directory and merged in entry name order, so the result is identical to
+	 * {@link #parseGraphQLArchive(File)}.
+	 * 
+	 * @param archive         JAR or ZIP file.
+	 * @param executorService Executor to parse the entries on. It is not shut
+	 *                        down.
+	 * @return Complete schema.
+	 * @throws IOException              if the archive or one of its entries can't
+	 *                                  be read.
+	 * @throws IllegalArgumentException if archive or executorService is null.
+	 * @throws IllegalStateException    if parsing is interrupted.
+	 */
+	public GraphQLSchema parseGraphQLArchive(File archive, ExecutorService executorService) throws IOException {
+
+		if (archive == null || executorService == null) {
+			throw new IllegalArgumentException("Archive and executor service must not be null.");
+		}
+
+		try (ZipFile zipFile = new ZipFile(archive, StandardCharsets.UTF_8)) {
+			Map<String, Future<GraphQLSchema>> futures = new TreeMap<>();
+			for (ZipEntry entry : Collections.list(zipFile.entries())) {
+				if (isSchemaEntry(entry)) {
+					futures.put(entry.getName(), executorService.submit(() -> parseArchiveEntry(zipFile, entry)));
+				}
+			}
+			return mergeSchemas(new ArrayList<>(futures.values()));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Wait for the per file schemas and merge them in order. The futures are
+	 * cancelled when done, so a failure stops the remaining tasks.
+	 */
+	private static GraphQLSchema mergeSchemas(List<Future<GraphQLSchema>> futures) {
+		try {
+			GraphQLSchema completeSchema = new GraphQLSchema();
+			for (Future<GraphQLSchema> future : futures) {
+				completeSchema.addSchema(future.get());
+			}
 			return completeSchema;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while parsing schema files.", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException("Unable to parse schema files.", cause);
+		} finally {
+			for (Future<GraphQLSchema> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	private GraphQLSchema parseArchiveEntry(ZipFile zipFile, ZipEntry entry) {
+		try (InputStream inputStream = zipFile.getInputStream(entry)) {
+			return parseGraphQL(inputStream);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Same extension rules as {@link GraphQLFilenameFilter}.
+	 */
+	private static boolean isSchemaEntry(ZipEntry entry) {
+		return !entry.isDirectory() && (entry.getName().endsWith(".graphql") || entry.getName().endsWith(".graphqls"));
+	}
+
+	private static CharSequence read(Reader reader) throws IOException {
+		StringBuilder builder = new StringBuilder();
+		char[] buffer = new char[8192];
+		int read;
+		while ((read = reader.read(buffer)) != -1) {
+			builder.append(buffer, 0, read);
+		}
+		return builder;
+	}
+
+	private List<File> getSchemaFilesToParse(File schemaFile) {
+
+		if (schemaFile == null || !schemaFile.exists()) {
+			return new ArrayList<>();
 		}
 
 		// Check folder containing schema file for other graphql schema definitions to
@@ -34,18 +666,80 @@ public class GraphQLParser {
 		if (schemaFile.isFile()) {
 			schemaFile = schemaFile.getParentFile();
 		}
-		List<File> schemaFiles = getGraphQLSchemaFiles(schemaFile);
+		return getGraphQLSchemaFiles(schemaFile);
+	}
 
-		GraphQLSchema schema;
-		for (File file : schemaFiles) {
-			GraphQLFile graphQLFile = new GraphQLFile(file);
-			schema = processLinesOfText(graphQLFile);
-			completeSchema.addSchema(schema);
+	private GraphQLSchema parseFile(File file) {
+		if (parseCache != null) {
+			return parseCache.get(file, this, this::readAndParseFile);
 		}
+		return readAndParseFile(file);
+	}
 
-		return completeSchema;
+	private GraphQLSchema readAndParseFile(File file) {
+
+		if (frontend == Frontend.LINE && loadMode == LoadMode.STREAM) {
+			GraphQLSchema schema = new GraphQLSchema();
+			streamFile(file, schema);
+			return schema;
+		} else if (frontend == Frontend.LINE) {
+			return processLinesOfText(prepare(new GraphQLFile(file, loadMode), file.getPath()));
+		}
+
+		CharSequence source;
+		try {
+			if (loadMode != LoadMode.READ_LINES) {
+				source = MappedFile.map(file).getText();
+			} else {
+				source = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+			}
+		} catch (IOException e) {
+			// Unreadable files contribute nothing, same as the line front-end.
+			return new GraphQLSchema();
+		}
+		return processTokens(new GraphQLLexer(source), newBudget(file.getPath()));
+	}
+
+	/**
+	 * Parse a file line by line into a schema, holding only the lines of the
+	 * definition being parsed. A read error keeps the definitions parsed before
+	 * it.
+	 */
+	private void streamFile(File file, GraphQLSchema schema) {
+		try (GraphQLFile graphQLFile = new GraphQLFile(file, LoadMode.STREAM)) {
+			processLinesOfText(prepare(graphQLFile, file.getPath()), schema);
+		} catch (UncheckedIOException e) {
+			diagnostics.problem(Problem.PARSE_ERROR,
+					String.format("Unreadable schema file [%s]: %s", file.getPath(), e.getCause().getMessage()), -1,
+					e.getCause());
+		}
+	}
+
+	private GraphQLFile prepare(GraphQLFile graphQLFile, String source) {
+		graphQLFile.setBudget(newBudget(source));
+		if (diagnostics != ParseDiagnostics.NONE) {
+			graphQLFile.setDiagnostics(diagnostics);
+		}
+		return graphQLFile;
+	}
+
+	/**
+	 * @return A fresh budget for one file, or null if parsing is not limited.
+	 */
+	private ParseBudget newBudget(String source) {
+		if (maxParseSteps == 0 && maxParseMillis == 0) {
+			return null;
+		}
+		return new ParseBudget(source, maxParseSteps, maxParseMillis);
 	}
 	
+	/**
+	 * Find the schema files in a directory and its subdirectories with the
+	 * parser's {@link GraphQLSchemaFinder}.
+	 * 
+	 * @param directory Directory to search. A file is returned as is.
+	 * @return Schema files, sorted by path.
+	 */
 	protected final List<File> getGraphQLSchemaFiles(File directory) {
 		
 		List<File> graphQLSchemaFiles = new ArrayList<>();
@@ -55,28 +749,35 @@ public class GraphQLParser {
 			return graphQLSchemaFiles;
 		}
 		
-		File[] files = directory.listFiles(new GraphQLFilenameFilter());
-		if (files != null) {
-			for (File file : files) {
-				if (file.isDirectory()) {
-					graphQLSchemaFiles.addAll(getGraphQLSchemaFiles(file));
-				} else {
-					graphQLSchemaFiles.add(file);
-				}
+		try {
+			for (Path path : schemaFinder.find(directory.toPath())) {
+				graphQLSchemaFiles.add(path.toFile());
 			}
+		} catch (IOException e) {
+			// Unreadable directories contribute no files.
 		}
 		
 		return graphQLSchemaFiles;
 	}
 
 	protected final GraphQLSchema processLinesOfText(GraphQLFile graphQLFile) {
-
 		GraphQLSchema schema = new GraphQLSchema();
+		processLinesOfText(graphQLFile, schema);
+		return schema;
+	}
+
+	/**
+	 * Parse lines of GraphQL text into a schema. Each definition is added as soon
+	 * as it is complete.
+	 */
+	private void processLinesOfText(GraphQLFile graphQLFile, GraphQLSchema schema) {
+
+		boolean deferTypes = lazyTypes && graphQLFile.isRandomAccess();
 
 		String line;
 		LineType lineType;
-		@SuppressWarnings("unused")
-		String lastDescription = null;
+		// Description of the next definition.
+		GraphQLDescription description = null;
 
 		try {
 			while (graphQLFile.hasMoreLines()) {
@@ -88,16 +789,13 @@ public class GraphQLParser {
 				case COMMENT:
 					// Advance, but don't process. We don't process comments.
 					graphQLFile.getNextLine();
-					break;
+					continue;
 				case MULTI_LINE_DESCRIPTION_IN_ONE_LINE:
-					lastDescription = processSingleLineDescription(graphQLFile);
-					break;
 				case MULTI_LINE_DESCRIPTION_OPEN_OR_CLOSE_SIGNATURE:
-					lastDescription = processMultiLineDescription(graphQLFile);
-					break;
 				case SINGLE_LINE_DESCRIPTION:
-					lastDescription = processSingleLineDescription(graphQLFile);
-					break;
+					description = skipDescription(graphQLFile);
+					graphQLFile.getNextLine();
+					continue;
 				case SCHEMA:
 					// Advance - nothing to process.
 					graphQLFile.getNextLine();
@@ -128,30 +826,180 @@ public class GraphQLParser {
 						processMutation(graphQLFile, schema);
 					} else if (objectTypeName.equals(schema.getSubscriptionTypeName())) {
 						processSubscription(graphQLFile, schema);
+					} else if (deferTypes) {
+						deferDefinition(graphQLFile, schema, objectTypeName, this::processObject, description);
 					} else {
 						processObject(graphQLFile, schema);
+						describe(schema, objectTypeName, description);
 					}
 					break;
 				case SCALAR_DEFINITION:
 					processScalar(graphQLFile, schema);
+					describe(schema, getScalarTypeName(line), description);
 					break;
 				case UNION_DEFINITION:
 					processUnion(graphQLFile, schema);
 					break;
 				case ENUM_DEFINITION:
-					processEnum(graphQLFile, schema);
+					if (deferTypes) {
+						deferDefinition(graphQLFile, schema, getEnumTypeName(line), this::processEnum, description);
+					} else {
+						processEnum(graphQLFile, schema);
+						describe(schema, getEnumTypeName(line), description);
+					}
+					break;
+				case INPUT_DEFINITION:
+					if (deferTypes) {
+						deferDefinition(graphQLFile, schema, getInputTypeName(line), this::processInputObject,
+								description);
+					} else {
+						processInputObject(graphQLFile, schema);
+						describe(schema, getInputTypeName(line), description);
+					}
 					break;
 				case UNMATCHED_TEXT:
 				default:
-					System.out.println(String.format("Unmatched line of text [%s] [ln: %d].", line,
-							graphQLFile.getCurrentLineNumber()));
+					diagnostics.problem(Problem.UNMATCHED_LINE, line, graphQLFile.getCurrentLineNumber(), null);
 					// Advance - nothing to process.
 					graphQLFile.getNextLine();
 					break;
 				}
+				description = null;
+			}
+		} catch (ParseException e) {
+			diagnostics.problem(Problem.PARSE_ERROR, e.getMessage(), graphQLFile.getCurrentLineNumber(), e);
+		} catch (ParseBudget.ExceededException e) {
+			diagnostics.problem(Problem.BUDGET_EXCEEDED, e.getMessage(), e.getLineNumber(), e);
+		}
+	}
+
+	/**
+	 * Skip over the body of a definition and add it to the schema as a lazy
+	 * type. The body is parsed from the same lines when the type is looked up.
+	 */
+	private void deferDefinition(GraphQLFile graphQLFile, GraphQLSchema schema, String name,
+			DefinitionParser definitionParser, GraphQLDescription description) {
+
+		GraphQLFile definition = graphQLFile.atLine(graphQLFile.getCurrentLineNumber());
+
+		// Stop at the same line as the definition parser.
+		String line;
+		while (GraphQLMatcher.getLineType(line = graphQLFile.getNextLine()) != LineType.CLOSING_CURLY_BRACE
+				&& line != null) {
+			// Skip the body.
+		}
+
+		schema.addLazyType(name, () -> parseDeferredDefinition(definition, name, definitionParser, description));
+	}
+
+	private GraphQLType parseDeferredDefinition(GraphQLFile definition, String name,
+			DefinitionParser definitionParser, GraphQLDescription description) {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		try {
+			// Deferred definitions of a file share its lines, which are read only,
+			// so types can be resolved from several threads at once.
+			definitionParser.parse(definition, schema);
+		} catch (ParseException e) {
+			diagnostics.problem(Problem.PARSE_ERROR, e.getMessage(), definition.getCurrentLineNumber(), e);
+		}
+		describe(schema, name, description);
+		return schema.getTypes().get(name);
+	}
+
+	/**
+	 * Skip the description that starts at the current line, up to its last
+	 * line. A block string opened on its own line runs to the next line with
+	 * triple quotes.
+	 * 
+	 * @param graphQLFile GraphQL file positioned at the description.
+	 * @return Description if descriptions are kept, null otherwise.
+	 */
+	private GraphQLDescription skipDescription(GraphQLFile graphQLFile) {
+
+		int firstLineNumber = graphQLFile.getCurrentLineNumber();
+		// Streamed lines are released as the file advances, so keep a copy.
+		List<String> lines = keepDescriptions && !graphQLFile.isRandomAccess() ? new ArrayList<>() : null;
+
+		String line = graphQLFile.getCurrentLine();
+		if (lines != null) {
+			lines.add(line);
+		}
+		if (GraphQLMatcher.getLineType(line) == LineType.MULTI_LINE_DESCRIPTION_OPEN_OR_CLOSE_SIGNATURE
+				&& line.trim().startsWith("\"\"\"")) {
+			while (graphQLFile.hasMoreLines()) {
+				line = graphQLFile.getNextLine();
+				if (lines != null) {
+					lines.add(line);
+				}
+				if (GraphQLMatcher.getLineType(line) == LineType.MULTI_LINE_DESCRIPTION_OPEN_OR_CLOSE_SIGNATURE) {
+					break;
+				}
 			}
+		}
+
+		if (!keepDescriptions) {
+			return null;
+		} else if (lines != null) {
+			return SourceDescription.ofLines(lines, 0, lines.size());
+		}
+		return SourceDescription.ofLines(graphQLFile.linesOfText, firstLineNumber - 1,
+				graphQLFile.getCurrentLineNumber() - firstLineNumber + 1);
+	}
+
+	private static boolean isDescription(String line) {
+		switch (GraphQLMatcher.getLineType(line)) {
+		case SINGLE_LINE_DESCRIPTION:
+		case MULTI_LINE_DESCRIPTION_IN_ONE_LINE:
+		case MULTI_LINE_DESCRIPTION_OPEN_OR_CLOSE_SIGNATURE:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private static void describe(GraphQLSchema schema, String name, GraphQLDescription description) {
+		if (description != null) {
+			describe(schema.getTypes().get(name), description);
+		}
+	}
+
+	private static void describe(GraphQLType type, GraphQLDescription description) {
+		if (type != null && description != null) {
+			type.setDescription(description);
+		}
+	}
+
+	private GraphQLType intern(GraphQLType type) {
+		return internTypes ? typeInterner.intern(type) : type;
+	}
+
+	/**
+	 * Parse the tokens of a GraphQL file. Unlike {@link #processLinesOfText}
+	 * definitions may span or share lines.
+	 * 
+	 * @param lexer Lexer over the file contents.
+	 * @return Schema of the definitions parsed before the end of the file or the
+	 *         first error.
+	 */
+	protected final GraphQLSchema processTokens(GraphQLLexer lexer) {
+		return processTokens(lexer, null);
+	}
+
+	private GraphQLSchema processTokens(GraphQLLexer lexer, ParseBudget budget) {
+
+		GraphQLSchema schema = new GraphQLSchema();
+
+		try {
+			GraphQLTokenParser tokenParser = new GraphQLTokenParser(lexer, schema, budget, diagnostics);
+			tokenParser.setKeepDescriptions(keepDescriptions);
+			tokenParser.setTypeInterner(internTypes ? typeInterner : null);
+			tokenParser.parseDocument();
 		} catch (ParseException e) {
-			e.printStackTrace();
+			// Token errors carry their line number in the message.
+			diagnostics.problem(Problem.PARSE_ERROR, e.getMessage(), -1, e);
+		} catch (ParseBudget.ExceededException e) {
+			diagnostics.problem(Problem.BUDGET_EXCEEDED, e.getMessage(), e.getLineNumber(), e);
 		}
 
 		return schema;
@@ -162,7 +1010,12 @@ public class GraphQLParser {
 	 * 
 	 * @param graphQLFile GraphQL file to process.
 	 * @return Description.
+	 * @deprecated The parser skips descriptions, or keeps them when
+	 *             {@link #setKeepDescriptions(boolean)} is set, readable through
+	 *             {@link com.ebay.graphql.types.GraphQLType#getDescription()}.
+	 *             Nothing calls this any more.
 	 */
+	@Deprecated
 	protected final String processSingleLineDescription(GraphQLFile graphQLFile) {
 		String line = graphQLFile.getCurrentLineAndThenAdvance();
 		line = line.replaceFirst("^\"*", "");
@@ -175,7 +1028,9 @@ public class GraphQLParser {
 	 * 
 	 * @param graphQLFile GraphQL file to process.
 	 * @return Multi-line description as a single line stirng.
+	 * @deprecated See {@link #processSingleLineDescription(GraphQLFile)}.
 	 */
+	@Deprecated
 	protected final String processMultiLineDescription(GraphQLFile graphQLFile) {
 
 		StringBuilder builder = new StringBuilder();
@@ -204,6 +1059,18 @@ public class GraphQLParser {
 		return builder.toString();
 	}
 	
+	/**
+	 * Decode the arguments of an operation for the schema, which keeps none for
+	 * keys it can't decode.
+	 */
+	private static GraphQLInputObject decodeArguments(String key) {
+		try {
+			return GraphQLFieldDecoder.decodeArguments(key);
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+
 	protected final void processSchemaQuery(GraphQLFile graphQLFile, GraphQLSchema schema) {
 		String line = graphQLFile.getCurrentLineAndThenAdvance();
 		line = line.substring(line.indexOf(":") + 1).trim();
@@ -217,9 +1084,11 @@ public class GraphQLParser {
 		while (GraphQLMatcher.getLineType(line) != LineType.CLOSING_CURLY_BRACE && line != null) {
 			kvp = extractOperationApi(graphQLFile);
 			if (!kvp.isPresent()) {
+				// Stopped at the closing curly brace or the end of the file.
+				line = graphQLFile.getCurrentLine();
 				continue;
 			}
-			schema.addQuery(kvp.get().getKey(), kvp.get().getValue());
+			schema.addQuery(kvp.get().getKey(), kvp.get().getValue(), decodeArguments(kvp.get().getKey()));
 			line = graphQLFile.peekNextLine();
 		}
 	}
@@ -237,10 +1106,11 @@ public class GraphQLParser {
 		while (GraphQLMatcher.getLineType(line) != LineType.CLOSING_CURLY_BRACE && line != null) {
 			kvp = extractOperationApi(graphQLFile);
 			if (!kvp.isPresent()) {
-				line = graphQLFile.peekNextLine();
+				// Stopped at the closing curly brace or the end of the file.
+				line = graphQLFile.getCurrentLine();
 				continue;
 			}
-			schema.addMutation(kvp.get().getKey(), kvp.get().getValue());
+			schema.addMutation(kvp.get().getKey(), kvp.get().getValue(), decodeArguments(kvp.get().getKey()));
 			line = graphQLFile.peekNextLine();
 		}
 	}
@@ -258,9 +1128,11 @@ public class GraphQLParser {
 		while (GraphQLMatcher.getLineType(line) != LineType.CLOSING_CURLY_BRACE && line != null) {
 			kvp = extractOperationApi(graphQLFile);
 			if (!kvp.isPresent()) {
+				// Stopped at the closing curly brace or the end of the file.
+				line = graphQLFile.getCurrentLine();
 				continue;
 			}
-			schema.addSubscription(kvp.get().getKey(), kvp.get().getValue());
+			schema.addSubscription(kvp.get().getKey(), kvp.get().getValue(), decodeArguments(kvp.get().getKey()));
 			line = graphQLFile.peekNextLine();
 		}
 	}
@@ -269,7 +1141,7 @@ public class GraphQLParser {
 		
 		currentLine = currentLine.replaceFirst("^\\s*type\\s", "");
 		currentLine = currentLine.replace("{", "");
-		currentLine = currentLine.replaceAll("(@.*)\\s*$", "");
+		currentLine = stripTrailingDirectives(currentLine);
 
 		// Drop the interface if it exists
 		if (currentLine.contains(IMPLEMENTS_KEYWORD)) {
@@ -288,44 +1160,101 @@ public class GraphQLParser {
 
 		FieldKeyValuePair kvp;
 		String line;
-		boolean nullable = true;
+		GraphQLDescription description = null;
 		while (GraphQLMatcher.getLineType(line = graphQLFile.getNextLine()) != LineType.CLOSING_CURLY_BRACE
 				&& line != null) {
 
-			nullable = true;
-
-			if (canIgnoreLine(line)) {
+			if (isDescription(line)) {
+				description = skipDescription(graphQLFile);
+				continue;
+			} else if (canIgnoreLine(line)) {
 				continue;
 			}
 
-			line = line.trim();
+			kvp = decodeField(line);
+			describe(kvp.getValue(), description);
+			description = null;
+			graphQLObject.addField(kvp.getKey(), intern(kvp.getValue()));
+		}
 
-			if (line.contains("@")) {
-				line = line.replaceAll("(@.*)\\s*$", "");
-			}
+		schema.addType(objectName, graphQLObject);
+	}
+
+	private String getInputTypeName(String currentLine) {
+		currentLine = currentLine.replaceFirst("^\\s*input\\s", "").replace("{", "");
+		return stripTrailingDirectives(currentLine).trim();
+	}
+
+	protected final void processInputObject(GraphQLFile graphQLFile, GraphQLSchema schema) throws ParseException {
+
+		String inputName = getInputTypeName(graphQLFile.getCurrentLine());
+
+		GraphQLInputObject inputObject = new GraphQLInputObject();
 
-			if (line.endsWith("!")) {
-				nullable = false;
-				line = line.substring(0, line.length() - 1);
+		FieldKeyValuePair kvp;
+		String line;
+		String defaultValue;
+		GraphQLDescription description = null;
+		while (GraphQLMatcher.getLineType(line = graphQLFile.getNextLine()) != LineType.CLOSING_CURLY_BRACE
+				&& line != null) {
+
+			if (isDescription(line)) {
+				description = skipDescription(graphQLFile);
+				continue;
 			}
 
-			line = line.trim();
+			// Field lines only match once the default value is split off.
+			defaultValue = null;
+			int equals = line.indexOf('=');
+			if (equals >= 0 && GraphQLMatcher.getLineType(line) == LineType.UNMATCHED_TEXT) {
+				defaultValue = stripTrailingDirectives(line.substring(equals + 1)).trim();
+				line = line.substring(0, equals);
+			}
 
-			kvp = new FieldKeyValuePair(line);
-			GraphQLType value = kvp.getValue();
-			if (!nullable) {
-				value.makeNonNullable();
+			if (canIgnoreLine(line)) {
+				continue;
 			}
-			graphQLObject.addField(kvp.getKey(), value);
+
+			kvp = decodeField(line);
+			describe(kvp.getValue(), description);
+			description = null;
+			inputObject.addField(new GraphQLInputValue(kvp.getKey(), intern(kvp.getValue()), defaultValue));
 		}
 
-		schema.addType(objectName, graphQLObject);
+		schema.addType(inputName, inputObject);
+	}
+
+	private FieldKeyValuePair decodeField(String line) throws ParseException {
+
+		boolean nullable = true;
+
+		line = line.trim();
+
+		if (line.contains("@")) {
+			line = stripTrailingDirectives(line);
+		}
+
+		if (line.endsWith("!")) {
+			nullable = false;
+			line = line.substring(0, line.length() - 1);
+		}
+
+		line = line.trim();
+
+		FieldKeyValuePair kvp = GraphQLFieldDecoder.decode(line);
+		if (!nullable) {
+			kvp.getValue().makeNonNullable();
+		}
+		return kvp;
 	}
 
 	protected final void processScalar(GraphQLFile graphQLFile, GraphQLSchema schema) throws ParseException {
 		String line = graphQLFile.getCurrentLineAndThenAdvance();
-		line = line.replaceFirst("^^\\s*scalar", "").replaceFirst("@specifiedBy.*$", "").trim();
-		schema.addType(line, new GraphQLScalar(GraphQLScalarValue.STRING));
+		schema.addType(getScalarTypeName(line), new GraphQLScalar(GraphQLScalarValue.STRING));
+	}
+
+	private String getScalarTypeName(String currentLine) {
+		return currentLine.replaceFirst("^^\\s*scalar", "").replaceFirst("@specifiedBy.*$", "").trim();
 	}
 
 	protected final void processUnion(GraphQLFile graphQLFile, GraphQLSchema schema) throws ParseException {
@@ -367,10 +1296,7 @@ public class GraphQLParser {
 
 	protected final void processEnum(GraphQLFile graphQLFile, GraphQLSchema schema) throws ParseException {
 
-		String enumName = graphQLFile.getCurrentLine();
-		enumName = enumName.replace("enum", "");
-		enumName = enumName.replace("{", "");
-		enumName = enumName.trim();
+		String enumName = getEnumTypeName(graphQLFile.getCurrentLine());
 
 		GraphQLEnum graphQLEnum = new GraphQLEnum();
 
@@ -389,6 +1315,10 @@ public class GraphQLParser {
 		schema.addType(enumName, graphQLEnum);
 	}
 
+	private String getEnumTypeName(String currentLine) {
+		return currentLine.replace("enum", "").replace("{", "").trim();
+	}
+
 	protected final Optional<FieldKeyValuePair> extractOperationApi(GraphQLFile graphQLFile) throws ParseException {
 
 		/*
@@ -403,6 +1333,7 @@ public class GraphQLParser {
 		LineType lineType;
 		String line;
 		boolean insideParameterList = false;
+		GraphQLDescription description = null;
 
 		while (GraphQLMatcher.getLineType(line = graphQLFile.getNextLine()) != LineType.CLOSING_CURLY_BRACE
 				&& line != null) {
@@ -413,14 +1344,13 @@ public class GraphQLParser {
 			}
 
 			lineType = GraphQLMatcher.getLineType(line);
-			if (lineType == LineType.COMMENT || lineType == LineType.SINGLE_LINE_DESCRIPTION
-					|| lineType == LineType.MULTI_LINE_DESCRIPTION_IN_ONE_LINE) {
+			if (lineType == LineType.COMMENT) {
 				continue;
-			} else if (lineType == LineType.MULTI_LINE_DESCRIPTION_OPEN_OR_CLOSE_SIGNATURE) {
-				while (GraphQLMatcher.getLineType(
-						line = graphQLFile.getNextLine()) != LineType.MULTI_LINE_DESCRIPTION_OPEN_OR_CLOSE_SIGNATURE) {
-					// Churn through the multi-line description until we get to the end signature.
-					; // NOPMD - ignore this
+			} else if (isDescription(line)) {
+				// Descriptions of arguments are skipped.
+				GraphQLDescription skipped = skipDescription(graphQLFile);
+				if (queryBuilder.length() == 0) {
+					description = skipped;
 				}
 				continue;
 			}
@@ -453,7 +1383,76 @@ public class GraphQLParser {
 			return Optional.empty();
 		}
 
-		return Optional.of(new FieldKeyValuePair(queryBuilder.toString()));
+		FieldKeyValuePair kvp = GraphQLFieldDecoder.decode(queryBuilder.toString());
+		describe(kvp.getValue(), description);
+		if (internTypes) {
+			kvp = new FieldKeyValuePair(kvp.getKey(), typeInterner.intern(kvp.getValue()));
+		}
+		return Optional.of(kvp);
+	}
+
+	/**
+	 * Same result as {@code line.replaceAll("(@.*)\\s*$", "")}, in linear time:
+	 * the text from the first '@' that the pattern matches to the end of the
+	 * line (or to a final line terminator) is removed. Every '@' before the same
+	 * line terminator matches, or not, alike, so each stretch of the line is
+	 * checked once instead of once per '@'.
+	 */
+	static String stripTrailingDirectives(String line) {
+
+		int length = line.length();
+		int end = getEndBeforeFinalTerminator(line);
+
+		int at = line.indexOf('@');
+		while (at >= 0) {
+
+			int terminator = at + 1;
+			while (terminator < length && !isLineTerminator(line.charAt(terminator))) {
+				terminator++;
+			}
+			int spaces = terminator;
+			while (spaces < length && isSpace(line.charAt(spaces))) {
+				spaces++;
+			}
+
+			if (spaces == length) {
+				return line.substring(0, at);
+			} else if (end < length && terminator <= end && end <= spaces) {
+				return line.substring(0, at) + line.substring(end);
+			}
+
+			at = line.indexOf('@', terminator);
+		}
+
+		return line;
+	}
+
+	/**
+	 * Positions where {@code $} matches are the end of the line and the start of
+	 * a final line terminator.
+	 */
+	private static int getEndBeforeFinalTerminator(String line) {
+		int length = line.length();
+		if (length >= 2 && line.charAt(length - 2) == '\r' && line.charAt(length - 1) == '\n') {
+			return length - 2;
+		} else if (length >= 1 && isLineTerminator(line.charAt(length - 1))) {
+			return length - 1;
+		}
+		return length;
+	}
+
+	/**
+	 * Characters the regex {@code .} does not match.
+	 */
+	private static boolean isLineTerminator(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	/**
+	 * Characters the regex {@code \s} matches.
+	 */
+	private static boolean isSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
 	}
 
 	private boolean canIgnoreLine(String line) {
@@ -469,4 +1468,11 @@ public class GraphQLParser {
 			return false;
 		}
 	}
+
+	/**
+	 * Parses a definition starting at the current line into a schema.
+	 */
+	private interface DefinitionParser {
+		void parse(GraphQLFile graphQLFile, GraphQLSchema schema) throws ParseException;
+	}
 }
@@ -4,6 +4,13 @@ import java.text.ParseException;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+/**
+ * Regular expression based split of a field definition line.
+ *
+ * @deprecated Use {@link GraphQLFieldDecoder}, which decodes the key and the
+ *             type in a single scan.
+ */
+@Deprecated
 public class GraphQLParserUtil {
 	
 	private static final String LINE_PARSE_ERROR = "Line [%s] cannot be parsed as <key>:<value> pair.";
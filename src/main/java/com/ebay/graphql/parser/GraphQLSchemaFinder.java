@@ -0,0 +1,250 @@
+package com.ebay.graphql.parser;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+
+/**
+ * Finds the GraphQL schema files below a directory. Attributes are read once
+ * per entry while walking the tree.
+ *
+ * Include and exclude patterns are globs (see
+ * {@link java.nio.file.FileSystem#getPathMatcher(String)}) matched against the
+ * path relative to the directory being searched. A directory matching an
+ * exclude pattern is not entered. By default every {@code .graphql} and
+ * {@code .graphqls} file is included.
+ *
+ * Symbolic links are followed by default. A link back to one of its own parent
+ * directories is skipped instead of being walked forever.
+ */
+public class GraphQLSchemaFinder {
+
+	private static final String[] DEFAULT_INCLUDES = { "**.graphql", "**.graphqls" };
+
+	private String[] includes = DEFAULT_INCLUDES;
+	private String[] excludes = new String[0];
+	private boolean followLinks = true;
+	private boolean parallel = false;
+
+	/**
+	 * Set the glob patterns of files to include.
+	 *
+	 * @param includes Glob patterns. (EG: {@code **.graphqls})
+	 */
+	public void setIncludes(String... includes) {
+		this.includes = includes.clone();
+	}
+
+	/**
+	 * Set the glob patterns of files and directories to exclude. Excludes win
+	 * over includes.
+	 *
+	 * @param excludes Glob patterns. (EG: {@code generated/**})
+	 */
+	public void setExcludes(String... excludes) {
+		this.excludes = excludes.clone();
+	}
+
+	public boolean isFollowLinks() {
+		return followLinks;
+	}
+
+	public void setFollowLinks(boolean followLinks) {
+		this.followLinks = followLinks;
+	}
+
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Walk sibling directories in parallel, on the common fork-join pool or, on
+	 * Java 21 and later, on virtual threads. Useful for wide trees on slow (EG:
+	 * network mounted) file systems.
+	 *
+	 * @param parallel True to walk in parallel, false to walk on the calling
+	 *                 thread.
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Find the schema files below a directory. The result does not depend on the
+	 * order the file system lists entries in, or on the walk being parallel.
+	 *
+	 * @param directory Directory to search.
+	 * @return Unmodifiable set of schema files, sorted by path.
+	 * @throws IOException if the directory can't be read.
+	 */
+	public SortedSet<Path> find(Path directory) throws IOException {
+
+		Search search = new Search(directory);
+		SortedSet<Path> schemaFiles = new TreeSet<>();
+
+		if (parallel) {
+			// Fail on a missing root the same way the sequential walk does.
+			Files.readAttributes(directory, BasicFileAttributes.class);
+			schemaFiles.addAll(new DirectoryTask(search, directory, Collections.emptySet()).call());
+		} else {
+			Set<FileVisitOption> options = followLinks ? EnumSet.of(FileVisitOption.FOLLOW_LINKS)
+					: EnumSet.noneOf(FileVisitOption.class);
+			Files.walkFileTree(directory, options, Integer.MAX_VALUE, new SchemaFileVisitor(search, schemaFiles));
+		}
+
+		return Collections.unmodifiableSortedSet(schemaFiles);
+	}
+
+	/**
+	 * Matchers and link options of a single call to {@link #find(Path)}.
+	 */
+	private class Search {
+
+		private final Path root;
+		private final List<PathMatcher> includeMatchers = new ArrayList<>();
+		private final List<PathMatcher> excludeMatchers = new ArrayList<>();
+		private final LinkOption[] linkOptions;
+
+		Search(Path root) {
+			this.root = root;
+			for (String include : includes) {
+				includeMatchers.add(root.getFileSystem().getPathMatcher("glob:" + include));
+			}
+			for (String exclude : excludes) {
+				excludeMatchers.add(root.getFileSystem().getPathMatcher("glob:" + exclude));
+			}
+			linkOptions = followLinks ? new LinkOption[0] : new LinkOption[] { LinkOption.NOFOLLOW_LINKS };
+		}
+
+		boolean isIncluded(Path file) {
+			Path relative = root.relativize(file);
+			return matches(includeMatchers, relative) && !matches(excludeMatchers, relative);
+		}
+
+		boolean isExcluded(Path directory) {
+			return !directory.equals(root) && matches(excludeMatchers, root.relativize(directory));
+		}
+
+		private boolean matches(List<PathMatcher> matchers, Path path) {
+			for (PathMatcher matcher : matchers) {
+				if (matcher.matches(path)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static class SchemaFileVisitor extends SimpleFileVisitor<Path> {
+
+		private final Search search;
+		private final Set<Path> schemaFiles;
+
+		SchemaFileVisitor(Search search, Set<Path> schemaFiles) {
+			this.search = search;
+			this.schemaFiles = schemaFiles;
+		}
+
+		@Override
+		public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+			return search.isExcluded(dir) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+		}
+
+		@Override
+		public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+			if (attrs.isRegularFile() && search.isIncluded(file)) {
+				schemaFiles.add(file);
+			}
+			return FileVisitResult.CONTINUE;
+		}
+
+		@Override
+		public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+			if (exc instanceof FileSystemLoopException || !file.equals(search.root)) {
+				// Symbolic link cycles and unreadable entries are skipped.
+				return FileVisitResult.CONTINUE;
+			}
+			throw exc;
+		}
+	}
+
+	/**
+	 * Lists one directory and runs a task per subdirectory in parallel. Cycles
+	 * are detected by comparing the file keys of the directory's ancestors.
+	 */
+	private static class DirectoryTask implements Callable<List<Path>> {
+
+		private final Search search;
+		private final Path directory;
+		private final Set<Object> ancestors;
+
+		DirectoryTask(Search search, Path directory, Set<Object> ancestors) {
+			this.search = search;
+			this.directory = directory;
+			this.ancestors = ancestors;
+		}
+
+		@Override
+		public List<Path> call() {
+
+			List<Path> schemaFiles = new ArrayList<>();
+			List<DirectoryTask> subtasks = new ArrayList<>();
+
+			Set<Object> path = new HashSet<>(ancestors);
+			try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+				path.add(getFileKey(directory, Files.readAttributes(directory, BasicFileAttributes.class)));
+				for (Path entry : entries) {
+					BasicFileAttributes attributes = readAttributes(entry);
+					if (attributes == null) {
+						// Broken link or unreadable entry.
+						continue;
+					} else if (attributes.isDirectory()) {
+						if (!search.isExcluded(entry) && !path.contains(getFileKey(entry, attributes))) {
+							subtasks.add(new DirectoryTask(search, entry, path));
+						}
+					} else if (attributes.isRegularFile() && search.isIncluded(entry)) {
+						schemaFiles.add(entry);
+					}
+				}
+			} catch (IOException e) {
+				// Unreadable directories are skipped, the same as the sequential walk.
+				return schemaFiles;
+			}
+
+			for (List<Path> subdirectoryFiles : ConcurrentTasks.invokeAll(subtasks)) {
+				schemaFiles.addAll(subdirectoryFiles);
+			}
+			return schemaFiles;
+		}
+
+		private BasicFileAttributes readAttributes(Path entry) {
+			try {
+				return Files.readAttributes(entry, BasicFileAttributes.class, search.linkOptions);
+			} catch (IOException e) {
+				return null;
+			}
+		}
+
+		private static Object getFileKey(Path directory, BasicFileAttributes attributes) throws IOException {
+			Object fileKey = attributes.fileKey();
+			return fileKey != null ? fileKey : directory.toRealPath();
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package com.ebay.graphql.parser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.parser.diagnostics.ParseDiagnostics.Problem;
+
+/**
+ * Keeps a parsed schema up to date with its directory. Changes are picked up
+ * with a {@link WatchService}; bursts of events are collapsed until the
+ * directory has been quiet for the debounce period, then the schema is parsed
+ * again on a background thread.
+ *
+ * Reloads go through a {@link GraphQLParseCache}, so only the files that
+ * changed are parsed again. Each reload builds a new {@link GraphQLSchema} and
+ * publishes it once it is complete: {@link #getSchema()} never blocks and never
+ * returns a partially merged schema.
+ */
+public class GraphQLSchemaReloader implements Closeable {
+
+	private static final long DEFAULT_DEBOUNCE_MILLIS = 200;
+
+	private final GraphQLParser parser;
+	private final File schemaFile;
+	private final Path directory;
+	private final long debounceMillis;
+
+	private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+	private final AtomicLong reloadCount = new AtomicLong();
+	private volatile GraphQLSchema schema;
+	private volatile boolean closed = false;
+	private WatchService watchService;
+	private Thread watchThread;
+
+	public GraphQLSchemaReloader(GraphQLParser parser, File schemaFile) {
+		this(parser, schemaFile, DEFAULT_DEBOUNCE_MILLIS);
+	}
+
+	/**
+	 * @param parser         Parser to parse the schema with. A parse cache is
+	 *                       added to it if it doesn't have one.
+	 * @param schemaFile     Schema file or directory, as passed to
+	 *                       {@link GraphQLParser#parseGraphQL(File)}.
+	 * @param debounceMillis Quiet period after the last change before reloading.
+	 */
+	public GraphQLSchemaReloader(GraphQLParser parser, File schemaFile, long debounceMillis) {
+
+		if (parser == null || schemaFile == null) {
+			throw new IllegalArgumentException("Parser and schema file must not be null.");
+		} else if (debounceMillis < 0) {
+			throw new IllegalArgumentException("Debounce period must not be negative.");
+		}
+
+		this.parser = parser;
+		this.schemaFile = schemaFile;
+		this.directory = (schemaFile.isFile() ? schemaFile.getParentFile() : schemaFile).toPath();
+		this.debounceMillis = debounceMillis;
+
+		if (parser.getParseCache() == null) {
+			parser.setParseCache(new GraphQLParseCache());
+		}
+	}
+
+	/**
+	 * Parse the schema and start watching its directory.
+	 *
+	 * @throws IOException           if the directory can't be watched.
+	 * @throws IllegalStateException if already started or closed.
+	 */
+	public synchronized void start() throws IOException {
+
+		if (watchService != null || closed) {
+			throw new IllegalStateException("Reloader can only be started once.");
+		}
+
+		watchService = directory.getFileSystem().newWatchService();
+		try {
+			registerTree(directory);
+		} catch (IOException e) {
+			watchService.close();
+			throw e;
+		}
+		schema = parser.parseGraphQL(schemaFile);
+
+		watchThread = new Thread(this::watch, "graphql-schema-reloader");
+		watchThread.setDaemon(true);
+		watchThread.start();
+	}
+
+	/**
+	 * Get the latest complete schema.
+	 *
+	 * @return Schema, or null if not started.
+	 */
+	public GraphQLSchema getSchema() {
+		return schema;
+	}
+
+	/**
+	 * Get the number of reloads since the reloader was started.
+	 *
+	 * @return Number of reloads.
+	 */
+	public long getReloadCount() {
+		return reloadCount.get();
+	}
+
+	/**
+	 * Stop watching. The last schema stays available.
+	 */
+	@Override
+	public void close() throws IOException {
+
+		Thread thread;
+		synchronized (this) {
+			closed = true;
+			thread = watchThread;
+			if (watchService != null) {
+				watchService.close();
+			}
+		}
+
+		if (thread != null && thread != Thread.currentThread()) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void watch() {
+		try {
+			while (!closed) {
+				// Wait for a change, then keep collecting until things calm down.
+				boolean changed = processEvents(watchService.take());
+				WatchKey key;
+				while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+					changed |= processEvents(key);
+				}
+				if (changed && !closed) {
+					reload();
+				}
+			}
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			// Closed, stop watching.
+		}
+	}
+
+	/**
+	 * Handle the events of a watch key. New directories are watched, created,
+	 * changed and deleted files are dropped from the parse cache.
+	 *
+	 * @return True if anything changed.
+	 */
+	private boolean processEvents(WatchKey key) {
+
+		Path watchedDirectory = watchedDirectories.get(key);
+		boolean changed = false;
+
+		for (WatchEvent<?> event : key.pollEvents()) {
+			changed = true;
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || watchedDirectory == null) {
+				continue;
+			}
+
+			Path path = watchedDirectory.resolve((Path) event.context());
+			if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+				try {
+					registerTree(path);
+				} catch (IOException e) {
+					// Gone again before it could be watched.
+				}
+			} else {
+				// The cache only compares size and modification time, which an edit
+				// can keep within the same clock tick.
+				parser.getParseCache().invalidate(path.toFile());
+			}
+		}
+
+		if (!key.reset()) {
+			watchedDirectories.remove(key);
+		}
+		return changed;
+	}
+
+	private void reload() {
+		try {
+			// Build the new schema completely before publishing it.
+			schema = parser.parseGraphQL(schemaFile);
+			reloadCount.incrementAndGet();
+		} catch (RuntimeException e) {
+			// Keep serving the previous schema.
+			parser.getDiagnostics().problem(Problem.RELOAD_FAILED, String.valueOf(e), -1, e);
+		}
+	}
+
+	private void registerTree(Path root) throws IOException {
+
+		EnumSet<FileVisitOption> options = parser.getSchemaFinder().isFollowLinks()
+				? EnumSet.of(FileVisitOption.FOLLOW_LINKS)
+				: EnumSet.noneOf(FileVisitOption.class);
+
+		Files.walkFileTree(root, options, Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+				watchedDirectories.put(key, dir);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+				if (file.equals(root)) {
+					throw exc;
+				}
+				// Link cycles and unreadable entries are not watched.
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+}
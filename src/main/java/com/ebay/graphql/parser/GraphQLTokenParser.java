@@ -0,0 +1,718 @@
+package com.ebay.graphql.parser;
+
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.parser.diagnostics.ParseDiagnostics;
+import com.ebay.graphql.parser.diagnostics.ParseDiagnostics.Problem;
+import com.ebay.graphql.parser.lexer.GraphQLLexer;
+import com.ebay.graphql.parser.lexer.GraphQLToken;
+import com.ebay.graphql.parser.lexer.GraphQLToken.Kind;
+import com.ebay.graphql.types.FieldKeyValuePair;
+import com.ebay.graphql.types.GraphQLDescription;
+import com.ebay.graphql.types.GraphQLEnum;
+import com.ebay.graphql.types.GraphQLInputObject;
+import com.ebay.graphql.types.GraphQLInputValue;
+import com.ebay.graphql.types.GraphQLList;
+import com.ebay.graphql.types.GraphQLObject;
+import com.ebay.graphql.types.GraphQLReference;
+import com.ebay.graphql.types.GraphQLScalar;
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+import com.ebay.graphql.types.GraphQLType;
+import com.ebay.graphql.types.GraphQLTypeInterner;
+
+/**
+ * Recursive descent parser driven by {@link GraphQLLexer} tokens. Populates the
+ * same model as the line based parser, so definitions are free to span lines
+ * or share them.
+ *
+ * Field and operation keys are rebuilt from the source the way the line based
+ * parser builds them: the name and argument list, with each source line trimmed
+ * and joined by a single space and descriptions left out.
+ */
+class GraphQLTokenParser {
+
+	private static final String UNEXPECTED_TOKEN_ERROR = "Unexpected token [%s] [ln: %d].";
+
+	private final GraphQLLexer lexer;
+	private final GraphQLSchema schema;
+	private final ParseBudget budget;
+	private final ParseDiagnostics diagnostics;
+
+	// End of the last consumed token, to charge the budget and to find the end
+	// of default values.
+	private int consumed = 0;
+
+	// Tokens consumed while building a field key, null when not recording.
+	private List<GraphQLToken> recording;
+
+	private boolean keepDescriptions = false;
+	private GraphQLTypeInterner typeInterner;
+
+	GraphQLTokenParser(GraphQLLexer lexer, GraphQLSchema schema) {
+		this(lexer, schema, null, ParseDiagnostics.NONE);
+	}
+
+	/**
+	 * @param budget      Budget charged for every consumed token, or null for no
+	 *                    limit.
+	 * @param diagnostics Diagnostics told about skipped tokens.
+	 */
+	GraphQLTokenParser(GraphQLLexer lexer, GraphQLSchema schema, ParseBudget budget, ParseDiagnostics diagnostics) {
+		this.lexer = lexer;
+		this.schema = schema;
+		this.budget = budget;
+		this.diagnostics = diagnostics;
+	}
+
+	/**
+	 * Keep descriptions of types and fields as references into the source.
+	 *
+	 * @param keepDescriptions True to keep descriptions.
+	 */
+	void setKeepDescriptions(boolean keepDescriptions) {
+		this.keepDescriptions = keepDescriptions;
+	}
+
+	/**
+	 * Share canonical instances of field and argument types.
+	 *
+	 * @param typeInterner Interner, or null to keep every type as parsed.
+	 */
+	void setTypeInterner(GraphQLTypeInterner typeInterner) {
+		this.typeInterner = typeInterner;
+	}
+
+	/**
+	 * Decode the arguments of a field or operation key. (EG:
+	 * {@code people(first: Int = 10, filter: [String!])})
+	 *
+	 * @param key Field name, followed by its arguments if it has any.
+	 * @return Arguments as the fields of a non-null input object.
+	 * @throws ParseException if the key is not a field name and argument list.
+	 */
+	static GraphQLInputObject parseArguments(String key) throws ParseException {
+
+		GraphQLTokenParser parser = new GraphQLTokenParser(new GraphQLLexer(key), null);
+		parser.expectName();
+
+		GraphQLInputObject arguments = newArguments();
+		if (parser.peek().isPunctuator('(')) {
+			parser.parseArgumentsDefinition().forEach(arguments::addField);
+		}
+
+		GraphQLToken end = parser.next();
+		if (end.getKind() != Kind.EOF) {
+			throw parser.unexpected(end);
+		}
+		return arguments;
+	}
+
+	private static GraphQLInputObject newArguments() {
+		GraphQLInputObject arguments = new GraphQLInputObject();
+		arguments.makeNonNullable();
+		return arguments;
+	}
+
+	/**
+	 * Parse definitions until the end of the source.
+	 *
+	 * @throws ParseException if the source can't be parsed.
+	 */
+	void parseDocument() throws ParseException {
+		while (peek().getKind() != Kind.EOF) {
+			parseDefinition();
+		}
+	}
+
+	private void parseDefinition() throws ParseException {
+
+		GraphQLDescription description = skipDescription();
+		GraphQLToken token = peek();
+
+		if (token.isName("schema")) {
+			next();
+			parseSchemaDefinition();
+		} else if (token.isName("type")) {
+			next();
+			parseObjectTypeDefinition(false, description);
+		} else if (token.isName("scalar")) {
+			next();
+			parseScalarTypeDefinition(description);
+		} else if (token.isName("union")) {
+			next();
+			parseUnionTypeDefinition();
+		} else if (token.isName("enum")) {
+			next();
+			parseEnumTypeDefinition(description);
+		} else if (token.isName("extend")) {
+			next();
+			parseExtension();
+		} else if (token.isName("input")) {
+			next();
+			parseInputObjectTypeDefinition(description);
+		} else if (token.isName("interface")) {
+			// Not part of the model.
+			next();
+			skipTypeDefinition();
+		} else if (token.isName("directive")) {
+			next();
+			skipDirectiveDefinition();
+		} else {
+			diagnostics.problem(Problem.UNMATCHED_TOKEN, token.getText(), token.getLine(), null);
+			next();
+		}
+	}
+
+	private void parseSchemaDefinition() throws ParseException {
+
+		skipDirectives();
+		expect('{');
+
+		while (!peek().isPunctuator('}')) {
+			GraphQLToken operation = expectName();
+			expect(':');
+			String typeName = expectName().getText();
+
+			if (operation.isName("query")) {
+				schema.setQueryTypeName(typeName);
+			} else if (operation.isName("mutation")) {
+				schema.setMutationTypeName(typeName);
+			} else if (operation.isName("subscription")) {
+				schema.setSubscriptionTypeName(typeName);
+			} else {
+				throw unexpected(operation);
+			}
+		}
+
+		next();
+	}
+
+	private void parseExtension() throws ParseException {
+
+		GraphQLToken token = next();
+		if (token.isName("schema")) {
+			parseSchemaDefinition();
+		} else if (token.isName("type")) {
+			parseObjectTypeDefinition(true, null);
+		} else if (token.getKind() == Kind.NAME) {
+			// Extensions are only supported for the root operation types.
+			skipTypeDefinition();
+		} else {
+			throw unexpected(token);
+		}
+	}
+
+	private void parseObjectTypeDefinition(boolean extension, GraphQLDescription description)
+			throws ParseException {
+
+		String name = expectName().getText();
+		skipImplementsInterfaces();
+		skipDirectives();
+
+		OperationTarget operations = getOperationTarget(name, extension);
+		if (operations == null && extension) {
+			skipBlock();
+			return;
+		}
+
+		GraphQLObject graphQLObject = new GraphQLObject();
+		if (peek().isPunctuator('{')) {
+			next();
+			while (!peek().isPunctuator('}')) {
+				if (operations != null) {
+					// Operations keep their arguments, fields only have them in the key.
+					GraphQLInputObject arguments = newArguments();
+					FieldKeyValuePair field = parseFieldDefinition(arguments);
+					operations.add(field.getKey(), field.getValue(), arguments);
+				} else {
+					FieldKeyValuePair field = parseFieldDefinition(null);
+					graphQLObject.addField(field.getKey(), field.getValue());
+				}
+			}
+			next();
+		}
+
+		if (operations == null) {
+			describe(graphQLObject, description);
+			schema.addType(name, graphQLObject);
+		}
+	}
+
+	/**
+	 * Root operation types hold operations instead of fields. Extensions only
+	 * apply to the default root type names.
+	 */
+	private OperationTarget getOperationTarget(String typeName, boolean extension) {
+
+		if ("Query".equals(typeName) || (!extension && typeName.equals(schema.getQueryTypeName()))) {
+			return schema::addQuery;
+		} else if ("Mutation".equals(typeName) || (!extension && typeName.equals(schema.getMutationTypeName()))) {
+			return schema::addMutation;
+		} else if ("Subscription".equals(typeName)
+				|| (!extension && typeName.equals(schema.getSubscriptionTypeName()))) {
+			return schema::addSubscription;
+		}
+		return null;
+	}
+
+	/**
+	 * @param arguments Input object to add the arguments to, or null to only
+	 *                  record them in the key.
+	 */
+	private FieldKeyValuePair parseFieldDefinition(GraphQLInputObject arguments) throws ParseException {
+
+		GraphQLDescription description = skipDescription();
+
+		recording = new ArrayList<>();
+		expectName();
+		if (peek().isPunctuator('(')) {
+			List<GraphQLInputValue> values = parseArgumentsDefinition();
+			if (arguments != null) {
+				values.forEach(arguments::addField);
+			}
+		}
+		String key = getRecordedText();
+
+		expect(':');
+		GraphQLType type = parseType();
+		describe(type, description);
+		skipDirectives();
+
+		return new FieldKeyValuePair(key, intern(type));
+	}
+
+	private void parseInputObjectTypeDefinition(GraphQLDescription description) throws ParseException {
+
+		String name = expectName().getText();
+		skipDirectives();
+
+		GraphQLInputObject inputObject = new GraphQLInputObject();
+		if (peek().isPunctuator('{')) {
+			next();
+			while (!peek().isPunctuator('}')) {
+				inputObject.addField(parseInputValueDefinition());
+			}
+			next();
+		}
+
+		describe(inputObject, description);
+		schema.addType(name, inputObject);
+	}
+
+	/**
+	 * Arguments are part of the field key, so they are recorded along with the
+	 * field name.
+	 */
+	private List<GraphQLInputValue> parseArgumentsDefinition() throws ParseException {
+
+		List<GraphQLInputValue> arguments = new ArrayList<>();
+		expect('(');
+		while (!peek().isPunctuator(')')) {
+			arguments.add(parseInputValueDefinition());
+		}
+		next();
+		return arguments;
+	}
+
+	/**
+	 * Default values are kept as written in the source.
+	 */
+	private GraphQLInputValue parseInputValueDefinition() throws ParseException {
+
+		GraphQLDescription description = skipDescription();
+		String name = expectName().getText();
+		expect(':');
+		GraphQLType type = parseType();
+		describe(type, description);
+
+		String defaultValue = null;
+		if (peek().isPunctuator('=')) {
+			next();
+			int start = peek().getStart();
+			skipValue();
+			defaultValue = lexer.getSource().subSequence(start, consumed).toString();
+		}
+		skipDirectives();
+
+		return new GraphQLInputValue(name, intern(type), defaultValue);
+	}
+
+	private void parseScalarTypeDefinition(GraphQLDescription description) throws ParseException {
+		String name = expectName().getText();
+		skipDirectives();
+		GraphQLScalar scalar = new GraphQLScalar(GraphQLScalarValue.STRING);
+		describe(scalar, description);
+		schema.addType(name, scalar);
+	}
+
+	private void parseUnionTypeDefinition() throws ParseException {
+
+		String name = expectName().getText();
+		skipDirectives();
+
+		List<String> unionTypes = new ArrayList<>();
+		if (peek().isPunctuator('=')) {
+			next();
+			if (peek().isPunctuator('|')) {
+				next();
+			}
+			unionTypes.add(expectName().getText());
+			while (peek().isPunctuator('|')) {
+				next();
+				unionTypes.add(expectName().getText());
+			}
+		}
+
+		schema.addUnion(name, unionTypes);
+	}
+
+	private void parseEnumTypeDefinition(GraphQLDescription description) throws ParseException {
+
+		String name = expectName().getText();
+		skipDirectives();
+
+		GraphQLEnum graphQLEnum = new GraphQLEnum();
+		if (peek().isPunctuator('{')) {
+			next();
+			while (!peek().isPunctuator('}')) {
+				skipDescription();
+				graphQLEnum.addEnumValue(expectName().getText());
+				skipDirectives();
+			}
+			next();
+		}
+
+		describe(graphQLEnum, description);
+		schema.addType(name, graphQLEnum);
+	}
+
+	/**
+	 * Nested lists are read in a loop rather than by recursion, so no nesting
+	 * depth can exhaust the stack. The list is built from the brackets and non
+	 * null markers as they are read.
+	 */
+	private GraphQLType parseType() throws ParseException {
+
+		int depth = 0;
+		while (peek().isPunctuator('[')) {
+			next();
+			depth++;
+		}
+
+		GraphQLType type = getNamedType(expectName().getText(), depth > 0);
+		if (skipNonNull()) {
+			type.makeNonNullable();
+		}
+		if (depth == 0) {
+			return type;
+		}
+
+		GraphQLList list = new GraphQLList(type, depth);
+		// Closing brackets go from the innermost list outwards.
+		for (int dimension = depth - 1; dimension >= 0; dimension--) {
+			expect(']');
+			if (skipNonNull()) {
+				list.makeDimensionNonNullable(dimension);
+			}
+		}
+		return list;
+	}
+
+	private boolean skipNonNull() throws ParseException {
+		if (peek().isPunctuator('!')) {
+			next();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @param ignoreCase True to match the scalar names in any case, as the
+	 *                   element type of a list always has been.
+	 */
+	private GraphQLType getNamedType(String typeName, boolean ignoreCase) {
+		switch (typeName) {
+		case "Boolean":
+			return new GraphQLScalar(GraphQLScalarValue.BOOLEAN);
+		case "Float":
+			return new GraphQLScalar(GraphQLScalarValue.FLOAT);
+		case "Int":
+			return new GraphQLScalar(GraphQLScalarValue.INT);
+		case "ID":
+			return new GraphQLScalar(GraphQLScalarValue.ID);
+		case "String":
+			return new GraphQLScalar(GraphQLScalarValue.STRING);
+		default:
+			GraphQLScalarValue scalar = ignoreCase ? GraphQLScalarValue.getScalarValueFromString(typeName) : null;
+			return scalar != null ? new GraphQLScalar(scalar) : new GraphQLReference(typeName);
+		}
+	}
+
+	// ---------------------------------------------
+	// Constructs that are consumed but not modeled.
+	// ---------------------------------------------
+
+	private void skipTypeDefinition() throws ParseException {
+
+		expectName();
+		skipImplementsInterfaces();
+		skipDirectives();
+
+		if (peek().isPunctuator('=')) {
+			next();
+			if (peek().isPunctuator('|')) {
+				next();
+			}
+			expectName();
+			while (peek().isPunctuator('|')) {
+				next();
+				expectName();
+			}
+		}
+
+		if (peek().isPunctuator('{')) {
+			skipBlock();
+		}
+	}
+
+	private void skipDirectiveDefinition() throws ParseException {
+
+		expect('@');
+		expectName();
+		if (peek().isPunctuator('(')) {
+			parseArgumentsDefinition();
+		}
+		if (peek().isName("repeatable")) {
+			next();
+		}
+
+		GraphQLToken on = expectName();
+		if (!on.isName("on")) {
+			throw unexpected(on);
+		}
+		if (peek().isPunctuator('|')) {
+			next();
+		}
+		expectName();
+		while (peek().isPunctuator('|')) {
+			next();
+			expectName();
+		}
+	}
+
+	private void skipImplementsInterfaces() throws ParseException {
+
+		if (!peek().isName("implements")) {
+			return;
+		}
+
+		next();
+		if (peek().isPunctuator('&')) {
+			next();
+		}
+		expectName();
+		while (peek().isPunctuator('&')) {
+			next();
+			expectName();
+		}
+	}
+
+	private void skipDirectives() throws ParseException {
+
+		while (peek().isPunctuator('@')) {
+			next();
+			expectName();
+			if (peek().isPunctuator('(')) {
+				next();
+				while (!peek().isPunctuator(')')) {
+					expectName();
+					expect(':');
+					skipValue();
+				}
+				next();
+			}
+		}
+	}
+
+	/**
+	 * Open lists and objects are kept on a stack rather than followed by
+	 * recursion, so no nesting depth can exhaust the call stack.
+	 */
+	private void skipValue() throws ParseException {
+
+		Deque<Character> containers = new ArrayDeque<>();
+		do {
+			if (!containers.isEmpty()) {
+				char closing = containers.peek() == '[' ? ']' : '}';
+				if (peek().isPunctuator(closing)) {
+					next();
+					containers.pop();
+					continue;
+				}
+				if (closing == '}') {
+					expectName();
+					expect(':');
+				}
+			}
+
+			GraphQLToken token = next();
+			if (token.isPunctuator('$')) {
+				expectName();
+			} else if (token.isPunctuator('[')) {
+				containers.push('[');
+			} else if (token.isPunctuator('{')) {
+				containers.push('{');
+			} else if (token.getKind() == Kind.PUNCTUATOR || token.getKind() == Kind.EOF) {
+				throw unexpected(token);
+			}
+		} while (!containers.isEmpty());
+	}
+
+	private void skipBlock() throws ParseException {
+
+		expect('{');
+		int depth = 1;
+		while (depth > 0) {
+			GraphQLToken token = next();
+			if (token.getKind() == Kind.EOF) {
+				throw unexpected(token);
+			} else if (token.isPunctuator('{')) {
+				depth++;
+			} else if (token.isPunctuator('}')) {
+				depth--;
+			}
+		}
+	}
+
+	/**
+	 * Descriptions are consumed without being recorded so they never become part
+	 * of a field key.
+	 *
+	 * @return Description as a reference into the source if descriptions are
+	 *         kept and there is one, null otherwise.
+	 */
+	private GraphQLDescription skipDescription() throws ParseException {
+		if (!peek().isString()) {
+			return null;
+		}
+		GraphQLToken token = consume();
+		if (!keepDescriptions) {
+			return null;
+		}
+		return SourceDescription.ofText(lexer.getSource(), token.getStart(), token.getEnd() - token.getStart());
+	}
+
+	private GraphQLType intern(GraphQLType type) {
+		return typeInterner != null ? typeInterner.intern(type) : type;
+	}
+
+	private static void describe(GraphQLType type, GraphQLDescription description) {
+		if (description != null) {
+			type.setDescription(description);
+		}
+	}
+
+	// ---------------
+	// Token handling.
+	// ---------------
+
+	/**
+	 * Peek at the next significant token. Commas are insignificant, but are
+	 * recorded so they remain part of field keys.
+	 */
+	private GraphQLToken peek() throws ParseException {
+		GraphQLToken token = lexer.peek();
+		while (token.isPunctuator(',')) {
+			record(consume());
+			token = lexer.peek();
+		}
+		return token;
+	}
+
+	private GraphQLToken next() throws ParseException {
+		peek();
+		GraphQLToken token = consume();
+		record(token);
+		return token;
+	}
+
+	/**
+	 * Take the next token from the lexer and charge it, with the ignored text
+	 * before it, to the budget. The end of the source keeps costing a step so a
+	 * loop that never stops at EOF runs out of budget.
+	 */
+	private GraphQLToken consume() throws ParseException {
+		GraphQLToken token = lexer.next();
+		if (budget != null) {
+			budget.charge(Math.max(token.getEnd() - consumed, 1), token.getLine());
+		}
+		consumed = token.getEnd();
+		return token;
+	}
+
+	private GraphQLToken expect(char punctuator) throws ParseException {
+		GraphQLToken token = next();
+		if (!token.isPunctuator(punctuator)) {
+			throw unexpected(token);
+		}
+		return token;
+	}
+
+	private GraphQLToken expectName() throws ParseException {
+		GraphQLToken token = next();
+		if (token.getKind() != Kind.NAME) {
+			throw unexpected(token);
+		}
+		return token;
+	}
+
+	private void record(GraphQLToken token) {
+		if (recording != null) {
+			recording.add(token);
+		}
+	}
+
+	/**
+	 * Stop recording and rebuild the recorded source text. Tokens that share a
+	 * line keep the source text between them, lines are joined by a single space.
+	 */
+	private String getRecordedText() {
+
+		List<GraphQLToken> tokens = recording;
+		recording = null;
+
+		CharSequence source = lexer.getSource();
+		StringBuilder builder = new StringBuilder();
+		int i = 0;
+		while (i < tokens.size()) {
+			GraphQLToken first = tokens.get(i);
+			GraphQLToken last = first;
+			while (++i < tokens.size() && tokens.get(i).getLine() == first.getLine()) {
+				last = tokens.get(i);
+			}
+			if (builder.length() > 0) {
+				builder.append(' ');
+			}
+			builder.append(source, first.getStart(), last.getEnd());
+		}
+
+		return builder.toString();
+	}
+
+	private ParseException unexpected(GraphQLToken token) {
+		String text = token.getKind() == Kind.EOF ? "<EOF>" : token.getText();
+		return new ParseException(String.format(UNEXPECTED_TOKEN_ERROR, text, token.getLine()), token.getStart());
+	}
+
+	/**
+	 * Adds an operation, with its arguments, to one of the root types.
+	 */
+	private interface OperationTarget {
+		void add(String name, GraphQLType type, GraphQLInputObject arguments);
+	}
+}
@@ -0,0 +1,259 @@
+package com.ebay.graphql.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read only, memory mapped view of a GraphQL file. The bytes are scanned once
+ * to find line boundaries; lines are kept as offset ranges into the mapping and
+ * only decoded into Strings when requested.
+ *
+ * Files that only contain ASCII take a fast path: every byte is a character, so
+ * lines are copied straight out of the mapping and the whole file can be read as
+ * a {@link CharSequence} without decoding. Other files are decoded as UTF-8.
+ *
+ * Once mapped, the file can be read from several threads at once, for example
+ * by kept descriptions of a shared schema or types parsed on demand.
+ */
+final class MappedFile {
+
+	// Direct mapped cache of recently decoded lines. The line parser looks at the
+	// current and next line over and over. Each slot holds an immutable entry, so
+	// threads racing on a slot never see the index of one line with the text of
+	// another.
+	private static final int LINE_CACHE_SIZE = 4;
+
+	private final ByteBuffer buffer;
+	private final boolean ascii;
+	private int[] lineStarts = new int[64];
+	private int[] lineEnds = new int[64];
+	private int numberOfLines = 0;
+
+	private final CachedLine[] cachedLines = new CachedLine[LINE_CACHE_SIZE];
+
+	private MappedFile(ByteBuffer buffer) {
+		this.buffer = buffer;
+		this.ascii = scanLines();
+	}
+
+	/**
+	 * Memory map a file.
+	 *
+	 * @param file File to map.
+	 * @return Mapped file.
+	 * @throws IOException if the file can't be opened, mapped, or is larger than
+	 *                     2GB.
+	 */
+	static MappedFile map(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException(String.format("File [%s] is too large to map.", file));
+			}
+			MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+			return new MappedFile(buffer);
+		}
+	}
+
+	/**
+	 * Wrap bytes that are already in memory.
+	 *
+	 * @param bytes File contents.
+	 * @return Mapped file over the bytes.
+	 */
+	static MappedFile wrap(byte[] bytes) {
+		return new MappedFile(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * Check if the file only contains ASCII characters.
+	 *
+	 * @return True if every byte is ASCII, false otherwise.
+	 */
+	boolean isAscii() {
+		return ascii;
+	}
+
+	int getNumberOfLines() {
+		return numberOfLines;
+	}
+
+	/**
+	 * Get a line without its line terminator.
+	 *
+	 * @param index Line index. (0 indexed)
+	 * @return Line of text.
+	 * @throws IndexOutOfBoundsException if index is not a valid line index.
+	 */
+	String getLine(int index) {
+
+		if (index < 0 || index >= numberOfLines) {
+			throw new IndexOutOfBoundsException(String.format("Line [%d] of [%d].", index, numberOfLines));
+		}
+
+		int slot = index & (LINE_CACHE_SIZE - 1);
+		CachedLine cached = cachedLines[slot];
+		if (cached == null || cached.index != index) {
+			cached = new CachedLine(index, decode(lineStarts[index], lineEnds[index]));
+			cachedLines[slot] = cached;
+		}
+		return cached.line;
+	}
+
+	/**
+	 * Get the lines of the file as a list. Lines are decoded when accessed.
+	 *
+	 * @return Unmodifiable list of lines.
+	 */
+	List<String> getLines() {
+		return new Lines();
+	}
+
+	/**
+	 * Get the full text of the file. ASCII files are read straight from the
+	 * mapping, other files are decoded.
+	 *
+	 * @return File contents.
+	 */
+	CharSequence getText() {
+		if (ascii) {
+			return new AsciiText(0, buffer.limit());
+		}
+		return decode(0, buffer.limit());
+	}
+
+	/**
+	 * Record the line boundaries. Like {@link java.io.BufferedReader#readLine()}
+	 * lines end at \n, \r or \r\n, and a terminator at the end of the file does
+	 * not start another line. CR and LF never occur inside multi-byte UTF-8
+	 * sequences, so the scan is safe for non-ASCII files.
+	 *
+	 * @return True if all bytes are ASCII, false otherwise.
+	 */
+	private boolean scanLines() {
+
+		int limit = buffer.limit();
+		int lineStart = 0;
+		int nonAscii = 0;
+
+		int i = 0;
+		while (i < limit) {
+			byte b = buffer.get(i);
+			nonAscii |= b & 0x80;
+			if (b == '\n' || b == '\r') {
+				addLine(lineStart, i);
+				i++;
+				if (b == '\r' && i < limit && buffer.get(i) == '\n') {
+					i++;
+				}
+				lineStart = i;
+			} else {
+				i++;
+			}
+		}
+
+		if (lineStart < limit) {
+			addLine(lineStart, limit);
+		}
+
+		return nonAscii == 0;
+	}
+
+	private void addLine(int start, int end) {
+		if (numberOfLines == lineStarts.length) {
+			lineStarts = Arrays.copyOf(lineStarts, numberOfLines * 2);
+			lineEnds = Arrays.copyOf(lineEnds, numberOfLines * 2);
+		}
+		lineStarts[numberOfLines] = start;
+		lineEnds[numberOfLines] = end;
+		numberOfLines++;
+	}
+
+	private String decode(int start, int end) {
+
+		byte[] bytes = new byte[end - start];
+		ByteBuffer slice = buffer.duplicate();
+		slice.position(start);
+		slice.get(bytes);
+
+		return new String(bytes, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Decoded line. The fields are final, so an entry read from the cache is
+	 * complete even if another thread just stored it.
+	 */
+	private static final class CachedLine {
+
+		private final int index;
+		private final String line;
+
+		CachedLine(int index, String line) {
+			this.index = index;
+			this.line = line;
+		}
+	}
+
+	private class Lines extends AbstractList<String> implements RandomAccess {
+
+		@Override
+		public String get(int index) {
+			return getLine(index);
+		}
+
+		@Override
+		public int size() {
+			return numberOfLines;
+		}
+	}
+
+	/**
+	 * Characters of an ASCII file, read directly from the mapping.
+	 */
+	private class AsciiText implements CharSequence {
+
+		private final int start;
+		private final int end;
+
+		AsciiText(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public int length() {
+			return end - start;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= length()) {
+				throw new IndexOutOfBoundsException(String.format("Index [%d] of [%d].", index, length()));
+			}
+			return (char) buffer.get(start + index);
+		}
+
+		@Override
+		public CharSequence subSequence(int from, int to) {
+			if (from < 0 || to > length() || from > to) {
+				throw new IndexOutOfBoundsException(String.format("Range [%d, %d) of [%d].", from, to, length()));
+			}
+			return new AsciiText(start + from, start + to);
+		}
+
+		@Override
+		public String toString() {
+			return decode(start, end);
+		}
+	}
+}
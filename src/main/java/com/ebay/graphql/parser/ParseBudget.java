@@ -0,0 +1,75 @@
+package com.ebay.graphql.parser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the work spent on parsing a single file, so one malformed or
+ * oversized schema can't hold on to a thread. Steps are counted in characters
+ * of input consumed: a line and its line break for the line front-end, a token
+ * and the text before it for the token front-end. The clock starts when the
+ * budget is created.
+ */
+final class ParseBudget {
+
+	private static final String STEPS_EXCEEDED_ERROR = "Parse budget of %d steps exceeded in [%s] [ln: %d].";
+	private static final String TIME_EXCEEDED_ERROR = "Parse budget of %d ms exceeded in [%s] [ln: %d].";
+
+	private final String source;
+	private final long maxSteps;
+	private final long maxMillis;
+	private final long start = System.nanoTime();
+	private long steps = 0;
+
+	/**
+	 * @param source    Name of the parsed source, used in the diagnostic.
+	 * @param maxSteps  Maximum number of steps, 0 for no limit.
+	 * @param maxMillis Maximum parse time in milliseconds, 0 for no limit.
+	 */
+	ParseBudget(String source, long maxSteps, long maxMillis) {
+		this.source = source;
+		this.maxSteps = maxSteps;
+		this.maxMillis = maxMillis;
+	}
+
+	/**
+	 * Charge steps to the budget and check the clock.
+	 *
+	 * @param cost       Steps to charge.
+	 * @param lineNumber Line being parsed, for the diagnostic. (not 0 indexed)
+	 * @throws ExceededException if either limit is exceeded.
+	 */
+	void charge(long cost, int lineNumber) {
+
+		steps += cost;
+
+		if (maxSteps > 0 && steps > maxSteps) {
+			throw new ExceededException(String.format(STEPS_EXCEEDED_ERROR, maxSteps, source, lineNumber),
+					lineNumber);
+		}
+		if (maxMillis > 0 && System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(maxMillis)) {
+			throw new ExceededException(String.format(TIME_EXCEEDED_ERROR, maxMillis, source, lineNumber),
+					lineNumber);
+		}
+	}
+
+	/**
+	 * Unchecked, so the budget can be charged from the line accessors of
+	 * {@link GraphQLFile}. The parser reports it like a parse error and keeps the
+	 * definitions parsed so far.
+	 */
+	static final class ExceededException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int lineNumber;
+
+		ExceededException(String message, int lineNumber) {
+			super(message);
+			this.lineNumber = lineNumber;
+		}
+
+		int getLineNumber() {
+			return lineNumber;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.ebay.graphql.parser;
+
+import java.text.ParseException;
+import java.util.List;
+
+import com.ebay.graphql.parser.lexer.GraphQLLexer;
+import com.ebay.graphql.parser.lexer.GraphQLToken;
+import com.ebay.graphql.types.GraphQLDescription;
+
+/**
+ * Description kept as a reference into the source it was parsed from: the
+ * text of the token front-end, in characters, or the lines of the line
+ * front-end, in lines. The description holds on to the source, which for
+ * memory mapped files is the mapping rather than decoded text.
+ */
+abstract class SourceDescription implements GraphQLDescription {
+
+	protected final int offset;
+	protected final int length;
+
+	private SourceDescription(int offset, int length) {
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * @param source Source text.
+	 * @param offset Offset of the string or block string token. (0 indexed)
+	 * @param length Length of the token in characters.
+	 * @return Description of the token.
+	 */
+	static SourceDescription ofText(CharSequence source, int offset, int length) {
+		return new Text(source, offset, length);
+	}
+
+	/**
+	 * @param lines  Source lines, which must not change afterwards.
+	 * @param offset Index of the first line of the description. (0 indexed)
+	 * @param length Number of lines of the description.
+	 * @return Description of the lines.
+	 */
+	static SourceDescription ofLines(List<String> lines, int offset, int length) {
+		return new Lines(lines, offset, length);
+	}
+
+	/**
+	 * @return Source of the description, quotes included.
+	 */
+	abstract CharSequence getSource();
+
+	/**
+	 * Lines that don't hold a single string, such as the unbalanced quotes the
+	 * line front-end accepts, decode to their trimmed source.
+	 */
+	@Override
+	public String getText() {
+		CharSequence source = getSource();
+		try {
+			GraphQLToken token = new GraphQLLexer(source).next();
+			if (token.isString()) {
+				return token.getStringValue();
+			}
+		} catch (ParseException e) {
+			// Fall back to the source below.
+		}
+		return source.toString().trim();
+	}
+
+	@Override
+	public String toString() {
+		return getText();
+	}
+
+	private static final class Text extends SourceDescription {
+
+		private final CharSequence source;
+
+		Text(CharSequence source, int offset, int length) {
+			super(offset, length);
+			this.source = source;
+		}
+
+		@Override
+		CharSequence getSource() {
+			return source.subSequence(offset, offset + length);
+		}
+	}
+
+	private static final class Lines extends SourceDescription {
+
+		private final List<String> lines;
+
+		Lines(List<String> lines, int offset, int length) {
+			super(offset, length);
+			this.lines = lines;
+		}
+
+		@Override
+		CharSequence getSource() {
+			return String.join("\n", lines.subList(offset, offset + length));
+		}
+	}
+}
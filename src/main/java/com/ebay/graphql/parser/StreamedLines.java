@@ -0,0 +1,111 @@
+package com.ebay.graphql.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Lines read from a {@link Reader} on demand. Only the lines between the last
+ * released line and the furthest line requested are kept in memory, so a
+ * parser moving forward through the text holds a couple of lines at a time.
+ * The reader is not closed.
+ */
+final class StreamedLines {
+
+	private final BufferedReader reader;
+	private final Deque<String> window = new ArrayDeque<>();
+
+	// Index of the first line in the window.
+	private int firstLine = 0;
+	private boolean exhausted = false;
+
+	StreamedLines(Reader reader) {
+		this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+	}
+
+	/**
+	 * Check if a line exists, reading ahead as far as needed.
+	 *
+	 * @param index Line index. (0 indexed)
+	 * @return True if the line exists and has not been released, false
+	 *         otherwise.
+	 * @throws UncheckedIOException if the reader fails.
+	 */
+	boolean hasLine(int index) {
+		if (index < firstLine) {
+			return false;
+		}
+		while (index >= firstLine + window.size() && readLine()) {
+			// Read up to the requested line.
+		}
+		return index < firstLine + window.size();
+	}
+
+	/**
+	 * Get a line. Check it exists with {@link #hasLine(int)} first.
+	 *
+	 * @param index Line index. (0 indexed)
+	 * @return Line of text, or null if the line doesn't exist.
+	 */
+	String getLine(int index) {
+		if (!hasLine(index)) {
+			return null;
+		}
+		Iterator<String> lines = window.iterator();
+		for (int i = firstLine; i < index; i++) {
+			lines.next();
+		}
+		return lines.next();
+	}
+
+	/**
+	 * Drop the lines before an index, skipping any that were not read yet.
+	 * They can't be read again.
+	 *
+	 * @param index Index of the first line to keep.
+	 */
+	void releaseBefore(int index) {
+		while (firstLine < index && (!window.isEmpty() || readLine())) {
+			window.removeFirst();
+			firstLine++;
+		}
+	}
+
+	/**
+	 * Read the rest of the input to count the lines. The lines are kept.
+	 *
+	 * @return Total number of lines.
+	 */
+	int count() {
+		while (readLine()) {
+			// Read to the end.
+		}
+		return firstLine + window.size();
+	}
+
+	private boolean readLine() {
+
+		if (exhausted) {
+			return false;
+		}
+
+		String line;
+		try {
+			line = reader.readLine();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		if (line == null) {
+			exhausted = true;
+			return false;
+		}
+
+		window.addLast(line);
+		return true;
+	}
+}
@@ -0,0 +1,90 @@
+package com.ebay.graphql.parser.diagnostics;
+
+import com.ebay.graphql.parser.matcher.GraphQLMatcher.LineType;
+
+/**
+ * Receives what the parser notices while it parses: the type of every line
+ * reached by the line front-end, and every line, token or error it could not
+ * handle. Calls can come from several threads at once when files are parsed in
+ * parallel.
+ *
+ * Messages are passed as their parts rather than formatted, so listeners that
+ * ignore them cost nothing. The default, {@link #NONE}, ignores everything and
+ * is never asked to classify lines.
+ */
+public interface ParseDiagnostics {
+
+	/**
+	 * Ignores everything.
+	 */
+	ParseDiagnostics NONE = new ParseDiagnostics() {
+	};
+
+	/**
+	 * What went wrong, with the message format used to describe it.
+	 */
+	enum Problem {
+		/**
+		 * Line of text the line front-end does not recognize, which is skipped.
+		 */
+		UNMATCHED_LINE("Unmatched line of text [%s] [ln: %d]."),
+		/**
+		 * Token the token front-end does not expect at the start of a
+		 * definition, which is skipped.
+		 */
+		UNMATCHED_TOKEN("Unmatched token [%s] [ln: %d]."),
+		/**
+		 * Error that ends the parse of a file, or of a lazily parsed type.
+		 */
+		PARSE_ERROR("%s"),
+		/**
+		 * Parse budget exceeded, which ends the parse of a file.
+		 */
+		BUDGET_EXCEEDED("%s"),
+		/**
+		 * Failure to reload a schema, which keeps the previous schema.
+		 */
+		RELOAD_FAILED("Reload failed: %s");
+
+		private final String format;
+
+		Problem(String format) {
+			this.format = format;
+		}
+
+		/**
+		 * Format a message for the problem.
+		 *
+		 * @param text       Text as passed to
+		 *                   {@link ParseDiagnostics#problem(Problem, String, int, Throwable)}.
+		 * @param lineNumber Line number, or -1 if unknown.
+		 * @return Message.
+		 */
+		public String format(String text, int lineNumber) {
+			return String.format(format, text, lineNumber);
+		}
+	}
+
+	/**
+	 * The line front-end reached a line. Lines of lazily parsed types are only
+	 * reported the first time.
+	 *
+	 * @param lineType   Type of the line.
+	 * @param lineNumber Line number. (not 0 indexed)
+	 */
+	default void line(LineType lineType, int lineNumber) {
+		// Ignored.
+	}
+
+	/**
+	 * The parser skipped something or stopped.
+	 *
+	 * @param problem    What went wrong.
+	 * @param text       Line of text or token skipped, or error message.
+	 * @param lineNumber Line number (not 0 indexed), or -1 if unknown.
+	 * @param cause      Error, or null if parsing continued.
+	 */
+	default void problem(Problem problem, String text, int lineNumber, Throwable cause) {
+		// Ignored.
+	}
+}
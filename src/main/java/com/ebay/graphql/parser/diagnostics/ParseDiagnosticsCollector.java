@@ -0,0 +1,121 @@
+package com.ebay.graphql.parser.diagnostics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.ebay.graphql.parser.matcher.GraphQLMatcher.LineType;
+
+/**
+ * Counts lines per {@link LineType} and problems per
+ * {@link ParseDiagnostics.Problem}, and optionally keeps the messages of the
+ * most recent problems. Safe to share between threads.
+ */
+public class ParseDiagnosticsCollector implements ParseDiagnostics {
+
+	private final AtomicLongArray lineCounts = new AtomicLongArray(LineType.values().length);
+	private final AtomicLongArray problemCounts = new AtomicLongArray(Problem.values().length);
+
+	private final int maxMessages;
+	private final Deque<String> messages = new ArrayDeque<>();
+	private long droppedMessages = 0;
+
+	/**
+	 * Collect counts only.
+	 */
+	public ParseDiagnosticsCollector() {
+		this(0);
+	}
+
+	/**
+	 * @param maxMessages Number of problem messages to keep. Once full, the
+	 *                    oldest message is dropped for each new one. 0 to keep
+	 *                    none.
+	 */
+	public ParseDiagnosticsCollector(int maxMessages) {
+		if (maxMessages < 0) {
+			throw new IllegalArgumentException("Maximum number of messages must not be negative.");
+		}
+		this.maxMessages = maxMessages;
+	}
+
+	@Override
+	public void line(LineType lineType, int lineNumber) {
+		lineCounts.incrementAndGet(lineType.ordinal());
+	}
+
+	@Override
+	public void problem(Problem problem, String text, int lineNumber, Throwable cause) {
+
+		problemCounts.incrementAndGet(problem.ordinal());
+
+		if (maxMessages == 0) {
+			return;
+		}
+
+		String message = problem.format(text, lineNumber);
+		synchronized (messages) {
+			if (messages.size() == maxMessages) {
+				messages.removeFirst();
+				droppedMessages++;
+			}
+			messages.addLast(message);
+		}
+	}
+
+	public long getLineCount(LineType lineType) {
+		return lineCounts.get(lineType.ordinal());
+	}
+
+	public long getProblemCount(Problem problem) {
+		return problemCounts.get(problem.ordinal());
+	}
+
+	/**
+	 * @return Number of problems of any kind.
+	 */
+	public long getProblemCount() {
+		long count = 0;
+		for (int i = 0; i < problemCounts.length(); i++) {
+			count += problemCounts.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * @return Messages kept, oldest first.
+	 */
+	public List<String> getMessages() {
+		synchronized (messages) {
+			return Collections.unmodifiableList(new ArrayList<>(messages));
+		}
+	}
+
+	/**
+	 * @return Number of messages dropped to make room for newer ones.
+	 */
+	public long getDroppedMessages() {
+		synchronized (messages) {
+			return droppedMessages;
+		}
+	}
+
+	/**
+	 * Reset every count and drop the messages kept.
+	 */
+	public void clear() {
+		for (int i = 0; i < lineCounts.length(); i++) {
+			lineCounts.set(i, 0);
+		}
+		for (int i = 0; i < problemCounts.length(); i++) {
+			problemCounts.set(i, 0);
+		}
+		synchronized (messages) {
+			messages.clear();
+			droppedMessages = 0;
+		}
+	}
+}
@@ -0,0 +1,248 @@
+package com.ebay.graphql.parser.lexer;
+
+import java.text.ParseException;
+
+import com.ebay.graphql.parser.lexer.GraphQLToken.Kind;
+
+/**
+ * Character level lexer for GraphQL SDL. The source is scanned once, front to
+ * back, into names, punctuators, numbers, strings and block strings.
+ * Whitespace, line terminators and comments are skipped. Commas are returned
+ * as punctuators so that callers can reproduce source spans, even though
+ * GraphQL treats them as insignificant.
+ */
+public class GraphQLLexer {
+
+	private static final String UNEXPECTED_CHARACTER_ERROR = "Unexpected character [%s] [ln: %d].";
+	private static final String UNTERMINATED_STRING_ERROR = "Unterminated string [ln: %d].";
+
+	private final CharSequence source;
+	private final int length;
+	private int position = 0;
+	private int line = 1;
+	private GraphQLToken peeked;
+
+	public GraphQLLexer(CharSequence source) {
+		this.source = source;
+		this.length = source.length();
+	}
+
+	public CharSequence getSource() {
+		return source;
+	}
+
+	/**
+	 * Look at the next token without consuming it.
+	 *
+	 * @return Next token. An EOF token is returned once the source is exhausted.
+	 * @throws ParseException if the source contains an invalid token.
+	 */
+	public GraphQLToken peek() throws ParseException {
+		if (peeked == null) {
+			peeked = readToken();
+		}
+		return peeked;
+	}
+
+	/**
+	 * Consume the next token.
+	 *
+	 * @return Next token. An EOF token is returned once the source is exhausted.
+	 * @throws ParseException if the source contains an invalid token.
+	 */
+	public GraphQLToken next() throws ParseException {
+		GraphQLToken token = peek();
+		peeked = null;
+		return token;
+	}
+
+	private GraphQLToken readToken() throws ParseException {
+
+		skipIgnored();
+
+		if (position >= length) {
+			return new GraphQLToken(Kind.EOF, source, length, length, line);
+		}
+
+		int start = position;
+		char c = source.charAt(position);
+
+		switch (c) {
+		case '!':
+		case '$':
+		case '&':
+		case '(':
+		case ')':
+		case ',':
+		case ':':
+		case '=':
+		case '@':
+		case '[':
+		case ']':
+		case '{':
+		case '|':
+		case '}':
+			position++;
+			return new GraphQLToken(Kind.PUNCTUATOR, source, start, position, line);
+		case '.':
+			if (startsWith("...", position)) {
+				position += 3;
+				return new GraphQLToken(Kind.PUNCTUATOR, source, start, position, line);
+			}
+			break;
+		case '"':
+			if (startsWith("\"\"\"", position)) {
+				return readBlockString();
+			}
+			return readString();
+		default:
+			if (isNameStart(c)) {
+				return readName();
+			}
+			if (c == '-' || isDigit(c)) {
+				return readNumber();
+			}
+			break;
+		}
+
+		throw new ParseException(String.format(UNEXPECTED_CHARACTER_ERROR, c, line), position);
+	}
+
+	private void skipIgnored() {
+		while (position < length) {
+			char c = source.charAt(position);
+			if (c == ' ' || c == '\t' || c == '\uFEFF') {
+				position++;
+			} else if (c == '\n') {
+				position++;
+				line++;
+			} else if (c == '\r') {
+				position++;
+				if (position < length && source.charAt(position) == '\n') {
+					position++;
+				}
+				line++;
+			} else if (c == '#') {
+				while (position < length && source.charAt(position) != '\n' && source.charAt(position) != '\r') {
+					position++;
+				}
+			} else {
+				return;
+			}
+		}
+	}
+
+	private GraphQLToken readName() {
+		int start = position;
+		while (position < length && isNameContinue(source.charAt(position))) {
+			position++;
+		}
+		return new GraphQLToken(Kind.NAME, source, start, position, line);
+	}
+
+	private GraphQLToken readNumber() throws ParseException {
+
+		int start = position;
+		boolean isFloat = false;
+
+		if (source.charAt(position) == '-') {
+			position++;
+		}
+		if (!skipDigits()) {
+			throw new ParseException(String.format(UNEXPECTED_CHARACTER_ERROR, source.charAt(start), line), start);
+		}
+		if (position < length && source.charAt(position) == '.') {
+			isFloat = true;
+			position++;
+			skipDigits();
+		}
+		if (position < length && (source.charAt(position) == 'e' || source.charAt(position) == 'E')) {
+			isFloat = true;
+			position++;
+			if (position < length && (source.charAt(position) == '+' || source.charAt(position) == '-')) {
+				position++;
+			}
+			skipDigits();
+		}
+
+		return new GraphQLToken(isFloat ? Kind.FLOAT : Kind.INT, source, start, position, line);
+	}
+
+	private boolean skipDigits() {
+		int start = position;
+		while (position < length && isDigit(source.charAt(position))) {
+			position++;
+		}
+		return position > start;
+	}
+
+	private GraphQLToken readString() throws ParseException {
+
+		int start = position;
+		position++;
+
+		while (position < length) {
+			char c = source.charAt(position);
+			if (c == '"') {
+				position++;
+				return new GraphQLToken(Kind.STRING, source, start, position, line);
+			} else if (c == '\n' || c == '\r') {
+				break;
+			} else if (c == '\\' && position + 1 < length && source.charAt(position + 1) != '\n'
+					&& source.charAt(position + 1) != '\r') {
+				position++;
+			}
+			position++;
+		}
+
+		throw new ParseException(String.format(UNTERMINATED_STRING_ERROR, line), start);
+	}
+
+	private GraphQLToken readBlockString() throws ParseException {
+
+		int start = position;
+		int startLine = line;
+		position += 3;
+
+		while (position < length) {
+			char c = source.charAt(position);
+			if (c == '"' && startsWith("\"\"\"", position)) {
+				position += 3;
+				return new GraphQLToken(Kind.BLOCK_STRING, source, start, position, startLine);
+			} else if (c == '\\' && startsWith("\\\"\"\"", position)) {
+				position += 4;
+			} else {
+				if (c == '\n' || (c == '\r' && !startsWith("\r\n", position))) {
+					line++;
+				}
+				position++;
+			}
+		}
+
+		throw new ParseException(String.format(UNTERMINATED_STRING_ERROR, startLine), start);
+	}
+
+	private boolean startsWith(String text, int offset) {
+		if (offset + text.length() > length) {
+			return false;
+		}
+		for (int i = 0; i < text.length(); i++) {
+			if (source.charAt(offset + i) != text.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isNameStart(char c) {
+		return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '_';
+	}
+
+	private static boolean isNameContinue(char c) {
+		return isNameStart(c) || isDigit(c);
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+}
@@ -0,0 +1,135 @@
+package com.ebay.graphql.parser.lexer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decoding of string and block string token contents as described by the
+ * GraphQL specification (StringValue and BlockStringValue).
+ */
+final class GraphQLStringValues {
+
+	private GraphQLStringValues() {
+		// Prevent instantiation.
+	}
+
+	/**
+	 * Resolve escape sequences in the contents of a single quoted string.
+	 *
+	 * @param source Source text.
+	 * @param start  Offset after the opening quote.
+	 * @param end    Offset of the closing quote.
+	 * @return String value.
+	 */
+	static String decodeString(CharSequence source, int start, int end) {
+
+		StringBuilder builder = new StringBuilder(end - start);
+		for (int i = start; i < end; i++) {
+			char c = source.charAt(i);
+			if (c != '\\' || i + 1 >= end) {
+				builder.append(c);
+				continue;
+			}
+
+			c = source.charAt(++i);
+			switch (c) {
+			case 'b':
+				builder.append('\b');
+				break;
+			case 'f':
+				builder.append('\f');
+				break;
+			case 'n':
+				builder.append('\n');
+				break;
+			case 'r':
+				builder.append('\r');
+				break;
+			case 't':
+				builder.append('\t');
+				break;
+			case 'u':
+				if (i + 4 < end) {
+					builder.append((char) Integer.parseInt(source.subSequence(i + 1, i + 5).toString(), 16));
+					i += 4;
+				} else {
+					builder.append(c);
+				}
+				break;
+			default:
+				// \" \\ \/ and anything unknown resolve to the escaped character.
+				builder.append(c);
+				break;
+			}
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Produce the value of a block string: unescape triple quotes, remove the
+	 * common indentation and drop leading and trailing blank lines.
+	 *
+	 * @param source Source text.
+	 * @param start  Offset after the opening triple quote.
+	 * @param end    Offset of the closing triple quote.
+	 * @return Block string value.
+	 */
+	static String decodeBlockString(CharSequence source, int start, int end) {
+
+		String raw = source.subSequence(start, end).toString().replace("\\\"\"\"", "\"\"\"");
+
+		List<String> lines = new ArrayList<>();
+		int lineStart = 0;
+		for (int i = 0; i < raw.length(); i++) {
+			char c = raw.charAt(i);
+			if (c == '\n' || c == '\r') {
+				lines.add(raw.substring(lineStart, i));
+				if (c == '\r' && i + 1 < raw.length() && raw.charAt(i + 1) == '\n') {
+					i++;
+				}
+				lineStart = i + 1;
+			}
+		}
+		lines.add(raw.substring(lineStart));
+
+		int commonIndent = Integer.MAX_VALUE;
+		for (int i = 1; i < lines.size(); i++) {
+			String line = lines.get(i);
+			int indent = leadingWhitespace(line);
+			if (indent < line.length()) {
+				commonIndent = Math.min(commonIndent, indent);
+			}
+		}
+
+		if (commonIndent != Integer.MAX_VALUE) {
+			for (int i = 1; i < lines.size(); i++) {
+				String line = lines.get(i);
+				lines.set(i, line.length() < commonIndent ? "" : line.substring(commonIndent));
+			}
+		}
+
+		int first = 0;
+		int last = lines.size() - 1;
+		while (first <= last && isBlank(lines.get(first))) {
+			first++;
+		}
+		while (last >= first && isBlank(lines.get(last))) {
+			last--;
+		}
+
+		return String.join("\n", lines.subList(first, last + 1));
+	}
+
+	private static int leadingWhitespace(String line) {
+		int i = 0;
+		while (i < line.length() && (line.charAt(i) == ' ' || line.charAt(i) == '\t')) {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean isBlank(String line) {
+		return leadingWhitespace(line) == line.length();
+	}
+}
@@ -0,0 +1,150 @@
+package com.ebay.graphql.parser.lexer;
+
+import java.util.Objects;
+
+import com.ebay.graphql.Generated;
+
+/**
+ * A lexical token. Tokens reference their source and only build Strings when
+ * the text or value is requested.
+ */
+public class GraphQLToken {
+
+	public enum Kind {
+		NAME, PUNCTUATOR, INT, FLOAT, STRING, BLOCK_STRING, EOF
+	}
+
+	private final Kind kind;
+	private final CharSequence source;
+	private final int start;
+	private final int end;
+	private final int line;
+
+	public GraphQLToken(Kind kind, CharSequence source, int start, int end, int line) {
+		this.kind = kind;
+		this.source = source;
+		this.start = start;
+		this.end = end;
+		this.line = line;
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Get the offset of the first character of the token.
+	 *
+	 * @return Start offset. (0 indexed)
+	 */
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * Get the offset after the last character of the token.
+	 *
+	 * @return End offset. (exclusive)
+	 */
+	public int getEnd() {
+		return end;
+	}
+
+	/**
+	 * Get the line the token starts on.
+	 *
+	 * @return Line number. (not 0 indexed)
+	 */
+	public int getLine() {
+		return line;
+	}
+
+	/**
+	 * Get the raw text of the token, including quotes for strings.
+	 *
+	 * @return Token text.
+	 */
+	public String getText() {
+		return source.subSequence(start, end).toString();
+	}
+
+	/**
+	 * Check if the token is the given punctuator.
+	 *
+	 * @param punctuator Punctuator character.
+	 * @return True if the token is the punctuator, false otherwise.
+	 */
+	public boolean isPunctuator(char punctuator) {
+		return kind == Kind.PUNCTUATOR && end - start == 1 && source.charAt(start) == punctuator;
+	}
+
+	/**
+	 * Check if the token is a name with the given text.
+	 *
+	 * @param name Name to compare.
+	 * @return True if the token is the name, false otherwise.
+	 */
+	public boolean isName(String name) {
+		if (kind != Kind.NAME || end - start != name.length()) {
+			return false;
+		}
+		for (int i = 0; i < name.length(); i++) {
+			if (source.charAt(start + i) != name.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Check if the token is a string or block string.
+	 *
+	 * @return True if string, false otherwise.
+	 */
+	public boolean isString() {
+		return kind == Kind.STRING || kind == Kind.BLOCK_STRING;
+	}
+
+	/**
+	 * Get the value of a string or block string token. Escape sequences are
+	 * resolved and block strings have their common indentation and leading and
+	 * trailing blank lines removed.
+	 *
+	 * @return String value.
+	 * @throws IllegalStateException if the token is not a string.
+	 */
+	public String getStringValue() {
+		if (kind == Kind.STRING) {
+			return GraphQLStringValues.decodeString(source, start + 1, end - 1);
+		} else if (kind == Kind.BLOCK_STRING) {
+			return GraphQLStringValues.decodeBlockString(source, start + 3, end - 3);
+		}
+		throw new IllegalStateException(String.format("Token [%s] is not a string.", getText()));
+	}
+
+	@Generated
+	@Override
+	public int hashCode() {
+		return Objects.hash(kind, start, end, line);
+	}
+
+	@Generated
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		GraphQLToken other = (GraphQLToken) obj;
+		return kind == other.kind && start == other.start && end == other.end && line == other.line
+				&& Objects.equals(source, other.source);
+	}
+
+	@Generated
+	@Override
+	public String toString() {
+		return "GraphQLToken [kind=" + kind + ", text=" + getText() + ", line=" + line + "]";
+	}
+}
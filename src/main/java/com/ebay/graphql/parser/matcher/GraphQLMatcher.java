@@ -1,7 +1,5 @@
 package com.ebay.graphql.parser.matcher;
 
-import java.util.regex.Pattern;
-
 public class GraphQLMatcher {
 	
 	public enum Nullable {
@@ -50,6 +48,7 @@ public class GraphQLMatcher {
 		UNION_DEFINITION("^\\s*union\\s+([A-Za-z_])([A-Za-z0-9_]*)\\s*=\\s*(([A-Za-z_])([A-Za-z0-9_]*)\\s?\\|?\\s?)*\\s*$"),
 		UNION_MEMBER("^(\\s*\\|\\s*([A-Za-z_])([A-Za-z0-9_]*))+\\s*$"),
 		ENUM_DEFINITION("^\\s*enum\\s+([A-Za-z_])([A-Za-z0-9_]*)\\s*\\{\\s*$"),
+		INPUT_DEFINITION("^\\s*input\\s+([A-Za-z_])([A-Za-z0-9_]*)\\s*(@.*)?\\{\\s*$"),
 		FIELD_LIST("^\\s*([A-Za-z_])([A-Za-z0-9_]*)(\\(.*\\))?\\s?:\\s*\\[\\[?.*\\!?\\]?\\!?\\]\\!?\\s*$"),
 		
 		// Closing curly braces are expected on their own line.
@@ -70,34 +69,101 @@ public class GraphQLMatcher {
 		}
 	}
 
+	private static final String DEPRECATED = "@deprecated";
+
+	// Literal ends of the Nullable patterns, in declaration order. The first
+	// ones follow "[[", the rest follow '[' except the last.
+	private static final String[] NULLABLE_SUFFIXES = { "!]!]!", "!]!]", "!]]", "]!]", "]]!", "!]!", "!]", "]!",
+			"!" };
+	private static final int MULTIDIMENSIONAL_SUFFIXES = 5;
+
 	private GraphQLMatcher() {
 		// Prevent instantiation.
 	}
 	
 	/**
-	 * Check if the field (or line) is marked as deprecated.
+	 * Check if the field (or line) is marked as deprecated. Same answer as
+	 * matching {@code ^.*\s@deprecated\s*.*$}, without the backtracking.
 	 * 
 	 * @param line Line of text to check.
 	 * @return True if deprecated, false otherwise.
 	 */
 	public static boolean isFieldDeprecated(String line) {
-		return Pattern.matches("^.*\\s@deprecated\\s*.*$", line);
+
+		int length = line.length();
+
+		// ".*" can't cross a line terminator, so the "\s" before the directive
+		// must be at or before the first one.
+		int firstBreak = length;
+		int lastBreak = -1;
+		for (int i = 0; i < length; i++) {
+			if (isLineBreak(line.charAt(i))) {
+				firstBreak = Math.min(firstBreak, i);
+				lastBreak = i;
+			}
+		}
+
+		// After the directive, whitespace may hold line terminators but the rest
+		// of the line may not.
+		int lastNonSpaceBeforeBreak = lastBreak;
+		while (lastNonSpaceBeforeBreak >= 0 && isSpace(line.charAt(lastNonSpaceBeforeBreak))) {
+			lastNonSpaceBeforeBreak--;
+		}
+
+		int directive = line.indexOf(DEPRECATED, 1);
+		while (directive > 0 && directive - 1 <= firstBreak) {
+			int end = directive + DEPRECATED.length();
+			if (isSpace(line.charAt(directive - 1)) && (lastBreak < 0 || lastNonSpaceBeforeBreak < end)) {
+				return true;
+			}
+			directive = line.indexOf(DEPRECATED, directive + 1);
+		}
+
+		return false;
 	}
 	
 	/**
 	 * Check if the line is nullable and return the nullable variant found for the
-	 * line.
+	 * line. Same answer as matching the {@link Nullable} patterns in declaration
+	 * order, from a single look at the end of the line.
 	 * 
 	 * @param line Line to check.
 	 * @return Nullable variant found.
 	 */
 	public static Nullable isNullable(String line) {
 
-		for (Nullable element : Nullable.values()) {
-			if (element == Nullable.NULLABLE) {
+		// Every pattern ends with "\s*$" after a '!' or ']', so it is checked
+		// against the line without trailing whitespace.
+		int end = line.length();
+		while (end > 0 && isSpace(line.charAt(end - 1))) {
+			end--;
+		}
+		for (int i = 0; i < end; i++) {
+			if (isLineBreak(line.charAt(i))) {
+				return Nullable.NULLABLE;
+			}
+		}
+
+		String text = line.substring(0, end);
+		int firstList = text.indexOf('[');
+		int firstMultidimensionalList = text.indexOf("[[");
+
+		for (int i = 0; i < NULLABLE_SUFFIXES.length; i++) {
+			String suffix = NULLABLE_SUFFIXES[i];
+			if (!text.endsWith(suffix)) {
 				continue;
-			} else if (Pattern.matches(element.getPattern(), line)) {
-				return element;
+			}
+			// The opening brackets must come before the suffix.
+			int available = end - suffix.length();
+			Nullable nullable = Nullable.values()[i];
+			if (i < MULTIDIMENSIONAL_SUFFIXES) {
+				if (firstMultidimensionalList >= 0 && firstMultidimensionalList + 2 <= available) {
+					return nullable;
+				}
+			} else if (nullable == Nullable.NON_NULLABLE_SCALAR_OR_OBJECT) {
+				return nullable;
+			} else if (firstList >= 0 && firstList + 1 <= available) {
+				return nullable;
 			}
 		}
 
@@ -105,7 +171,9 @@ public class GraphQLMatcher {
 	}
 
 	/**
-	 * Get the line type for the line passed in.
+	 * Get the line type for the line passed in. The result is the first LineType,
+	 * in declaration order, whose pattern matches the line. The patterns are not
+	 * evaluated, a single pass classifier produces the same answer.
 	 * 
 	 * @param line Line to match to a line type.
 	 * @return LineType matched.
@@ -116,13 +184,20 @@ public class GraphQLMatcher {
 			return LineType.UNMATCHED_TEXT;
 		}
 
-		for (LineType lineType : LineType.values()) {
-			if (Pattern.matches(lineType.getPattern(), line)) {
-				return lineType;
-			}
-		}
+		return LineClassifier.classify(line);
+	}
 
-		// We should never reach this point.
-		return LineType.UNMATCHED_TEXT;
+	/**
+	 * Characters the regex {@code \s} matches.
+	 */
+	private static boolean isSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	/**
+	 * Characters the regex {@code .} does not match.
+	 */
+	private static boolean isLineBreak(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
 	}
 }
@@ -0,0 +1,490 @@
+package com.ebay.graphql.parser.matcher;
+
+import com.ebay.graphql.parser.matcher.GraphQLMatcher.LineType;
+
+/**
+ * Hand written classifier that produces the same answer as testing each
+ * {@link LineType} pattern in declaration order, without any regular
+ * expression work.
+ *
+ * A single scan of the line records the whitespace boundaries, the position of
+ * the last character the regex {@code .} can't match and the first triple
+ * quote. The first non-whitespace character then selects the few line types
+ * that can possibly apply, and each of those is checked against the recorded
+ * positions. Character classes mirror the JDK regex defaults: {@code \s} is
+ * {@code [ \t\n\x0B\f\r]} and {@code .} matches everything but line
+ * terminators.
+ */
+final class LineClassifier {
+
+	private static final String TRIPLE_QUOTE = "\"\"\"";
+	private static final String IMPLEMENTS = "implements";
+
+	private final String line;
+	private final int length;
+
+	// Index of the first non-whitespace character, length if the line is blank.
+	private int firstNonSpace;
+
+	// Index of the last non-whitespace character, -1 if the line is blank.
+	private int lastNonSpace = -1;
+
+	// Index of the last line terminator at or before lastNonSpace, -1 if none.
+	private int lastBreak = -1;
+
+	// Index of the last line terminator anywhere in the line, -1 if none.
+	private int lastBreakInLine = -1;
+
+	private int firstTripleQuote = -1;
+
+	private LineClassifier(String line) {
+		this.line = line;
+		this.length = line.length();
+		this.firstNonSpace = length;
+
+		for (int i = 0; i < length; i++) {
+			char c = line.charAt(i);
+			if (!isDot(c)) {
+				lastBreakInLine = i;
+			}
+			if (!isSpace(c)) {
+				if (firstNonSpace == length) {
+					firstNonSpace = i;
+				}
+				lastNonSpace = i;
+				lastBreak = lastBreakInLine;
+			}
+			if (c == '"' && firstTripleQuote < 0 && i >= 2 && line.charAt(i - 1) == '"'
+					&& line.charAt(i - 2) == '"') {
+				firstTripleQuote = i - 2;
+			}
+		}
+	}
+
+	/**
+	 * Classify the line.
+	 *
+	 * @param line Line to classify. MUST NOT be null.
+	 * @return LineType matched.
+	 */
+	static LineType classify(String line) {
+		return new LineClassifier(line).classify();
+	}
+
+	private LineType classify() {
+
+		if (firstNonSpace == length) {
+			return LineType.UNMATCHED_TEXT;
+		}
+
+		char first = line.charAt(firstNonSpace);
+
+		if (first == '#' && dotsThenSpaces(firstNonSpace + 1)) {
+			return LineType.COMMENT;
+		}
+		if (first == '"' && isDescriptionInOneLine()) {
+			return LineType.MULTI_LINE_DESCRIPTION_IN_ONE_LINE;
+		}
+		if (firstTripleQuote >= 0 && lastBreak < 0) {
+			return LineType.MULTI_LINE_DESCRIPTION_OPEN_OR_CLOSE_SIGNATURE;
+		}
+		if (first == '"' && lastNonSpace > firstNonSpace && line.charAt(lastNonSpace) == '"'
+				&& dotsThenSpaces(firstNonSpace + 1)) {
+			return LineType.SINGLE_LINE_DESCRIPTION;
+		}
+		if (first == '|') {
+			return isUnionMember() ? LineType.UNION_MEMBER : LineType.UNMATCHED_TEXT;
+		}
+		if (first == '}') {
+			return lastNonSpace == firstNonSpace ? LineType.CLOSING_CURLY_BRACE : LineType.UNMATCHED_TEXT;
+		}
+		if (!isNameStart(first)) {
+			return LineType.UNMATCHED_TEXT;
+		}
+
+		return classifyNamedLine();
+	}
+
+	/**
+	 * Lines starting with a name. Checks are made in LineType declaration order.
+	 */
+	private LineType classifyNamedLine() {
+
+		int start = firstNonSpace;
+
+		if (line.startsWith("schema", afterExtend(start)) && isBlockOpening(afterExtend(start) + 6)) {
+			return LineType.SCHEMA;
+		}
+		if (isSchemaOperation("query")) {
+			return LineType.SCHEMA_QUERY;
+		}
+		if (isSchemaOperation("mutation")) {
+			return LineType.SCHEMA_MUTATION;
+		}
+		if (isSchemaOperation("subscription")) {
+			return LineType.SCHEMA_SUBSCRIPTION;
+		}
+		if (isOperationType("Query")) {
+			return LineType.QUERY;
+		}
+		if (isOperationType("Mutation")) {
+			return LineType.MUTATION;
+		}
+		if (isOperationType("Subscription")) {
+			return LineType.SUBSCRIPTION;
+		}
+
+		LineType field = classifyField();
+		if (field != null) {
+			return field;
+		}
+
+		if (isObjectDefinition()) {
+			return LineType.OBJECT_DEFINITION;
+		}
+		if (isScalarDefinition()) {
+			return LineType.SCALAR_DEFINITION;
+		}
+		if (isUnionDefinition()) {
+			return LineType.UNION_DEFINITION;
+		}
+		if (isEnumDefinition()) {
+			return LineType.ENUM_DEFINITION;
+		}
+		if (isInputDefinition()) {
+			return LineType.INPUT_DEFINITION;
+		}
+		if (isListField()) {
+			return LineType.FIELD_LIST;
+		}
+
+		return LineType.UNMATCHED_TEXT;
+	}
+
+	// """ ... """
+	private boolean isDescriptionInOneLine() {
+		int open = firstNonSpace;
+		int close = lastNonSpace - 2;
+		return line.startsWith(TRIPLE_QUOTE, open) && close >= open + 3 && line.startsWith(TRIPLE_QUOTE, close)
+				&& dotsThenSpaces(open + 3);
+	}
+
+	// query : ...
+	private boolean isSchemaOperation(String operation) {
+		if (!line.startsWith(operation, firstNonSpace)) {
+			return false;
+		}
+		int i = skipSpaces(firstNonSpace + operation.length());
+		return i < length && line.charAt(i) == ':' && dotsToEnd(i + 1);
+	}
+
+	// (extend )type Query {
+	private boolean isOperationType(String typeName) {
+		int i = afterExtend(firstNonSpace);
+		return line.startsWith("type", i) && i + 4 < length && isSpace(line.charAt(i + 4))
+				&& line.startsWith(typeName, i + 5) && isBlockOpening(i + 5 + typeName.length());
+	}
+
+	/**
+	 * All field line types share the same shape and differ only by the type name,
+	 * so one match covers all of them. When the argument list can close at more
+	 * than one ')' the earliest declared line type that any of them produces wins.
+	 */
+	private LineType classifyField() {
+
+		int nameEnd = skipName(firstNonSpace);
+		if (nameEnd < length && line.charAt(nameEnd) == '(') {
+			LineType best = null;
+			for (int i = nameEnd + 1; i < length && isDot(line.charAt(i)); i++) {
+				if (line.charAt(i) == ')') {
+					LineType candidate = matchFieldTail(i + 1);
+					if (candidate != null && (best == null || candidate.ordinal() < best.ordinal())) {
+						best = candidate;
+					}
+				}
+			}
+			return best;
+		}
+
+		return matchFieldTail(nameEnd);
+	}
+
+	// : Type! @directive
+	private LineType matchFieldTail(int from) {
+
+		int i = skipSpaces(from);
+		if (i >= length || line.charAt(i) != ':') {
+			return null;
+		}
+
+		int typeStart = skipSpaces(i + 1);
+		int typeEnd = skipName(typeStart);
+		if (typeEnd == typeStart) {
+			return null;
+		}
+
+		i = typeEnd;
+		if (i < length && line.charAt(i) == '!') {
+			i++;
+		}
+		i = skipSpaces(i);
+		if (i < length && (line.charAt(i) != '@' || !dotsThenSpaces(i + 1))) {
+			return null;
+		}
+
+		int typeLength = typeEnd - typeStart;
+		if (isTypeName("Int", typeStart, typeLength)) {
+			return LineType.FIELD_INT;
+		} else if (isTypeName("Float", typeStart, typeLength)) {
+			return LineType.FIELD_FLOAT;
+		} else if (isTypeName("String", typeStart, typeLength)) {
+			return LineType.FIELD_STRING;
+		} else if (isTypeName("Boolean", typeStart, typeLength)) {
+			return LineType.FIELD_BOOLEAN;
+		} else if (isTypeName("ID", typeStart, typeLength)) {
+			return LineType.FIELD_ID;
+		}
+		return LineType.FIELD_REFERENCE;
+	}
+
+	private boolean isTypeName(String typeName, int start, int typeLength) {
+		return typeName.length() == typeLength && line.startsWith(typeName, start);
+	}
+
+	// type Foo implements Bar @directive {
+	private boolean isObjectDefinition() {
+
+		int nameStart = afterKeyword("type");
+		if (nameStart < 0 || line.charAt(lastNonSpace) != '{') {
+			return false;
+		}
+
+		int nameEnd = skipName(nameStart);
+		if (matchesObjectDefinitionTail(nameEnd)) {
+			return true;
+		}
+
+		// The pattern lets 'implements' follow the type name without a space, in
+		// which case it is taken from the end of the name. Any later occurrence
+		// leaves a shorter tail to match, so only the last one needs checking.
+		int implementsAt = line.lastIndexOf(IMPLEMENTS, nameEnd - IMPLEMENTS.length());
+		return implementsAt > nameStart && matchesObjectDefinitionTail(implementsAt);
+	}
+
+	private boolean matchesObjectDefinitionTail(int from) {
+
+		int brace = lastNonSpace;
+		int i = skipSpaces(from);
+		if (i == brace) {
+			return true;
+		}
+
+		if (line.startsWith(IMPLEMENTS, i)) {
+			i += IMPLEMENTS.length();
+			while (i < brace && isDot(line.charAt(i))) {
+				i++;
+			}
+			if (i == brace) {
+				return true;
+			}
+			i = skipSpaces(i);
+			if (i == brace) {
+				return true;
+			}
+		}
+
+		return line.charAt(i) == '@' && dotsThenSpaces(i + 1);
+	}
+
+	// scalar Foo @specifiedBy(...)
+	private boolean isScalarDefinition() {
+
+		int nameStart = afterKeyword("scalar");
+		if (nameStart < 0) {
+			return false;
+		}
+
+		int i = skipName(nameStart);
+		if (i < length && isSpace(line.charAt(i))) {
+			i++;
+		}
+		return i == length || (line.charAt(i) == '@' && dotsToEnd(i + 1));
+	}
+
+	// union Foo = Bar | Baz
+	private boolean isUnionDefinition() {
+
+		int nameStart = afterKeyword("union");
+		if (nameStart < 0) {
+			return false;
+		}
+
+		int i = skipSpaces(skipName(nameStart));
+		if (i >= length || line.charAt(i) != '=') {
+			return false;
+		}
+
+		i = skipSpaces(i + 1);
+		while (i < length && isNameStart(line.charAt(i))) {
+			i = skipName(i);
+			if (i < length && isSpace(line.charAt(i))) {
+				i++;
+			}
+			if (i < length && line.charAt(i) == '|') {
+				i++;
+			}
+			if (i < length && isSpace(line.charAt(i))) {
+				i++;
+			}
+		}
+
+		return skipSpaces(i) == length;
+	}
+
+	// | Foo | Bar
+	private boolean isUnionMember() {
+
+		int i = 0;
+		boolean matched = false;
+		while (true) {
+			i = skipSpaces(i);
+			if (i == length) {
+				return matched;
+			}
+			if (line.charAt(i) != '|') {
+				return false;
+			}
+			i = skipSpaces(i + 1);
+			if (i >= length || !isNameStart(line.charAt(i))) {
+				return false;
+			}
+			i = skipName(i);
+			matched = true;
+		}
+	}
+
+	// enum Foo {
+	private boolean isEnumDefinition() {
+		int nameStart = afterKeyword("enum");
+		return nameStart >= 0 && isBlockOpening(skipName(nameStart));
+	}
+
+	// input Foo @directive {
+	private boolean isInputDefinition() {
+
+		int nameStart = afterKeyword("input");
+		if (nameStart < 0 || line.charAt(lastNonSpace) != '{') {
+			return false;
+		}
+
+		int i = skipSpaces(skipName(nameStart));
+		return i == lastNonSpace || (line.charAt(i) == '@' && dotsThenSpaces(i + 1));
+	}
+
+	// foo(bar: Int): [[Baz!]!]!
+	private boolean isListField() {
+
+		int nameEnd = skipName(firstNonSpace);
+		if (nameEnd < length && line.charAt(nameEnd) == '(') {
+			for (int i = nameEnd + 1; i < length && isDot(line.charAt(i)); i++) {
+				if (line.charAt(i) == ')' && matchesListFieldTail(i + 1)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		return matchesListFieldTail(nameEnd);
+	}
+
+	private boolean matchesListFieldTail(int from) {
+
+		int i = from;
+		if (i < length && isSpace(line.charAt(i))) {
+			i++;
+		}
+		if (i >= length || line.charAt(i) != ':') {
+			return false;
+		}
+
+		i = skipSpaces(i + 1);
+		if (i >= length || line.charAt(i) != '[') {
+			return false;
+		}
+
+		int close = lastNonSpace;
+		if (line.charAt(close) == '!') {
+			close--;
+		}
+		return close > i && line.charAt(close) == ']' && dotsThenSpaces(i + 1);
+	}
+
+	/**
+	 * Match {@code keyword\s+} followed by a name start at the first non-space
+	 * character.
+	 *
+	 * @return Index of the name start or -1 if not matched.
+	 */
+	private int afterKeyword(String keyword) {
+		int i = firstNonSpace + keyword.length();
+		if (!line.startsWith(keyword, firstNonSpace) || i >= length || !isSpace(line.charAt(i))) {
+			return -1;
+		}
+		i = skipSpaces(i);
+		return i < length && isNameStart(line.charAt(i)) ? i : -1;
+	}
+
+	// Skips an optional 'extend ' prefix.
+	private int afterExtend(int i) {
+		if (line.startsWith("extend", i) && i + 6 < length && isSpace(line.charAt(i + 6))) {
+			return i + 7;
+		}
+		return i;
+	}
+
+	// \s*\{\s*$
+	private boolean isBlockOpening(int from) {
+		int i = skipSpaces(from);
+		return i == lastNonSpace && line.charAt(i) == '{';
+	}
+
+	// .*\s*$ from the given index.
+	private boolean dotsThenSpaces(int from) {
+		return lastBreak < from;
+	}
+
+	// .*$ from the given index.
+	private boolean dotsToEnd(int from) {
+		return lastBreakInLine < from;
+	}
+
+	private int skipSpaces(int i) {
+		while (i < length && isSpace(line.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private int skipName(int i) {
+		while (i < length && isNameChar(line.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	static boolean isSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	static boolean isDot(char c) {
+		return c != '\n' && c != '\r' && c != '\u0085' && c != '\u2028' && c != '\u2029';
+	}
+
+	static boolean isNameStart(char c) {
+		return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '_';
+	}
+
+	static boolean isNameChar(char c) {
+		return isNameStart(c) || (c >= '0' && c <= '9');
+	}
+}
@@ -1,13 +1,18 @@
 package com.ebay.graphql.transformer;
 
+import java.text.ParseException;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.parser.GraphQLFieldDecoder;
+import com.ebay.graphql.types.GraphQLDescription;
 import com.ebay.graphql.types.GraphQLEnum;
+import com.ebay.graphql.types.GraphQLInputObject;
+import com.ebay.graphql.types.GraphQLInputValue;
 import com.ebay.graphql.types.GraphQLList;
-import com.ebay.graphql.types.GraphQLList.Dimensionality;
 import com.ebay.graphql.types.GraphQLObject;
 import com.ebay.graphql.types.GraphQLReference;
 import com.ebay.graphql.types.GraphQLScalar;
@@ -24,6 +29,11 @@ public class GraphQLToJsonSchema {
 	private JsonNodeFactory factory = new JsonNodeFactory(false);
 	private GraphQLSchema graphQLSchema;
 	
+	// Variables schemas by operation name, converted on first use.
+	private final Map<String, ObjectNode> queryVariables = new ConcurrentHashMap<>();
+	private final Map<String, ObjectNode> mutationVariables = new ConcurrentHashMap<>();
+	private final Map<String, ObjectNode> subscriptionVariables = new ConcurrentHashMap<>();
+	
 	public GraphQLToJsonSchema(GraphQLSchema graphQLSchema) {
 		Objects.requireNonNull(graphQLSchema, "Initialization with null schema is not permitted.");
 		this.graphQLSchema = graphQLSchema;
@@ -65,6 +75,79 @@ public class GraphQLToJsonSchema {
 		return jsonSchema;
 	}
 	
+	/**
+	 * Convert the arguments of a query into the JSON schema of the variables
+	 * object sent with it. Each argument is a property; arguments that are
+	 * non-null and have no default value are required. The arguments come from
+	 * {@link GraphQLSchema#getQueryArguments(String)}, or are decoded from the
+	 * query name if the schema has none. The schema is converted once per query,
+	 * each call returns a copy.
+	 * 
+	 * @param queryName Full query name as defined in the schema. (EG:
+	 *                  {@code people(first: Int = 10, filter: PersonFilter)})
+	 * @return JSON schema of the variables.
+	 * @throws IllegalArgumentException if the query is unknown.
+	 */
+	public JsonNode convertQueryVariables(String queryName) throws IllegalArgumentException {
+		
+		if (!graphQLSchema.getQuerys().containsKey(queryName)) {
+			throw new IllegalArgumentException(String.format("Query name is unknown in the GraphQL schema. GraphQL query names found: [%s].", graphQLSchema.getQuerys().keySet().toString()));
+		}
+		
+		return queryVariables.computeIfAbsent(queryName,
+				name -> convertVariables(name, graphQLSchema.getQueryArguments(name))).deepCopy();
+	}
+	
+	/**
+	 * Convert the arguments of a mutation into the JSON schema of the variables
+	 * object sent with it. See {@link #convertQueryVariables(String)}.
+	 * 
+	 * @param mutationName Full mutation name as defined in the schema.
+	 * @return JSON schema of the variables.
+	 * @throws IllegalArgumentException if the mutation is unknown.
+	 */
+	public JsonNode convertMutationVariables(String mutationName) throws IllegalArgumentException {
+		
+		if (!graphQLSchema.getMutations().containsKey(mutationName)) {
+			throw new IllegalArgumentException(String.format("Mutation name is unknown in the GraphQL schema. GraphQL mutation names found: [%s].", graphQLSchema.getMutations().keySet().toString()));
+		}
+		
+		return mutationVariables.computeIfAbsent(mutationName,
+				name -> convertVariables(name, graphQLSchema.getMutationArguments(name))).deepCopy();
+	}
+	
+	/**
+	 * Convert the arguments of a subscription into the JSON schema of the
+	 * variables object sent with it. See {@link #convertQueryVariables(String)}.
+	 * 
+	 * @param subscriptionName Full subscription name as defined in the schema.
+	 * @return JSON schema of the variables.
+	 * @throws IllegalArgumentException if the subscription is unknown.
+	 */
+	public JsonNode convertSubscriptionVariables(String subscriptionName) throws IllegalArgumentException {
+		
+		if (!graphQLSchema.getSubscriptions().containsKey(subscriptionName)) {
+			throw new IllegalArgumentException(String.format("Subscription name is unknown in the GraphQL schema. GraphQL subscription names found: [%s].", graphQLSchema.getSubscriptions().keySet().toString()));
+		}
+		
+		return subscriptionVariables.computeIfAbsent(subscriptionName,
+				name -> convertVariables(name, graphQLSchema.getSubscriptionArguments(name))).deepCopy();
+	}
+	
+	protected ObjectNode convertVariables(String operationName, GraphQLInputObject arguments) {
+		
+		if (arguments == null) {
+			// Schemas loaded from a snapshot or built by hand don't hold them.
+			try {
+				arguments = GraphQLFieldDecoder.decodeArguments(operationName);
+			} catch (ParseException e) {
+				throw new IllegalArgumentException(String.format("Arguments of [%s] can't be parsed. %s", operationName, e.getMessage()), e);
+			}
+		}
+		
+		return convertInputObject(arguments);
+	}
+	
 	protected ObjectNode convertModel(GraphQLType type) {
 		
 		ObjectNode jsonNode = null;
@@ -75,6 +158,8 @@ public class GraphQLToJsonSchema {
 			jsonNode = convertList(type);
 		} else if (type instanceof GraphQLObject) {
 			jsonNode = convertObject(type);
+		} else if (type instanceof GraphQLInputObject) {
+			jsonNode = convertInputObject(type);
 		} else if (type instanceof GraphQLReference) {
 			jsonNode = convertReference(type);
 		} else if (type instanceof GraphQLScalar) {
@@ -83,14 +168,20 @@ public class GraphQLToJsonSchema {
 			throw new IllegalStateException("Encountered unknown GraphQLType.");
 		}
 		
+		// Descriptions are decoded here, as they are converted. A field's own
+		// description replaces the one of the type it references.
+		GraphQLDescription description = type.getDescription();
+		if (description != null) {
+			jsonNode.put("description", description.getText());
+		}
+		
 		return jsonNode;
 	}
 	
 	protected ObjectNode convertReference(GraphQLType type) {
 		
 		GraphQLReference graphQLReference = (GraphQLReference) type;
-		String typeName = graphQLReference.getReferenceTypeName();
-		GraphQLType referenceType = graphQLSchema.getTypes().get(typeName);
+		GraphQLType referenceType = graphQLSchema.resolve(graphQLReference);
 		ObjectNode jsonObject = convertModel(referenceType);
 		if (!type.isNullable() && jsonObject.get("type") != null) {
 			JsonNode typeValue = jsonObject.get("type");
@@ -124,31 +215,24 @@ public class GraphQLToJsonSchema {
 		
 		ObjectNode objectNode = factory.objectNode();
 		
-		Dimensionality dimension = graphQLList.getDimensionality();
 		ObjectNode listType = convertModel(graphQLList.getType());
 		
 		objectNode.set("type", getTypeDefinition(type));
 		
-		switch(dimension) {
-		case MULTI:
+		// Wrap the element type in one array per inner dimension, innermost first.
+		// Nullable inner dimensions share the type definition of the outer list.
+		ObjectNode items = listType;
+		for (int dimension = graphQLList.getDimensions() - 1; dimension > 0; dimension--) {
 			ObjectNode innerDimension = factory.objectNode();
-			innerDimension.set("type", getTypeDefinition(type));
-			innerDimension.set("items", factory.objectNode().setAll(listType));
-			
-			if (graphQLList.isInnerDimensionNullable()) {
-				objectNode.set("items", factory.objectNode().setAll(innerDimension));
+			if (graphQLList.isDimensionNullable(dimension)) {
+				innerDimension.set("type", getTypeDefinition(type));
 			} else {
-				ObjectNode innerNode = factory.objectNode().set("type", factory.textNode("array"));
-				innerNode.set("items", listType);
-				objectNode.set("items", innerNode);
+				innerDimension.set("type", factory.textNode("array"));
 			}
-			
-			break;
-		case SINGLE:
-		default:
-			objectNode.set("items", factory.objectNode().setAll(listType));
-			break;
+			innerDimension.set("items", items);
+			items = innerDimension;
 		}
+		objectNode.set("items", factory.objectNode().setAll(items));
 		
 		return objectNode;
 	}
@@ -189,6 +273,29 @@ public class GraphQLToJsonSchema {
 		return jsonObject;
 	}
 	
+	protected ObjectNode convertInputObject(GraphQLType type) {
+		ObjectNode jsonObject = factory.objectNode();
+		jsonObject.set("type", getTypeDefinition(type));
+		
+		ObjectNode properties = factory.objectNode();
+		ArrayNode required = factory.arrayNode();
+		
+		GraphQLInputObject inputObject = (GraphQLInputObject) type;
+		for (GraphQLInputValue inputValue : inputObject.getFields().values()) {
+			properties.set(inputValue.getName(), convertModel(inputValue.getType()));
+			if (inputValue.isRequired()) {
+				required.add(inputValue.getName());
+			}
+		}
+		
+		jsonObject.set("properties", properties);
+		// Draft 4 doesn't allow an empty required array.
+		if (required.size() > 0) {
+			jsonObject.set("required", required);
+		}
+		return jsonObject;
+	}
+	
 	protected JsonNode getTypeDefinition(GraphQLType type) {
 		
 		String typeName = null;
@@ -199,7 +306,7 @@ public class GraphQLToJsonSchema {
 		// - reference (inlined in the JSON schema)
 		if (type instanceof GraphQLList) {
 			typeName = "array";
-		} else if (type instanceof GraphQLObject) {
+		} else if (type instanceof GraphQLObject || type instanceof GraphQLInputObject) {
 			typeName = "object";
 		} else if (type instanceof GraphQLScalar) {
 			GraphQLScalarValue val = ((GraphQLScalar) type).getScalarValue();
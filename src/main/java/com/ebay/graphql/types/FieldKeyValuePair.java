@@ -4,10 +4,7 @@ import java.text.ParseException;
 import java.util.Objects;
 
 import com.ebay.graphql.Generated;
-import com.ebay.graphql.parser.GraphQLParserUtil;
-import com.ebay.graphql.parser.matcher.GraphQLMatcher;
-import com.ebay.graphql.parser.matcher.GraphQLMatcher.LineType;
-import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+import com.ebay.graphql.parser.GraphQLFieldDecoder;
 
 public class FieldKeyValuePair {
 
@@ -20,47 +17,16 @@ public class FieldKeyValuePair {
 	}
 
 	/**
-	 * Initialize from a string with the format {@code <key>:<value>}
+	 * Initialize from a string with the format {@code <key>:<value>}, decoded by
+	 * {@link GraphQLFieldDecoder}.
 	 * 
 	 * @param lineOfText Text to parse.
 	 * @throws ParseException If lineOfText violates expected format.
 	 */
 	public FieldKeyValuePair(String lineOfText) throws ParseException {
-		
-		LineType lineType = GraphQLMatcher.getLineType(lineOfText);
-		
-		switch(lineType) {
-		case FIELD_BOOLEAN:
-			value = new  GraphQLScalar(GraphQLScalarValue.BOOLEAN);
-			break;
-		case FIELD_FLOAT:
-			value = new  GraphQLScalar(GraphQLScalarValue.FLOAT);
-			break;
-		case FIELD_INT:
-			value = new  GraphQLScalar(GraphQLScalarValue.INT);
-			break;
-		case FIELD_ID:
-			value = new  GraphQLScalar(GraphQLScalarValue.ID);
-			break;
-		case FIELD_LIST:
-			value = new GraphQLList(GraphQLParserUtil.getValueForLine(lineOfText));
-			break;
-		case FIELD_STRING:
-			value = new  GraphQLScalar(GraphQLScalarValue.STRING);
-			break;
-		case FIELD_REFERENCE:
-			value = new GraphQLReference(GraphQLParserUtil.getValueForLine(lineOfText));
-			break;
-		default:
-			throw new ParseException(String.format("Line of text [%s] is not parsable into a key value pair.", lineOfText), -1);
-		}
-
-		if (lineOfText.trim().endsWith("!")) {
-			value.makeNonNullable();
-		}
-		
-		// Extract the key
-		key = GraphQLParserUtil.getKeyForLine(lineOfText);
+		FieldKeyValuePair pair = GraphQLFieldDecoder.decode(lineOfText);
+		key = pair.key;
+		value = pair.value;
 	}
 
 	public String getKey() {
@@ -0,0 +1,17 @@
+package com.ebay.graphql.types;
+
+/**
+ * Description of a type or field. Parsers keep a reference to where the
+ * description is in the source rather than its text, so descriptions that are
+ * never asked for cost no heap beyond the reference.
+ */
+public interface GraphQLDescription {
+
+	/**
+	 * Decode the description. Each call decodes it again.
+	 * 
+	 * @return Description text, with escape sequences resolved and, for block
+	 *         strings, the common indentation removed.
+	 */
+	String getText();
+}
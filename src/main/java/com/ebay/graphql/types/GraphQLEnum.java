@@ -11,6 +11,10 @@ public class GraphQLEnum implements GraphQLType {
 
 	List<String> enumValues = new ArrayList<>();
 	private boolean nullable = true;
+	private GraphQLDescription description;
+
+	// Taken on first use, dropped when the type changes.
+	private volatile GraphQLFingerprint fingerprint;
 
 	/**
 	 * Add an enum value. If will only be added if it doesn't already exist.
@@ -20,6 +24,7 @@ public class GraphQLEnum implements GraphQLType {
 	public void addEnumValue(String enumValue) {
 		if (!enumValues.contains(enumValue)) {
 			enumValues.add(enumValue);
+			fingerprint = null;
 		}
 	}
 
@@ -27,6 +32,26 @@ public class GraphQLEnum implements GraphQLType {
 		return Collections.unmodifiableList(enumValues);
 	}
 
+	@Override
+	public GraphQLDescription getDescription() {
+		return description;
+	}
+
+	@Override
+	public void setDescription(GraphQLDescription description) {
+		this.description = description;
+	}
+
+	@Override
+	public GraphQLFingerprint getFingerprint() {
+		GraphQLFingerprint current = fingerprint;
+		if (current == null) {
+			current = GraphQLFingerprint.builder("enum").addAll(enumValues).add(nullable).build();
+			fingerprint = current;
+		}
+		return current;
+	}
+
 	@Generated
 	@Override
 	public int hashCode() {
@@ -56,6 +81,7 @@ public class GraphQLEnum implements GraphQLType {
 	@Override
 	public void makeNonNullable() {
 		nullable = false;
+		fingerprint = null;
 	}
 
 	@Generated
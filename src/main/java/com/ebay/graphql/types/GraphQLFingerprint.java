@@ -0,0 +1,230 @@
+package com.ebay.graphql.types;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SHA-256 digest of the content of a type or schema. Equal types have equal
+ * fingerprints, so a fingerprint can stand for its type as a cache key or to
+ * find out whether a schema changed, and comparing two of them costs the same
+ * whatever the size of what they stand for.
+ *
+ * Fingerprints are built Merkle-style: the content is written in a canonical
+ * encoding in which each nested type is written as its own fingerprint.
+ * Descriptions are not part of it, same as for equality.
+ */
+public final class GraphQLFingerprint {
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private final byte[] digest;
+
+	private GraphQLFingerprint(byte[] digest) {
+		this.digest = digest;
+	}
+
+	/**
+	 * Start a fingerprint.
+	 *
+	 * @param kind Kind of what is fingerprinted, written first so that different
+	 *             kinds with the same content don't share a fingerprint.
+	 * @return Builder to write the content to.
+	 */
+	public static Builder builder(String kind) {
+		return new Builder(kind);
+	}
+
+	/**
+	 * Get the digest.
+	 *
+	 * @return Copy of the 32 bytes of the digest.
+	 */
+	public byte[] toByteArray() {
+		return digest.clone();
+	}
+
+	@Override
+	public int hashCode() {
+		// The digest is already evenly spread.
+		return (digest[0] & 0xFF) << 24 | (digest[1] & 0xFF) << 16 | (digest[2] & 0xFF) << 8 | (digest[3] & 0xFF);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		GraphQLFingerprint other = (GraphQLFingerprint) obj;
+		return Arrays.equals(digest, other.digest);
+	}
+
+	/**
+	 * @return Digest in lower case hexadecimal.
+	 */
+	@Override
+	public String toString() {
+		char[] text = new char[digest.length * 2];
+		for (int i = 0; i < digest.length; i++) {
+			text[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+			text[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+		}
+		return new String(text);
+	}
+
+	/**
+	 * Writes content in the canonical encoding. Strings and collections are
+	 * written with their length first, so that no two different contents of the
+	 * same kind are written the same.
+	 */
+	public static final class Builder {
+
+		private final MessageDigest digest;
+
+		private Builder(String kind) {
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				// Every Java platform has to support SHA-256.
+				throw new IllegalStateException("SHA-256 is not available.", e);
+			}
+			add(kind);
+		}
+
+		/**
+		 * Write a String.
+		 *
+		 * @param value String, may be null.
+		 * @return This builder.
+		 */
+		public Builder add(String value) {
+			if (value == null) {
+				return add(-1);
+			}
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			add(bytes.length);
+			digest.update(bytes);
+			return this;
+		}
+
+		/**
+		 * Write a boolean.
+		 *
+		 * @param value Boolean.
+		 * @return This builder.
+		 */
+		public Builder add(boolean value) {
+			digest.update(value ? (byte) 1 : (byte) 0);
+			return this;
+		}
+
+		/**
+		 * Write an int.
+		 *
+		 * @param value Int.
+		 * @return This builder.
+		 */
+		public Builder add(int value) {
+			digest.update((byte) (value >>> 24));
+			digest.update((byte) (value >>> 16));
+			digest.update((byte) (value >>> 8));
+			digest.update((byte) value);
+			return this;
+		}
+
+		/**
+		 * Write a type as its fingerprint.
+		 *
+		 * @param type Type, may be null.
+		 * @return This builder.
+		 */
+		public Builder add(GraphQLType type) {
+			add(type != null);
+			return type != null ? add(type.getFingerprint()) : this;
+		}
+
+		/**
+		 * Write a fingerprint, for example of a part of what is fingerprinted.
+		 *
+		 * @param fingerprint Fingerprint.
+		 * @return This builder.
+		 */
+		public Builder add(GraphQLFingerprint fingerprint) {
+			digest.update(fingerprint.digest);
+			return this;
+		}
+
+		/**
+		 * Write a list of Strings, in order.
+		 *
+		 * @param values Strings, may be null.
+		 * @return This builder.
+		 */
+		public Builder addAll(List<String> values) {
+			if (values == null) {
+				return add(-1);
+			}
+			add(values.size());
+			for (String value : values) {
+				add(value);
+			}
+			return this;
+		}
+
+		/**
+		 * Write named types, ordered by name, so that the order of the map does
+		 * not matter.
+		 *
+		 * @param types Types by name.
+		 * @return This builder.
+		 */
+		public Builder addTypes(Map<String, ? extends GraphQLType> types) {
+			List<String> names = sortedNames(types);
+			add(names.size());
+			for (String name : names) {
+				add(name);
+				add(types.get(name));
+			}
+			return this;
+		}
+
+		/**
+		 * Write named lists of Strings, ordered by name.
+		 *
+		 * @param lists Lists by name.
+		 * @return This builder.
+		 */
+		public Builder addLists(Map<String, List<String>> lists) {
+			List<String> names = sortedNames(lists);
+			add(names.size());
+			for (String name : names) {
+				add(name);
+				addAll(lists.get(name));
+			}
+			return this;
+		}
+
+		/**
+		 * Finish the fingerprint. Don't use the builder afterwards.
+		 *
+		 * @return Fingerprint of everything written.
+		 */
+		public GraphQLFingerprint build() {
+			return new GraphQLFingerprint(digest.digest());
+		}
+
+		private static List<String> sortedNames(Map<String, ?> map) {
+			List<String> names = new ArrayList<>(map.keySet());
+			Collections.sort(names);
+			return names;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.ebay.graphql.types;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.ebay.graphql.Generated;
+
+/**
+ * Input object type. Fields keep their declaration order.
+ */
+public class GraphQLInputObject implements GraphQLType {
+
+	private Map<String, GraphQLInputValue> fields = new LinkedHashMap<>();
+	private boolean nullable = true;
+	private GraphQLDescription description;
+
+	// Taken on first use, dropped when the type changes.
+	private volatile GraphQLFingerprint fingerprint;
+
+	public void addField(GraphQLInputValue field) {
+		fields.put(field.getName(), field);
+		fingerprint = null;
+	}
+
+	public Map<String, GraphQLInputValue> getFields() {
+		return Collections.unmodifiableMap(fields);
+	}
+
+	@Override
+	public GraphQLDescription getDescription() {
+		return description;
+	}
+
+	@Override
+	public void setDescription(GraphQLDescription description) {
+		this.description = description;
+	}
+
+	@Override
+	public GraphQLFingerprint getFingerprint() {
+		GraphQLFingerprint current = fingerprint;
+		if (current == null) {
+			// Equality doesn't depend on the declaration order, so neither does this.
+			List<String> names = new ArrayList<>(fields.keySet());
+			Collections.sort(names);
+			GraphQLFingerprint.Builder builder = GraphQLFingerprint.builder("input").add(names.size());
+			for (String name : names) {
+				GraphQLInputValue field = fields.get(name);
+				builder.add(name).add(field.getType()).add(field.getDefaultValue());
+			}
+			current = builder.add(nullable).build();
+			fingerprint = current;
+		}
+		return current;
+	}
+
+	@Generated
+	@Override
+	public int hashCode() {
+		return Objects.hash(fields, nullable);
+	}
+
+	@Generated
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		GraphQLInputObject other = (GraphQLInputObject) obj;
+		return Objects.equals(fields, other.fields) && nullable == other.nullable;
+	}
+
+	@Generated
+	@Override
+	public String toString() {
+		return "GraphQLInputObject [fields=" + fields + ", nullable=" + nullable + "]";
+	}
+
+	@Generated
+	@Override
+	public void makeNonNullable() {
+		nullable = false;
+		fingerprint = null;
+	}
+
+	@Generated
+	@Override
+	public boolean isNullable() {
+		return nullable;
+	}
+
+}
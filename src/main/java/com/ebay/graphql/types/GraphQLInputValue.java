@@ -0,0 +1,79 @@
+package com.ebay.graphql.types;
+
+import java.util.Objects;
+
+import com.ebay.graphql.Generated;
+
+/**
+ * Argument of a field or operation, or field of an input object type. (EG:
+ * {@code first: Int = 10})
+ */
+public class GraphQLInputValue {
+
+	private String name;
+	private GraphQLType type;
+	private String defaultValue;
+
+	public GraphQLInputValue(String name, GraphQLType type) {
+		this(name, type, null);
+	}
+
+	/**
+	 * @param name         Name of the argument or input field.
+	 * @param type         Type of the value.
+	 * @param defaultValue Default value as written in GraphQL (EG: {@code "EN"}
+	 *                     or {@code [1, 2]}), or null if there is none.
+	 */
+	public GraphQLInputValue(String name, GraphQLType type, String defaultValue) {
+		this.name = name;
+		this.type = type;
+		this.defaultValue = defaultValue;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public GraphQLType getType() {
+		return type;
+	}
+
+	public String getDefaultValue() {
+		return defaultValue;
+	}
+
+	/**
+	 * A value is required when its type is non-null and it has no default value.
+	 *
+	 * @return true if the value must be provided.
+	 */
+	public boolean isRequired() {
+		return !type.isNullable() && defaultValue == null;
+	}
+
+	@Generated
+	@Override
+	public int hashCode() {
+		return Objects.hash(defaultValue, name, type);
+	}
+
+	@Generated
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		GraphQLInputValue other = (GraphQLInputValue) obj;
+		return Objects.equals(defaultValue, other.defaultValue) && Objects.equals(name, other.name)
+				&& Objects.equals(type, other.type);
+	}
+
+	@Generated
+	@Override
+	public String toString() {
+		return "GraphQLInputValue [name=" + name + ", type=" + type + ", defaultValue=" + defaultValue + "]";
+	}
+}
@@ -1,18 +1,25 @@
 package com.ebay.graphql.types;
 
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.regex.Pattern;
 
-import com.ebay.graphql.Generated;
 import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
 
 public class GraphQLList implements GraphQLType {
 
 	private GraphQLType type;
 	private Dimensionality dimensionality;
-	private boolean nullable = true;
-	private boolean isInnerDimensionNullable = true;
+
+	// Nullability of each dimension, from the outermost list inwards.
+	private boolean[] nullableDimensions;
+	private GraphQLDescription description;
+
+	// Set on instances handed out by GraphQLTypeInterner, which can't change.
+	boolean canonical;
+
+	// Taken on first use, dropped when the type changes.
+	private volatile GraphQLFingerprint fingerprint;
 
 	public enum Dimensionality {
 		SINGLE, MULTI
@@ -20,7 +27,7 @@ public class GraphQLList implements GraphQLType {
 
 	/**
 	 * Given a parsed value (portion to the right of the colon) extract the list
-	 * type and dimensionality.
+	 * type and dimensions.
 	 * 
 	 * @param listSignature list signature to parse.
 	 * @throws ParseException if there was an error parsing the list.
@@ -36,8 +43,30 @@ public class GraphQLList implements GraphQLType {
 	 * @param dimensionality Supports single and multi-dimensional lists (array)
 	 */
 	public GraphQLList(GraphQLType type, Dimensionality dimensionality) {
+		this(type, dimensionality, dimensionality == Dimensionality.MULTI ? 2 : 1);
+	}
+
+	/**
+	 * Create an instance with any number of dimensions. EG: {@code [[[Float]]]}
+	 * has three.
+	 * 
+	 * @param type       Named type of the list (Int, Float, Url [custom])
+	 * @param dimensions Number of nested lists, at least 1.
+	 */
+	public GraphQLList(GraphQLType type, int dimensions) {
+		this(type, dimensions == 1 ? Dimensionality.SINGLE : Dimensionality.MULTI, dimensions);
+	}
+
+	private GraphQLList(GraphQLType type, Dimensionality dimensionality, int dimensions) {
+
+		if (dimensions < 1) {
+			throw new IllegalArgumentException(String.format("Lists need at least one dimension [%d].", dimensions));
+		}
+
 		this.type = type;
 		this.dimensionality = dimensionality;
+		this.nullableDimensions = new boolean[dimensions];
+		Arrays.fill(nullableDimensions, true);
 	}
 
 	public GraphQLType getType() {
@@ -48,13 +77,57 @@ public class GraphQLList implements GraphQLType {
 		return dimensionality;
 	}
 
-	@Generated
+	/**
+	 * Get the number of nested lists. SINGLE lists have one dimension, MULTI lists
+	 * two or more.
+	 * 
+	 * @return Number of dimensions.
+	 */
+	public int getDimensions() {
+		return nullableDimensions.length;
+	}
+
+	/**
+	 * Check if a dimension is nullable.
+	 * 
+	 * EG: [[[Float!]!]] - Dimension 0 is nullable, 1 and 2 are not.
+	 * 
+	 * @param dimension Dimension, 0 is the outermost list.
+	 * @return True if the list at that dimension may be null, false otherwise.
+	 * @throws IllegalArgumentException if the list doesn't have the dimension.
+	 */
+	public boolean isDimensionNullable(int dimension) {
+		return nullableDimensions[checkDimension(dimension)];
+	}
+
+	/**
+	 * Make the list at a dimension non nullable.
+	 * 
+	 * @param dimension Dimension, 0 is the outermost list.
+	 * @throws IllegalArgumentException if the list doesn't have the dimension.
+	 */
+	public void makeDimensionNonNullable(int dimension) {
+		checkNotCanonical();
+		nullableDimensions[checkDimension(dimension)] = false;
+		fingerprint = null;
+	}
+
+	@Override
+	public GraphQLDescription getDescription() {
+		return description;
+	}
+
+	@Override
+	public void setDescription(GraphQLDescription description) {
+		checkNotCanonical();
+		this.description = description;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(dimensionality, nullable, isInnerDimensionNullable, type);
+		return 31 * Objects.hash(dimensionality, type) + Arrays.hashCode(nullableDimensions);
 	}
 
-	@Generated
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
@@ -64,19 +137,20 @@ public class GraphQLList implements GraphQLType {
 		if (getClass() != obj.getClass())
 			return false;
 		GraphQLList other = (GraphQLList) obj;
-		return dimensionality == other.dimensionality && nullable == other.nullable
-				&& isInnerDimensionNullable == other.isInnerDimensionNullable && Objects.equals(type, other.type);
+		return dimensionality == other.dimensionality
+				&& Arrays.equals(nullableDimensions, other.nullableDimensions) && Objects.equals(type, other.type);
 	}
 
-	@Generated
 	@Override
 	public String toString() {
-		return "GraphQLList [type=" + type + ", dimensionality=" + dimensionality + ", nullable=" + nullable
-				+ ", isInnerDimensionNullable=" + isInnerDimensionNullable + "]";
+		return "GraphQLList [type=" + type + ", dimensionality=" + dimensionality + ", nullableDimensions="
+				+ Arrays.toString(nullableDimensions) + "]";
 	}
 
 	/**
-	 * Parse the list values from the list signature.
+	 * Parse the list values from the list signature by walking its brackets:
+	 * opening brackets, the named type, then a closing bracket for each
+	 * dimension. Each of them may be followed by a non null marker.
 	 * 
 	 * @param listSignature list signature to parse.
 	 * @throws ParseException if there was an issue parsing the list signature.
@@ -88,47 +162,62 @@ public class GraphQLList implements GraphQLType {
 		}
 
 		listSignature = listSignature.trim();
+		int length = listSignature.length();
 
-		if (Pattern.matches("^([\\[]{2})\\s*([A-Za-z_])([A-Za-z0-9_]*)([\\!])?\\s*(\\]\\]|\\]\\!\\])([\\!])?$",
-				listSignature)) {
-			dimensionality = Dimensionality.MULTI;
-			if (Pattern.matches("^.*(\\]\\!\\])([\\!])?$", listSignature)) {
-				isInnerDimensionNullable = false;
-			}
-		} else if (Pattern.matches("^([\\[]{1})\\s*([A-Za-z_])([A-Za-z0-9_])*([\\!])?\\s*([\\]]{1})([\\!])?$",
-				listSignature)) {
-			dimensionality = Dimensionality.SINGLE;
-		} else {
-			throw new ParseException(
-					String.format("Parsing of list value is not possible with list definition: %s.", listSignature),
-					-1);
+		int dimensions = 0;
+		while (dimensions < length && listSignature.charAt(dimensions) == '[') {
+			dimensions++;
 		}
 
-		if (listSignature.endsWith("!")) {
-			nullable = false;
+		// Whitespace is allowed around the named type.
+		int i = skipSpaces(listSignature, dimensions);
+		int typeStart = i;
+		if (dimensions == 0 || i == length || !isNameStart(listSignature.charAt(i))) {
+			throw invalidList(listSignature);
+		}
+		while (i < length && isNameChar(listSignature.charAt(i))) {
+			i++;
+		}
+		int typeEnd = i;
+
+		boolean isNullable = !isAt(listSignature, i, '!');
+		if (!isNullable) {
+			i++;
+		}
+		i = skipSpaces(listSignature, i);
+
+		boolean[] nullable = new boolean[dimensions];
+		for (int dimension = dimensions - 1; dimension >= 0; dimension--) {
+			if (!isAt(listSignature, i, ']')) {
+				throw invalidList(listSignature);
+			}
+			i++;
+			nullable[dimension] = !isAt(listSignature, i, '!');
+			if (!nullable[dimension]) {
+				i++;
+			}
 		}
-		
-		listSignature = listSignature.replaceFirst("^\\[*", "");
-		listSignature = listSignature.substring(0, listSignature.indexOf("]"));
 
-		boolean isNullable = true;
-		if (listSignature.endsWith("!")) {
-			listSignature = listSignature.substring(0, listSignature.length() - 1);
-			isNullable = false;
+		if (i != length) {
+			throw invalidList(listSignature);
 		}
 
-		if ("Boolean".equalsIgnoreCase(listSignature)) {
+		dimensionality = dimensions == 1 ? Dimensionality.SINGLE : Dimensionality.MULTI;
+		nullableDimensions = nullable;
+
+		String typeName = listSignature.substring(typeStart, typeEnd);
+		if ("Boolean".equalsIgnoreCase(typeName)) {
 			type = new GraphQLScalar(GraphQLScalarValue.BOOLEAN);
-		} else if ("Float".equalsIgnoreCase(listSignature)) {
+		} else if ("Float".equalsIgnoreCase(typeName)) {
 			type = new GraphQLScalar(GraphQLScalarValue.FLOAT);
-		} else if ("Int".equalsIgnoreCase(listSignature)) {
+		} else if ("Int".equalsIgnoreCase(typeName)) {
 			type = new GraphQLScalar(GraphQLScalarValue.INT);
-		} else if ("ID".equalsIgnoreCase(listSignature)) {
+		} else if ("ID".equalsIgnoreCase(typeName)) {
 			type = new GraphQLScalar(GraphQLScalarValue.ID);
-		} else if ("String".equalsIgnoreCase(listSignature)) {
+		} else if ("String".equalsIgnoreCase(typeName)) {
 			type = new GraphQLScalar(GraphQLScalarValue.STRING);
 		} else {
-			type = new GraphQLReference(listSignature);
+			type = new GraphQLReference(typeName);
 		}
 		
 		if (!isNullable) {
@@ -136,38 +225,99 @@ public class GraphQLList implements GraphQLType {
 		}
 	}
 
-	@Generated
+	private static int skipSpaces(String text, int index) {
+		while (index < text.length() && isSpace(text.charAt(index))) {
+			index++;
+		}
+		return index;
+	}
+
+	private static boolean isAt(String text, int index, char c) {
+		return index < text.length() && text.charAt(index) == c;
+	}
+
+	private static boolean isSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	private static boolean isNameStart(char c) {
+		return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '_';
+	}
+
+	private static boolean isNameChar(char c) {
+		return isNameStart(c) || (c >= '0' && c <= '9');
+	}
+
+	private static ParseException invalidList(String listSignature) {
+		return new ParseException(
+				String.format("Parsing of list value is not possible with list definition: %s.", listSignature), -1);
+	}
+
+	@Override
+	public GraphQLFingerprint getFingerprint() {
+		GraphQLFingerprint current = fingerprint;
+		if (current == null) {
+			GraphQLFingerprint.Builder builder = GraphQLFingerprint.builder("list").add(dimensionality.name())
+					.add(nullableDimensions.length);
+			for (boolean nullable : nullableDimensions) {
+				builder.add(nullable);
+			}
+			current = builder.add(type).build();
+			fingerprint = current;
+		}
+		return current;
+	}
+
+	private void checkNotCanonical() {
+		if (canonical) {
+			throw new UnsupportedOperationException("Canonical types can't be changed.");
+		}
+	}
+
+	private int checkDimension(int dimension) {
+		if (dimension < 0 || dimension >= nullableDimensions.length) {
+			throw new IllegalArgumentException(String.format("List has no dimension [%d].", dimension));
+		}
+		return dimension;
+	}
+
 	@Override
 	public void makeNonNullable() {
-		nullable = false;
+		checkNotCanonical();
+		nullableDimensions[0] = false;
+		fingerprint = null;
 	}
 
-	@Generated
 	@Override
 	public boolean isNullable() {
-		return nullable;
+		return nullableDimensions[0];
 	}
 	
 	/**
-	 * For two-dimensional arrays it is possible to have the inner dimension be non
-	 * nullable. Check if the inner dimension is nullable or not.
+	 * For multi-dimensional arrays it is possible to have the inner dimension be
+	 * non nullable. Check if the inner dimension is nullable or not.
 	 * 
 	 * EG: [[Test]!] - The inner array is non-nullable.
 	 * 
-	 * @return True if array is two-dimensional and inner array is nullable, false
-	 *         otherwise.
+	 * @return True if array is multi-dimensional and the dimension inside the
+	 *         outermost list is nullable, false otherwise.
 	 */
 	public boolean isInnerDimensionNullable() {
 		if (dimensionality == Dimensionality.MULTI) {
-			return isInnerDimensionNullable;
+			return nullableDimensions[1];
 		}
 		return false;
 	}
 
 	/**
-	 * Make the inner list, of a multi-dimensional list, non nullable.
+	 * Make the inner list, of a multi-dimensional list, non nullable. Single
+	 * dimension lists have no inner list and are left as they are.
 	 */
 	public void makeInnerDimensionNonNullable() {
-		isInnerDimensionNullable = false;
+		checkNotCanonical();
+		if (nullableDimensions.length > 1) {
+			nullableDimensions[1] = false;
+			fingerprint = null;
+		}
 	}
 }
@@ -11,15 +11,61 @@ public class GraphQLObject implements GraphQLType {
 
 	private Map<String, GraphQLType> fields = new HashMap<>();
 	private boolean nullable = true;
+	private GraphQLDescription description;
+
+	// Taken on first use, dropped when the type changes.
+	private volatile GraphQLFingerprint fingerprint;
 
 	public void addField(String fieldName, GraphQLType fieldType) {
 		fields.put(fieldName, fieldType);
+		fingerprint = null;
 	}
 
 	public Map<String, GraphQLType> getFields() {
 		return Collections.unmodifiableMap(fields);
 	}
 
+	/**
+	 * Share the Strings of the field names with the symbol table and intern the
+	 * field types. The map is only rebuilt if a name was a copy.
+	 */
+	void internNames(GraphQLSymbolTable symbols) {
+
+		boolean copies = false;
+		for (Map.Entry<String, GraphQLType> field : fields.entrySet()) {
+			copies |= symbols.getName(symbols.intern(field.getKey())) != field.getKey();
+			symbols.internNames(field.getValue());
+		}
+
+		if (copies) {
+			Map<String, GraphQLType> interned = new HashMap<>(fields.size() * 4 / 3 + 1);
+			for (Map.Entry<String, GraphQLType> field : fields.entrySet()) {
+				interned.put(symbols.getName(symbols.intern(field.getKey())), field.getValue());
+			}
+			fields = interned;
+		}
+	}
+
+	@Override
+	public GraphQLDescription getDescription() {
+		return description;
+	}
+
+	@Override
+	public void setDescription(GraphQLDescription description) {
+		this.description = description;
+	}
+
+	@Override
+	public GraphQLFingerprint getFingerprint() {
+		GraphQLFingerprint current = fingerprint;
+		if (current == null) {
+			current = GraphQLFingerprint.builder("object").addTypes(fields).add(nullable).build();
+			fingerprint = current;
+		}
+		return current;
+	}
+
 	@Generated
 	@Override
 	public int hashCode() {
@@ -49,6 +95,7 @@ public class GraphQLObject implements GraphQLType {
 	@Override
 	public void makeNonNullable() {
 		nullable = false;
+		fingerprint = null;
 	}
 
 	@Generated
@@ -8,6 +8,17 @@ public class GraphQLReference implements GraphQLType {
 
 	private String referenceTypeName;
 	private boolean nullable = true;
+	private GraphQLDescription description;
+
+	// Set on instances handed out by GraphQLTypeInterner, which can't change.
+	boolean canonical;
+
+	// Taken on first use, dropped when the type changes.
+	private volatile GraphQLFingerprint fingerprint;
+
+	// Id of the referenced type in the symbol table of the schema it was last
+	// added to. Only set when the reference is added, never when it is resolved.
+	private volatile Link link;
 
 	public GraphQLReference(String referenceTypeName) {
 
@@ -23,6 +34,62 @@ public class GraphQLReference implements GraphQLType {
 		return referenceTypeName;
 	}
 
+	/**
+	 * Get the id of the referenced type name in a symbol table. It is kept from
+	 * when the reference was added to the schema that owns the table, so the name
+	 * is only looked up if the reference has been added to another schema since.
+	 *
+	 * @param symbols Symbol table.
+	 * @return Id of the name, or -1 if the table doesn't know it.
+	 */
+	public int getTypeId(GraphQLSymbolTable symbols) {
+		Link current = link;
+		return current != null && current.symbols == symbols ? current.id : symbols.getId(referenceTypeName);
+	}
+
+	/**
+	 * Share the String of the referenced type name with the symbol table, and
+	 * keep its id.
+	 */
+	void internName(GraphQLSymbolTable symbols) {
+		int id = symbols.intern(referenceTypeName);
+		// Canonical references are shared by schemas with other symbol tables.
+		if (!canonical) {
+			referenceTypeName = symbols.getName(id);
+		}
+		Link current = link;
+		if (current == null || current.symbols != symbols) {
+			link = new Link(symbols, id);
+		}
+	}
+
+	@Override
+	public GraphQLDescription getDescription() {
+		return description;
+	}
+
+	@Override
+	public void setDescription(GraphQLDescription description) {
+		checkNotCanonical();
+		this.description = description;
+	}
+
+	@Override
+	public GraphQLFingerprint getFingerprint() {
+		GraphQLFingerprint current = fingerprint;
+		if (current == null) {
+			current = GraphQLFingerprint.builder("reference").add(referenceTypeName).add(nullable).build();
+			fingerprint = current;
+		}
+		return current;
+	}
+
+	private void checkNotCanonical() {
+		if (canonical) {
+			throw new UnsupportedOperationException("Canonical types can't be changed.");
+		}
+	}
+
 	@Generated
 	@Override
 	public int hashCode() {
@@ -48,10 +115,11 @@ public class GraphQLReference implements GraphQLType {
 		return "GraphQLReference [referenceTypeName=" + referenceTypeName + ", nullable=" + nullable + "]";
 	}
 
-	@Generated
 	@Override
 	public void makeNonNullable() {
+		checkNotCanonical();
 		nullable = false;
+		fingerprint = null;
 	}
 
 	@Generated
@@ -60,4 +128,14 @@ public class GraphQLReference implements GraphQLType {
 		return nullable;
 	}
 
+	private static final class Link {
+
+		private final GraphQLSymbolTable symbols;
+		private final int id;
+
+		Link(GraphQLSymbolTable symbols, int id) {
+			this.symbols = symbols;
+			this.id = id;
+		}
+	}
 }
@@ -11,8 +11,15 @@ import com.ebay.graphql.Generated;
 public class GraphQLScalar implements GraphQLType {
 
 	private boolean nullable = true;
+	private GraphQLDescription description;
 	private final GraphQLScalarValue value;
 
+	// Set on instances handed out by GraphQLTypeInterner, which can't change.
+	boolean canonical;
+
+	// Taken on first use, dropped when the type changes.
+	private volatile GraphQLFingerprint fingerprint;
+
 	public enum GraphQLScalarValue {
 		BOOLEAN, FLOAT, ID, INT, STRING;
 
@@ -56,10 +63,11 @@ public class GraphQLScalar implements GraphQLType {
 		return value;
 	}
 
-	@Generated
 	@Override
 	public void makeNonNullable() {
+		checkNotCanonical();
 		nullable = false;
+		fingerprint = null;
 	}
 
 	@Generated
@@ -68,6 +76,33 @@ public class GraphQLScalar implements GraphQLType {
 		return nullable;
 	}
 
+	@Override
+	public GraphQLDescription getDescription() {
+		return description;
+	}
+
+	@Override
+	public void setDescription(GraphQLDescription description) {
+		checkNotCanonical();
+		this.description = description;
+	}
+
+	@Override
+	public GraphQLFingerprint getFingerprint() {
+		GraphQLFingerprint current = fingerprint;
+		if (current == null) {
+			current = GraphQLFingerprint.builder("scalar").add(value.name()).add(nullable).build();
+			fingerprint = current;
+		}
+		return current;
+	}
+
+	private void checkNotCanonical() {
+		if (canonical) {
+			throw new UnsupportedOperationException("Canonical types can't be changed.");
+		}
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(nullable, value);
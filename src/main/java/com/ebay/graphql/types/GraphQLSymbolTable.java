@@ -0,0 +1,107 @@
+package com.ebay.graphql.types;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns type and field names into dense ids, starting at 0 in the order the
+ * names are first seen. A name keeps its id for the life of the table, so ids
+ * can be cached and used as array indexes, and every name is held by a single
+ * String instance.
+ *
+ * Lookups are safe from any thread and adding names is synchronized, so lazily
+ * parsed types can be interned while other threads read.
+ */
+public final class GraphQLSymbolTable {
+
+	private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+	private volatile String[] names = new String[16];
+
+	/**
+	 * Get the id of a name, adding the name if it is new.
+	 *
+	 * @param name Name.
+	 * @return Id of the name.
+	 */
+	public int intern(String name) {
+
+		Integer id = ids.get(name);
+		if (id != null) {
+			return id;
+		}
+
+		synchronized (this) {
+			id = ids.get(name);
+			if (id != null) {
+				return id;
+			}
+			int next = ids.size();
+			String[] current = names;
+			if (next == current.length) {
+				current = Arrays.copyOf(current, next * 2);
+			}
+			current[next] = name;
+			names = current;
+			// Publishes the name to threads that find the id.
+			ids.put(name, next);
+			return next;
+		}
+	}
+
+	/**
+	 * Get the id of a name without adding it.
+	 *
+	 * @param name Name.
+	 * @return Id of the name, or -1 if it is unknown.
+	 */
+	public int getId(String name) {
+		Integer id = ids.get(name);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Get the name of an id.
+	 *
+	 * @param id Id returned by {@link #intern(String)}.
+	 * @return Name.
+	 * @throws IllegalArgumentException if the id is unknown.
+	 */
+	public String getName(int id) {
+		String[] current = names;
+		if (id < 0 || id >= current.length || current[id] == null) {
+			throw new IllegalArgumentException(String.format("Unknown symbol id [%d].", id));
+		}
+		return current[id];
+	}
+
+	/**
+	 * Get the number of names, which is also the next id.
+	 *
+	 * @return Number of names.
+	 */
+	public int size() {
+		return ids.size();
+	}
+
+	/**
+	 * Intern the type names of the references in a type and the names of its
+	 * fields, so that equal names share one String and references know the id
+	 * of the type they point to.
+	 *
+	 * @param type Type to intern, may be null.
+	 */
+	public void internNames(GraphQLType type) {
+		if (type instanceof GraphQLReference) {
+			((GraphQLReference) type).internName(this);
+		} else if (type instanceof GraphQLList) {
+			internNames(((GraphQLList) type).getType());
+		} else if (type instanceof GraphQLObject) {
+			((GraphQLObject) type).internNames(this);
+		} else if (type instanceof GraphQLInputObject) {
+			for (GraphQLInputValue field : ((GraphQLInputObject) type).getFields().values()) {
+				internNames(field.getType());
+			}
+		}
+	}
+}
@@ -13,4 +13,42 @@ public interface GraphQLType {
 	 * @return True if nullable, false otherwise.
 	 */
 	boolean isNullable();
+
+	/**
+	 * Get the fingerprint of the type, equal for equal types. It is taken the
+	 * first time it is asked for and kept until the type changes. Fields are
+	 * part of it through their own fingerprints, so a field type changed in
+	 * place after the fingerprint of its object was taken is not noticed.
+	 * References are part of it through the name of the type they point to.
+	 * 
+	 * Custom types must override it and build the fingerprint from their content
+	 * with {@link GraphQLFingerprint#builder(String)}, since nothing every type
+	 * has is stable from one JVM to the next.
+	 * 
+	 * @return Fingerprint.
+	 * @throws UnsupportedOperationException if the type doesn't override it.
+	 */
+	default GraphQLFingerprint getFingerprint() {
+		throw new UnsupportedOperationException(
+				String.format("[%s] must override getFingerprint().", getClass().getName()));
+	}
+
+	/**
+	 * Get the description of the type, or of the field the type belongs to.
+	 * Descriptions are not part of equality.
+	 * 
+	 * @return Description, or null if there is none or it was not kept.
+	 */
+	default GraphQLDescription getDescription() {
+		return null;
+	}
+
+	/**
+	 * Set the description of the type, or of the field the type belongs to.
+	 * Types that don't override it don't keep descriptions, and drop it.
+	 * 
+	 * @param description Description, or null for none.
+	 */
+	default void setDescription(GraphQLDescription description) {
+	}
 }
@@ -0,0 +1,153 @@
+package com.ebay.graphql.types;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+
+/**
+ * Hands out one canonical instance for every structurally equal scalar,
+ * reference and list type, so the fields of a schema that share a type (EG:
+ * nullable {@code String}) share one instance. Canonical instances can't be
+ * changed: making them non nullable or setting their description throws
+ * {@link UnsupportedOperationException}. Non-null variants come from
+ * {@link #nonNullable(GraphQLType)} instead.
+ *
+ * Types that carry a description, and object, input object and enum types,
+ * are left as they are, since they are not interchangeable with equal types.
+ *
+ * Safe to use from several threads at once. Canonical instances are kept for
+ * the life of the interner.
+ */
+public final class GraphQLTypeInterner {
+
+	private final Map<GraphQLType, GraphQLType> canonicalTypes = new ConcurrentHashMap<>();
+
+	/**
+	 * Get the canonical scalar type.
+	 *
+	 * @param value    Scalar value.
+	 * @param nullable False for the non-null variant.
+	 * @return Canonical scalar.
+	 */
+	public GraphQLScalar scalar(GraphQLScalarValue value, boolean nullable) {
+		GraphQLScalar scalar = new GraphQLScalar(value);
+		if (!nullable) {
+			scalar.makeNonNullable();
+		}
+		return (GraphQLScalar) intern(scalar);
+	}
+
+	/**
+	 * Get the canonical reference to a type.
+	 *
+	 * @param referenceTypeName Name of the referenced type, without a non-null
+	 *                          marker.
+	 * @param nullable          False for the non-null variant.
+	 * @return Canonical reference.
+	 */
+	public GraphQLReference reference(String referenceTypeName, boolean nullable) {
+		GraphQLReference reference = new GraphQLReference(referenceTypeName);
+		if (!nullable) {
+			reference.makeNonNullable();
+		}
+		return (GraphQLReference) intern(reference);
+	}
+
+	/**
+	 * Get the canonical instance of a type. The type passed in is never changed
+	 * and never becomes canonical itself; the first time a type is seen, a copy
+	 * of it is.
+	 *
+	 * @param type Type to intern, may be null.
+	 * @return Canonical instance equal to the type, or the type itself if it has
+	 *         a description or is not a scalar, reference or list.
+	 */
+	public GraphQLType intern(GraphQLType type) {
+
+		if (!isInternable(type)) {
+			return type;
+		}
+
+		GraphQLType canonical = canonicalTypes.get(type);
+		if (canonical != null) {
+			return canonical;
+		}
+
+		canonical = copy(type);
+		makeCanonical(canonical);
+		GraphQLType existing = canonicalTypes.putIfAbsent(canonical, canonical);
+		return existing != null ? existing : canonical;
+	}
+
+	/**
+	 * Get the canonical non-null variant of a type. For lists only the outermost
+	 * list becomes non-null, as with {@link GraphQLType#makeNonNullable()}.
+	 *
+	 * @param type Type, canonical or not.
+	 * @return Canonical non-null variant of the type.
+	 * @throws IllegalArgumentException if the type can't be interned.
+	 */
+	public GraphQLType nonNullable(GraphQLType type) {
+
+		if (!isInternable(type)) {
+			throw new IllegalArgumentException(String.format("Type can't be interned [%s].", type));
+		}
+
+		GraphQLType nonNullable = copy(type);
+		nonNullable.makeNonNullable();
+		return intern(nonNullable);
+	}
+
+	/**
+	 * Get the number of canonical instances.
+	 *
+	 * @return Number of canonical instances.
+	 */
+	public int size() {
+		return canonicalTypes.size();
+	}
+
+	private static boolean isInternable(GraphQLType type) {
+		return (type instanceof GraphQLScalar || type instanceof GraphQLReference || type instanceof GraphQLList)
+				&& type.getDescription() == null;
+	}
+
+	private static void makeCanonical(GraphQLType type) {
+		if (type instanceof GraphQLScalar) {
+			((GraphQLScalar) type).canonical = true;
+		} else if (type instanceof GraphQLReference) {
+			((GraphQLReference) type).canonical = true;
+		} else {
+			((GraphQLList) type).canonical = true;
+		}
+	}
+
+	/**
+	 * Copy a type into a new, not yet canonical, instance whose list elements are
+	 * canonical.
+	 */
+	private GraphQLType copy(GraphQLType type) {
+
+		GraphQLType copy;
+		if (type instanceof GraphQLScalar) {
+			copy = new GraphQLScalar(((GraphQLScalar) type).getScalarValue());
+		} else if (type instanceof GraphQLReference) {
+			copy = new GraphQLReference(((GraphQLReference) type).getReferenceTypeName());
+		} else {
+			GraphQLList list = (GraphQLList) type;
+			GraphQLList listCopy = new GraphQLList(intern(list.getType()), list.getDimensions());
+			for (int dimension = 1; dimension < list.getDimensions(); dimension++) {
+				if (!list.isDimensionNullable(dimension)) {
+					listCopy.makeDimensionNonNullable(dimension);
+				}
+			}
+			copy = listCopy;
+		}
+
+		if (!type.isNullable()) {
+			copy.makeNonNullable();
+		}
+		return copy;
+	}
+}
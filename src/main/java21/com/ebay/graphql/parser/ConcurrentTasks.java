@@ -0,0 +1,76 @@
+package com.ebay.graphql.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Where the parser runs work it splits up itself: parallel parses without an
+ * executor of their own and the parallel directory walk of
+ * {@link GraphQLSchemaFinder}.
+ *
+ * This is the Java 21 version from the multi-release JAR. Every task gets a
+ * virtual thread, so file reads and directory listings block cheaply and no
+ * pool needs sizing. The Java 8 version in {@code src/main/java} uses the
+ * common fork-join pool. Both versions must keep the same methods.
+ */
+final class ConcurrentTasks {
+
+	// Virtual threads aren't pooled, so the shared executor holds no threads.
+	private static final ExecutorService VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
+	private ConcurrentTasks() {
+	}
+
+	/**
+	 * Get the executor for parallel and asynchronous parses that aren't given
+	 * one. It is shared and must not be shut down.
+	 *
+	 * @return Executor starting a virtual thread per task.
+	 */
+	static ExecutorService defaultExecutor() {
+		return VIRTUAL_THREADS;
+	}
+
+	/**
+	 * Run tasks in parallel and wait for all of them. Tasks may call this method
+	 * again to split their work further.
+	 *
+	 * @param tasks Tasks to run.
+	 * @return Results, in the order of the tasks.
+	 * @throws RuntimeException or Error thrown by a task. Tasks must not throw
+	 *                          checked exceptions.
+	 */
+	static <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+
+		List<Future<T>> futures;
+		try {
+			futures = VIRTUAL_THREADS.invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for tasks.", e);
+		}
+
+		List<T> results = new ArrayList<>(tasks.size());
+		for (Future<T> future : futures) {
+			try {
+				results.add(future.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for tasks.", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				} else if (e.getCause() instanceof Error error) {
+					throw error;
+				}
+				throw new IllegalStateException("Task failed.", e.getCause());
+			}
+		}
+		return results;
+	}
+}
@@ -0,0 +1,84 @@
+package com.ebay.graphql.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.model.GraphQLSchema.FrozenMap;
+
+public class FrozenMapTest {
+
+	@DataProvider(name = "sizes")
+	public Object[][] sizes() {
+		return new Object[][] { { 0 }, { 1 }, { 2 }, { 3 }, { 17 }, { 1000 } };
+	}
+
+	@Test(dataProvider = "sizes")
+	public void lookUpEveryKey(int size) {
+
+		Map<String, Integer> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			map.put("T" + i, i);
+		}
+		FrozenMap<Integer> frozenMap = new FrozenMap<>(map);
+
+		assertThat(frozenMap.size(), is(size));
+		for (int i = 0; i < size; i++) {
+			assertThat(frozenMap.get("T" + i), is(i));
+			assertThat(frozenMap.containsKey("T" + i), is(true));
+		}
+		assertThat(frozenMap.get("T" + size), is(nullValue()));
+		assertThat(frozenMap.containsKey("T" + size), is(false));
+		assertThat(new ArrayList<>(frozenMap.keySet()), is(equalTo(new ArrayList<>(map.keySet()))));
+		assertThat(frozenMap, is(equalTo(map)));
+		assertThat(frozenMap.hashCode(), is(equalTo(map.hashCode())));
+	}
+
+	@Test
+	public void collidingKeys() {
+
+		// "Aa" and "BB" have the same hash code.
+		Map<String, String> map = new HashMap<>();
+		map.put("Aa", "first");
+		map.put("BB", "second");
+		map.put("AaAa", "third");
+		map.put("BBBB", "fourth");
+		FrozenMap<String> frozenMap = new FrozenMap<>(map);
+
+		assertThat(frozenMap.get("Aa"), is(equalTo("first")));
+		assertThat(frozenMap.get("BB"), is(equalTo("second")));
+		assertThat(frozenMap.get("AaAa"), is(equalTo("third")));
+		assertThat(frozenMap.get("BBBB"), is(equalTo("fourth")));
+		assertThat(frozenMap.get("AaBB"), is(nullValue()));
+	}
+
+	@Test
+	public void nullValuesAndKeys() {
+
+		FrozenMap<String> frozenMap = new FrozenMap<>(Collections.singletonMap("A", null));
+
+		assertThat(frozenMap.containsKey("A"), is(true));
+		assertThat(frozenMap.get("A"), is(nullValue()));
+		assertThat(frozenMap.get(null), is(nullValue()));
+		assertThat(frozenMap.containsKey(null), is(false));
+		assertThat(frozenMap.get(1), is(nullValue()));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void put() {
+		new FrozenMap<>(Collections.singletonMap("A", "a")).put("B", "b");
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void removeThroughEntries() {
+		new FrozenMap<>(Collections.singletonMap("A", "a")).entrySet().iterator().remove();
+	}
+}
@@ -0,0 +1,325 @@
+package com.ebay.graphql.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.parser.GraphQLParser;
+import com.ebay.graphql.parser.GraphQLParser.Frontend;
+import com.ebay.graphql.types.GraphQLEnum;
+import com.ebay.graphql.types.GraphQLList;
+import com.ebay.graphql.types.GraphQLList.Dimensionality;
+import com.ebay.graphql.types.GraphQLObject;
+import com.ebay.graphql.types.GraphQLReference;
+import com.ebay.graphql.types.GraphQLScalar;
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+import com.ebay.graphql.types.GraphQLType;
+
+public class GraphQLSchemaSnapshotTest {
+
+	// Size of the version 1 header, where the first record starts.
+	private static final int FIRST_RECORD = 80;
+
+	@DataProvider(name = "schemaResources")
+	public Object[][] schemaResources() {
+		return new Object[][] {
+			{ Frontend.LINE, "com/ebay/graphql" },
+			{ Frontend.TOKEN, "com/ebay/graphql" },
+			{ Frontend.TOKEN, "com/ebay/graphql/cdc" },
+		};
+	}
+
+	@Test(dataProvider = "schemaResources")
+	public void snapshotFile(Frontend frontend, String resource) throws IOException, URISyntaxException {
+
+		File directory = new File(getClass().getClassLoader().getResource(resource).toURI());
+		GraphQLSchema schema = new GraphQLParser(frontend).parseGraphQL(directory);
+
+		Path snapshot = Files.createTempFile("schema", ".snapshot");
+		try {
+			GraphQLSchemaSnapshot.write(schema, snapshot);
+			GraphQLSchema loadedSchema = GraphQLSchemaSnapshot.load(snapshot);
+
+			for (String name : schema.getTypes().keySet()) {
+				assertThat(loadedSchema.getTypes().get(name), is(equalTo(schema.getTypes().get(name))));
+			}
+			assertThat(loadedSchema, is(equalTo(schema)));
+		} finally {
+			Files.delete(snapshot);
+		}
+	}
+
+	@Test
+	public void snapshotEveryTypeKind() throws IOException {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.setSchemaQueryType("RootQuery");
+		schema.setQueryTypeName("RootQuery");
+		schema.setMutationTypeName("RootMutation");
+
+		GraphQLObject person = new GraphQLObject();
+		person.addField("name", nonNullable(new GraphQLScalar(GraphQLScalarValue.STRING)));
+		person.addField("nickname", new GraphQLReference("Name\u540D\u524D"));
+		person.addField("friends", new GraphQLList(new GraphQLReference("Person!"), Dimensionality.SINGLE));
+		GraphQLList grid = new GraphQLList(new GraphQLScalar(GraphQLScalarValue.FLOAT), Dimensionality.MULTI);
+		grid.makeInnerDimensionNonNullable();
+		person.addField("grid", nonNullable(grid));
+		GraphQLList tensor = new GraphQLList(new GraphQLReference("Person"), 4);
+		tensor.makeDimensionNonNullable(2);
+		person.addField("tensor", tensor);
+		person.addField("unknown", null);
+		schema.addType("Person", person);
+
+		GraphQLEnum color = new GraphQLEnum();
+		color.addEnumValue("RED");
+		color.addEnumValue("GREEN");
+		schema.addType("Color", color);
+
+		schema.addType("Empty", new GraphQLList(null, null));
+		schema.addQuery("person(id: ID!): Person", new GraphQLReference("Person"));
+		schema.addMutation("paint(color: Color): Color!", new GraphQLReference("Color!"));
+		schema.addSubscription("colors: [Color]", new GraphQLList(new GraphQLReference("Color"), Dimensionality.SINGLE));
+		schema.addUnion("Thing", Arrays.asList("Person", "Color"));
+		schema.addUnion("Nothing", null);
+
+		GraphQLSchema loadedSchema = roundTrip(schema);
+
+		assertThat(loadedSchema, is(equalTo(schema)));
+		assertThat(loadedSchema.hashCode(), is(equalTo(schema.hashCode())));
+		assertThat(loadedSchema.getSchemaQueryType(), is(equalTo("RootQuery")));
+		assertThat(loadedSchema.getQueryTypeName(), is(equalTo("RootQuery")));
+		assertThat(loadedSchema.getMutationTypeName(), is(equalTo("RootMutation")));
+		assertThat(loadedSchema.getSubscriptionTypeName(), is(nullValue()));
+		assertThat(loadedSchema.getUnions().get("Thing"), contains("Person", "Color"));
+		assertThat(loadedSchema.getUnions().get("Nothing"), is(nullValue()));
+		assertThat(loadedSchema.getUnions().containsKey("Nothing"), is(true));
+	}
+
+	@Test
+	public void typesAreDecodedOnDemand() throws IOException {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("A", new GraphQLScalar(GraphQLScalarValue.INT));
+		schema.addType("B", new GraphQLReference("A"));
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		GraphQLSchemaSnapshot.write(schema, outputStream);
+		byte[] bytes = outputStream.toByteArray();
+
+		// Corrupt the record of A, B can still be read.
+		bytes[FIRST_RECORD] = 99;
+		GraphQLSchema loadedSchema = GraphQLSchemaSnapshot.load(ByteBuffer.wrap(bytes));
+
+		assertThat(loadedSchema.getTypes().get("B"), is(equalTo(new GraphQLReference("A"))));
+		assertThat(loadedSchema.getTypes().get("B"), is(sameInstance(loadedSchema.getTypes().get("B"))));
+		assertThat(loadedSchema.getTypes().containsKey("A"), is(true));
+		assertThat(loadedSchema.getTypes().get("C"), is(nullValue()));
+		assertThat(loadedSchema.getTypes().size(), is(equalTo(2)));
+
+		try {
+			loadedSchema.getTypes().get("A");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(), is(equalTo("Unknown type tag [99] at snapshot offset [80].")));
+			return;
+		}
+		throw new AssertionError("Expected the corrupt record to fail.");
+	}
+
+	@Test
+	public void loadedSchemaCanBeModified() throws IOException {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("A", new GraphQLScalar(GraphQLScalarValue.INT));
+		schema.addUnion("U", Arrays.asList("A"));
+		GraphQLSchema loadedSchema = roundTrip(schema);
+
+		GraphQLSchema other = new GraphQLSchema();
+		other.addType("B", new GraphQLScalar(GraphQLScalarValue.BOOLEAN));
+		loadedSchema.addSchema(other);
+
+		assertThat(loadedSchema.getTypes().keySet(), containsInAnyOrder("A", "B"));
+		assertThat(loadedSchema.getTypes().get("A"), is(equalTo(new GraphQLScalar(GraphQLScalarValue.INT))));
+		assertThat(loadedSchema.getTypes().containsKey("B"), is(true));
+		assertThat(loadedSchema.getTypes().size(), is(equalTo(2)));
+	}
+
+	@Test
+	public void sectionMapOperations() throws IOException {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("A", new GraphQLScalar(GraphQLScalarValue.INT));
+		schema.addType("B", new GraphQLScalar(GraphQLScalarValue.ID));
+
+		Map<String, GraphQLType> types = roundTrip(schema).getTypes();
+		assertThat(types.containsKey(1), is(false));
+		assertThat(types.get(1), is(nullValue()));
+
+		Iterator<Map.Entry<String, GraphQLType>> entries = types.entrySet().iterator();
+		assertThat(entries.next().getKey(), is(equalTo("A")));
+		assertThat(entries.next().getKey(), is(equalTo("B")));
+		try {
+			entries.next();
+		} catch (NoSuchElementException e) {
+			return;
+		}
+		throw new AssertionError("Expected the iterator to be exhausted.");
+	}
+
+	@DataProvider(name = "invalidSnapshots")
+	public Object[][] invalidSnapshots() throws IOException {
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		GraphQLSchemaSnapshot.write(new GraphQLSchema(), outputStream);
+		byte[] valid = outputStream.toByteArray();
+
+		byte[] version = valid.clone();
+		version[7] = 2;
+		byte[] stringTable = valid.clone();
+		stringTable[8] = 127;
+		byte[] section = valid.clone();
+		// Count of the queries.
+		section[16] = 127;
+		byte[] rootName = valid.clone();
+		// Id of the schema query type name.
+		rootName[58] = 127;
+		byte[] rootString = valid.clone();
+		ByteBuffer.wrap(rootString).putInt(ByteBuffer.wrap(valid).getInt(8), valid.length);
+
+		return new Object[][] {
+			{ new byte[10], "Not a GraphQL schema snapshot." },
+			{ new byte[FIRST_RECORD], "Not a GraphQL schema snapshot." },
+			{ version, "Unsupported snapshot version [2]." },
+			{ stringTable, "Snapshot string table is out of bounds." },
+			{ Arrays.copyOf(valid, valid.length - 4), "Snapshot string table is out of bounds." },
+			{ section, "Snapshot section [0] is out of bounds." },
+			{ rootName, "Snapshot string id [32512] is out of bounds." },
+			{ rootString, "Snapshot string [0] is out of bounds." },
+		};
+	}
+
+	@Test(dataProvider = "invalidSnapshots")
+	public void invalidSnapshot(byte[] bytes, String message) {
+		try {
+			GraphQLSchemaSnapshot.load(ByteBuffer.wrap(bytes));
+		} catch (IOException e) {
+			assertThat(e.getMessage(), is(equalTo(message)));
+			return;
+		}
+		throw new AssertionError("Expected an invalid snapshot.");
+	}
+
+	@DataProvider(name = "corruptRecords")
+	public Object[][] corruptRecords() throws IOException {
+
+		// A is a scalar record of tag, flags and value, B a reference record of
+		// tag, flags and string id, U a count followed by string ids.
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("A", new GraphQLScalar(GraphQLScalarValue.INT));
+		schema.addType("B", new GraphQLReference("A"));
+		schema.addUnion("U", Arrays.asList("A", "B"));
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		GraphQLSchemaSnapshot.write(schema, outputStream);
+		byte[] valid = outputStream.toByteArray();
+		ByteBuffer buffer = ByteBuffer.wrap(valid);
+		int typeIndex = buffer.getInt(16 + 3 * 8 + 4);
+		int union = buffer.getInt(buffer.getInt(16 + 4 * 8 + 4) + 4);
+		int stringTable = buffer.getInt(8);
+
+		byte[] scalar = valid.clone();
+		scalar[FIRST_RECORD + 2] = 99;
+		byte[] recordOffset = valid.clone();
+		ByteBuffer.wrap(recordOffset).putInt(typeIndex + 4, 5);
+		byte[] unionCount = valid.clone();
+		ByteBuffer.wrap(unionCount).putInt(union, 1000);
+		byte[] stringId = valid.clone();
+		ByteBuffer.wrap(stringId).putInt(FIRST_RECORD + 5, 1000);
+		byte[] stringOffset = valid.clone();
+		ByteBuffer.wrap(stringOffset).putInt(stringTable, valid.length);
+		byte[] stringLength = valid.clone();
+		ByteBuffer.wrap(stringLength).putInt(buffer.getInt(stringTable), 1000);
+
+		return new Object[][] {
+			{ scalar, "A", "Unknown scalar [99] at snapshot offset [82]." },
+			{ recordOffset, "A", "Snapshot offset [5] is out of bounds." },
+			{ unionCount, "U", "Snapshot offset [" + (union + 4) + "] is out of bounds." },
+			{ stringId, "B", "Snapshot string id [1000] is out of bounds." },
+			{ stringOffset, "A", "Snapshot string [0] is out of bounds." },
+			{ stringLength, "A", "Snapshot string [0] is out of bounds." },
+		};
+	}
+
+	@Test(dataProvider = "corruptRecords")
+	public void corruptRecord(byte[] bytes, String name, String message) throws IOException {
+
+		// The header is intact, so loading works and the record fails on use.
+		GraphQLSchema loadedSchema = GraphQLSchemaSnapshot.load(ByteBuffer.wrap(bytes));
+		try {
+			loadedSchema.getTypes().get(name);
+			loadedSchema.getUnions().get(name);
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(), is(equalTo(message)));
+			return;
+		}
+		throw new AssertionError("Expected the corrupt record to fail.");
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "Type \\[.*\\] can't be written to a snapshot.")
+	public void unsupportedType() throws IOException {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("Custom", new GraphQLType() {
+			@Override
+			public void makeNonNullable() {
+			}
+
+			@Override
+			public boolean isNullable() {
+				return true;
+			}
+		});
+		GraphQLSchemaSnapshot.write(schema, new ByteArrayOutputStream());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "Lists of more than 128 dimensions can't be written to a snapshot.")
+	public void unsupportedListDimensions() throws IOException {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("Deep", new GraphQLList(new GraphQLScalar(GraphQLScalarValue.INT), 129));
+		GraphQLSchemaSnapshot.write(schema, new ByteArrayOutputStream());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void writeNullSchema() throws IOException {
+		GraphQLSchemaSnapshot.write(null, new ByteArrayOutputStream());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void loadNullBuffer() throws IOException {
+		GraphQLSchemaSnapshot.load((ByteBuffer) null);
+	}
+
+	private GraphQLSchema roundTrip(GraphQLSchema schema) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		GraphQLSchemaSnapshot.write(schema, outputStream);
+		return GraphQLSchemaSnapshot.load(ByteBuffer.wrap(outputStream.toByteArray()));
+	}
+
+	private GraphQLType nonNullable(GraphQLType type) {
+		type.makeNonNullable();
+		return type;
+	}
+}
@@ -0,0 +1,490 @@
+package com.ebay.graphql.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.types.GraphQLFingerprint;
+import com.ebay.graphql.types.GraphQLInputObject;
+import com.ebay.graphql.types.GraphQLInputValue;
+import com.ebay.graphql.types.GraphQLObject;
+import com.ebay.graphql.types.GraphQLReference;
+import com.ebay.graphql.types.GraphQLScalar;
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+import com.ebay.graphql.types.GraphQLType;
+
+public class GraphQLSchemaTest {
+
+	@Test
+	public void lazyTypeIsSuppliedOnce() {
+
+		AtomicInteger calls = new AtomicInteger();
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("Eager", new GraphQLScalar(GraphQLScalarValue.ID));
+		schema.addLazyType("Lazy", counting(calls, GraphQLScalarValue.INT));
+
+		assertThat(schema.getTypes().containsKey("Lazy"), is(true));
+		assertThat(schema.getTypes().size(), is(equalTo(2)));
+		assertThat(calls.get(), is(equalTo(0)));
+
+		assertThat(schema.getTypes().get("Lazy"), is(equalTo(new GraphQLScalar(GraphQLScalarValue.INT))));
+		assertThat(schema.getTypes().get("Lazy"), is(sameInstance(schema.getTypes().get("Lazy"))));
+		assertThat(schema.getTypes().get("Eager"), is(equalTo(new GraphQLScalar(GraphQLScalarValue.ID))));
+		assertThat(calls.get(), is(equalTo(1)));
+	}
+
+	@Test
+	public void mergeKeepsTypesUnresolved() {
+
+		AtomicInteger calls = new AtomicInteger();
+		GraphQLSchema fileSchema = new GraphQLSchema();
+		fileSchema.addLazyType("Lazy", counting(calls, GraphQLScalarValue.FLOAT));
+
+		GraphQLSchema first = new GraphQLSchema();
+		first.addSchema(fileSchema);
+		GraphQLSchema second = new GraphQLSchema();
+		second.addSchema(fileSchema);
+		assertThat(calls.get(), is(equalTo(0)));
+
+		// The merged schemas share the deferred type.
+		assertThat(first.getTypes().get("Lazy"), is(sameInstance(second.getTypes().get("Lazy"))));
+		assertThat(calls.get(), is(equalTo(1)));
+	}
+
+	@Test
+	public void lazySchemaEqualsEagerSchema() {
+
+		GraphQLSchema lazySchema = new GraphQLSchema();
+		lazySchema.addLazyType("Type", () -> new GraphQLScalar(GraphQLScalarValue.BOOLEAN));
+		GraphQLSchema eagerSchema = new GraphQLSchema();
+		eagerSchema.addType("Type", new GraphQLScalar(GraphQLScalarValue.BOOLEAN));
+
+		assertThat(lazySchema, is(equalTo(eagerSchema)));
+		assertThat(lazySchema.hashCode(), is(equalTo(eagerSchema.hashCode())));
+	}
+
+	@Test
+	public void typeReplacesLazyType() {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addLazyType("Type", () -> new GraphQLScalar(GraphQLScalarValue.INT));
+		schema.addType("Type", new GraphQLScalar(GraphQLScalarValue.STRING));
+
+		Iterator<Map.Entry<String, GraphQLType>> entries = schema.getTypes().entrySet().iterator();
+		assertThat(entries.next().getValue(), is(equalTo(new GraphQLScalar(GraphQLScalarValue.STRING))));
+		assertThat(entries.hasNext(), is(false));
+	}
+
+	@Test
+	public void lookUpTypesById() {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		GraphQLObject person = new GraphQLObject();
+		person.addField("name", new GraphQLScalar(GraphQLScalarValue.STRING));
+		schema.addType("Person", person);
+		schema.addType("Nothing", null);
+
+		int id = schema.getTypeId("Person");
+		assertThat(schema.getType(id), is(sameInstance(person)));
+		assertThat(schema.getSymbolTable().getName(id), is(equalTo("Person")));
+		// Field names share the symbol table, but aren't types.
+		assertThat(schema.getType(schema.getTypeId("name")), is(nullValue()));
+		assertThat(schema.getTypes().containsKey("Nothing"), is(true));
+		assertThat(schema.getTypes().get("Nothing"), is(nullValue()));
+		assertThat(schema.getTypeId("Pet"), is(-1));
+		assertThat(schema.getType(-1), is(nullValue()));
+		assertThat(schema.getTypes().keySet(), contains("Person", "Nothing"));
+	}
+
+	@Test(dataProvider = "schemaChanges")
+	public void changedSchemaIsNotEqual(Consumer<GraphQLSchema> change) {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		GraphQLSchema changed = new GraphQLSchema();
+		change.accept(changed);
+
+		assertThat(changed, is(not(equalTo(schema))));
+		assertThat(changed.freeze(), is(not(equalTo(schema))));
+		assertThat(changed.toString(), is(not(equalTo(schema.toString()))));
+	}
+
+	@Test
+	public void equalSchemas() {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addQuery("me", new GraphQLReference("Person"));
+		schema.addType("Person", new GraphQLObject());
+		GraphQLSchema sameSchema = new GraphQLSchema();
+		sameSchema.addType("Person", new GraphQLObject());
+		sameSchema.addQuery("me", new GraphQLReference("Person"));
+
+		assertThat(schema, is(equalTo(schema)));
+		assertThat(schema, is(equalTo(sameSchema)));
+		assertThat(schema.hashCode(), is(equalTo(sameSchema.hashCode())));
+		assertThat(schema.equals(null), is(false));
+		assertThat(schema.equals("schema"), is(false));
+		assertThat(schema.toString(), is(equalTo("GraphQLSchema [schemaQueryType=Query, schemaMutationType=Mutation, "
+				+ "schemaSubscriptionType=Subscription, query={me=GraphQLReference [referenceTypeName=Person, "
+				+ "nullable=true]}, mutation={}, subscription={}, types={Person=" + new GraphQLObject() + "}, unions={}]")));
+	}
+
+	@Test
+	public void resolveReferences() {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		GraphQLObject person = new GraphQLObject();
+		GraphQLReference friend = new GraphQLReference(new String("Person"));
+		person.addField("friend", friend);
+		GraphQLReference pet = new GraphQLReference("Pet");
+		person.addField("pet", pet);
+		schema.addType("Person", person);
+		schema.addQuery("me: Person", new GraphQLReference("Person"));
+
+		assertThat(schema.resolve(friend), is(sameInstance(person)));
+		String name = schema.getSymbolTable().getName(schema.getTypeId("Person"));
+		assertThat(friend.getReferenceTypeName(), is(sameInstance(name)));
+		assertThat(schema.resolve(pet), is(nullValue()));
+
+		// References to types added later resolve once they are there.
+		GraphQLScalar petType = new GraphQLScalar(GraphQLScalarValue.STRING);
+		schema.addType("Pet", petType);
+		assertThat(schema.resolve(pet), is(sameInstance(petType)));
+	}
+
+	@Test
+	public void resolveSharedReference() {
+
+		GraphQLReference person = new GraphQLReference("Person");
+		GraphQLSchema first = new GraphQLSchema();
+		GraphQLSchema second = new GraphQLSchema();
+		second.addType("Pet", new GraphQLScalar(GraphQLScalarValue.STRING));
+		GraphQLObject firstPerson = new GraphQLObject();
+		GraphQLObject secondPerson = new GraphQLObject();
+		first.addType("Person", firstPerson);
+		second.addType("Person", secondPerson);
+		GraphQLSchema frozen = second.freeze();
+
+		for (int i = 0; i < 2; i++) {
+			assertThat(first.resolve(person), is(sameInstance(firstPerson)));
+			assertThat(second.resolve(person), is(sameInstance(secondPerson)));
+			assertThat(frozen.resolve(person), is(sameInstance(secondPerson)));
+		}
+		assertThat(first.getTypeId("Person"), is(not(equalTo(second.getTypeId("Person")))));
+		assertThat(new GraphQLSchema().resolve(person), is(nullValue()));
+	}
+
+	@Test
+	public void resolveWithoutNameLookup() throws Exception {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		GraphQLObject person = new GraphQLObject();
+		GraphQLReference friend = new GraphQLReference("Person");
+		person.addField("friend", friend);
+		schema.addType("Person", person);
+		GraphQLSchema frozen = schema.freeze();
+
+		// The id was kept when the reference was added, so a name the symbol
+		// tables have never seen doesn't matter.
+		Field name = GraphQLReference.class.getDeclaredField("referenceTypeName");
+		name.setAccessible(true);
+		name.set(friend, "Unknown");
+		assertThat(schema.resolve(friend), is(sameInstance(person)));
+		assertThat(frozen.resolve(friend), is(sameInstance(person)));
+		assertThat(schema.getTypeId("Unknown"), is(-1));
+	}
+
+	@Test
+	public void resolveReferenceAddedToSeveralSchemas() {
+
+		GraphQLObject person = new GraphQLObject();
+		GraphQLReference friend = new GraphQLReference("Person");
+		person.addField("friend", friend);
+		GraphQLSchema first = new GraphQLSchema();
+		first.addType("Pet", new GraphQLScalar(GraphQLScalarValue.STRING));
+		first.addType("Person", person);
+		GraphQLSchema second = new GraphQLSchema();
+		second.addType("Person", person);
+
+		// The reference keeps the id of the last schema it was added to, the
+		// others look its name up. Resolving doesn't change which one it keeps.
+		for (int i = 0; i < 2; i++) {
+			assertThat(first.resolve(friend), is(sameInstance(person)));
+			assertThat(second.resolve(friend), is(sameInstance(person)));
+		}
+		assertThat(friend.getTypeId(second.getSymbolTable()), is(equalTo(second.getTypeId("Person"))));
+		assertThat(friend.getTypeId(first.getSymbolTable()), is(equalTo(first.getTypeId("Person"))));
+		assertThat(friend.getTypeId(new GraphQLSchema().getSymbolTable()), is(-1));
+	}
+
+	@Test
+	public void freezeDoesNotChangeSymbolTable() {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addLazyType("Lazy", () -> new GraphQLReference("Eager"));
+		schema.addType("Eager", new GraphQLScalar(GraphQLScalarValue.INT));
+		schema.getTypes().get("Lazy");
+		int size = schema.getSymbolTable().size();
+
+		GraphQLSchema frozen = schema.freeze();
+
+		assertThat(schema.getSymbolTable().size(), is(equalTo(size)));
+		assertThat(frozen.getSymbolTable(), is(sameInstance(schema.getSymbolTable())));
+
+		// Names added to the source afterwards are not types of the copy.
+		schema.addType("Later", new GraphQLScalar(GraphQLScalarValue.ID));
+		assertThat(frozen.getType(frozen.getTypeId("Later")), is(nullValue()));
+		assertThat(frozen.getType(frozen.getTypeId("Eager")), is(equalTo(new GraphQLScalar(GraphQLScalarValue.INT))));
+	}
+
+	@Test
+	public void resolveLazyTypes() {
+
+		GraphQLSchema fileSchema = new GraphQLSchema();
+		fileSchema.addLazyType("Lazy", () -> {
+			GraphQLObject object = new GraphQLObject();
+			object.addField("self", new GraphQLReference("Lazy"));
+			return object;
+		});
+		fileSchema.addType("Eager", new GraphQLScalar(GraphQLScalarValue.INT));
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("First", new GraphQLScalar(GraphQLScalarValue.ID));
+		schema.addSchema(fileSchema);
+
+		GraphQLObject lazy = (GraphQLObject) schema.getType(schema.getTypeId("Lazy"));
+		assertThat(schema.resolve((GraphQLReference) lazy.getFields().get("self")), is(sameInstance(lazy)));
+		assertThat(schema.getType(schema.getTypeId("Eager")), is(equalTo(new GraphQLScalar(GraphQLScalarValue.INT))));
+		assertThat(schema.getTypes().keySet(), contains("First", "Lazy", "Eager"));
+	}
+
+		@Test
+	public void freezeCopiesSchema() {
+
+		AtomicInteger calls = new AtomicInteger();
+		GraphQLSchema schema = new GraphQLSchema();
+		GraphQLObject person = new GraphQLObject();
+		GraphQLReference pet = new GraphQLReference("Pet");
+		person.addField("pet", pet);
+		schema.addType("Person", person);
+		schema.addLazyType("Pet", counting(calls, GraphQLScalarValue.STRING));
+		schema.addQuery("me", new GraphQLReference("Person"));
+		schema.addMutation("rename", new GraphQLScalar(GraphQLScalarValue.BOOLEAN));
+		schema.addSubscription("moves", new GraphQLReference("Person"));
+		schema.addUnion("Animal", new ArrayList<>(Arrays.asList("Pet")));
+		schema.setQueryTypeName("Root");
+		schema.setSchemaQueryType("Root");
+
+		GraphQLSchema frozen = schema.freeze();
+
+		assertThat(calls.get(), is(equalTo(1)));
+		assertThat(frozen.isFrozen(), is(true));
+		assertThat(schema.isFrozen(), is(false));
+		assertThat(frozen.freeze(), is(sameInstance(frozen)));
+		assertThat(frozen, is(equalTo(schema)));
+		assertThat(frozen.hashCode(), is(equalTo(schema.hashCode())));
+		assertThat(frozen.toString(), is(equalTo(schema.toString())));
+		assertThat(frozen.getQueryTypeName(), is(equalTo("Root")));
+		assertThat(frozen.getSchemaQueryType(), is(equalTo("Root")));
+		assertThat(frozen.getSchemaMutationType(), is(equalTo("Mutation")));
+		assertThat(frozen.getSchemaSubscriptionType(), is(equalTo("Subscription")));
+		assertThat(frozen.getMutationTypeName(), is(nullValue()));
+		assertThat(frozen.getSubscriptionTypeName(), is(nullValue()));
+
+		// Lookups don't allocate wrappers.
+		assertThat(frozen.getTypes(), is(sameInstance(frozen.getTypes())));
+		assertThat(frozen.getQuerys(), is(sameInstance(frozen.getQuerys())));
+		assertThat(frozen.resolve(pet), is(equalTo(new GraphQLScalar(GraphQLScalarValue.STRING))));
+		assertThat(frozen.resolve(new GraphQLReference("Unknown")), is(nullValue()));
+		assertThat(frozen.getType(frozen.getTypeId("Person")), is(sameInstance(person)));
+		assertThat(frozen.getType(-1), is(nullValue()));
+
+		// Later changes stay out of the frozen copy.
+		schema.addType("Later", new GraphQLScalar(GraphQLScalarValue.INT));
+		schema.getUnions().get("Animal").add("Person");
+		assertThat(frozen.getTypes().containsKey("Later"), is(false));
+		assertThat(frozen.getType(frozen.getTypeId("Later")), is(nullValue()));
+		assertThat(frozen.getUnions().get("Animal"), contains("Pet"));
+	}
+
+	@Test
+	public void keepOperationArguments() throws Exception {
+
+		GraphQLInputObject people = new GraphQLInputObject();
+		people.addField(new GraphQLInputValue("first", new GraphQLScalar(GraphQLScalarValue.INT), "10"));
+		people.addField(new GraphQLInputValue("filter", new GraphQLReference("PersonFilter!"), null));
+		GraphQLInputObject rename = new GraphQLInputObject();
+		rename.addField(new GraphQLInputValue("name", new GraphQLScalar(GraphQLScalarValue.STRING), null));
+		GraphQLInputObject moves = new GraphQLInputObject();
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addQuery("people(first: Int = 10, filter: PersonFilter!)", new GraphQLReference("Person"), people);
+		schema.addQuery("me", new GraphQLReference("Person"));
+		schema.addMutation("rename(name: String!)", new GraphQLScalar(GraphQLScalarValue.BOOLEAN), rename);
+		schema.addSubscription("moves(id: ID)", new GraphQLReference("Person"), moves);
+
+		assertThat(schema.getQueryArguments("people(first: Int = 10, filter: PersonFilter!)"), is(sameInstance(people)));
+		// Names are shared with the rest of the schema.
+		String filterName = ((GraphQLReference) people.getFields().get("filter").getType()).getReferenceTypeName();
+		assertThat(filterName, is(sameInstance(schema.getSymbolTable().getName(schema.getTypeId("PersonFilter")))));
+
+		// Nothing is decoded when the arguments are not given.
+		assertThat(schema.getQueryArguments("me"), is(nullValue()));
+		assertThat(schema.getQueryArguments("unknown"), is(nullValue()));
+		assertThat(schema.getMutationArguments("rename(name: String!)"), is(sameInstance(rename)));
+		assertThat(schema.getSubscriptionArguments("moves(id: ID)"), is(sameInstance(moves)));
+
+		// Merged and frozen schemas keep the arguments.
+		GraphQLSchema merged = new GraphQLSchema();
+		merged.addSchema(schema);
+		GraphQLSchema frozen = schema.freeze();
+		for (GraphQLSchema copy : Arrays.asList(merged, frozen)) {
+			assertThat(copy.getQueryArguments("people(first: Int = 10, filter: PersonFilter!)"), is(sameInstance(people)));
+			assertThat(copy.getQueryArguments("me"), is(nullValue()));
+			assertThat(copy.getMutationArguments("rename(name: String!)"), is(sameInstance(rename)));
+			assertThat(copy.getSubscriptionArguments("moves(id: ID)"), is(sameInstance(moves)));
+		}
+
+		// Snapshots only hold the names, nothing is decoded when they are loaded.
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		GraphQLSchemaSnapshot.write(schema, outputStream);
+		GraphQLSchema loaded = GraphQLSchemaSnapshot.load(ByteBuffer.wrap(outputStream.toByteArray()));
+		assertThat(loaded.getQuerys().keySet(), hasItem("people(first: Int = 10, filter: PersonFilter!)"));
+		assertThat(loaded.getQueryArguments("people(first: Int = 10, filter: PersonFilter!)"), is(nullValue()));
+		assertThat(loaded.getMutationArguments("rename(name: String!)"), is(nullValue()));
+		assertThat(loaded.getSubscriptionArguments("moves(id: ID)"), is(nullValue()));
+	}
+
+	@Test
+	public void replaceOperationArguments() {
+
+		GraphQLInputObject personArguments = new GraphQLInputObject();
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addQuery("person(id: ID)", new GraphQLReference("Person"), new GraphQLInputObject());
+		schema.addQuery("pet(id: ID)", new GraphQLReference("Pet"), new GraphQLInputObject());
+		GraphQLSchema other = new GraphQLSchema();
+		other.addQuery("person(id: ID)", new GraphQLReference("Person"), personArguments);
+		other.addQuery("pet(id: ID)", new GraphQLReference("Pet"));
+
+		schema.addSchema(other);
+
+		assertThat(schema.getQueryArguments("person(id: ID)"), is(sameInstance(personArguments)));
+		assertThat(schema.getQueryArguments("pet(id: ID)"), is(nullValue()));
+	}
+
+	@Test
+	public void freezeSnapshotSchema() throws Exception {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("A", new GraphQLScalar(GraphQLScalarValue.INT));
+		schema.addType("B", new GraphQLReference("A"));
+		schema.addUnion("U", null);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		GraphQLSchemaSnapshot.write(schema, outputStream);
+
+		GraphQLSchema frozen = GraphQLSchemaSnapshot.load(ByteBuffer.wrap(outputStream.toByteArray())).freeze();
+
+		assertThat(frozen, is(equalTo(schema)));
+		GraphQLReference reference = (GraphQLReference) frozen.getTypes().get("B");
+		assertThat(frozen.resolve(reference), is(equalTo(new GraphQLScalar(GraphQLScalarValue.INT))));
+		// The decoded references are given ids in a table of the frozen copy.
+		assertThat(reference.getTypeId(frozen.getSymbolTable()), is(equalTo(frozen.getTypeId("A"))));
+		assertThat(frozen.getType(frozen.getTypeId("B")), is(sameInstance(reference)));
+	}
+
+	@Test
+	public void fingerprintSchema() throws Exception {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("A", new GraphQLScalar(GraphQLScalarValue.INT));
+		schema.addType("B", new GraphQLReference("A"));
+		schema.addQuery("b", new GraphQLReference("B"));
+		schema.addUnion("U", new ArrayList<>(Arrays.asList("A", "B")));
+
+		GraphQLSchema sameSchema = new GraphQLSchema();
+		sameSchema.addUnion("U", new ArrayList<>(Arrays.asList("A", "B")));
+		sameSchema.addQuery("b", new GraphQLReference("B"));
+		sameSchema.addLazyType("B", () -> new GraphQLReference("A"));
+		sameSchema.addType("A", new GraphQLScalar(GraphQLScalarValue.INT));
+
+		GraphQLFingerprint fingerprint = schema.getFingerprint();
+		assertThat(schema.getFingerprint(), is(sameInstance(fingerprint)));
+		assertThat(sameSchema.getFingerprint(), is(equalTo(fingerprint)));
+		assertThat(schema.freeze().getFingerprint(), is(equalTo(fingerprint)));
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		GraphQLSchemaSnapshot.write(schema, outputStream);
+		assertThat(GraphQLSchemaSnapshot.load(ByteBuffer.wrap(outputStream.toByteArray())).getFingerprint(),
+				is(equalTo(fingerprint)));
+	}
+
+	@DataProvider(name = "schemaChanges")
+	public Object[][] schemaChanges() {
+		return new Object[][] {
+			{ (Consumer<GraphQLSchema>) schema -> schema.addType("C", new GraphQLScalar(GraphQLScalarValue.ID)) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.addLazyType("C", () -> null) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.addQuery("a", new GraphQLReference("A")) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.addMutation("a", new GraphQLReference("A")) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.addSubscription("a", new GraphQLReference("A")) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.addUnion("V", null) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.setSchemaQueryType("Root") },
+			{ (Consumer<GraphQLSchema>) schema -> schema.setSchemaMutationType("Root") },
+			{ (Consumer<GraphQLSchema>) schema -> schema.setSchemaSubscriptionType("Root") },
+		};
+	}
+
+	@Test(dataProvider = "schemaChanges")
+	public void fingerprintChangesWithSchema(Consumer<GraphQLSchema> change) {
+
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("A", new GraphQLScalar(GraphQLScalarValue.INT));
+		GraphQLFingerprint fingerprint = schema.getFingerprint();
+
+		change.accept(schema);
+
+		assertThat(schema.getFingerprint(), is(not(equalTo(fingerprint))));
+	}
+
+	@DataProvider(name = "frozenChanges")
+	public Object[][] frozenChanges() {
+		return new Object[][] {
+			{ (Consumer<GraphQLSchema>) schema -> schema.addType("A", null) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.addLazyType("A", () -> null) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.addQuery("a", null) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.addMutation("a", null) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.addSubscription("a", null) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.addUnion("A", null) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.addSchema(new GraphQLSchema()) },
+			{ (Consumer<GraphQLSchema>) schema -> schema.setQueryTypeName("A") },
+			{ (Consumer<GraphQLSchema>) schema -> schema.setMutationTypeName("A") },
+			{ (Consumer<GraphQLSchema>) schema -> schema.setSubscriptionTypeName("A") },
+			{ (Consumer<GraphQLSchema>) schema -> schema.setSchemaQueryType("A") },
+			{ (Consumer<GraphQLSchema>) schema -> schema.setSchemaMutationType("A") },
+			{ (Consumer<GraphQLSchema>) schema -> schema.setSchemaSubscriptionType("A") },
+			{ (Consumer<GraphQLSchema>) schema -> schema.getTypes().put("A", null) },
+		};
+	}
+
+	@Test(dataProvider = "frozenChanges", expectedExceptions = UnsupportedOperationException.class)
+	public void frozenSchemaCantBeChanged(Consumer<GraphQLSchema> change) {
+		change.accept(new GraphQLSchema().freeze());
+	}
+
+		private Supplier<GraphQLType> counting(AtomicInteger calls, GraphQLScalarValue value) {
+		return () -> {
+			calls.incrementAndGet();
+			return new GraphQLScalar(value);
+		};
+	}
+}
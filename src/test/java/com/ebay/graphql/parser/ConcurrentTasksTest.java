@@ -0,0 +1,80 @@
+package com.ebay.graphql.parser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.testng.annotations.Test;
+
+public class ConcurrentTasksTest {
+
+	@Test
+	public void resultsInTaskOrder() {
+
+		List<Callable<Integer>> tasks = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			int value = i;
+			tasks.add(() -> value);
+		}
+
+		List<Integer> results = ConcurrentTasks.invokeAll(tasks);
+		for (int i = 0; i < 20; i++) {
+			assertThat(results.get(i), is(i));
+		}
+	}
+
+	@Test
+	public void nestedTasks() {
+
+		List<Callable<Integer>> tasks = Arrays.asList(() -> sum(Arrays.asList(() -> 1, () -> 2)),
+				() -> sum(Arrays.asList(() -> 3, () -> 4)));
+
+		assertThat(ConcurrentTasks.invokeAll(tasks), contains(3, 7));
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void taskFailure() {
+		ConcurrentTasks.invokeAll(Arrays.<Callable<Integer>>asList(() -> 1, () -> {
+			throw new IllegalStateException("Broken.");
+		}));
+	}
+
+	@Test
+	public void sharedDefaultExecutor() {
+		assertThat(ConcurrentTasks.defaultExecutor(), is(sameInstance(ConcurrentTasks.defaultExecutor())));
+	}
+
+	@Test
+	public void virtualThreadsFromMultiReleaseJar() throws Exception {
+
+		// Only the run against the packaged JAR on Java 21 and later loads the
+		// Java 21 version.
+		boolean expected = Boolean.getBoolean("multiReleaseJar");
+
+		assertThat(ConcurrentTasks.defaultExecutor().submit(() -> isVirtual(Thread.currentThread())).get(),
+				is(expected));
+		assertThat(ConcurrentTasks.invokeAll(Arrays.<Callable<Boolean>>asList(() -> isVirtual(Thread.currentThread()))),
+				contains(expected));
+	}
+
+	private static boolean isVirtual(Thread thread) throws Exception {
+		try {
+			return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+		} catch (NoSuchMethodException e) {
+			// Before Java 21.
+			return false;
+		}
+	}
+
+	private static int sum(List<Callable<Integer>> tasks) {
+		int sum = 0;
+		for (int value : ConcurrentTasks.invokeAll(tasks)) {
+			sum += value;
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,298 @@
+package com.ebay.graphql.parser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.parser.matcher.GraphQLMatcher;
+import com.ebay.graphql.types.FieldKeyValuePair;
+import com.ebay.graphql.types.GraphQLInputObject;
+import com.ebay.graphql.types.GraphQLInputValue;
+import com.ebay.graphql.types.GraphQLList;
+import com.ebay.graphql.types.GraphQLList.Dimensionality;
+import com.ebay.graphql.types.GraphQLReference;
+import com.ebay.graphql.types.GraphQLScalar;
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+import com.ebay.graphql.types.GraphQLType;
+
+/**
+ * Confirms the single pass decoder agrees with classifying the line and
+ * splitting it with the regular expressions of {@link GraphQLParserUtil}.
+ */
+@SuppressWarnings("deprecation")
+public class GraphQLFieldDecoderTest {
+
+	private static final String[] NAMES = { "key", "_a1", "query", "mutation", "subscription", "Int", "Float",
+			"String", "Boolean", "ID", "int", "string", "Url", "value", "1Url" };
+
+	private static final String[] SYMBOLS = { " ", "  ", "\t", ":", "(", ")", "[", "]", "!", "@", "\"", "\"\"\"",
+			",", "1", "=", "\n", "\r", "\f", "\u000B", "\u0085", "\u2028" };
+
+	@DataProvider(name = "corpusLines")
+	public Object[][] corpusLines() throws IOException, URISyntaxException {
+
+		List<String> lines = new ArrayList<>();
+
+		URL root = getClass().getClassLoader().getResource("com/ebay/graphql");
+		try (Stream<Path> paths = Files.walk(Paths.get(root.toURI()))) {
+			for (Path path : paths.filter(p -> p.toString().endsWith(".graphql") || p.toString().endsWith(".graphqls"))
+					.collect(Collectors.toList())) {
+				lines.addAll(Files.readAllLines(path));
+			}
+		}
+
+		return lines.stream().distinct().map(line -> new Object[] { line }).toArray(Object[][]::new);
+	}
+
+	@Test(dataProvider = "corpusLines")
+	public void corpusLineMatchesRegexDecoding(String line) {
+		assertThat(line, decode(line), is(equalTo(decodeWithPatterns(line))));
+	}
+
+	@Test
+	public void generatedLinesMatchRegexDecoding() {
+
+		Random random = new Random(20221017L);
+		int decoded = 0;
+
+		for (int i = 0; i < 50000; i++) {
+			String line = generateLine(random);
+			Object result = decode(line);
+			assertThat(line, result, is(equalTo(decodeWithPatterns(line))));
+			if (result instanceof FieldKeyValuePair) {
+				decoded++;
+			}
+		}
+
+		// Make sure the generator produces plenty of valid fields too.
+		assertThat(decoded, is(greaterThan(5000)));
+	}
+
+	@DataProvider(name = "fields")
+	public Object[][] fields() {
+
+		GraphQLList nonNullableGrid = new GraphQLList(nonNullable(new GraphQLScalar(GraphQLScalarValue.FLOAT)),
+				Dimensionality.MULTI);
+		nonNullableGrid.makeInnerDimensionNonNullable();
+		nonNullableGrid.makeNonNullable();
+
+		GraphQLList tensor = new GraphQLList(nonNullable(new GraphQLScalar(GraphQLScalarValue.FLOAT)), 3);
+		tensor.makeDimensionNonNullable(1);
+		tensor.makeDimensionNonNullable(2);
+
+		return new Object[][] {
+			{ "id: ID!", "id", nonNullable(new GraphQLScalar(GraphQLScalarValue.ID)) },
+			{ "  person(id: ID!, filter: [String!] = [\"a:b\"]) : Person", "person(id: ID!, filter: [String!] = [\"a:b\"])",
+					new GraphQLReference("Person") },
+			{ "tags: [string]", "tags", new GraphQLList(new GraphQLScalar(GraphQLScalarValue.STRING), Dimensionality.SINGLE) },
+			{ "grid:[[Float!]!]!", "grid", nonNullableGrid },
+			{ "name: int", "name", new GraphQLReference("int") },
+			{ "tensor: [[[Float!]!]!]", "tensor", tensor },
+		};
+	}
+
+	@Test(dataProvider = "fields")
+	public void decodeField(String line, String expectedKey, GraphQLType expectedType) throws ParseException {
+		FieldKeyValuePair pair = GraphQLFieldDecoder.decode(line);
+		assertThat(pair.getKey(), is(equalTo(expectedKey)));
+		assertThat(pair.getValue(), is(equalTo(expectedType)));
+	}
+
+	@DataProvider(name = "notFields")
+	public Object[][] notFields() {
+		return new Object[][] {
+			{ null },
+			{ "" },
+			{ "key:" },
+			{ "query: Int" },
+			{ "key  : [Int]" },
+			{ "key: [[[Int]]" },
+			{ "key: 1Url" },
+			{ "key(a: Int): 1Url!" },
+			{ "key: [1Int]" },
+			{ "1key: Int" },
+			{ "key: Int @deprecated" },
+			{ "key(a: \"\"\"b\"\"\"): Int" },
+			{ "key(a: Int\n): Int" },
+		};
+	}
+
+	@Test(dataProvider = "notFields", expectedExceptions = ParseException.class)
+	public void notAField(String line) throws ParseException {
+		GraphQLFieldDecoder.decode(line);
+	}
+
+	@Test
+	public void decodeArguments() throws ParseException {
+
+		GraphQLInputObject arguments = GraphQLFieldDecoder.decodeArguments(
+				"people(first: Int = 10, \"Filter.\" filter: PersonFilter @deprecated, ids: [ID!]!, "
+						+ "where: PersonFilter = { name: \"a, b\", tags: [] })");
+
+		GraphQLList ids = new GraphQLList("[ID!]!");
+		assertThat(arguments.isNullable(), is(false));
+		assertThat(arguments.getFields().keySet(), contains("first", "filter", "ids", "where"));
+		assertThat(arguments.getFields().get("first"),
+				is(equalTo(new GraphQLInputValue("first", new GraphQLScalar(GraphQLScalarValue.INT), "10"))));
+		assertThat(arguments.getFields().get("filter"),
+				is(equalTo(new GraphQLInputValue("filter", new GraphQLReference("PersonFilter")))));
+		assertThat(arguments.getFields().get("ids"), is(equalTo(new GraphQLInputValue("ids", ids))));
+		assertThat(arguments.getFields().get("where").getDefaultValue(),
+				is(equalTo("{ name: \"a, b\", tags: [] }")));
+	}
+
+	@Test
+	public void decodeKeyWithoutArguments() throws ParseException {
+		assertThat(GraphQLFieldDecoder.decodeArguments("preEnroll").getFields().isEmpty(), is(true));
+		assertThat(GraphQLFieldDecoder.decodeArguments("preEnroll()").getFields().isEmpty(), is(true));
+	}
+
+	@DataProvider(name = "notKeys")
+	public Object[][] notKeys() {
+		return new Object[][] {
+			{ null },
+			{ "" },
+			{ "people(first: Int" },
+			{ "people(first Int)" },
+			{ "people(first: Int) extra" },
+			{ "people: Person" },
+		};
+	}
+
+	@Test(dataProvider = "notKeys", expectedExceptions = ParseException.class)
+	public void notAKey(String key) throws ParseException {
+		GraphQLFieldDecoder.decodeArguments(key);
+	}
+
+	private Object decode(String line) {
+		try {
+			return GraphQLFieldDecoder.decode(line);
+		} catch (ParseException e) {
+			return ParseException.class;
+		}
+	}
+
+	/**
+	 * Reference implementation: the line type picks the value type, and the key
+	 * and value are split with regular expressions.
+	 */
+	private Object decodeWithPatterns(String line) {
+		try {
+			GraphQLType value;
+			switch (GraphQLMatcher.getLineType(line)) {
+			case FIELD_BOOLEAN:
+				value = new GraphQLScalar(GraphQLScalarValue.BOOLEAN);
+				break;
+			case FIELD_FLOAT:
+				value = new GraphQLScalar(GraphQLScalarValue.FLOAT);
+				break;
+			case FIELD_INT:
+				value = new GraphQLScalar(GraphQLScalarValue.INT);
+				break;
+			case FIELD_ID:
+				value = new GraphQLScalar(GraphQLScalarValue.ID);
+				break;
+			case FIELD_LIST:
+				value = new GraphQLList(GraphQLParserUtil.getValueForLine(line));
+				break;
+			case FIELD_STRING:
+				value = new GraphQLScalar(GraphQLScalarValue.STRING);
+				break;
+			case FIELD_REFERENCE:
+				value = new GraphQLReference(GraphQLParserUtil.getValueForLine(line));
+				break;
+			default:
+				return ParseException.class;
+			}
+
+			if (line.trim().endsWith("!")) {
+				value.makeNonNullable();
+			}
+			return new FieldKeyValuePair(GraphQLParserUtil.getKeyForLine(line), value);
+		} catch (ParseException e) {
+			return ParseException.class;
+		}
+	}
+
+	/**
+	 * Mostly well formed fields, with a random symbol dropped in now and then.
+	 */
+	private String generateLine(Random random) {
+
+		StringBuilder builder = new StringBuilder();
+		appendSpaces(builder, random);
+		builder.append(pick(NAMES, random));
+		if (random.nextInt(3) == 0) {
+			builder.append('(').append(pick(NAMES, random)).append(": ").append(pick(NAMES, random));
+			maybeAppendSymbol(builder, random);
+			builder.append(')');
+		}
+		appendSpaces(builder, random);
+		builder.append(':');
+		appendSpaces(builder, random);
+
+		int depth = random.nextInt(4);
+		for (int i = 0; i < depth; i++) {
+			builder.append('[');
+		}
+		builder.append(pick(NAMES, random));
+		for (int i = 0; i <= depth; i++) {
+			if (random.nextBoolean()) {
+				builder.append('!');
+			}
+			if (i < depth) {
+				builder.append(']');
+			}
+		}
+		maybeAppendSymbol(builder, random);
+		appendSpaces(builder, random);
+
+		return builder.toString();
+	}
+
+	private void appendSpaces(StringBuilder builder, Random random) {
+		switch (random.nextInt(5)) {
+		case 0:
+			builder.append(' ');
+			break;
+		case 1:
+			builder.append("  ");
+			break;
+		case 2:
+			builder.append(pick(SYMBOLS, random));
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void maybeAppendSymbol(StringBuilder builder, Random random) {
+		if (random.nextInt(4) == 0) {
+			builder.append(pick(SYMBOLS, random));
+		}
+	}
+
+	private String pick(String[] values, Random random) {
+		return values[random.nextInt(values.length)];
+	}
+
+	private GraphQLType nonNullable(GraphQLType type) {
+		type.makeNonNullable();
+		return type;
+	}
+}
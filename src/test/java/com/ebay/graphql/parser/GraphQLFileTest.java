@@ -6,12 +6,19 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.List;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import com.ebay.graphql.parser.GraphQLFile.LoadMode;
+
 public class GraphQLFileTest {
 	
 	GraphQLFile file; 
@@ -150,4 +157,84 @@ public class GraphQLFileTest {
 		line = graphQLFile.getLine(0);
 		assertThat(line, is(nullValue()));
 	}
+	
+	@Test
+	public void memoryMappedLinesMatchReadLines() throws URISyntaxException {
+		File file = new File(getClass().getClassLoader().getResource("com/ebay/graphql/cdc/cdcschema.graphql").toURI());
+		GraphQLFile readLines = new GraphQLFile(file, LoadMode.READ_LINES);
+		GraphQLFile memoryMapped = new GraphQLFile(file, LoadMode.MEMORY_MAP);
+		assertThat(memoryMapped.getNumberOfLines(), is(equalTo(readLines.getNumberOfLines())));
+		for (int lineNumber = 1; lineNumber <= readLines.getNumberOfLines(); lineNumber++) {
+			assertThat(memoryMapped.getLine(lineNumber), is(equalTo(readLines.getLine(lineNumber))));
+		}
+	}
+	
+	@Test
+	public void memoryMappedWhenFileIsMissing() {
+		GraphQLFile graphQLFile = new GraphQLFile(new File("~"), LoadMode.MEMORY_MAP);
+		assertThat(graphQLFile.getNumberOfLines(), is(equalTo(0)));
+		assertThat(graphQLFile.getCurrentLine(), is(nullValue()));
+	}
+	
+	@Test
+	public void streamedFileReleasesLines() throws URISyntaxException {
+		File file = new File(getClass().getClassLoader().getResource("com/ebay/graphql/cdc/cdcschema.graphql").toURI());
+		GraphQLFile readLines = new GraphQLFile(file, LoadMode.READ_LINES);
+		try (GraphQLFile streamed = new GraphQLFile(file, LoadMode.STREAM)) {
+			assertThat(streamed.isRandomAccess(), is(false));
+			for (int lineNumber = 1; lineNumber <= readLines.getNumberOfLines(); lineNumber++) {
+				assertThat(streamed.getCurrentLineAndThenAdvance(), is(equalTo(readLines.getLine(lineNumber))));
+				assertThat(streamed.getLine(lineNumber), is(nullValue()));
+			}
+			assertThat(streamed.getCurrentLine(), is(nullValue()));
+		}
+	}
+
+	@Test
+	public void streamedWhenFileIsMissing() {
+		try (GraphQLFile graphQLFile = new GraphQLFile(new File("~"), LoadMode.STREAM)) {
+			assertThat(graphQLFile.getNumberOfLines(), is(equalTo(0)));
+			assertThat(graphQLFile.getCurrentLine(), is(nullValue()));
+		}
+	}
+
+	@Test
+	public void streamedLines() {
+		GraphQLFile graphQLFile = new GraphQLFile(new StringReader("one\ntwo\r\nthree"));
+		assertThat(graphQLFile.getCurrentLine(), is(equalTo("one")));
+		assertThat(graphQLFile.peekNextLine(), is(equalTo("two")));
+		assertThat(graphQLFile.getCurrentLineAndThenAdvance(), is(equalTo("one")));
+		assertThat(graphQLFile.hasMoreLines(), is(true));
+		assertThat(graphQLFile.getNextLine(), is(equalTo("three")));
+		assertThat(graphQLFile.hasMoreLines(), is(false));
+		assertThat(graphQLFile.getNextLine(), is(nullValue()));
+		assertThat(graphQLFile.getCurrentLineNumber(), is(equalTo(4)));
+	}
+	
+	@Test
+	public void streamedLinesReleasePreviousLines() {
+		GraphQLFile graphQLFile = new GraphQLFile(new StringReader("one\ntwo\nthree\nfour"));
+		graphQLFile.getNextLine();
+		assertThat(graphQLFile.getLine(1), is(nullValue()));
+		assertThat(graphQLFile.getLine(2), is(equalTo("two")));
+		assertThat(graphQLFile.getLine(4), is(equalTo("four")));
+		assertThat(graphQLFile.getNumberOfLines(), is(equalTo(4)));
+		assertThat(graphQLFile.getLine(5), is(nullValue()));
+	}
+	
+	@Test(expectedExceptions = UncheckedIOException.class)
+	public void streamedLinesReaderFailure() {
+		Reader reader = new Reader() {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				throw new IOException("Broken stream.");
+			}
+	
+			@Override
+			public void close() {
+				// Nothing to close.
+			}
+		};
+		new GraphQLFile(reader).getCurrentLine();
+	}
 }
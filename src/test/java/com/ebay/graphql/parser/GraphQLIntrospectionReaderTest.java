@@ -0,0 +1,159 @@
+package com.ebay.graphql.parser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.parser.GraphQLParser.Frontend;
+import com.ebay.graphql.types.GraphQLList;
+import com.ebay.graphql.types.GraphQLList.Dimensionality;
+import com.ebay.graphql.types.GraphQLObject;
+import com.ebay.graphql.types.GraphQLReference;
+import com.ebay.graphql.types.GraphQLScalar;
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+
+public class GraphQLIntrospectionReaderTest {
+
+	private static final String INTROSPECTION = "com/ebay/graphql/introspection/introspection.json";
+	private static final String SDL = "com/ebay/graphql/introspection/schema.sdl";
+
+	private final GraphQLIntrospectionReader reader = new GraphQLIntrospectionReader();
+
+	@Test
+	public void readFile() throws IOException, ParseException, URISyntaxException {
+		File file = new File(getClass().getClassLoader().getResource(INTROSPECTION).toURI());
+		assertThat(reader.read(file), is(equalTo(sdlSchema())));
+	}
+
+	@Test
+	public void readInputStream() throws IOException, ParseException {
+		try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(INTROSPECTION)) {
+			assertThat(reader.read(inputStream), is(equalTo(sdlSchema())));
+		}
+	}
+
+	@Test
+	public void readReader() throws IOException, ParseException {
+		try (Reader jsonReader = new InputStreamReader(
+				getClass().getClassLoader().getResourceAsStream(INTROSPECTION), StandardCharsets.UTF_8)) {
+
+			GraphQLSchema schema = reader.read(jsonReader);
+
+			assertThat(schema, is(equalTo(sdlSchema())));
+			assertThat(schema.getQueryTypeName(), is(equalTo("RootQuery")));
+			assertThat(schema.getMutationTypeName(), is(equalTo("RootMutation")));
+			assertThat(schema.getSubscriptionTypeName(), is(equalTo("RootSubscription")));
+			assertThat(schema.getTypes().keySet(), containsInAnyOrder("Person", "Cat", "Dog", "Color", "Date", "PersonInput"));
+		}
+	}
+
+	@Test
+	public void readWithoutDataWrapper() throws IOException, ParseException {
+
+		String json = "{\"__schema\": {\"types\": ["
+				+ "{\"kind\": \"OBJECT\", \"name\": \"Query\", \"fields\": ["
+				+ "{\"name\": \"grid\", \"args\": [], \"type\": {\"kind\": \"LIST\", \"ofType\": "
+				+ "{\"kind\": \"LIST\", \"ofType\": {\"kind\": \"SCALAR\", \"name\": \"Int\"}}}}]},"
+				+ "{\"kind\": \"OBJECT\", \"name\": \"Empty\", \"fields\": null}],"
+				+ "\"queryType\": {\"name\": \"Query\"}, \"mutationType\": null}}";
+
+		GraphQLSchema schema = reader.read(new StringReader(json));
+
+		assertThat(schema.getQuerys().get("grid"),
+				is(equalTo(new GraphQLList(new GraphQLScalar(GraphQLScalarValue.INT), Dimensionality.MULTI))));
+		assertThat(schema.getTypes().get("Empty"), is(equalTo(new GraphQLObject())));
+		assertThat(schema.getMutationTypeName(), is(nullValue()));
+	}
+
+	@Test
+	public void fieldsInAnyOrder() throws IOException, ParseException {
+
+		String json = "{\"data\": {\"__schema\": {\"types\": [{\"fields\": ["
+				+ "{\"type\": {\"ofType\": {\"name\": \"Person\", \"kind\": \"OBJECT\"}, \"kind\": \"NON_NULL\"},"
+				+ " \"args\": [{\"defaultValue\": \"\\\"x\\\"\", \"type\": {\"name\": \"String\", \"kind\": \"SCALAR\"},"
+				+ " \"name\": \"id\"}], \"name\": \"person\"}], \"name\": \"Query\", \"kind\": \"OBJECT\"}]}}}";
+
+		GraphQLReference person = new GraphQLReference("Person");
+		person.makeNonNullable();
+		GraphQLSchema schema = reader.read(new StringReader(json));
+		assertThat(schema.getQuerys().get("person(id: String = \"x\")"), is(equalTo(person)));
+		assertThat(schema.getQueryArguments("person(id: String = \"x\")"),
+				is(equalTo(GraphQLFieldDecoder.decodeArguments("person(id: String = \"x\")"))));
+	}
+
+	@DataProvider(name = "invalidIntrospection")
+	public Object[][] invalidIntrospection() {
+		return new Object[][] {
+			{ "{}", "Introspection result has no __schema." },
+			{ "{\"data\": null}", "Introspection result has no __schema." },
+			{ "[]", "Unexpected token [[] [ln: 1]." },
+			{ "{\"__schema\": []}", "Unexpected token [[] [ln: 1]." },
+			{ "{\"__schema\": {\"types\": [{\"name\": \"A\"}]}}", "Type without a name or kind [ln: 1]." },
+			{ "{\"__schema\": {\"types\": [{\"kind\": \"OBJECT\", \"name\": \"A\", \"fields\": [{\"name\": \"a\"}]}]}}",
+					"Field without a name or type [ln: 1]." },
+			{ "{\"__schema\": {\"types\": [{\"kind\": \"OBJECT\", \"name\": \"A\", \"fields\": [{\"name\": \"a\", "
+					+ "\"type\": {\"kind\": \"SCALAR\", \"name\": \"Int\"}, \"args\": [{\"name\": \"b\"}]}]}]}}",
+					"Argument without a name or type [ln: 1]." },
+			{ "{\"__schema\": {\"types\": [{\"kind\": \"OBJECT\", \"name\": \"A\", \"fields\": [{\"name\": \"a\", "
+					+ "\"type\": {\"kind\": \"LIST\", \"ofType\": null}}]}]}}",
+					"Incomplete type reference [ln: 1]." },
+		};
+	}
+
+	@Test(dataProvider = "invalidIntrospection")
+	public void invalidIntrospection(String json, String message) throws IOException {
+		try {
+			reader.read(new StringReader(json));
+		} catch (ParseException e) {
+			assertThat(e.getMessage(), is(equalTo(message)));
+			return;
+		}
+		throw new AssertionError("Expected an invalid introspection result.");
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void invalidJson() throws IOException, ParseException {
+		reader.read(new ByteArrayInputStream("{\"__schema\": {".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void readNullFile() throws IOException, ParseException {
+		reader.read((File) null);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void readNullInputStream() throws IOException, ParseException {
+		reader.read((InputStream) null);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void readNullReader() throws IOException, ParseException {
+		reader.read((Reader) null);
+	}
+
+	private GraphQLSchema sdlSchema() throws IOException {
+		try {
+			String sdl = new String(Files.readAllBytes(
+					Paths.get(getClass().getClassLoader().getResource(SDL).toURI())), StandardCharsets.UTF_8);
+			return new GraphQLParser(Frontend.TOKEN).parseGraphQL(sdl);
+		} catch (URISyntaxException e) {
+			throw new IOException(e);
+		}
+	}
+}
@@ -0,0 +1,265 @@
+package com.ebay.graphql.parser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.parser.GraphQLFile.LoadMode;
+import com.ebay.graphql.parser.GraphQLParser.Frontend;
+import com.ebay.graphql.types.GraphQLReference;
+import com.ebay.graphql.types.GraphQLScalar;
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+
+public class GraphQLParseCacheTest {
+
+	private static final GraphQLParser LINE = new GraphQLParser();
+	private static final GraphQLParser TOKEN = new GraphQLParser(Frontend.TOKEN);
+
+	private Path root;
+	private Path query;
+	private Path types;
+
+	@BeforeMethod
+	public void createSchema() throws IOException {
+		root = Files.createTempDirectory("cache");
+		query = write("Query.graphqls", "type Query {\n\tperson: Person\n}\n");
+		types = write("Types.graphqls", "type Person {\n\tname: String\n}\n");
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void deleteSchema() throws IOException {
+		try (Stream<Path> paths = Files.walk(root)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	@Test
+	public void unchangedFilesAreNotParsedAgain() throws IOException {
+
+		GraphQLParseCache cache = new GraphQLParseCache();
+		GraphQLParser parser = new GraphQLParser();
+		parser.setParseCache(cache);
+		assertThat(parser.getParseCache(), is(sameInstance(cache)));
+
+		GraphQLSchema first = parser.parseGraphQL(root.toFile());
+		assertThat(first, is(equalTo(new GraphQLParser().parseGraphQL(root.toFile()))));
+		assertThat(cache.getMisses(), is(equalTo(2L)));
+		assertThat(cache.size(), is(equalTo(2)));
+
+		assertThat(parser.parseGraphQL(root.toFile()), is(equalTo(first)));
+		assertThat(cache.getHits(), is(equalTo(2L)));
+		assertThat(cache.getMisses(), is(equalTo(2L)));
+	}
+
+	@Test
+	public void changedFileIsParsedAgain() throws IOException {
+
+		GraphQLParseCache cache = new GraphQLParseCache();
+		GraphQLParser parser = new GraphQLParser();
+		parser.setParseCache(cache);
+		parser.parseGraphQL(root.toFile());
+
+		write("Types.graphqls", "type Person {\n\tname: String\n\tage: Int\n}\n");
+		GraphQLSchema actualSchema = parser.parseGraphQL(root.toFile());
+
+		assertThat(cache.getHits(), is(equalTo(1L)));
+		assertThat(cache.getMisses(), is(equalTo(3L)));
+		assertThat(actualSchema, is(equalTo(new GraphQLParser().parseGraphQL(root.toFile()))));
+	}
+
+	@Test
+	public void touchedFileWithoutHashing() throws IOException {
+
+		GraphQLParseCache cache = new GraphQLParseCache();
+		assertThat(cache.isHashContent(), is(false));
+		AtomicInteger parses = new AtomicInteger();
+
+		cache.get(types.toFile(), LINE, file -> countParse(parses));
+		touch(types);
+		cache.get(types.toFile(), LINE, file -> countParse(parses));
+
+		assertThat(parses.get(), is(equalTo(2)));
+	}
+
+	@Test
+	public void touchedFileWithHashing() throws IOException {
+
+		GraphQLParseCache cache = new GraphQLParseCache(true);
+		assertThat(cache.isHashContent(), is(true));
+		AtomicInteger parses = new AtomicInteger();
+
+		GraphQLSchema first = cache.get(types.toFile(), LINE, file -> countParse(parses));
+		touch(types);
+		assertThat(cache.get(types.toFile(), LINE, file -> countParse(parses)), is(sameInstance(first)));
+		assertThat(parses.get(), is(equalTo(1)));
+
+		// The refreshed time stamp is a plain hit, without hashing.
+		assertThat(cache.get(types.toFile(), LINE, file -> countParse(parses)), is(sameInstance(first)));
+		assertThat(cache.getHits(), is(equalTo(2L)));
+
+		write("Types.graphqls", "type Human {\n\tname: String\n}\n");
+		touch(types);
+		cache.get(types.toFile(), LINE, file -> countParse(parses));
+		assertThat(parses.get(), is(equalTo(2)));
+	}
+
+	@Test
+	public void frontendsAreCachedSeparately() {
+
+		GraphQLParseCache cache = new GraphQLParseCache();
+		AtomicInteger parses = new AtomicInteger();
+
+		cache.get(query.toFile(), LINE, file -> countParse(parses));
+		cache.get(query.toFile(), TOKEN, file -> countParse(parses));
+		cache.get(query.toFile(), TOKEN, file -> countParse(parses));
+
+		assertThat(parses.get(), is(equalTo(2)));
+		assertThat(cache.size(), is(equalTo(2)));
+
+		cache.invalidate(query.toFile());
+		assertThat(cache.size(), is(equalTo(0)));
+	}
+
+	@DataProvider(name = "configurations")
+	public Object[][] configurations() {
+		return new Object[][] {
+			{ (Consumer<GraphQLParser>) parser -> parser.setLoadMode(LoadMode.MEMORY_MAP) },
+			{ (Consumer<GraphQLParser>) parser -> parser.setLazyTypes(true) },
+			{ (Consumer<GraphQLParser>) parser -> parser.setKeepDescriptions(true) },
+			{ (Consumer<GraphQLParser>) parser -> parser.setInternTypes(true) },
+			{ (Consumer<GraphQLParser>) parser -> parser.setMaxParseSteps(1000) },
+			{ (Consumer<GraphQLParser>) parser -> parser.setMaxParseMillis(1000) },
+		};
+	}
+
+	@Test(dataProvider = "configurations")
+	public void configurationsAreCachedSeparately(Consumer<GraphQLParser> configuration) {
+
+		GraphQLParseCache cache = new GraphQLParseCache();
+		AtomicInteger parses = new AtomicInteger();
+		GraphQLParser configured = new GraphQLParser();
+		configuration.accept(configured);
+
+		cache.get(query.toFile(), LINE, file -> countParse(parses));
+		cache.get(query.toFile(), configured, file -> countParse(parses));
+		cache.get(query.toFile(), configured, file -> countParse(parses));
+		cache.get(query.toFile(), new GraphQLParser(), file -> countParse(parses));
+
+		assertThat(parses.get(), is(equalTo(2)));
+		assertThat(cache.size(), is(equalTo(2)));
+	}
+
+	@Test
+	public void differentParsersShareCache() throws IOException {
+
+		write("Types.graphqls", "\"A person.\"\ntype Person {\n\tname: String\n}\n");
+		GraphQLParseCache cache = new GraphQLParseCache();
+		GraphQLParser lazyParser = new GraphQLParser();
+		lazyParser.setLazyTypes(true);
+		lazyParser.setLoadMode(LoadMode.MEMORY_MAP);
+		lazyParser.setParseCache(cache);
+		GraphQLParser describingParser = new GraphQLParser();
+		describingParser.setKeepDescriptions(true);
+		describingParser.setParseCache(cache);
+
+		GraphQLSchema lazySchema = lazyParser.parseGraphQL(root.toFile());
+		GraphQLSchema describedSchema = describingParser.parseGraphQL(root.toFile());
+
+		// Each parser gets the schemas of its own configuration.
+		assertThat(cache.getHits(), is(equalTo(0L)));
+		assertThat(describedSchema.getTypes().get("Person").getDescription().getText(), is(equalTo("A person.")));
+		assertThat(lazySchema.getTypes().get("Person").getDescription(), is(nullValue()));
+		assertThat(lazySchema, is(equalTo(describedSchema)));
+
+		describingParser.parseGraphQL(root.toFile());
+		assertThat(cache.getHits(), is(equalTo(2L)));
+	}
+
+	@Test
+	public void missingFileIsAlwaysParsed() {
+
+		GraphQLParseCache cache = new GraphQLParseCache(true);
+		AtomicInteger parses = new AtomicInteger();
+
+		cache.get(root.resolve("Missing.graphqls").toFile(), LINE, file -> countParse(parses));
+		cache.get(root.resolve("Missing.graphqls").toFile(), LINE, file -> countParse(parses));
+
+		assertThat(parses.get(), is(equalTo(2)));
+		assertThat(cache.size(), is(equalTo(0)));
+	}
+
+	@Test
+	public void unreadableContentIsParsed() throws IOException {
+
+		GraphQLParseCache cache = new GraphQLParseCache(true);
+		AtomicInteger parses = new AtomicInteger();
+
+		// A directory has attributes, but no content to hash.
+		Path directory = Files.createDirectory(root.resolve("Directory.graphqls"));
+		cache.get(directory.toFile(), LINE, file -> countParse(parses));
+		touch(directory);
+		cache.get(directory.toFile(), LINE, file -> countParse(parses));
+
+		assertThat(parses.get(), is(equalTo(2)));
+	}
+
+	@Test
+	public void clear() {
+
+		GraphQLParseCache cache = new GraphQLParseCache();
+		cache.get(query.toFile(), LINE, file -> new GraphQLSchema());
+		cache.get(query.toFile(), LINE, file -> new GraphQLSchema());
+
+		cache.clear();
+		assertThat(cache.size(), is(equalTo(0)));
+		assertThat(cache.getHits(), is(equalTo(0L)));
+		assertThat(cache.getMisses(), is(equalTo(0L)));
+	}
+
+	@Test
+	public void parallelParseUsesCache() {
+
+		GraphQLParseCache cache = new GraphQLParseCache();
+		GraphQLParser parser = new GraphQLParser(Frontend.TOKEN);
+		parser.setParseCache(cache);
+
+		GraphQLSchema first = parser.parseGraphQLInParallel(root.toFile());
+		assertThat(parser.parseGraphQLInParallel(root.toFile()), is(equalTo(first)));
+		assertThat(first.getQuerys().get("person"), is(equalTo(new GraphQLReference("Person"))));
+		assertThat(cache.getHits(), is(equalTo(2L)));
+	}
+
+	private GraphQLSchema countParse(AtomicInteger parses) {
+		parses.incrementAndGet();
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addType("Parse" + parses.get(), new GraphQLScalar(GraphQLScalarValue.STRING));
+		return schema;
+	}
+
+	private Path write(String name, String content) throws IOException {
+		return Files.write(root.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void touch(Path path) throws IOException {
+		FileTime lastModified = Files.getLastModifiedTime(path);
+		Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified.toMillis() + 60000));
+	}
+}
@@ -4,22 +4,55 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.testng.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import org.mockito.Mockito;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.parser.GraphQLFile.LoadMode;
+import com.ebay.graphql.parser.GraphQLParser.Frontend;
+import com.ebay.graphql.parser.diagnostics.ParseDiagnostics.Problem;
+import com.ebay.graphql.parser.diagnostics.ParseDiagnosticsCollector;
+import com.ebay.graphql.parser.matcher.GraphQLMatcher.LineType;
+import com.ebay.graphql.transformer.GraphQLToJsonSchema;
 import com.ebay.graphql.types.FieldKeyValuePair;
 import com.ebay.graphql.types.GraphQLEnum;
+import com.ebay.graphql.types.GraphQLInputObject;
+import com.ebay.graphql.types.GraphQLInputValue;
 import com.ebay.graphql.types.GraphQLList;
 import com.ebay.graphql.types.GraphQLObject;
 import com.ebay.graphql.types.GraphQLReference;
@@ -46,6 +79,7 @@ public class GraphQLParserTest {
 	}
 
 	@Test(dataProvider = "singleLineDescriptionValues")
+	@SuppressWarnings("deprecation")
 	public void singleLineDescription(String line, String expected) {
 		GraphQLFile graphQLFile = getGraphQLFile(line);
 		String actualDescription = parser.processSingleLineDescription(graphQLFile);
@@ -65,6 +99,7 @@ public class GraphQLParserTest {
 	}
 	
 	@Test(dataProvider = "multiLineDescriptionValues")
+	@SuppressWarnings("deprecation")
 	public void multiLineDescription(List<String> description, String expected) {
 		GraphQLFile graphQLFile = getGraphQLFile(description);
 		String actualDescription = parser.processMultiLineDescription(graphQLFile);
@@ -272,6 +307,32 @@ public class GraphQLParserTest {
 		
 		assertThat(actualSchema, is(equalTo(expectedSchema)));
 	}
+
+	@Test
+	public void parseInputObject() throws ParseException {
+
+		List<String> lines = Arrays.asList("input PersonFilter @oneOf {", "\t# Comment", "\t\"Name = exact match.\"",
+				"\tname: String = \"a\" @deprecated", "\t\"\"\"", "\tfirst = 1", "\t\"\"\"", "\tfirst: Int! = 10",
+				"\tids: [ID!]!", "\tnext: PersonFilter", "}");
+		GraphQLFile graphQLFile = getGraphQLFile(lines);
+		GraphQLSchema actualSchema = new GraphQLSchema();
+		parser.processInputObject(graphQLFile, actualSchema);
+
+		GraphQLScalar first = new GraphQLScalar(GraphQLScalarValue.INT);
+		first.makeNonNullable();
+		GraphQLInputObject expectedInput = new GraphQLInputObject();
+		expectedInput.addField(new GraphQLInputValue("name", new GraphQLScalar(GraphQLScalarValue.STRING), "\"a\""));
+		expectedInput.addField(new GraphQLInputValue("first", first, "10"));
+		expectedInput.addField(new GraphQLInputValue("ids", new GraphQLList("[ID!]!")));
+		expectedInput.addField(new GraphQLInputValue("next", new GraphQLReference("PersonFilter")));
+
+		GraphQLSchema expectedSchema = new GraphQLSchema();
+		expectedSchema.addType("PersonFilter", expectedInput);
+
+		assertThat(actualSchema, is(equalTo(expectedSchema)));
+		assertThat(new GraphQLParser(Frontend.TOKEN).parseGraphQL(String.join("\n", lines)),
+				is(equalTo(expectedSchema)));
+	}
 	
 	@DataProvider(name = "extractOperationAPIValues")
 	public Object[][] extractOperationAPIValues() {
@@ -452,6 +513,31 @@ public class GraphQLParserTest {
 		GraphQLSchema actualSchema = parser.processLinesOfText(graphQLFile);
 		assertThat(actualSchema, is(equalTo(expectedSchema)));
 	}
+
+	@DataProvider(name = "frontends")
+	public Object[][] frontends() {
+		return new Object[][] { { Frontend.LINE }, { Frontend.TOKEN } };
+	}
+
+	@Test(dataProvider = "frontends")
+	public void parseOperationArguments(Frontend frontend) throws ParseException {
+
+		String graphQL = String.join("\n", "schema {", "\tquery: Foo", "\tmutation: Bar", "\tsubscription: Baz", "}",
+				"type Foo {", "\tpeople(first: Int = 10, filter: [PersonFilter!]!): [Person]", "\tme: Person", "}",
+				"type Bar {", "\trename(name: String!): Boolean", "}",
+				"type Baz {", "\tmoves(id: ID): Person", "}");
+
+		GraphQLSchema schema = new GraphQLParser(frontend).parseGraphQL(graphQL);
+
+		String people = "people(first: Int = 10, filter: [PersonFilter!]!)";
+		assertThat(schema.getQueryArguments(people), is(equalTo(GraphQLFieldDecoder.decodeArguments(people))));
+		assertThat(schema.getQueryArguments(people).getFields().keySet(), contains("first", "filter"));
+		assertThat(schema.getQueryArguments("me").getFields().isEmpty(), is(true));
+		assertThat(schema.getMutationArguments("rename(name: String!)"),
+				is(equalTo(GraphQLFieldDecoder.decodeArguments("rename(name: String!)"))));
+		assertThat(schema.getSubscriptionArguments("moves(id: ID)"),
+				is(equalTo(GraphQLFieldDecoder.decodeArguments("moves(id: ID)"))));
+	}
 	
 	@Test
 	public void enrollmentGraphQL() throws IOException, URISyntaxException {
@@ -493,6 +579,7 @@ public class GraphQLParserTest {
 		enrollmentStatusEnum.addEnumValue("NOT_ENROLLED");
 		
 		expectedSchema.addType("EnrollmentStatusEnum", enrollmentStatusEnum);
+		addEnrollmentInputs(expectedSchema);
 	
 		// Compare
 		assertThat(actualSchema, is(equalTo(expectedSchema)));
@@ -538,11 +625,29 @@ public class GraphQLParserTest {
 		enrollmentStatusEnum.addEnumValue("NOT_ENROLLED");
 		
 		expectedSchema.addType("EnrollmentStatusEnum", enrollmentStatusEnum);
+		addEnrollmentInputs(expectedSchema);
 	
 		// Compare
 		assertThat(actualSchema, is(equalTo(expectedSchema)));
 	}
 	
+	private void addEnrollmentInputs(GraphQLSchema expectedSchema) {
+
+		GraphQLInputObject completeInput = new GraphQLInputObject();
+		GraphQLScalar refId = new GraphQLScalar(GraphQLScalarValue.ID);
+		refId.makeNonNullable();
+		completeInput.addField(new GraphQLInputValue("refId", refId));
+		expectedSchema.addType("CompleteInput", completeInput);
+
+		GraphQLInputObject enrolledInput = new GraphQLInputObject();
+		enrolledInput.addField(new GraphQLInputValue("userId", new GraphQLScalar(GraphQLScalarValue.ID)));
+		enrolledInput.addField(new GraphQLInputValue("siteId", new GraphQLScalar(GraphQLScalarValue.INT)));
+		GraphQLScalar accountLevelEnrollment = new GraphQLScalar(GraphQLScalarValue.BOOLEAN);
+		accountLevelEnrollment.makeNonNullable();
+		enrolledInput.addField(new GraphQLInputValue("accountLevelEnrollment", accountLevelEnrollment));
+		expectedSchema.addType("EnrolledInput", enrolledInput);
+	}
+
 	@Test
 	public void cdcSchema() throws IOException, URISyntaxException {
 
@@ -656,6 +761,31 @@ public class GraphQLParserTest {
 		paginationType.addField("nextCursor", nextCursorField);
 		expectedSchema.addType("Pagination", paginationType);
 
+		GraphQLInputObject specificationInput = new GraphQLInputObject();
+		GraphQLScalar specificationId = new GraphQLScalar(GraphQLScalarValue.ID);
+		specificationId.makeNonNullable();
+		specificationInput.addField(new GraphQLInputValue("id", specificationId));
+		GraphQLReference queryCriteria = new GraphQLReference("CriteriaInput");
+		queryCriteria.makeNonNullable();
+		specificationInput.addField(new GraphQLInputValue("queryCriteria", queryCriteria));
+		expectedSchema.addType("SpecificationInput", specificationInput);
+
+		GraphQLInputObject criteriaInput = new GraphQLInputObject();
+		GraphQLReference listingPageInfoInput = new GraphQLReference("PageInfoInput");
+		listingPageInfoInput.makeNonNullable();
+		criteriaInput.addField(new GraphQLInputValue("listingPageInfoInput", listingPageInfoInput));
+		GraphQLScalar discountId = new GraphQLScalar(GraphQLScalarValue.ID);
+		discountId.makeNonNullable();
+		criteriaInput.addField(new GraphQLInputValue("discountId", discountId));
+		expectedSchema.addType("CriteriaInput", criteriaInput);
+
+		GraphQLInputObject pageInfoInput = new GraphQLInputObject();
+		pageInfoInput.addField(new GraphQLInputValue("pageCursor", new GraphQLScalar(GraphQLScalarValue.STRING)));
+		GraphQLScalar maxPageSize = new GraphQLScalar(GraphQLScalarValue.INT);
+		maxPageSize.makeNonNullable();
+		pageInfoInput.addField(new GraphQLInputValue("maxPageSize", maxPageSize));
+		expectedSchema.addType("PageInfoInput", pageInfoInput);
+
 		GraphQLEnum criteriaTypeEnum = new GraphQLEnum();
 		criteriaTypeEnum.addEnumValue("TYPE1");
 		criteriaTypeEnum.addEnumValue("TYPE2");
@@ -670,6 +800,750 @@ public class GraphQLParserTest {
 		assertThat(actualSchema, is(equalTo(expectedSchema)));
 	}
 
+	@DataProvider(name = "schemaDirectories")
+	public Object[][] schemaDirectories() {
+		return new Object[][] {
+			{ "com/ebay/graphql/model/test.graphqls" },
+			{ "com/ebay/graphql/models/schema.graphqls" },
+			{ "com/ebay/graphql/cdc/cdcschema.graphql" },
+			{ "com/ebay/graphql/erroreval/MultipleMutations.graphqls" },
+		};
+	}
+
+	@Test(dataProvider = "schemaDirectories")
+	public void parallelParseMatchesSequential(String resource) throws IOException, URISyntaxException {
+
+		File file = getGraphQLResourceFile(resource);
+		GraphQLSchema expectedSchema = parser.parseGraphQL(file);
+
+		assertThat(parser.parseGraphQLInParallel(file), is(equalTo(expectedSchema)));
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			assertThat(parser.parseGraphQL(file, executorService), is(equalTo(expectedSchema)));
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void parallelParseOfDirectoryTree() throws IOException, URISyntaxException {
+		File file = getGraphQLResourceFile("com/ebay/graphql");
+		assertThat(parser.parseGraphQLInParallel(file), is(equalTo(parser.parseGraphQL(file))));
+	}
+
+	@Test
+	public void parallelParseOfMissingFile() {
+		assertThat(parser.parseGraphQLInParallel(new File("does/not/exist.graphqls")), is(equalTo(new GraphQLSchema())));
+		assertThat(parser.parseGraphQLInParallel(null), is(equalTo(new GraphQLSchema())));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void parallelParseRequiresExecutor() throws IOException, URISyntaxException {
+		parser.parseGraphQL(getGraphQLResourceFile("com/ebay/graphql/model/test.graphqls"), null);
+	}
+
+	@DataProvider(name = "failedParseValues")
+	public Object[][] failedParseValues() {
+		return new Object[][] {
+			{ new ExecutionException(new UnsupportedOperationException()), UnsupportedOperationException.class },
+			{ new ExecutionException(new AssertionError()), AssertionError.class },
+			{ new ExecutionException(new IOException()), IllegalStateException.class },
+			{ new InterruptedException(), IllegalStateException.class },
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test(dataProvider = "failedParseValues")
+	public void parallelParseFailure(Exception failure, Class<? extends Throwable> expected) throws Exception {
+
+		Future<GraphQLSchema> future = Mockito.mock(Future.class);
+		Mockito.when(future.get()).thenThrow(failure);
+		ExecutorService executorService = Mockito.mock(ExecutorService.class);
+		Mockito.when(executorService.submit(Mockito.any(Callable.class))).thenReturn(future);
+
+		try {
+			parser.parseGraphQL(getGraphQLResourceFile("com/ebay/graphql/model/test.graphqls"), executorService);
+		} catch (Throwable t) {
+			assertThat(t, is(instanceOf(expected)));
+			Mockito.verify(future).cancel(true);
+			return;
+		} finally {
+			// Clear the interrupt flag set for InterruptedException.
+			Thread.interrupted();
+		}
+		throw new AssertionError("Expected " + expected.getSimpleName());
+	}
+
+	@Test(dataProvider = "schemaDirectories")
+	public void asyncParseMatchesSequential(String resource) throws Exception {
+
+		File file = getGraphQLResourceFile(resource);
+		GraphQLSchema expectedSchema = parser.parseGraphQL(file);
+
+		assertThat(parser.parseGraphQLAsync(file).get(), is(equalTo(expectedSchema)));
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			assertThat(parser.parseGraphQLAsync(file, executorService).get(), is(equalTo(expectedSchema)));
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void asyncParseOfMissingFile() throws Exception {
+		assertThat(parser.parseGraphQLAsync(new File("does/not/exist.graphqls")).get(), is(equalTo(new GraphQLSchema())));
+		assertThat(parser.parseGraphQLAsync(null).get(), is(equalTo(new GraphQLSchema())));
+	}
+
+	@Test
+	public void cancelAsyncParse() throws Exception {
+
+		List<Runnable> tasks = new ArrayList<>();
+		ParseDiagnosticsCollector diagnostics = new ParseDiagnosticsCollector();
+		GraphQLParser parser = new GraphQLParser();
+		parser.setDiagnostics(diagnostics);
+
+		CompletableFuture<GraphQLSchema> future = parser.parseGraphQLAsync(getGraphQLResourceFile("com/ebay/graphql/models"), tasks::add);
+		// Search the directory, which queues one task per file.
+		tasks.remove(0).run();
+		assertThat(tasks.size(), is(greaterThan(1)));
+
+		// The first file is parsed before the cancellation, the others never are.
+		tasks.remove(0).run();
+		long lines = diagnostics.getLineCount(LineType.OBJECT_DEFINITION);
+		assertThat(future.cancel(true), is(true));
+		tasks.forEach(Runnable::run);
+
+		assertThat(future.isCancelled(), is(true));
+		assertThat(diagnostics.getLineCount(LineType.OBJECT_DEFINITION), is(equalTo(lines)));
+	}
+
+	@Test
+	public void cancelAsyncParseBeforeSearch() throws Exception {
+
+		List<Runnable> tasks = new ArrayList<>();
+		CompletableFuture<GraphQLSchema> future = parser.parseGraphQLAsync(getGraphQLResourceFile("com/ebay/graphql/models"), tasks::add);
+		future.cancel(true);
+		tasks.remove(0).run();
+
+		assertThat(tasks, is(empty()));
+	}
+
+	@Test
+	public void asyncParseFailure() throws Exception {
+
+		GraphQLParseCache parseCache = Mockito.mock(GraphQLParseCache.class);
+		IllegalStateException failure = new IllegalStateException("Unreadable.");
+		Mockito.when(parseCache.get(Mockito.any(), Mockito.any(), Mockito.any())).thenThrow(failure);
+		GraphQLParser parser = new GraphQLParser();
+		parser.setParseCache(parseCache);
+
+		CompletableFuture<GraphQLSchema> future = parser.parseGraphQLAsync(getGraphQLResourceFile("com/ebay/graphql/models"), Runnable::run);
+
+		assertThat(future.isCompletedExceptionally(), is(true));
+		try {
+			future.get();
+		} catch (ExecutionException e) {
+			assertThat(e.getCause(), is(sameInstance(failure)));
+			return;
+		}
+		throw new AssertionError("Expected the parse to fail.");
+	}
+
+	@Test
+	public void asyncSearchFailure() throws Exception {
+
+		GraphQLSchemaFinder schemaFinder = Mockito.mock(GraphQLSchemaFinder.class);
+		Mockito.when(schemaFinder.find(Mockito.any())).thenThrow(new UnsupportedOperationException());
+		GraphQLParser parser = new GraphQLParser();
+		parser.setSchemaFinder(schemaFinder);
+
+		CompletableFuture<GraphQLSchema> future = parser.parseGraphQLAsync(getGraphQLResourceFile("com/ebay/graphql/models"), Runnable::run);
+
+		assertThat(future.isCompletedExceptionally(), is(true));
+	}
+
+	@Test
+	public void asyncParseRejected() {
+
+		CompletableFuture<GraphQLSchema> future = parser.parseGraphQLAsync(new File("does/not/exist.graphqls"), task -> {
+			throw new RejectedExecutionException();
+		});
+
+		assertThat(future.isCompletedExceptionally(), is(true));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void asyncParseRequiresExecutor() {
+		parser.parseGraphQLAsync(null, null);
+	}
+
+	@DataProvider(name = "archiveFrontends")
+	public Object[][] archiveFrontends() {
+		return new Object[][] {
+			{ Frontend.LINE },
+			{ Frontend.TOKEN },
+		};
+	}
+
+	@Test(dataProvider = "archiveFrontends")
+	public void parseArchive(Frontend frontend) throws IOException, URISyntaxException {
+
+		GraphQLParser frontendParser = new GraphQLParser(frontend);
+		File resources = getGraphQLResourceFile("com/ebay/graphql");
+		GraphQLSchema expectedSchema = frontendParser.parseGraphQL(resources);
+		Path archive = createArchive(resources.toPath());
+
+		try {
+			assertThat(frontendParser.parseGraphQLArchive(archive.toFile()), is(equalTo(expectedSchema)));
+			try (InputStream inputStream = Files.newInputStream(archive)) {
+				assertThat(frontendParser.parseGraphQLArchive(inputStream), is(equalTo(expectedSchema)));
+			}
+			assertThat(frontendParser.parseGraphQLArchiveInParallel(archive.toFile()), is(equalTo(expectedSchema)));
+
+			ExecutorService executorService = Executors.newFixedThreadPool(4);
+			try {
+				assertThat(frontendParser.parseGraphQLArchive(archive.toFile(), executorService), is(equalTo(expectedSchema)));
+			} finally {
+				executorService.shutdown();
+			}
+		} finally {
+			Files.delete(archive);
+		}
+	}
+
+	@Test(dataProvider = "archiveFrontends")
+	public void parseTensorFields(Frontend frontend) throws IOException {
+
+		GraphQLSchema schema = new GraphQLParser(frontend).parseGraphQL(
+				"type Query {\n\tweights: [[[Float!]!]!]\n}\n\ntype Model {\n\tlayers: [[[[Int]]]]!\n}\n");
+
+		GraphQLScalar element = new GraphQLScalar(GraphQLScalarValue.FLOAT);
+		element.makeNonNullable();
+		GraphQLList weights = new GraphQLList(element, 3);
+		weights.makeDimensionNonNullable(1);
+		weights.makeDimensionNonNullable(2);
+		GraphQLList layers = new GraphQLList(new GraphQLScalar(GraphQLScalarValue.INT), 4);
+		layers.makeNonNullable();
+
+		assertThat(schema.getQuerys().get("weights"), is(equalTo(weights)));
+		assertThat(((GraphQLObject) schema.getTypes().get("Model")).getFields().get("layers"), is(equalTo(layers)));
+		assertThat(new GraphQLToJsonSchema(schema).convertQuery("weights").toString(), containsString(
+				"{\"type\":\"array\",\"items\":{\"type\":\"array\",\"items\":{\"type\":\"number\"}}}"));
+	}
+
+	@DataProvider(name = "corruptArchiveValues")
+	public Object[][] corruptArchiveValues() {
+		return new Object[][] {
+			{ Frontend.LINE, false },
+			{ Frontend.LINE, true },
+			{ Frontend.TOKEN, false },
+			{ Frontend.TOKEN, true },
+		};
+	}
+
+	@Test(dataProvider = "corruptArchiveValues", expectedExceptions = IOException.class)
+	public void parseCorruptArchive(Frontend frontend, boolean parallel) throws IOException {
+
+		Path archive = Files.createTempFile("schemas", ".zip");
+		try {
+			try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(archive))) {
+				zipOutputStream.putNextEntry(new ZipEntry("schema.graphqls"));
+				zipOutputStream.write("type Query {\n\tperson: String\n}\n".getBytes(StandardCharsets.UTF_8));
+				zipOutputStream.closeEntry();
+			}
+
+			// Overwrite the start of the deflated entry data with an invalid block type.
+			byte[] bytes = Files.readAllBytes(archive);
+			int data = 30 + "schema.graphqls".length();
+			Arrays.fill(bytes, data, data + 4, (byte) 0xFF);
+			Files.write(archive, bytes);
+
+			GraphQLParser frontendParser = new GraphQLParser(frontend);
+			if (parallel) {
+				frontendParser.parseGraphQLArchiveInParallel(archive.toFile());
+			} else {
+				frontendParser.parseGraphQLArchive(archive.toFile());
+			}
+		} finally {
+			Files.delete(archive);
+		}
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void parseMissingArchive() throws IOException {
+		parser.parseGraphQLArchive(new File("does/not/exist.jar"));
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void parseMissingArchiveInParallel() throws IOException {
+		parser.parseGraphQLArchiveInParallel(new File("does/not/exist.jar"));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void parseNullArchive() throws IOException {
+		parser.parseGraphQLArchive((File) null);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void parseNullArchiveStream() throws IOException {
+		parser.parseGraphQLArchive((InputStream) null);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void parseArchiveRequiresExecutor() throws IOException {
+		parser.parseGraphQLArchive(new File("does/not/exist.jar"), null);
+	}
+
+	@DataProvider(name = "lazyTypeValues")
+	public Object[][] lazyTypeValues() {
+		return new Object[][] {
+			{ LoadMode.READ_LINES, "com/ebay/graphql" },
+			{ LoadMode.MEMORY_MAP, "com/ebay/graphql" },
+			{ LoadMode.MEMORY_MAP, "com/ebay/graphql/cdc" },
+		};
+	}
+
+	@Test(dataProvider = "lazyTypeValues")
+	public void lazyTypesMatchEagerParse(LoadMode loadMode, String resource) throws IOException, URISyntaxException {
+
+		File file = getGraphQLResourceFile(resource);
+		GraphQLParser lazyParser = new GraphQLParser();
+		lazyParser.setLoadMode(loadMode);
+		lazyParser.setLazyTypes(true);
+		assertThat(lazyParser.isLazyTypes(), is(true));
+
+		assertThat(lazyParser.parseGraphQL(file), is(equalTo(parser.parseGraphQL(file))));
+	}
+
+	@Test(dataProvider = "lazyTypeValues")
+	public void lazyTypesResolvedFromSeveralThreads(LoadMode loadMode, String resource) throws Exception {
+
+		File file = getGraphQLResourceFile(resource);
+		GraphQLParser lazyParser = new GraphQLParser();
+		lazyParser.setLoadMode(loadMode);
+		lazyParser.setLazyTypes(true);
+		GraphQLSchema lazySchema = lazyParser.parseGraphQL(file);
+		GraphQLSchema eagerSchema = parser.parseGraphQL(file);
+
+		List<String> names = new ArrayList<>(lazySchema.getTypes().keySet());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Map<String, GraphQLType>>> results = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				int offset = i;
+				results.add(executor.submit(() -> {
+					// Each thread starts at a different type.
+					Map<String, GraphQLType> types = new HashMap<>();
+					for (int j = 0; j < names.size(); j++) {
+						String name = names.get((j + offset * names.size() / 4) % names.size());
+						types.put(name, lazySchema.getTypes().get(name));
+					}
+					return types;
+				}));
+			}
+			for (Future<Map<String, GraphQLType>> result : results) {
+				assertThat(result.get(), is(equalTo(eagerSchema.getTypes())));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void lazyTypesParsedOnLookup() throws IOException {
+
+		String text = "type Query {\n\tperson: Person\n}\n\ntype Broken {\n\tbad: [Foo Bar]\n}\n\n"
+				+ "type Person {\n\tname: String\n\tcolor: Color\n}\n\nenum Color {\n\tRED\n}\n";
+		Path directory = Files.createTempDirectory("lazy");
+		Path file = Files.write(directory.resolve("schema.graphqls"), text.getBytes(StandardCharsets.UTF_8));
+
+		try {
+			// The broken type ends the eager parse of the file.
+			GraphQLSchema eagerSchema = parser.parseGraphQL(file.toFile());
+			assertThat(eagerSchema.getTypes(), not(hasKey("Person")));
+
+			GraphQLParser lazyParser = new GraphQLParser();
+			lazyParser.setLoadMode(LoadMode.MEMORY_MAP);
+			lazyParser.setLazyTypes(true);
+			GraphQLSchema lazySchema = lazyParser.parseGraphQL(file.toFile());
+
+			assertThat(lazySchema.getTypes().keySet(), containsInAnyOrder("Broken", "Person", "Color"));
+			assertThat(lazySchema.getTypes().get("Broken"), is(nullValue()));
+			assertThat(new GraphQLToJsonSchema(lazySchema).convertQuery("person").toString(),
+					containsString("\"name\""));
+
+			GraphQLObject person = new GraphQLObject();
+			person.addField("name", new GraphQLScalar(GraphQLScalarValue.STRING));
+			person.addField("color", new GraphQLReference("Color"));
+			assertThat(lazySchema.getTypes().get("Person"), is(equalTo(person)));
+
+			GraphQLEnum color = new GraphQLEnum();
+			color.addEnumValue("RED");
+			assertThat(lazySchema.getTypes().get("Color"), is(equalTo(color)));
+
+			// Lines read from a stream can't be revisited, so those types are parsed right away.
+			try (Reader reader = Files.newBufferedReader(file)) {
+				assertThat(lazyParser.parseGraphQL(reader).getTypes(), not(hasKey("Person")));
+			}
+		} finally {
+			Files.delete(file);
+			Files.delete(directory);
+		}
+	}
+
+	@DataProvider(name = "streamedParsers")
+	public Object[][] streamedParsers() {
+		return new Object[][] {
+			{ Frontend.LINE, "com/ebay/graphql", false },
+			{ Frontend.LINE, "com/ebay/graphql/cdc", false },
+			{ Frontend.LINE, "com/ebay/graphql", true },
+			{ Frontend.TOKEN, "com/ebay/graphql", false },
+		};
+	}
+
+	@Test(dataProvider = "streamedParsers")
+	public void streamedParseMatchesReadLines(Frontend frontend, String resource, boolean cached)
+			throws IOException, URISyntaxException {
+
+		File file = getGraphQLResourceFile(resource);
+		GraphQLParser streamingParser = new GraphQLParser(frontend);
+		streamingParser.setLoadMode(LoadMode.STREAM);
+		if (cached) {
+			streamingParser.setParseCache(new GraphQLParseCache());
+		}
+
+		GraphQLSchema expected = new GraphQLParser(frontend).parseGraphQL(file);
+		assertThat(streamingParser.parseGraphQL(file), is(equalTo(expected)));
+		assertThat(streamingParser.parseGraphQLInParallel(file), is(equalTo(expected)));
+	}
+
+	@Test
+	public void streamedParseKeepsDefinitionsBeforeReadError() throws IOException {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (int i = 0; i < 1000; i++) {
+			bytes.write(("type T" + i + " {\n\tid: ID\n}\n").getBytes(StandardCharsets.UTF_8));
+		}
+		// Not UTF-8.
+		bytes.write(new byte[] { (byte) 0xC3, 0x28, '\n' });
+
+		Path directory = Files.createTempDirectory("stream");
+		Path file = Files.write(directory.resolve("schema.graphqls"), bytes.toByteArray());
+		try {
+			ParseDiagnosticsCollector diagnostics = new ParseDiagnosticsCollector(1);
+			GraphQLParser streamingParser = new GraphQLParser();
+			streamingParser.setLoadMode(LoadMode.STREAM);
+			streamingParser.setDiagnostics(diagnostics);
+
+			GraphQLSchema schema = streamingParser.parseGraphQL(file.toFile());
+			assertThat(schema.getTypes().size(), is(both(greaterThan(0)).and(lessThan(1000))));
+			assertThat(diagnostics.getProblemCount(Problem.PARSE_ERROR), is(1L));
+			assertThat(diagnostics.getMessages().get(0), startsWith("Unreadable schema file [" + file + "]"));
+		} finally {
+			Files.delete(file);
+			Files.delete(directory);
+		}
+	}
+
+	private static final String DESCRIBED_SCHEMA = "\"\"\"\nPeople\n  who are known.\n\"\"\"\ntype Person {\n"
+			+ "\t\"The name.\"\n\tname: String\n\t\"\"\"Age in years.\"\"\"\n\tage: Int\n\t\"\"\"\n\tNote: friends\n\t\"\"\"\n"
+			+ "\tfriends: [Person]\n\tnickname: String\n}\n\"Ways to find people.\"\ninput PersonFilter {\n"
+			+ "\t\"Exact \\\"name\\\".\"\n\tname: String = \"x\"\n}\n\"A color.\"\nenum Color {\n\tRED\n}\n"
+			+ "\"A date.\"\nscalar Date\ntype Query {\n\t\"Find people.\"\n\tpeople: [Person]\n}\n";
+
+	@DataProvider(name = "describedParsers")
+	public Object[][] describedParsers() {
+		return new Object[][] {
+			{ Frontend.LINE, LoadMode.READ_LINES, false },
+			{ Frontend.LINE, LoadMode.MEMORY_MAP, true },
+			{ Frontend.LINE, LoadMode.STREAM, false },
+			{ Frontend.TOKEN, LoadMode.READ_LINES, false },
+			{ Frontend.TOKEN, LoadMode.MEMORY_MAP, false },
+		};
+	}
+
+	@Test(dataProvider = "describedParsers")
+	public void keepDescriptions(Frontend frontend, LoadMode loadMode, boolean lazyTypes) throws IOException {
+
+		Path directory = Files.createTempDirectory("descriptions");
+		Path file = Files.write(directory.resolve("schema.graphqls"), DESCRIBED_SCHEMA.getBytes(StandardCharsets.UTF_8));
+		try {
+			GraphQLParser describingParser = new GraphQLParser(frontend);
+			describingParser.setLoadMode(loadMode);
+			describingParser.setLazyTypes(lazyTypes);
+			describingParser.setKeepDescriptions(true);
+			assertThat(describingParser.isKeepDescriptions(), is(true));
+
+			assertDescriptions(describingParser.parseGraphQL(file.toFile()));
+			assertDescriptions(describingParser.parseGraphQL(new StringReader(DESCRIBED_SCHEMA)));
+		} finally {
+			Files.delete(file);
+			Files.delete(directory);
+		}
+	}
+
+	private static void assertDescriptions(GraphQLSchema schema) {
+
+		GraphQLObject person = (GraphQLObject) schema.getTypes().get("Person");
+		assertThat(person.getDescription().getText(), is(equalTo("People\n  who are known.")));
+		assertThat(person.getFields().keySet(), containsInAnyOrder("name", "age", "friends", "nickname"));
+		assertThat(person.getFields().get("name").getDescription().getText(), is(equalTo("The name.")));
+		assertThat(person.getFields().get("age").getDescription().getText(), is(equalTo("Age in years.")));
+		assertThat(person.getFields().get("friends").getDescription().getText(), is(equalTo("Note: friends")));
+		assertThat(person.getFields().get("nickname").getDescription(), is(nullValue()));
+
+		GraphQLInputObject filter = (GraphQLInputObject) schema.getTypes().get("PersonFilter");
+		assertThat(filter.getDescription().getText(), is(equalTo("Ways to find people.")));
+		assertThat(filter.getFields().get("name").getType().getDescription().getText(), is(equalTo("Exact \"name\".")));
+		assertThat(filter.getFields().get("name").getDefaultValue(), is(equalTo("\"x\"")));
+
+		assertThat(schema.getTypes().get("Color").getDescription().getText(), is(equalTo("A color.")));
+		assertThat(schema.getTypes().get("Date").getDescription().getText(), is(equalTo("A date.")));
+		assertThat(schema.getQuerys().get("people").getDescription().getText(), is(equalTo("Find people.")));
+	}
+
+	@Test
+	public void keepDescriptionsFromManyThreads() throws Exception {
+
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			text.append("\"Type ").append(i).append(".\"\ntype T").append(i).append(" {\n\t\"Id ").append(i)
+					.append(".\"\n\tid: ID\n}\n");
+		}
+
+		Path directory = Files.createTempDirectory("descriptions");
+		Path file = Files.write(directory.resolve("schema.graphqls"), text.toString().getBytes(StandardCharsets.UTF_8));
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		try {
+			GraphQLParser describingParser = new GraphQLParser();
+			describingParser.setLoadMode(LoadMode.MEMORY_MAP);
+			describingParser.setKeepDescriptions(true);
+			GraphQLSchema schema = describingParser.parseGraphQL(file.toFile()).freeze();
+
+			List<Future<?>> futures = new ArrayList<>();
+			for (int thread = 0; thread < 8; thread++) {
+				futures.add(executorService.submit(() -> {
+					for (int round = 0; round < 500; round++) {
+						for (int i = 0; i < 200; i++) {
+							GraphQLObject type = (GraphQLObject) schema.getTypes().get("T" + i);
+							assertThat(type.getDescription().getText(), is(equalTo("Type " + i + ".")));
+							assertThat(type.getFields().get("id").getDescription().getText(),
+									is(equalTo("Id " + i + ".")));
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdown();
+			Files.delete(file);
+			Files.delete(directory);
+		}
+	}
+
+	@Test(dataProvider = "describedParsers")
+	public void descriptionsNotKeptByDefault(Frontend frontend, LoadMode loadMode, boolean lazyTypes) {
+
+		GraphQLParser defaultParser = new GraphQLParser(frontend);
+		assertThat(defaultParser.isKeepDescriptions(), is(false));
+		GraphQLSchema schema = defaultParser.parseGraphQL(DESCRIBED_SCHEMA);
+
+		GraphQLObject person = (GraphQLObject) schema.getTypes().get("Person");
+		assertThat(person.getDescription(), is(nullValue()));
+		assertThat(person.getFields().keySet(), containsInAnyOrder("name", "age", "friends", "nickname"));
+		assertThat(person.getFields().get("name").getDescription(), is(nullValue()));
+		assertThat(schema.getQuerys().get("people").getDescription(), is(nullValue()));
+	}
+
+	@DataProvider(name = "internedParsers")
+	public Object[][] internedParsers() {
+		return new Object[][] {
+			{ Frontend.LINE, false },
+			{ Frontend.LINE, true },
+			{ Frontend.TOKEN, false },
+		};
+	}
+
+	@Test(dataProvider = "internedParsers")
+	public void internTypesMatchesDefault(Frontend frontend, boolean lazyTypes) throws IOException, URISyntaxException {
+
+		File file = getGraphQLResourceFile("com/ebay/graphql/cdc/cdcschema.graphql");
+		GraphQLParser internParser = new GraphQLParser(frontend);
+		internParser.setLazyTypes(lazyTypes);
+		internParser.setInternTypes(true);
+		assertThat(internParser.isInternTypes(), is(true));
+
+		GraphQLSchema schema = internParser.parseGraphQL(file);
+		GraphQLSchema expectedSchema = new GraphQLParser(frontend).parseGraphQL(file);
+		assertThat(schema, is(equalTo(expectedSchema)));
+		assertThat(schema.getFingerprint(), is(equalTo(expectedSchema.getFingerprint())));
+
+		// Equal field types of all types and operations share one instance.
+		Map<GraphQLType, GraphQLType> canonical = new HashMap<>();
+		for (GraphQLType type : schema.getTypes().values()) {
+			if (type instanceof GraphQLObject) {
+				for (GraphQLType fieldType : ((GraphQLObject) type).getFields().values()) {
+					assertThat(canonical.computeIfAbsent(fieldType, key -> fieldType), is(sameInstance(fieldType)));
+				}
+			}
+		}
+		for (GraphQLType operationType : schema.getQuerys().values()) {
+			assertThat(canonical.computeIfAbsent(operationType, key -> operationType), is(sameInstance(operationType)));
+		}
+
+		// Later parses share the instances of earlier ones.
+		GraphQLObject object = (GraphQLObject) internParser.parseGraphQL(file).getTypes().values().stream()
+				.filter(GraphQLObject.class::isInstance).findFirst().get();
+		for (GraphQLType fieldType : object.getFields().values()) {
+			assertThat(canonical.get(fieldType), is(sameInstance(fieldType)));
+		}
+	}
+
+	@Test(dataProvider = "describedParsers")
+	public void internTypesKeepsDescriptions(Frontend frontend, LoadMode loadMode, boolean lazyTypes) {
+
+		GraphQLParser internParser = new GraphQLParser(frontend);
+		internParser.setLoadMode(loadMode);
+		internParser.setLazyTypes(lazyTypes);
+		internParser.setInternTypes(true);
+		internParser.setKeepDescriptions(true);
+
+		assertDescriptions(internParser.parseGraphQL(DESCRIBED_SCHEMA));
+		assertThat(new GraphQLParser().isInternTypes(), is(false));
+	}
+
+	@DataProvider(name = "singleFileSchemas")
+	public Object[][] singleFileSchemas() {
+		List<Object[]> values = new ArrayList<>();
+		for (Frontend frontend : Frontend.values()) {
+			values.add(new Object[] { frontend, "com/ebay/graphql/model/test.graphqls" });
+			values.add(new Object[] { frontend, "com/ebay/graphql/erroreval/MultipleMutations.graphqls" });
+			values.add(new Object[] { frontend, "com/ebay/graphql/nullableOperation/nonNullableOperation.graphqls" });
+			values.add(new Object[] { frontend, "com/ebay/graphql/polyglotError/PolyglotException.graphqls" });
+		}
+		return values.toArray(new Object[0][]);
+	}
+
+	@Test(dataProvider = "singleFileSchemas")
+	public void parseFromStreams(Frontend frontend, String resource) throws IOException, URISyntaxException {
+
+		GraphQLParser frontendParser = new GraphQLParser(frontend);
+		File file = getGraphQLResourceFile(resource);
+		GraphQLSchema expectedSchema = frontendParser.parseGraphQL(file);
+		String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+
+		try (Reader reader = new StringReader(text)) {
+			assertThat(frontendParser.parseGraphQL(reader), is(equalTo(expectedSchema)));
+		}
+		try (InputStream inputStream = new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))) {
+			assertThat(frontendParser.parseGraphQL(inputStream), is(equalTo(expectedSchema)));
+		}
+		assertThat(frontendParser.parseGraphQL(new StringBuilder(text)), is(equalTo(expectedSchema)));
+		assertThat(frontendParser.parseGraphQLResource(resource), is(equalTo(expectedSchema)));
+	}
+
+	@Test
+	public void parseResourceWithoutContextClassLoader() throws IOException {
+
+		Thread thread = Thread.currentThread();
+		ClassLoader contextClassLoader = thread.getContextClassLoader();
+		thread.setContextClassLoader(null);
+		try {
+			GraphQLSchema schema = parser.parseGraphQLResource("com/ebay/graphql/model/test.graphqls");
+			assertThat(schema.getMutations(), hasKey("preEnroll"));
+		} finally {
+			thread.setContextClassLoader(contextClassLoader);
+		}
+	}
+
+	@Test(expectedExceptions = FileNotFoundException.class)
+	public void parseMissingResource() throws IOException {
+		parser.parseGraphQLResource("com/ebay/graphql/missing.graphqls");
+	}
+
+	@DataProvider(name = "failingReaderFrontends")
+	public Object[][] failingReaderFrontends() {
+		return new Object[][] {
+			{ Frontend.LINE },
+			{ Frontend.TOKEN },
+		};
+	}
+
+	@Test(dataProvider = "failingReaderFrontends", expectedExceptions = IOException.class)
+	public void parseFailingReader(Frontend frontend) throws IOException {
+		Reader reader = new Reader() {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				throw new IOException("Broken stream.");
+			}
+
+			@Override
+			public void close() {
+				// Nothing to close.
+			}
+		};
+		new GraphQLParser(frontend).parseGraphQL(reader);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void parseNullReader() throws IOException {
+		parser.parseGraphQL((Reader) null);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void parseNullInputStream() throws IOException {
+		parser.parseGraphQL((InputStream) null);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void parseNullCharSequence() {
+		parser.parseGraphQL((CharSequence) null);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void parseNullResource() throws IOException {
+		parser.parseGraphQLResource(null);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void parseResourceWithNullClassLoader() throws IOException {
+		parser.parseGraphQLResource("com/ebay/graphql/model/test.graphqls", null);
+	}
+
+	/**
+	 * Pack a directory into a JAR, with directory entries, a manifest and a
+	 * directory named like a schema file.
+	 */
+	private Path createArchive(Path directory) throws IOException {
+
+		Path archive = Files.createTempFile("schemas", ".jar");
+		try (JarOutputStream jarOutputStream = new JarOutputStream(Files.newOutputStream(archive), new Manifest());
+				Stream<Path> paths = Files.walk(directory)) {
+
+			jarOutputStream.putNextEntry(new ZipEntry("folder.graphql/"));
+			jarOutputStream.closeEntry();
+
+			for (Path path : paths.sorted().collect(Collectors.toList())) {
+				String name = directory.relativize(path).toString().replace(File.separatorChar, '/');
+				if (name.isEmpty()) {
+					continue;
+				} else if (Files.isDirectory(path)) {
+					jarOutputStream.putNextEntry(new ZipEntry(name + "/"));
+				} else {
+					jarOutputStream.putNextEntry(new ZipEntry(name));
+					Files.copy(path, jarOutputStream);
+				}
+				jarOutputStream.closeEntry();
+			}
+		}
+		return archive;
+	}
+
 	// -------------------------------------------
 	// Helper methods for generating GraphQLFiles.
 	// -------------------------------------------
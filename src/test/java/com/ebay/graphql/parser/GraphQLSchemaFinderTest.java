@@ -0,0 +1,164 @@
+package com.ebay.graphql.parser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class GraphQLSchemaFinderTest {
+
+	private Path root;
+
+	@BeforeMethod
+	public void createTree() throws IOException {
+
+		root = Files.createTempDirectory("schemas");
+
+		Files.createDirectories(root.resolve("models/nested"));
+		Files.createDirectories(root.resolve("generated"));
+		Files.createDirectories(root.resolve("folder.graphql"));
+
+		touch("schema.graphqls");
+		touch("notes.txt");
+		touch("models/Query.graphql");
+		touch("models/nested/Types.graphqls");
+		touch("generated/Generated.graphqls");
+		touch("folder.graphql/Inside.graphql");
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void deleteTree() throws IOException {
+		try (Stream<Path> paths = Files.walk(root)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	@DataProvider(name = "walkModes")
+	public Object[][] walkModes() {
+		return new Object[][] {
+			{ false },
+			{ true },
+		};
+	}
+
+	@Test(dataProvider = "walkModes")
+	public void findDefaultSchemaFiles(boolean parallel) throws IOException {
+
+		GraphQLSchemaFinder finder = new GraphQLSchemaFinder();
+		finder.setParallel(parallel);
+		assertThat(finder.isParallel(), is(equalTo(parallel)));
+
+		assertThat(relative(finder.find(root)), contains("folder.graphql/Inside.graphql", "generated/Generated.graphqls",
+				"models/Query.graphql", "models/nested/Types.graphqls", "schema.graphqls"));
+	}
+
+	@Test(dataProvider = "walkModes")
+	public void includeAndExcludePatterns(boolean parallel) throws IOException {
+
+		GraphQLSchemaFinder finder = new GraphQLSchemaFinder();
+		finder.setParallel(parallel);
+		finder.setIncludes("**.graphqls", "notes.txt");
+		finder.setExcludes("generated", "**/nested/**");
+
+		assertThat(relative(finder.find(root)), contains("notes.txt", "schema.graphqls"));
+	}
+
+	@Test(dataProvider = "walkModes")
+	public void symbolicLinkCycleIsSkipped(boolean parallel) throws IOException {
+
+		Files.createSymbolicLink(root.resolve("models/nested/loop"), root.resolve("models"));
+		Files.createSymbolicLink(root.resolve("linked.graphqls"), root.resolve("schema.graphqls"));
+		Files.createSymbolicLink(root.resolve("broken.graphqls"), root.resolve("missing.graphqls"));
+
+		GraphQLSchemaFinder finder = new GraphQLSchemaFinder();
+		finder.setParallel(parallel);
+
+		assertThat(relative(finder.find(root)), contains("folder.graphql/Inside.graphql", "generated/Generated.graphqls",
+				"linked.graphqls", "models/Query.graphql", "models/nested/Types.graphqls", "schema.graphqls"));
+	}
+
+	@Test(dataProvider = "walkModes")
+	public void symbolicLinksNotFollowed(boolean parallel) throws IOException {
+
+		Files.createSymbolicLink(root.resolve("linkedModels"), root.resolve("models"));
+		Files.createSymbolicLink(root.resolve("linked.graphqls"), root.resolve("schema.graphqls"));
+
+		GraphQLSchemaFinder finder = new GraphQLSchemaFinder();
+		finder.setParallel(parallel);
+		finder.setFollowLinks(false);
+		assertThat(finder.isFollowLinks(), is(false));
+
+		assertThat(relative(finder.find(root)), not(hasItem(startsWith("linked"))));
+
+		finder.setFollowLinks(true);
+		assertThat(relative(finder.find(root)), hasItems("linked.graphqls", "linkedModels/Query.graphql"));
+	}
+
+	@Test(dataProvider = "walkModes", expectedExceptions = NoSuchFileException.class)
+	public void missingDirectory(boolean parallel) throws IOException {
+		GraphQLSchemaFinder finder = new GraphQLSchemaFinder();
+		finder.setParallel(parallel);
+		finder.find(root.resolve("missing"));
+	}
+
+	@Test(dataProvider = "walkModes")
+	public void fileInsteadOfDirectory(boolean parallel) throws IOException {
+		GraphQLSchemaFinder finder = new GraphQLSchemaFinder();
+		finder.setParallel(parallel);
+		assertThat(finder.find(root.resolve("schema.graphqls")), is(empty()));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void resultIsUnmodifiable() throws IOException {
+		new GraphQLSchemaFinder().find(root).add(root);
+	}
+
+	@Test
+	public void parserUsesFinder() throws IOException, URISyntaxException {
+
+		GraphQLParser parser = new GraphQLParser();
+		File resources = new File(getClass().getClassLoader().getResource("com/ebay/graphql").toURI());
+
+		List<File> files = parser.getGraphQLSchemaFiles(resources);
+		assertThat(files, hasItem(new File(resources, "models/Query.graphqls")));
+		assertThat(files, is(equalTo(files.stream().sorted().collect(Collectors.toList()))));
+
+		GraphQLSchemaFinder finder = new GraphQLSchemaFinder();
+		finder.setExcludes("models");
+		parser.setSchemaFinder(finder);
+		assertThat(parser.getSchemaFinder(), is(sameInstance(finder)));
+		assertThat(parser.getGraphQLSchemaFiles(resources), not(hasItem(new File(resources, "models/Query.graphqls"))));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void parserRequiresFinder() {
+		new GraphQLParser().setSchemaFinder(null);
+	}
+
+	private List<String> relative(SortedSet<Path> paths) {
+		return paths.stream().map(path -> root.relativize(path).toString().replace(File.separatorChar, '/'))
+				.collect(Collectors.toList());
+	}
+
+	private void touch(String path) throws IOException {
+		Files.createFile(root.resolve(Paths.get(path)));
+	}
+}
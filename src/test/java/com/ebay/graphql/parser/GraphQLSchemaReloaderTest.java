@@ -0,0 +1,185 @@
+package com.ebay.graphql.parser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.types.GraphQLObject;
+import com.ebay.graphql.types.GraphQLScalar;
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+
+public class GraphQLSchemaReloaderTest {
+
+	private static final long TIMEOUT_MILLIS = 10000;
+
+	private Path root;
+	private GraphQLSchemaReloader reloader;
+
+	@BeforeMethod
+	public void createSchema() throws IOException {
+		root = Files.createTempDirectory("reload");
+		write("Query.graphqls", "type Query {\n\tperson: Person\n}\n");
+		write("Types.graphqls", "type Person {\n\tname: String\n}\n");
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void deleteSchema() throws IOException {
+		if (reloader != null) {
+			reloader.close();
+		}
+		try (Stream<Path> paths = Files.walk(root)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	@Test
+	public void reloadChangedFile() throws IOException, InterruptedException {
+
+		GraphQLParser parser = new GraphQLParser();
+		reloader = new GraphQLSchemaReloader(parser, root.resolve("Query.graphqls").toFile(), 50);
+		assertThat(reloader.getSchema(), is(nullValue()));
+		reloader.start();
+
+		GraphQLSchema initial = reloader.getSchema();
+		assertThat(getFields(initial, "Person"), contains("name"));
+		long misses = parser.getParseCache().getMisses();
+
+		write("Types.graphqls", "type Person {\n\tname: String\n\tage: Int\n}\n");
+		await(() -> getPersonWithAge().equals(reloader.getSchema().getTypes().get("Person")));
+
+		// The published snapshot is never modified.
+		assertThat(getFields(initial, "Person"), contains("name"));
+		// Only the changed file was parsed again, at most once per reload.
+		long reparsed = parser.getParseCache().getMisses() - misses;
+		assertThat(reparsed, is(greaterThan(0L)));
+		assertThat(reparsed, is(lessThanOrEqualTo(reloader.getReloadCount())));
+	}
+
+	@Test
+	public void reloadSameSizeChangeWithSameModifiedTime() throws IOException, InterruptedException {
+
+		write("Types.graphqls", "type Person {\n\tname: String\n\tage: Int\n}\n");
+		FileTime modified = Files.getLastModifiedTime(root.resolve("Types.graphqls"));
+		GraphQLParser parser = new GraphQLParser();
+		reloader = new GraphQLSchemaReloader(parser, root.toFile(), 50);
+		reloader.start();
+		assertThat(getFields(reloader.getSchema(), "Person"), contains("name", "age"));
+
+		write("Types.graphqls", "type Person {\n\tname: String\n\tago: Int\n}\n");
+		Files.setLastModifiedTime(root.resolve("Types.graphqls"), modified);
+
+		// The cache can't tell the files apart, the watcher has to drop the entry.
+		await(() -> reloader.getReloadCount() > 0);
+		assertThat(getFields(reloader.getSchema(), "Person"), contains("name", "ago"));
+	}
+
+	@Test
+	public void reloadNewDirectoryAndDeletedFile() throws IOException, InterruptedException {
+
+		reloader = new GraphQLSchemaReloader(new GraphQLParser(), root.toFile(), 50);
+		reloader.start();
+
+		Files.createDirectory(root.resolve("models"));
+		await(() -> reloader.getReloadCount() > 0);
+		write("models/Address.graphqls", "type Address {\n\tcity: String\n}\n");
+		await(() -> reloader.getSchema().getTypes().containsKey("Address"));
+
+		Files.delete(root.resolve("Types.graphqls"));
+		await(() -> !reloader.getSchema().getTypes().containsKey("Person"));
+		assertThat(reloader.getSchema().getQuerys(), hasKey("person"));
+	}
+
+	@Test
+	public void closeStopsWatching() throws IOException, InterruptedException {
+
+		reloader = new GraphQLSchemaReloader(new GraphQLParser(), root.toFile());
+		reloader.start();
+		GraphQLSchema schema = reloader.getSchema();
+		reloader.close();
+		reloader.close();
+
+		write("Types.graphqls", "type Human {\n\tname: String\n}\n");
+		Thread.sleep(300);
+		assertThat(reloader.getSchema(), is(sameInstance(schema)));
+		assertThat(reloader.getReloadCount(), is(equalTo(0L)));
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void startTwice() throws IOException {
+		reloader = new GraphQLSchemaReloader(new GraphQLParser(), root.toFile());
+		reloader.start();
+		reloader.start();
+	}
+
+	@Test(expectedExceptions = NoSuchFileException.class)
+	public void startWithMissingDirectory() throws IOException {
+		reloader = new GraphQLSchemaReloader(new GraphQLParser(), root.resolve("missing").toFile());
+		reloader.start();
+	}
+
+	@Test
+	public void keepsExistingParseCache() {
+		GraphQLParser parser = new GraphQLParser();
+		GraphQLParseCache cache = new GraphQLParseCache(true);
+		parser.setParseCache(cache);
+		new GraphQLSchemaReloader(parser, root.toFile());
+		assertThat(parser.getParseCache(), is(sameInstance(cache)));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void parserIsRequired() {
+		new GraphQLSchemaReloader(null, root.toFile());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void schemaFileIsRequired() {
+		new GraphQLSchemaReloader(new GraphQLParser(), null);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void debounceMustNotBeNegative() {
+		new GraphQLSchemaReloader(new GraphQLParser(), root.toFile(), -1);
+	}
+
+	private GraphQLObject getPersonWithAge() {
+		GraphQLObject person = new GraphQLObject();
+		person.addField("name", new GraphQLScalar(GraphQLScalarValue.STRING));
+		person.addField("age", new GraphQLScalar(GraphQLScalarValue.INT));
+		return person;
+	}
+
+	private Iterable<String> getFields(GraphQLSchema schema, String typeName) {
+		return ((GraphQLObject) schema.getTypes().get(typeName)).getFields().keySet();
+	}
+
+	private void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new AssertionError("Timed out waiting for reload.");
+			}
+			Thread.sleep(20);
+		}
+	}
+
+	private void write(String name, String content) throws IOException {
+		Files.write(root.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+	}
+}
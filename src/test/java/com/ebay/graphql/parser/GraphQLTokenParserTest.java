@@ -0,0 +1,259 @@
+package com.ebay.graphql.parser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.text.ParseException;
+import java.util.Arrays;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.parser.GraphQLFile.LoadMode;
+import com.ebay.graphql.parser.GraphQLParser.Frontend;
+import com.ebay.graphql.parser.lexer.GraphQLLexer;
+import com.ebay.graphql.types.GraphQLEnum;
+import com.ebay.graphql.types.GraphQLInputObject;
+import com.ebay.graphql.types.GraphQLInputValue;
+import com.ebay.graphql.types.GraphQLList;
+import com.ebay.graphql.types.GraphQLObject;
+import com.ebay.graphql.types.GraphQLReference;
+import com.ebay.graphql.types.GraphQLScalar;
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+import com.ebay.graphql.types.GraphQLType;
+
+public class GraphQLTokenParserTest {
+
+	GraphQLParser parser = new GraphQLParser(Frontend.TOKEN);
+
+	@DataProvider(name = "lineLayoutResources")
+	public Object[][] lineLayoutResources() {
+		return new Object[][] {
+			{ "com/ebay/graphql/model/test.graphqls" },
+			{ "com/ebay/graphql/models/schema.graphqls" },
+			{ "com/ebay/graphql/erroreval/MultipleMutations.graphqls" },
+			{ "com/ebay/graphql/polyglotError/PolyglotException.graphqls" },
+			{ "com/ebay/graphql/nullableOperation/nonNullableOperation.graphqls" },
+		};
+	}
+
+	@Test(dataProvider = "lineLayoutResources")
+	public void sameSchemaAsLineFrontend(String resource) throws IOException, URISyntaxException {
+		File file = getGraphQLResourceFile(resource);
+		GraphQLSchema expected = new GraphQLParser(Frontend.LINE).parseGraphQL(file);
+		assertThat(parser.parseGraphQL(file), is(equalTo(expected)));
+	}
+
+	@Test(dataProvider = "lineLayoutResources")
+	public void sameSchemaWhenMemoryMapped(String resource) throws IOException, URISyntaxException {
+
+		File file = getGraphQLResourceFile(resource);
+		GraphQLSchema expected = parser.parseGraphQL(file);
+
+		for (Frontend frontend : Frontend.values()) {
+			GraphQLParser mappedParser = new GraphQLParser(frontend);
+			mappedParser.setLoadMode(LoadMode.MEMORY_MAP);
+			assertThat(mappedParser.getLoadMode(), is(equalTo(LoadMode.MEMORY_MAP)));
+			assertThat(mappedParser.parseGraphQL(file), is(equalTo(expected)));
+		}
+	}
+
+	@Test
+	public void fieldArgumentsSpanningLines() throws IOException, URISyntaxException {
+
+		GraphQLSchema schema = parser.parseGraphQL(getGraphQLResourceFile("com/ebay/graphql/cdc/cdcschema.graphql"));
+
+		GraphQLObject ssms = (GraphQLObject) schema.getTypes().get("Ssms");
+		assertThat(ssms.getFields(), not(hasKey("filters")));
+		assertThat(ssms.getFields().get(
+				"aggregations( filters: FiltersArgument aggregations_filter_themselves: Boolean = true )"),
+				is(equalTo(new GraphQLReference("SsmAggregations"))));
+	}
+
+	@DataProvider(name = "listTypes")
+	public Object[][] listTypes() {
+		return new Object[][] {
+			{ "[Int]" },
+			{ "[int]" },
+			{ "[String!]!" },
+			{ "[[Float!]!]" },
+			{ "[[[Person]!]]!" },
+			{ "[ [ id ! ] ! ] !" },
+		};
+	}
+
+	@Test(dataProvider = "listTypes")
+	public void listTypeFromTokens(String signature) throws ParseException {
+		GraphQLSchema schema = parser.parseGraphQL("type Query {\n\tvalues: " + signature + "\n}");
+		assertThat(schema.getQuerys().get("values"), is(equalTo(new GraphQLList(signature.replace(" ", "")))));
+	}
+
+	@Test
+	public void definitionsSharingLines() throws ParseException {
+
+		GraphQLSchema actualSchema = parse("type Query { person(id: ID!): Person } "
+				+ "type Person { name: String, age: Int! friends: [Person!]! } "
+				+ "enum Direction { NORTH SOUTH } union Result = Person | Direction scalar Url");
+
+		GraphQLSchema expectedSchema = new GraphQLSchema();
+		expectedSchema.addQuery("person(id: ID!)", new GraphQLReference("Person"));
+
+		GraphQLObject person = new GraphQLObject();
+		person.addField("name", new GraphQLScalar(GraphQLScalarValue.STRING));
+		GraphQLType age = new GraphQLScalar(GraphQLScalarValue.INT);
+		age.makeNonNullable();
+		person.addField("age", age);
+		person.addField("friends", new GraphQLList("[Person!]!"));
+		expectedSchema.addType("Person", person);
+
+		GraphQLEnum direction = new GraphQLEnum();
+		direction.addEnumValue("NORTH");
+		direction.addEnumValue("SOUTH");
+		expectedSchema.addType("Direction", direction);
+		expectedSchema.addUnion("Result", Arrays.asList("Person", "Direction"));
+		expectedSchema.addType("Url", new GraphQLScalar(GraphQLScalarValue.STRING));
+
+		assertThat(actualSchema, is(equalTo(expectedSchema)));
+	}
+
+	@Test
+	public void operationKeysJoinLines() {
+
+		GraphQLSchema actualSchema = parse("type Mutation {\n"
+				+ "  \"Translate text.\"\n"
+				+ "  translate(\n"
+				+ "    \"Source language.\"\n"
+				+ "    fromLanguage: Language\n"
+				+ "    toLanguage: Language = EN, text: String = \"\" @deprecated\n"
+				+ "  ): String }");
+
+		assertThat(actualSchema.getMutations(),
+				hasEntry(equalTo("translate( fromLanguage: Language toLanguage: Language = EN, text: String = \"\" @deprecated )"),
+						equalTo(new GraphQLScalar(GraphQLScalarValue.STRING))));
+	}
+
+	@Test
+	public void schemaDefinitionRenamesRootTypes() {
+
+		GraphQLSchema actualSchema = parse("schema { query: Root mutation: Change subscription: Feed }\n"
+				+ "type Root { a: Int } type Change { b: Int } type Feed { c: Int }\n"
+				+ "extend type Subscription { d: Float }");
+
+		assertThat(actualSchema.getQueryTypeName(), is(equalTo("Root")));
+		assertThat(actualSchema.getMutationTypeName(), is(equalTo("Change")));
+		assertThat(actualSchema.getSubscriptionTypeName(), is(equalTo("Feed")));
+		assertThat(actualSchema.getQuerys(), hasKey("a"));
+		assertThat(actualSchema.getMutations(), hasKey("b"));
+		assertThat(actualSchema.getSubscriptions(), hasKey("c"));
+		assertThat(actualSchema.getSubscriptions(), hasKey("d"));
+		assertThat(actualSchema.getTypes().size(), is(equalTo(0)));
+	}
+
+	@Test
+	public void unmodeledDefinitionsAreSkipped() throws ParseException {
+
+		GraphQLSchema actualSchema = parse("\"\"\"\nDescribed.\n\"\"\"\n"
+				+ "directive @auth(role: [String] = [\"ADMIN\"], config: Config = { level: 1, on: true }) "
+				+ "repeatable on | FIELD_DEFINITION | OBJECT\n"
+				+ "directive @cost on FIELD\n"
+				+ "interface Node { id: ID! }\n"
+				+ "input Filter @auth { ids: [ID] = [] nested: Filter }\n"
+				+ "extend schema @auth { query: Query }\n"
+				+ "extend type Person { nickname: String }\n"
+				+ "extend union Result = | Other\n"
+				+ "extend scalar Url @cost\n"
+				+ "type Person implements & Node & Named @auth(role: $role) { id: ID! @deprecated(reason: \"x\") }\n"
+				+ "type Empty\n"
+				+ "enum Direction @cost { \"Up.\" NORTH @deprecated SOUTH }\n"
+				+ "union Result @cost = | Person");
+
+		GraphQLSchema expectedSchema = new GraphQLSchema();
+		GraphQLObject person = new GraphQLObject();
+		GraphQLType id = new GraphQLScalar(GraphQLScalarValue.ID);
+		id.makeNonNullable();
+		person.addField("id", id);
+		expectedSchema.addType("Person", person);
+		expectedSchema.addType("Empty", new GraphQLObject());
+		GraphQLEnum direction = new GraphQLEnum();
+		direction.addEnumValue("NORTH");
+		direction.addEnumValue("SOUTH");
+		expectedSchema.addType("Direction", direction);
+		expectedSchema.addUnion("Result", Arrays.asList("Person"));
+		GraphQLInputObject filter = new GraphQLInputObject();
+		filter.addField(new GraphQLInputValue("ids", new GraphQLList("[ID]"), "[]"));
+		filter.addField(new GraphQLInputValue("nested", new GraphQLReference("Filter")));
+		expectedSchema.addType("Filter", filter);
+
+		assertThat(actualSchema, is(equalTo(expectedSchema)));
+	}
+
+	@Test
+	public void unmatchedTokensAreSkipped() {
+		GraphQLSchema actualSchema = parse("query { a } type Other { b: Boolean }");
+		assertThat(actualSchema.getTypes(), hasKey("Other"));
+	}
+
+	@DataProvider(name = "invalidSources")
+	public Object[][] invalidSources() {
+		return new Object[][] {
+			{ "type Person { name String }" },
+			{ "type Person { name: }" },
+			{ "type Person { name: [String }" },
+			{ "type Person { name(arg: Int = ): String }" },
+			{ "type Person { name(arg: Int = [1 }" },
+			{ "schema { root: Query }" },
+			{ "extend { }" },
+			{ "extend type Other { a: Int" },
+			{ "directive @auth in FIELD" },
+			{ "type Person { name: String" },
+		};
+	}
+
+	@Test(dataProvider = "invalidSources")
+	public void invalidSourceStopsParsing(String source) {
+		GraphQLSchema schema = new GraphQLSchema();
+		try {
+			new GraphQLTokenParser(new GraphQLLexer(source), schema).parseDocument();
+		} catch (ParseException e) {
+			assertThat(e.getMessage(), startsWith("Unexpected"));
+			return;
+		}
+		throw new AssertionError("Expected a ParseException for " + source);
+	}
+
+	@Test(expectedExceptions = ParseException.class, expectedExceptionsMessageRegExp = "Unterminated string.*")
+	public void lexerErrorStopsParsing() throws ParseException {
+		new GraphQLTokenParser(new GraphQLLexer("type Person { \"unterminated }"), new GraphQLSchema()).parseDocument();
+	}
+
+	@Test
+	public void invalidSourceReturnsPartialSchema() {
+		GraphQLSchema actualSchema = parse("scalar Url type Person { name String }");
+		assertThat(actualSchema.getTypes(), hasKey("Url"));
+		assertThat(actualSchema.getTypes(), not(hasKey("Person")));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void frontendIsRequired() {
+		new GraphQLParser(null);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void loadModeIsRequired() {
+		parser.setLoadMode(null);
+	}
+
+	private GraphQLSchema parse(String source) {
+		return parser.processTokens(new GraphQLLexer(source));
+	}
+
+	private File getGraphQLResourceFile(String resource) throws IOException, URISyntaxException {
+		URL url = this.getClass().getClassLoader().getResource(resource);
+		return new File(url.toURI());
+	}
+}
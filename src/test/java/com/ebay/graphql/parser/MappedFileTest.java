@@ -0,0 +1,173 @@
+package com.ebay.graphql.parser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class MappedFileTest {
+
+	@DataProvider(name = "contentValues")
+	public Object[][] contentValues() {
+		return new Object[][] {
+			{ "", true },
+			{ "one", true },
+			{ "one\ntwo\n", true },
+			{ "one\r\ntwo\r\nthree", true },
+			{ "one\rtwo\r\r\nthree\n\n", true },
+			{ "\n\r\n\r", true },
+			{ "caf\u00E9\n\u00FCber \u2603\r\nend", false },
+		};
+	}
+
+	@Test(dataProvider = "contentValues")
+	public void linesMatchReadLine(String content, boolean expectedAscii) throws IOException {
+
+		MappedFile mappedFile = MappedFile.wrap(content.getBytes(StandardCharsets.UTF_8));
+
+		assertThat(mappedFile.isAscii(), is(equalTo(expectedAscii)));
+		assertThat(mappedFile.getLines(), is(equalTo(readLines(content))));
+		assertThat(mappedFile.getText().toString(), is(equalTo(content)));
+	}
+
+	@Test
+	public void mapResourceFile() throws IOException, URISyntaxException {
+
+		File file = getGraphQLResourceFile("com/ebay/graphql/models/schema.graphqls");
+		MappedFile mappedFile = MappedFile.map(file);
+
+		assertThat(mappedFile.getLines(), is(equalTo(Files.readAllLines(file.toPath()))));
+		assertThat(mappedFile.getNumberOfLines(), is(equalTo(mappedFile.getLines().size())));
+	}
+
+	@Test
+	public void mapNonAsciiFile() throws IOException {
+
+		Path path = Files.createTempFile("mapped", ".graphqls");
+		try {
+			Files.write(path, "\"\u00C9t\u00E9\"\ntype A {\n}".getBytes(StandardCharsets.UTF_8));
+			MappedFile mappedFile = MappedFile.map(path.toFile());
+			assertThat(mappedFile.isAscii(), is(false));
+			assertThat(mappedFile.getLines(), contains("\"\u00C9t\u00E9\"", "type A {", "}"));
+			assertThat(mappedFile.getText().toString(), is(equalTo("\"\u00C9t\u00E9\"\ntype A {\n}")));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void mapMissingFile() throws IOException {
+		MappedFile.map(new File("does/not/exist.graphqls"));
+	}
+
+	@Test
+	public void decodedLinesAreCached() {
+
+		MappedFile mappedFile = MappedFile.wrap("a\nb\nc\nd\ne".getBytes(StandardCharsets.UTF_8));
+
+		String first = mappedFile.getLine(0);
+		assertThat(mappedFile.getLine(1), is(equalTo("b")));
+		assertThat(mappedFile.getLine(0), is(sameInstance(first)));
+
+		// Line 4 shares a cache slot with line 0.
+		assertThat(mappedFile.getLine(4), is(equalTo("e")));
+		assertThat(mappedFile.getLine(0), is(not(sameInstance(first))));
+		assertThat(mappedFile.getLine(0), is(equalTo("a")));
+	}
+
+	@Test
+	public void growsLineTable() {
+
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			builder.append("line").append(i).append('\n');
+		}
+
+		MappedFile mappedFile = MappedFile.wrap(builder.toString().getBytes(StandardCharsets.UTF_8));
+		assertThat(mappedFile.getNumberOfLines(), is(equalTo(1000)));
+		assertThat(mappedFile.getLine(999), is(equalTo("line999")));
+	}
+
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void lineIndexOutOfBounds() {
+		MappedFile.wrap("a".getBytes(StandardCharsets.UTF_8)).getLine(1);
+	}
+
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void negativeLineIndex() {
+		MappedFile.wrap("a".getBytes(StandardCharsets.UTF_8)).getLine(-1);
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void linesAreUnmodifiable() {
+		MappedFile.wrap("a".getBytes(StandardCharsets.UTF_8)).getLines().add("b");
+	}
+
+	@Test
+	public void asciiTextIsReadFromBytes() {
+
+		CharSequence text = MappedFile.wrap("type Person {".getBytes(StandardCharsets.UTF_8)).getText();
+		assertThat(text, is(not(instanceOf(String.class))));
+		assertThat(text.length(), is(equalTo(13)));
+		assertThat(text.charAt(5), is(equalTo('P')));
+
+		CharSequence name = text.subSequence(5, 11);
+		assertThat(name.length(), is(equalTo(6)));
+		assertThat(name.charAt(0), is(equalTo('P')));
+		assertThat(name.toString(), is(equalTo("Person")));
+		assertThat(name.subSequence(1, 3).toString(), is(equalTo("er")));
+	}
+
+	@DataProvider(name = "invalidRanges")
+	public Object[][] invalidRanges() {
+		return new Object[][] {
+			{ -1, 2 },
+			{ 0, 5 },
+			{ 3, 2 },
+		};
+	}
+
+	@Test(dataProvider = "invalidRanges", expectedExceptions = IndexOutOfBoundsException.class)
+	public void asciiTextInvalidRange(int from, int to) {
+		MappedFile.wrap("abcd".getBytes(StandardCharsets.UTF_8)).getText().subSequence(from, to);
+	}
+
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void asciiTextInvalidIndex() {
+		MappedFile.wrap("abcd".getBytes(StandardCharsets.UTF_8)).getText().subSequence(1, 3).charAt(2);
+	}
+
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void asciiTextNegativeIndex() {
+		MappedFile.wrap("abcd".getBytes(StandardCharsets.UTF_8)).getText().charAt(-1);
+	}
+
+	private List<String> readLines(String content) throws IOException {
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new StringReader(content))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
+			}
+		}
+		return lines;
+	}
+
+	private File getGraphQLResourceFile(String resource) throws IOException, URISyntaxException {
+		URL url = this.getClass().getClassLoader().getResource(resource);
+		return new File(url.toURI());
+	}
+}
@@ -0,0 +1,292 @@
+package com.ebay.graphql.parser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.Random;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.parser.GraphQLParser.Frontend;
+import com.ebay.graphql.parser.diagnostics.ParseDiagnostics.Problem;
+import com.ebay.graphql.parser.diagnostics.ParseDiagnosticsCollector;
+import com.ebay.graphql.parser.matcher.GraphQLMatcher;
+import com.ebay.graphql.types.GraphQLList;
+import com.ebay.graphql.types.GraphQLObject;
+
+/**
+ * Lines crafted to make backtracking regular expressions take quadratic (or
+ * worse) time. Each one is long enough that anything but a linear scan blows
+ * through the timeouts.
+ */
+public class PathologicalInputTest {
+
+	private static final int SIZE = 200000;
+	private static final long TIMEOUT = 5000;
+
+	private static final String[] SYMBOLS = { "\"", "@", "a", " ", "\t", "\u000B", "\f", "\n", "\r", "\r\n",
+			"\u0085", "\u2028", "\u2029" };
+
+	@DataProvider(name = "adversarialLines")
+	public Object[][] adversarialLines() {
+		return new Object[][] {
+			{ "a(" + repeat(")", SIZE) + ": Int" },
+			{ "a(" + repeat("):", SIZE) + " Int" },
+			{ "a(" + repeat("b: [Int], ", SIZE / 10) + "): [Int" },
+			{ "union U = " + repeat("A ", SIZE) + "!" },
+			{ "union U = " + repeat("A | ", SIZE / 4) + "|" },
+			{ repeat(" | A", SIZE / 4) + " !" },
+			{ repeat("\"", SIZE) + "x" },
+			{ "\"\"\"" + repeat("\"", SIZE) + "\u2028" },
+			{ "type A " + repeat("@", SIZE) + "\u2028x {" },
+			{ "type A " + repeat("@ ", SIZE) + "\n x {" },
+			{ "a: Int @deprecated" + repeat(" ", SIZE) + "\u2028x" },
+			{ repeat(" @deprecated", SIZE / 12) + "\u2028x" },
+			{ "a: " + repeat("[", SIZE) + "Int" },
+			{ "a: " + repeat("[[", SIZE / 2) + repeat("!]", SIZE / 2) },
+			{ "a: " + repeat("[", SIZE) + "Int" + repeat("]!", SIZE) + "\u2028" },
+			{ "scalar A " + repeat("@specifiedBy", SIZE / 12) },
+			{ repeat("a", SIZE) + ":" },
+			{ repeat(" ", SIZE) + "x" },
+		};
+	}
+
+	@Test(dataProvider = "adversarialLines", timeOut = TIMEOUT)
+	public void classifyInLinearTime(String line) {
+		assertThat(GraphQLMatcher.getLineType(line), is(notNullValue()));
+		assertThat(GraphQLMatcher.isNullable(line), is(notNullValue()));
+		GraphQLMatcher.isFieldDeprecated(line);
+	}
+
+	@Test(dataProvider = "adversarialLines", timeOut = TIMEOUT)
+	public void decodeInLinearTime(String line) {
+		try {
+			GraphQLFieldDecoder.decode(line);
+		} catch (ParseException e) {
+			// Most of these aren't fields, only the time matters.
+		}
+	}
+
+	@Test(dataProvider = "adversarialLines", timeOut = TIMEOUT)
+	public void stripDirectivesInLinearTime(String line) {
+		assertThat(GraphQLParser.stripTrailingDirectives(line).length(), is(lessThanOrEqualTo(line.length())));
+	}
+
+	@Test(dataProvider = "adversarialLines", timeOut = TIMEOUT)
+	public void parseLineInLinearTime(String line) {
+		for (Frontend frontend : Frontend.values()) {
+			String schema = "type Query {\n" + line + "\n}\ntype A {\n" + line + "\n}\n" + line + "\n";
+			assertThat(new GraphQLParser(frontend).parseGraphQL(schema), is(notNullValue()));
+		}
+	}
+
+	@Test(timeOut = TIMEOUT)
+	public void parseDeeplyNestedLists() {
+
+		String schema = "type A {\n a: " + repeat("[", SIZE) + "Int" + repeat("]", SIZE) + "\n}\n";
+
+		for (Frontend frontend : Frontend.values()) {
+			GraphQLObject object = (GraphQLObject) new GraphQLParser(frontend).parseGraphQL(schema).getTypes()
+					.get("A");
+			assertThat(frontend.name(), ((GraphQLList) object.getFields().get("a")).getDimensions(), is(SIZE));
+		}
+	}
+
+	@Test(timeOut = TIMEOUT)
+	public void skipDeeplyNestedDefaultValues() {
+
+		String schema = "type A {\n a(b: [Int] = " + repeat("[", SIZE) + repeat("]", SIZE) + "): Int\n}\n";
+
+		GraphQLObject object = (GraphQLObject) new GraphQLParser(Frontend.TOKEN).parseGraphQL(schema).getTypes()
+				.get("A");
+		assertThat(object.getFields().size(), is(1));
+	}
+
+	@Test(timeOut = TIMEOUT)
+	public void unterminatedDescriptionInOperations() {
+		GraphQLSchema schema = new GraphQLParser().parseGraphQL("type Query {\n\"\"\"\nNever closed.\n");
+		assertThat(schema.getQuerys().isEmpty(), is(true));
+	}
+
+	@Test(timeOut = TIMEOUT)
+	public void emptyOperationTypes() {
+
+		GraphQLSchema schema = new GraphQLParser().parseGraphQL("type Query {\n}\ntype Mutation {\n}\n"
+				+ "type Subscription {\n}\ntype A {\n\tid: ID\n}\n");
+
+		assertThat(schema.getQuerys().isEmpty(), is(true));
+		assertThat(schema.getMutations().isEmpty(), is(true));
+		assertThat(schema.getSubscriptions().isEmpty(), is(true));
+		assertThat(schema.getTypes().keySet(), contains("A"));
+	}
+
+	@Test
+	public void stripDirectivesMatchesRegex() {
+
+		Random random = new Random(20221017L);
+
+		for (int i = 0; i < 50000; i++) {
+			String line = generateLine(random);
+			assertThat(line, GraphQLParser.stripTrailingDirectives(line),
+					is(equalTo(line.replaceAll("(@.*)\\s*$", ""))));
+		}
+	}
+
+	@DataProvider(name = "frontends")
+	public Object[][] frontends() {
+		return new Object[][] { { Frontend.LINE }, { Frontend.TOKEN } };
+	}
+
+	@Test(dataProvider = "frontends")
+	public void stepBudgetKeepsDefinitionsParsedBeforeIt(Frontend frontend) {
+
+		StringBuilder schema = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			schema.append("type T").append(i).append(" {\n\tid: ID\n}\n");
+		}
+
+		GraphQLParser parser = new GraphQLParser(frontend);
+		assertThat(parser.parseGraphQL(schema).getTypes().size(), is(100));
+
+		ParseDiagnosticsCollector diagnostics = new ParseDiagnosticsCollector(1);
+		parser.setDiagnostics(diagnostics);
+		parser.setMaxParseSteps(500);
+		int parsed = parser.parseGraphQL(schema).getTypes().size();
+		assertThat(parsed, is(both(greaterThan(0)).and(lessThan(100))));
+		assertThat(diagnostics.getProblemCount(Problem.BUDGET_EXCEEDED), is(1L));
+		assertThat(diagnostics.getMessages().get(0),
+				startsWith("Parse budget of 500 steps exceeded in [GraphQL text]"));
+
+		parser.setMaxParseSteps(schema.length() * 2L);
+		assertThat(parser.parseGraphQL(schema).getTypes().size(), is(100));
+	}
+
+	@Test(dataProvider = "frontends")
+	public void stepBudgetAppliesToEachFile(Frontend frontend) throws IOException {
+
+		File directory = Files.createTempDirectory("budget").toFile();
+		try {
+			for (int i = 0; i < 3; i++) {
+				Files.write(new File(directory, "schema" + i + ".graphqls").toPath(),
+						("type T" + i + " {\n\tid: ID\n}\n").getBytes(StandardCharsets.UTF_8));
+			}
+
+			GraphQLParser parser = new GraphQLParser(frontend);
+			parser.setMaxParseSteps(100);
+			assertThat(parser.parseGraphQL(directory).getTypes().keySet(), containsInAnyOrder("T0", "T1", "T2"));
+		} finally {
+			for (File file : directory.listFiles()) {
+				file.delete();
+			}
+			directory.delete();
+		}
+	}
+
+	@Test
+	public void stepBudgetStopsReader() throws IOException {
+
+		GraphQLParser parser = new GraphQLParser();
+		parser.setMaxParseSteps(10);
+
+		GraphQLSchema schema = parser.parseGraphQL(new StringReader("type A {\n\tid: ID\n}\ntype B {\n\tid: ID\n}\n"));
+		assertThat(schema.getTypes().isEmpty(), is(true));
+	}
+
+	@Test
+	public void stepBudgetDiagnostic() {
+		ParseBudget budget = new ParseBudget("schema.graphqls", 10, 0);
+		budget.charge(10, 1);
+		try {
+			budget.charge(1, 2);
+		} catch (ParseBudget.ExceededException e) {
+			assertThat(e.getMessage(), is(equalTo("Parse budget of 10 steps exceeded in [schema.graphqls] [ln: 2].")));
+			return;
+		}
+		throw new AssertionError("Expected the budget to be exceeded.");
+	}
+
+	@Test
+	public void timeBudgetDiagnostic() throws InterruptedException {
+		ParseBudget budget = new ParseBudget("GraphQL text", 0, 1);
+		Thread.sleep(20);
+		try {
+			budget.charge(1, 7);
+		} catch (ParseBudget.ExceededException e) {
+			assertThat(e.getMessage(), is(equalTo("Parse budget of 1 ms exceeded in [GraphQL text] [ln: 7].")));
+			return;
+		}
+		throw new AssertionError("Expected the budget to be exceeded.");
+	}
+
+	@Test(dataProvider = "frontends")
+	public void timeBudgetKeepsDefinitionsParsedBeforeIt(Frontend frontend) {
+
+		StringBuilder schema = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			schema.append("type T").append(i).append(" {\n\tid: ID\n}\n");
+		}
+
+		// Warm up, so the first definitions fit in the budget.
+		GraphQLParser parser = new GraphQLParser(frontend);
+		assertThat(parser.parseGraphQL(schema).getTypes().size(), is(20000));
+
+		parser.setMaxParseMillis(1);
+		assertThat(parser.getMaxParseMillis(), is(1L));
+
+		// A pause of the JVM can take the whole millisecond before the first
+		// definition, so allow a few tries.
+		ParseDiagnosticsCollector diagnostics = null;
+		int parsed = 0;
+		for (int attempt = 0; attempt < 10 && parsed == 0; attempt++) {
+			diagnostics = new ParseDiagnosticsCollector(1);
+			parser.setDiagnostics(diagnostics);
+			parsed = parser.parseGraphQL(schema).getTypes().size();
+		}
+		assertThat(parsed, is(both(greaterThan(0)).and(lessThan(20000))));
+		assertThat(diagnostics.getProblemCount(Problem.BUDGET_EXCEEDED), is(1L));
+		assertThat(diagnostics.getMessages().get(0),
+				startsWith("Parse budget of 1 ms exceeded in [GraphQL text]"));
+	}
+
+	@Test
+	public void unlimitedByDefault() {
+		GraphQLParser parser = new GraphQLParser();
+		assertThat(parser.getMaxParseSteps(), is(0L));
+		assertThat(parser.getMaxParseMillis(), is(0L));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void negativeMaxParseSteps() {
+		new GraphQLParser().setMaxParseSteps(-1);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void negativeMaxParseMillis() {
+		new GraphQLParser().setMaxParseMillis(-1);
+	}
+
+	private String generateLine(Random random) {
+		StringBuilder builder = new StringBuilder();
+		int length = random.nextInt(10);
+		for (int i = 0; i < length; i++) {
+			builder.append(SYMBOLS[random.nextInt(SYMBOLS.length)]);
+		}
+		return builder.toString();
+	}
+
+	private static String repeat(String text, int times) {
+		StringBuilder builder = new StringBuilder(text.length() * times);
+		for (int i = 0; i < times; i++) {
+			builder.append(text);
+		}
+		return builder.toString();
+	}
+}
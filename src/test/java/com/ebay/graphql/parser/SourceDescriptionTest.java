@@ -0,0 +1,38 @@
+package com.ebay.graphql.parser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Arrays;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class SourceDescriptionTest {
+
+	@DataProvider(name = "textValues")
+	public Object[][] textValues() {
+		return new Object[][] {
+			{ "type A \"A \\u0041.\" {", 7, 11, "A A." },
+			{ "\"\"\"\n\t\tBlock\n\t\t  indented\n\t\"\"\" type A", 0, 30, "Block\n  indented" },
+			// Not a single string, as the line front-end may pass on.
+			{ "id: ID \"\"\"", 0, 10, "id: ID \"\"\"" },
+			{ " \"unterminated ", 0, 15, "\"unterminated" },
+		};
+	}
+
+	@Test(dataProvider = "textValues")
+	public void decodeText(String source, int offset, int length, String expected) {
+		SourceDescription description = SourceDescription.ofText(source, offset, length);
+		assertThat(description.getText(), is(equalTo(expected)));
+		assertThat(description.toString(), is(equalTo(expected)));
+	}
+
+	@Test
+	public void decodeLines() {
+		SourceDescription description = SourceDescription.ofLines(
+				Arrays.asList("type A {", "\t\"\"\"", "\tFirst.", "\t  Second.", "\t\"\"\"", "\tid: ID"), 1, 4);
+		assertThat(description.getText(), is(equalTo("First.\n  Second.")));
+	}
+}
@@ -0,0 +1,205 @@
+package com.ebay.graphql.parser.diagnostics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.model.GraphQLSchema;
+import com.ebay.graphql.parser.GraphQLParser;
+import com.ebay.graphql.parser.GraphQLParser.Frontend;
+import com.ebay.graphql.parser.diagnostics.ParseDiagnostics.Problem;
+import com.ebay.graphql.parser.matcher.GraphQLMatcher.LineType;
+
+public class ParseDiagnosticsCollectorTest {
+
+	private static final String SCHEMA = "# People\ntype Person {\n\tname: String\n\tage: Int\n}\n"
+			+ "interface Named {\n\tname: String\n}\n";
+
+	@Test
+	public void countLineTypes() {
+
+		ParseDiagnosticsCollector diagnostics = new ParseDiagnosticsCollector();
+		GraphQLParser parser = new GraphQLParser();
+		parser.setDiagnostics(diagnostics);
+
+		parser.parseGraphQL(SCHEMA);
+
+		assertThat(diagnostics.getLineCount(LineType.COMMENT), is(1L));
+		assertThat(diagnostics.getLineCount(LineType.OBJECT_DEFINITION), is(1L));
+		assertThat(diagnostics.getLineCount(LineType.FIELD_STRING), is(2L));
+		assertThat(diagnostics.getLineCount(LineType.FIELD_INT), is(1L));
+		assertThat(diagnostics.getLineCount(LineType.CLOSING_CURLY_BRACE), is(2L));
+		assertThat(diagnostics.getLineCount(LineType.UNMATCHED_TEXT), is(1L));
+		// Lines outside of a supported definition are reported.
+		assertThat(diagnostics.getProblemCount(Problem.UNMATCHED_LINE), is(3L));
+		assertThat(diagnostics.getMessages(), is(empty()));
+	}
+
+	@Test
+	public void keepUnmatchedLineMessages() {
+
+		ParseDiagnosticsCollector diagnostics = new ParseDiagnosticsCollector(10);
+		GraphQLParser parser = new GraphQLParser();
+		parser.setDiagnostics(diagnostics);
+
+		parser.parseGraphQL(SCHEMA);
+
+		assertThat(diagnostics.getMessages(), contains("Unmatched line of text [}] [ln: 5].",
+				"Unmatched line of text [interface Named {] [ln: 6].", "Unmatched line of text [\tname: String] [ln: 7]."));
+	}
+
+	@Test
+	public void keepUnmatchedTokenMessages() {
+
+		ParseDiagnosticsCollector diagnostics = new ParseDiagnosticsCollector(10);
+		GraphQLParser parser = new GraphQLParser(Frontend.TOKEN);
+		parser.setDiagnostics(diagnostics);
+
+		GraphQLSchema schema = parser.parseGraphQL("type A { id: ID }\nfragment B\n");
+
+		assertThat(schema.getTypes().keySet(), contains("A"));
+		assertThat(diagnostics.getProblemCount(Problem.UNMATCHED_TOKEN), is(2L));
+		assertThat(diagnostics.getMessages(),
+				contains("Unmatched token [fragment] [ln: 2].", "Unmatched token [B] [ln: 2]."));
+		assertThat(diagnostics.getLineCount(LineType.OBJECT_DEFINITION), is(0L));
+	}
+
+	@Test
+	public void reportParseErrors() {
+
+		ParseDiagnosticsCollector diagnostics = new ParseDiagnosticsCollector(10);
+
+		GraphQLParser lineParser = new GraphQLParser();
+		lineParser.setDiagnostics(diagnostics);
+		lineParser.parseGraphQL("type A {\n\tid: [[[ID]]\n}\n");
+
+		GraphQLParser tokenParser = new GraphQLParser(Frontend.TOKEN);
+		tokenParser.setDiagnostics(diagnostics);
+		tokenParser.parseGraphQL("type A { id: }");
+
+		assertThat(diagnostics.getProblemCount(Problem.PARSE_ERROR), is(2L));
+		assertThat(diagnostics.getProblemCount(), is(2L));
+		assertThat(diagnostics.getMessages(), contains(
+				"Line of text [id: [[[ID]]] is not parsable into a key value pair.", "Unexpected token [}] [ln: 1]."));
+	}
+
+	@Test
+	public void reportLazyTypeErrors() throws IOException {
+
+		File directory = Files.createTempDirectory("diagnostics").toFile();
+		File file = new File(directory, "schema.graphqls");
+		try {
+			Files.write(file.toPath(), "type Broken {\n\tid: [[[ID]]\n}\n".getBytes(StandardCharsets.UTF_8));
+
+			ParseDiagnosticsCollector diagnostics = new ParseDiagnosticsCollector(10);
+			GraphQLParser parser = new GraphQLParser();
+			parser.setLazyTypes(true);
+			parser.setDiagnostics(diagnostics);
+
+			GraphQLSchema schema = parser.parseGraphQL(file);
+			assertThat(diagnostics.getProblemCount(), is(0L));
+
+			assertThat(schema.getTypes().get("Broken"), is(nullValue()));
+			assertThat(diagnostics.getProblemCount(Problem.PARSE_ERROR), is(1L));
+			assertThat(diagnostics.getLineCount(LineType.OBJECT_DEFINITION), is(1L));
+		} finally {
+			file.delete();
+			directory.delete();
+		}
+	}
+
+	@Test
+	public void dropOldestMessages() {
+
+		ParseDiagnosticsCollector diagnostics = new ParseDiagnosticsCollector(2);
+		for (int i = 1; i <= 5; i++) {
+			diagnostics.problem(Problem.UNMATCHED_LINE, "line " + i, i, null);
+		}
+
+		assertThat(diagnostics.getMessages(),
+				contains("Unmatched line of text [line 4] [ln: 4].", "Unmatched line of text [line 5] [ln: 5]."));
+		assertThat(diagnostics.getDroppedMessages(), is(3L));
+		assertThat(diagnostics.getProblemCount(Problem.UNMATCHED_LINE), is(5L));
+	}
+
+	@Test
+	public void clear() {
+
+		ParseDiagnosticsCollector diagnostics = new ParseDiagnosticsCollector(1);
+		diagnostics.line(LineType.COMMENT, 1);
+		diagnostics.problem(Problem.PARSE_ERROR, "a", 1, new ParseException("a", 0));
+		diagnostics.problem(Problem.PARSE_ERROR, "b", 2, new ParseException("b", 0));
+
+		diagnostics.clear();
+
+		assertThat(diagnostics.getLineCount(LineType.COMMENT), is(0L));
+		assertThat(diagnostics.getProblemCount(), is(0L));
+		assertThat(diagnostics.getMessages(), is(empty()));
+		assertThat(diagnostics.getDroppedMessages(), is(0L));
+	}
+
+	@Test
+	public void countFromManyThreads() throws Exception {
+
+		ParseDiagnosticsCollector diagnostics = new ParseDiagnosticsCollector(100);
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executorService.submit(() -> {
+					for (int j = 0; j < 10000; j++) {
+						diagnostics.line(LineType.FIELD_INT, j);
+						diagnostics.problem(Problem.UNMATCHED_LINE, "x", j, null);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdown();
+		}
+
+		assertThat(diagnostics.getLineCount(LineType.FIELD_INT), is(40000L));
+		assertThat(diagnostics.getProblemCount(Problem.UNMATCHED_LINE), is(40000L));
+		assertThat(diagnostics.getMessages().size(), is(100));
+		assertThat(diagnostics.getDroppedMessages(), is(39900L));
+	}
+
+	@Test
+	public void quietByDefault() {
+		GraphQLParser parser = new GraphQLParser();
+		assertThat(parser.getDiagnostics(), is(sameInstance(ParseDiagnostics.NONE)));
+		ParseDiagnostics.NONE.line(LineType.COMMENT, 1);
+		ParseDiagnostics.NONE.problem(Problem.PARSE_ERROR, "a", 1, null);
+	}
+
+	@Test
+	public void formatProblems() {
+		assertThat(Problem.BUDGET_EXCEEDED.format("Over budget.", 3), is(equalTo("Over budget.")));
+		assertThat(Problem.RELOAD_FAILED.format("java.lang.IllegalStateException", -1),
+				is(equalTo("Reload failed: java.lang.IllegalStateException")));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void negativeMaxMessages() {
+		new ParseDiagnosticsCollector(-1);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void nullDiagnostics() {
+		new GraphQLParser().setDiagnostics(null);
+	}
+}
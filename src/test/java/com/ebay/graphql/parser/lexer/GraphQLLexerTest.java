@@ -0,0 +1,163 @@
+package com.ebay.graphql.parser.lexer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.parser.lexer.GraphQLToken.Kind;
+
+public class GraphQLLexerTest {
+
+	@DataProvider(name = "singleTokenValues")
+	public Object[][] singleTokenValues() {
+		return new Object[][] {
+			{ "name", Kind.NAME, "name" },
+			{ "_Name_1", Kind.NAME, "_Name_1" },
+			{ "{", Kind.PUNCTUATOR, "{" },
+			{ "...", Kind.PUNCTUATOR, "..." },
+			{ "0", Kind.INT, "0" },
+			{ "-12", Kind.INT, "-12" },
+			{ "1.5", Kind.FLOAT, "1.5" },
+			{ "-1.5e10", Kind.FLOAT, "-1.5e10" },
+			{ "2E-3", Kind.FLOAT, "2E-3" },
+			{ "\"text\"", Kind.STRING, "\"text\"" },
+			{ "\"\"", Kind.STRING, "\"\"" },
+			{ "\"\"\"block\"\"\"", Kind.BLOCK_STRING, "\"\"\"block\"\"\"" },
+			{ "\uFEFF  name", Kind.NAME, "name" },
+			{ "# comment\nname", Kind.NAME, "name" },
+			{ "", Kind.EOF, "" },
+			{ "  # only a comment", Kind.EOF, "" },
+		};
+	}
+
+	@Test(dataProvider = "singleTokenValues")
+	public void singleToken(String source, Kind expectedKind, String expectedText) throws ParseException {
+		GraphQLLexer lexer = new GraphQLLexer(source);
+		GraphQLToken token = lexer.next();
+		assertThat(token.getKind(), is(equalTo(expectedKind)));
+		assertThat(token.getText(), is(equalTo(expectedText)));
+		assertThat(lexer.next().getKind(), is(equalTo(Kind.EOF)));
+	}
+
+	@Test
+	public void tokenizeDefinition() throws ParseException {
+
+		List<String> texts = new ArrayList<>();
+		GraphQLLexer lexer = new GraphQLLexer("type Person { name(first: Int = 10, after: [ID!]): String! @deprecated }");
+		for (GraphQLToken token = lexer.next(); token.getKind() != Kind.EOF; token = lexer.next()) {
+			texts.add(token.getText());
+		}
+
+		assertThat(texts, contains("type", "Person", "{", "name", "(", "first", ":", "Int", "=", "10", ",", "after", ":",
+				"[", "ID", "!", "]", ")", ":", "String", "!", "@", "deprecated", "}"));
+	}
+
+	@Test
+	public void peekDoesNotConsume() throws ParseException {
+		GraphQLLexer lexer = new GraphQLLexer("a b");
+		assertThat(lexer.peek().getText(), is(equalTo("a")));
+		assertThat(lexer.peek().getText(), is(equalTo("a")));
+		assertThat(lexer.next().getText(), is(equalTo("a")));
+		assertThat(lexer.next().getText(), is(equalTo("b")));
+		assertThat(lexer.getSource().toString(), is(equalTo("a b")));
+	}
+
+	@Test
+	public void tokensTrackLinesAndOffsets() throws ParseException {
+
+		GraphQLLexer lexer = new GraphQLLexer("a\nb\r\nc\rd # e\n\"\"\"\nblock\r\n\"\"\" f");
+
+		int[] expectedLines = { 1, 2, 3, 4, 5, 7 };
+		for (int expectedLine : expectedLines) {
+			assertThat(lexer.next().getLine(), is(equalTo(expectedLine)));
+		}
+
+		GraphQLToken eof = lexer.next();
+		assertThat(eof.getKind(), is(equalTo(Kind.EOF)));
+		assertThat(eof.getLine(), is(equalTo(7)));
+
+		GraphQLToken token = new GraphQLLexer("  name").next();
+		assertThat(token.getStart(), is(equalTo(2)));
+		assertThat(token.getEnd(), is(equalTo(6)));
+	}
+
+	@DataProvider(name = "stringValues")
+	public Object[][] stringValues() {
+		return new Object[][] {
+			{ "\"plain\"", "plain" },
+			{ "\"a\\\"b\\\\c\\/d\"", "a\"b\\c/d" },
+			{ "\"\\b\\f\\n\\r\\t\"", "\b\f\n\r\t" },
+			{ "\"\\u0041\\u00e9\"", "A\u00e9" },
+			{ "\"short \\u41\"", "short u41" },
+			{ "\"\"\"single line\"\"\"", "single line" },
+			{ "\"\"\"\n    First line\n      indented\n    Last line\n  \"\"\"", "First line\n  indented\nLast line" },
+			{ "\"\"\"\r\n\tA\r\n\r\n\tB\r\n\"\"\"", "A\n\nB" },
+			{ "\"\"\"Keep \\\"\"\" quotes\"\"\"", "Keep \"\"\" quotes" },
+			{ "\"\"\"\n  short\n\"\"\"", "short" },
+			{ "\"\"\"   \"\"\"", "" },
+		};
+	}
+
+	@Test(dataProvider = "stringValues")
+	public void stringValue(String source, String expected) throws ParseException {
+		GraphQLToken token = new GraphQLLexer(source).next();
+		assertThat(token.isString(), is(true));
+		assertThat(token.getStringValue(), is(equalTo(expected)));
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void stringValueOfName() throws ParseException {
+		new GraphQLLexer("name").next().getStringValue();
+	}
+
+	@Test
+	public void tokenComparisons() throws ParseException {
+
+		GraphQLToken name = new GraphQLLexer("type").next();
+		assertThat(name.isName("type"), is(true));
+		assertThat(name.isName("typo"), is(false));
+		assertThat(name.isName("types"), is(false));
+		assertThat(name.isPunctuator('t'), is(false));
+		assertThat(name.isString(), is(false));
+
+		GraphQLToken spread = new GraphQLLexer("...").next();
+		assertThat(spread.isPunctuator('.'), is(false));
+		assertThat(spread.isName("..."), is(false));
+	}
+
+	@DataProvider(name = "invalidSources")
+	public Object[][] invalidSources() {
+		return new Object[][] {
+			{ "?", 0 },
+			{ "a .", 2 },
+			{ "..", 0 },
+			{ "-a", 0 },
+			{ "\"unterminated", 0 },
+			{ "\"escaped end\\\"", 0 },
+			{ "x \"line\nbreak\"", 2 },
+			{ "\"\"\"unterminated \\\"\"\" block", 0 },
+		};
+	}
+
+	@Test(dataProvider = "invalidSources")
+	public void invalidSource(String source, int expectedOffset) {
+		GraphQLLexer lexer = new GraphQLLexer(source);
+		try {
+			while (lexer.next().getKind() != Kind.EOF) {
+				// Consume until the error.
+			}
+		} catch (ParseException e) {
+			assertThat(e.getErrorOffset(), is(equalTo(expectedOffset)));
+			return;
+		}
+		throw new AssertionError("Expected a ParseException for " + source);
+	}
+}
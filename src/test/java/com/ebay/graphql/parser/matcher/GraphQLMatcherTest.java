@@ -4,6 +4,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 
+import java.util.Random;
+import java.util.regex.Pattern;
+
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -12,6 +15,9 @@ import com.ebay.graphql.parser.matcher.GraphQLMatcher.Nullable;
 
 public class GraphQLMatcherTest {
 
+	private static final String[] NULLABLE_SYMBOLS = { "foo: ", "Int", "[", "[[", "]", "]]", "!", "!]", "]!", " ",
+			"\t", "\n", "\r", "\u000B", "\u0085", "\u2028", "@deprecated", "@", "deprecated", "a" };
+
 	@DataProvider(name = "lineTypeMatchingData")
 	public Object[][] lineTypeMatchingData() {
 		return new Object[][] {
@@ -342,6 +348,15 @@ public class GraphQLMatcherTest {
 			{ "enum Direction 	{", LineType.ENUM_DEFINITION },
 			{ "enum 	Direction {", LineType.ENUM_DEFINITION },
 			
+			// INPUT
+			{ "input PersonInput {", LineType.INPUT_DEFINITION },
+			{ " input PersonInput {", LineType.INPUT_DEFINITION },
+			{ "input PersonInput{", LineType.INPUT_DEFINITION },
+			{ "input 	PersonInput {		", LineType.INPUT_DEFINITION },
+			{ "input PersonInput @oneOf {", LineType.INPUT_DEFINITION },
+			{ "input: PersonInput", LineType.FIELD_REFERENCE },
+			{ "input PersonInput", LineType.UNMATCHED_TEXT },
+			
 			// LIST
 			{ "list: [Int]", LineType.FIELD_LIST },
 			{ " list: [Int]", LineType.FIELD_LIST },
@@ -514,4 +529,35 @@ public class GraphQLMatcherTest {
 		Nullable result = GraphQLMatcher.isNullable(line);
 		assertThat(result, is(equalTo(expectedResult)));
 	}
+
+	@Test
+	public void generatedLinesMatchNullablePatterns() {
+
+		Random random = new Random(20221017L);
+
+		for (int i = 0; i < 50000; i++) {
+			String line = generateLine(random);
+			assertThat(line, GraphQLMatcher.isNullable(line), is(equalTo(getNullableFromPatterns(line))));
+			assertThat(line, GraphQLMatcher.isFieldDeprecated(line),
+					is(equalTo(Pattern.matches("^.*\\s@deprecated\\s*.*$", line))));
+		}
+	}
+
+	private Nullable getNullableFromPatterns(String line) {
+		for (Nullable element : Nullable.values()) {
+			if (Pattern.matches(element.getPattern(), line)) {
+				return element;
+			}
+		}
+		return Nullable.NULLABLE;
+	}
+
+	private String generateLine(Random random) {
+		StringBuilder builder = new StringBuilder();
+		int length = random.nextInt(8);
+		for (int i = 0; i < length; i++) {
+			builder.append(NULLABLE_SYMBOLS[random.nextInt(NULLABLE_SYMBOLS.length)]);
+		}
+		return builder.toString();
+	}
 }
@@ -0,0 +1,120 @@
+package com.ebay.graphql.parser.matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.parser.matcher.GraphQLMatcher.LineType;
+
+/**
+ * Confirms the single pass classifier agrees with the LineType regex table.
+ */
+public class LineClassifierTest {
+
+	private static final String[] WORDS = { "type", "Query", "Mutation", "Subscription", "extend", "schema", "query",
+			"mutation", "subscription", "scalar", "union", "enum", "input", "implements", "Int", "Float", "String", "Boolean",
+			"ID", "foo", "_a1", "Url", "deprecated", "specifiedBy" };
+
+	private static final String[] SYMBOLS = { " ", " ", "  ", "\t", ":", "(", ")", "[", "]", "[[", "]]", "!", "@",
+			"{", "}", "|", "=", "\"", "\"\"\"", "#", ",", "1", "\n", "\r", "\u000B", "\f", "\u0085", "\u2028" };
+
+	@DataProvider(name = "corpusLines")
+	public Object[][] corpusLines() throws IOException, URISyntaxException {
+
+		List<String> lines = new ArrayList<>();
+
+		URL root = LineClassifierTest.class.getClassLoader().getResource("com/ebay/graphql");
+		try (Stream<Path> paths = Files.walk(Paths.get(root.toURI()))) {
+			for (Path path : paths.filter(p -> p.toString().endsWith(".graphql") || p.toString().endsWith(".graphqls"))
+					.collect(Collectors.toList())) {
+				lines.addAll(Files.readAllLines(path));
+			}
+		}
+
+		for (Object[] row : new GraphQLMatcherTest().lineTypeMatchingData()) {
+			lines.add((String) row[0]);
+		}
+
+		return lines.stream().distinct().map(line -> new Object[] { line }).toArray(Object[][]::new);
+	}
+
+	@Test(dataProvider = "corpusLines")
+	public void corpusLineMatchesRegexTable(String line) {
+		assertThat(line, LineClassifier.classify(line), is(equalTo(getLineTypeFromPatterns(line))));
+	}
+
+	@Test
+	public void generatedLinesMatchRegexTable() {
+
+		Random random = new Random(20221017L);
+		int checked = 0;
+
+		for (int i = 0; i < 20000; i++) {
+			String line = generateLine(random);
+			assertThat(line, LineClassifier.classify(line), is(equalTo(getLineTypeFromPatterns(line))));
+			checked++;
+		}
+
+		assertThat(checked, is(greaterThan(0)));
+	}
+
+	@Test
+	public void blankLineIsUnmatched() {
+		assertThat(LineClassifier.classify(""), is(equalTo(LineType.UNMATCHED_TEXT)));
+		assertThat(LineClassifier.classify(" \t "), is(equalTo(LineType.UNMATCHED_TEXT)));
+	}
+
+	/**
+	 * Build a line from GraphQL keywords and punctuation. Words are never placed
+	 * next to each other so that names stay short; the union pattern backtracks
+	 * exponentially on long names.
+	 */
+	private String generateLine(Random random) {
+
+		StringBuilder builder = new StringBuilder();
+		boolean lastWasWord = false;
+		int fragments = random.nextInt(10);
+
+		for (int i = 0; i < fragments; i++) {
+			if (!lastWasWord && random.nextBoolean()) {
+				builder.append(WORDS[random.nextInt(WORDS.length)]);
+				lastWasWord = true;
+			} else {
+				builder.append(SYMBOLS[random.nextInt(SYMBOLS.length)]);
+				lastWasWord = false;
+			}
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Reference implementation: the first LineType, in declaration order, whose
+	 * pattern matches.
+	 */
+	private LineType getLineTypeFromPatterns(String line) {
+		for (LineType lineType : LineType.values()) {
+			if (Pattern.matches(lineType.getPattern(), line)) {
+				return lineType;
+			}
+		}
+		return LineType.UNMATCHED_TEXT;
+	}
+}
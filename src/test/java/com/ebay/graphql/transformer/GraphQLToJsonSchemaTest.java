@@ -8,7 +8,13 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -21,6 +27,7 @@ import org.testng.annotations.Test;
 
 import com.ebay.graphql.model.GraphQLSchema;
 import com.ebay.graphql.types.GraphQLEnum;
+import com.ebay.graphql.types.GraphQLInputObject;
 import com.ebay.graphql.types.GraphQLList;
 import com.ebay.graphql.types.GraphQLList.Dimensionality;
 import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
@@ -59,6 +66,29 @@ public class GraphQLToJsonSchemaTest {
 		assertThat(actualNode, is(equalTo(expectedNode)));
 	}
 
+	@Test
+	public void convertFrozenSchemaFromManyThreads() throws Exception {
+
+		File file = getGraphQLResourceFile("com/ebay/graphql/polyglotError/PolyglotException.graphqls");
+		GraphQLSchema frozenSchema = new GraphQLParser().parseGraphQL(file).freeze();
+		GraphQLToJsonSchema converter = new GraphQLToJsonSchema(frozenSchema);
+		JsonNode expectedNode = loadResourceFile("/com/ebay/graphql/transformer/polyglotException.json");
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<JsonNode>> futures = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				futures.add(executorService
+						.submit(() -> converter.convertQuery("DisSpecifications(input: SpecificationInput!)")));
+			}
+			for (Future<JsonNode> future : futures) {
+				assertThat(future.get(), is(equalTo(expectedNode)));
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
 	@Test
 	public void enumWithoutValues() throws Exception {
 		
@@ -596,6 +626,33 @@ public class GraphQLToJsonSchemaTest {
 		assertThat(actualNode, is(equalTo(expectedNode)));
 	}
 
+	@Test
+	public void convertThreeDimensionalList() {
+		GraphQLScalar scalar = new GraphQLScalar(GraphQLScalarValue.FLOAT);
+		scalar.makeNonNullable();
+		GraphQLList list = new GraphQLList(scalar, 3);
+		list.makeDimensionNonNullable(1);
+		JsonNode actualNode =  graphQLToJsonSchema.convertList(list);
+
+		// Construct expected
+		ObjectNode typeNode = factory.objectNode();
+		typeNode.set("type", factory.textNode("number"));
+
+		ObjectNode innermostDimension = factory.objectNode();
+		innermostDimension.set("type", factory.arrayNode().add("array").add("null"));
+		innermostDimension.set("items", typeNode);
+
+		ObjectNode innerDimension = factory.objectNode();
+		innerDimension.set("type", factory.textNode("array"));
+		innerDimension.set("items", innermostDimension);
+
+		ObjectNode expectedNode = factory.objectNode();
+		expectedNode.set("type", factory.arrayNode().add("array").add("null"));
+		expectedNode.set("items", innerDimension);
+
+		assertThat(actualNode, is(equalTo(expectedNode)));
+	}
+
 	@Test
 	public void convertMultiDimensionalListWithOutterArrayNonNullable() {
 		GraphQLScalar scalar = new GraphQLScalar(GraphQLScalarValue.INT);
@@ -820,6 +877,139 @@ public class GraphQLToJsonSchemaTest {
 		graphQLToJsonSchema.convertSubscription("FOO");
 	}
 
+	@Test
+	public void convertQueryVariables() throws Exception {
+		
+		GraphQLSchema schema = new GraphQLParser().parseGraphQL(getGraphQLResourceFile("com/ebay/graphql/models"));
+		graphQLToJsonSchema = new GraphQLToJsonSchema(schema);
+		
+		JsonNode actualNode = graphQLToJsonSchema.convertQueryVariables("isEnrolled(enrolledInput: EnrolledInput)");
+		JsonNode expectedNode = loadResourceFile("/com/ebay/graphql/transformer/isEnrolledVariables.json");
+		
+		assertThat(actualNode, is(equalTo(expectedNode)));
+	}
+	
+	@Test
+	public void convertMutationVariables() throws Exception {
+		
+		GraphQLSchema schema = new GraphQLParser().parseGraphQL(getGraphQLResourceFile("com/ebay/graphql/models"));
+		graphQLToJsonSchema = new GraphQLToJsonSchema(schema);
+		
+		JsonNode actualNode = graphQLToJsonSchema.convertMutationVariables("completeEnrollment(completeInput: CompleteInput)");
+		JsonNode expectedNode = loadResourceFile("/com/ebay/graphql/transformer/completeEnrollmentVariables.json");
+		
+		assertThat(actualNode, is(equalTo(expectedNode)));
+		assertThat(graphQLToJsonSchema.convertMutationVariables("preEnroll"), is(equalTo(factory.objectNode().put("type", "object").set("properties", factory.objectNode()))));
+	}
+	
+	@Test
+	public void requiredVariables() throws Exception {
+		
+		GraphQLSchema schema = new GraphQLParser(GraphQLParser.Frontend.TOKEN).parseGraphQL(
+				"type Query { people(first: Int = 10, ids: [ID!]!, name: String! = \"a\", color: Color!): [String] }\n"
+						+ "enum Color { RED }");
+		graphQLToJsonSchema = new GraphQLToJsonSchema(schema);
+		
+		JsonNode actualNode = graphQLToJsonSchema.convertQueryVariables("people(first: Int = 10, ids: [ID!]!, name: String! = \"a\", color: Color!)");
+		
+		assertThat(actualNode.get("properties").get("first"), is(equalTo(factory.objectNode().set("type", factory.arrayNode().add("integer").add("null")))));
+		assertThat(actualNode.get("properties").get("ids").get("type").asText(), is(equalTo("array")));
+		assertThat(actualNode.get("properties").get("color").get("enum").get(0).asText(), is(equalTo("RED")));
+		assertThat(actualNode.get("required"), is(equalTo(factory.arrayNode().add("ids").add("color"))));
+	}
+	
+	@Test
+	public void cachedVariablesAreCopied() throws Exception {
+		
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addQuery("person(id: ID!)", new GraphQLScalar(GraphQLScalarValue.STRING));
+		graphQLToJsonSchema = new GraphQLToJsonSchema(schema);
+		
+		ObjectNode first = (ObjectNode) graphQLToJsonSchema.convertQueryVariables("person(id: ID!)");
+		first.remove("required");
+		JsonNode second = graphQLToJsonSchema.convertQueryVariables("person(id: ID!)");
+		
+		// Callers get copies, so changes to one don't leak into the cache.
+		assertThat(second.get("required"), is(equalTo(factory.arrayNode().add("id"))));
+		assertThat(second, is(not(sameInstance(first))));
+	}
+	
+	@Test
+	public void convertDescriptions() throws Exception {
+		
+		GraphQLParser parser = new GraphQLParser(GraphQLParser.Frontend.TOKEN);
+		parser.setKeepDescriptions(true);
+		GraphQLSchema schema = parser.parseGraphQL("type Query { \"Find a person.\" person: Person }\n"
+				+ "\"\"\"\nSomeone.\n\"\"\"\ntype Person { \"Full name.\" name: String, pet: Pet, \"Favorite pet.\" favorite: Pet }\n"
+				+ "\"A pet.\" type Pet { name: String }");
+		graphQLToJsonSchema = new GraphQLToJsonSchema(schema);
+		
+		JsonNode actualNode = graphQLToJsonSchema.convertQuery("person");
+		
+		// The operation's description replaces the one of the type it returns.
+		assertThat(actualNode.get("description").asText(), is(equalTo("Find a person.")));
+		JsonNode properties = actualNode.get("properties");
+		assertThat(properties.get("name").get("description").asText(), is(equalTo("Full name.")));
+		// Fields without a description of their own get the one of their type.
+		assertThat(properties.get("pet").get("description").asText(), is(equalTo("A pet.")));
+		assertThat(properties.get("favorite").get("description").asText(), is(equalTo("Favorite pet.")));
+		assertThat(properties.get("pet").get("properties").get("name").get("description"), is(nullValue()));
+	}
+	
+	@Test
+	public void variablesAreConvertedOnce() throws Exception {
+		
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addQuery("person(id: ID!)", new GraphQLScalar(GraphQLScalarValue.STRING));
+		schema.addMutation("person(id: ID!)", new GraphQLScalar(GraphQLScalarValue.STRING));
+		schema.addSubscription("moves(id: ID!, after: Int)", new GraphQLScalar(GraphQLScalarValue.STRING));
+		AtomicInteger conversions = new AtomicInteger();
+		graphQLToJsonSchema = new GraphQLToJsonSchema(schema) {
+			@Override
+			protected ObjectNode convertVariables(String operationName, GraphQLInputObject arguments) {
+				conversions.incrementAndGet();
+				return super.convertVariables(operationName, arguments);
+			}
+		};
+		
+		JsonNode query = graphQLToJsonSchema.convertQueryVariables("person(id: ID!)");
+		assertThat(graphQLToJsonSchema.convertQueryVariables("person(id: ID!)"), is(equalTo(query)));
+		assertThat(conversions.get(), is(1));
+		
+		// Queries and mutations with the same name are cached apart.
+		assertThat(graphQLToJsonSchema.convertMutationVariables("person(id: ID!)"), is(equalTo(query)));
+		graphQLToJsonSchema.convertMutationVariables("person(id: ID!)");
+		assertThat(conversions.get(), is(2));
+		
+		JsonNode subscription = graphQLToJsonSchema.convertSubscriptionVariables("moves(id: ID!, after: Int)");
+		assertThat(graphQLToJsonSchema.convertSubscriptionVariables("moves(id: ID!, after: Int)"), is(equalTo(subscription)));
+		assertThat(subscription.get("properties").size(), is(2));
+		assertThat(subscription.get("required"), is(equalTo(factory.arrayNode().add("id"))));
+		assertThat(conversions.get(), is(3));
+	}
+	
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void unknownSubscriptionVariables() throws Exception {
+		graphQLToJsonSchema.convertSubscriptionVariables("FOO");
+	}
+	
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void unknownQueryVariables() throws Exception {
+		graphQLToJsonSchema.convertQueryVariables("FOO");
+	}
+	
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void unknownMutationVariables() throws Exception {
+		graphQLToJsonSchema.convertMutationVariables("FOO");
+	}
+	
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void unparsableVariables() throws Exception {
+		GraphQLSchema schema = new GraphQLSchema();
+		schema.addQuery("person(id: )", new GraphQLScalar(GraphQLScalarValue.STRING));
+		new GraphQLToJsonSchema(schema).convertQueryVariables("person(id: )");
+	}
+	
 	@Test
 	public void parseNonNullableResponseTypeAndGetTypeWithNonNullableSignature() throws IOException, URISyntaxException {
 
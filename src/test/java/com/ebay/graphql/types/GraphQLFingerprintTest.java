@@ -0,0 +1,277 @@
+package com.ebay.graphql.types;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+
+public class GraphQLFingerprintTest {
+
+	@DataProvider(name = "equalTypes")
+	public Object[][] equalTypes() throws ParseException {
+
+		GraphQLObject person = new GraphQLObject();
+		person.addField("name", new GraphQLScalar(GraphQLScalarValue.STRING));
+		person.addField("friends", new GraphQLList("[Person!]"));
+		GraphQLObject samePerson = new GraphQLObject();
+		samePerson.addField("friends", new GraphQLList("[Person!]"));
+		samePerson.addField("name", new GraphQLScalar("String"));
+
+		GraphQLInputObject filter = new GraphQLInputObject();
+		filter.addField(new GraphQLInputValue("first", new GraphQLScalar("Int!"), "10"));
+		filter.addField(new GraphQLInputValue("name", new GraphQLReference("Name")));
+		GraphQLInputObject sameFilter = new GraphQLInputObject();
+		sameFilter.addField(new GraphQLInputValue("name", new GraphQLReference("Name")));
+		sameFilter.addField(new GraphQLInputValue("first", new GraphQLScalar("Int!"), "10"));
+
+		GraphQLEnum color = new GraphQLEnum();
+		color.addEnumValue("RED");
+		color.addEnumValue("BLUE");
+		GraphQLEnum sameColor = new GraphQLEnum();
+		sameColor.addEnumValue("RED");
+		sameColor.addEnumValue("BLUE");
+		sameColor.addEnumValue("RED");
+
+		GraphQLScalar described = new GraphQLScalar(GraphQLScalarValue.ID);
+		described.setDescription(() -> "Ignored.");
+
+		GraphQLList list = new GraphQLList(new GraphQLReference("Person!"), 2);
+		list.makeInnerDimensionNonNullable();
+
+		return new Object[][] {
+			{ new GraphQLScalar("Float!"), new GraphQLTypeInterner().scalar(GraphQLScalarValue.FLOAT, false) },
+			{ new GraphQLReference("Person"), new GraphQLReference(" Person ") },
+			{ new GraphQLList("[[Person!]!]"), list },
+			{ person, samePerson },
+			{ filter, sameFilter },
+			{ color, sameColor },
+			{ described, new GraphQLScalar(GraphQLScalarValue.ID) },
+		};
+	}
+
+	@Test(dataProvider = "equalTypes")
+	public void equalTypesHaveEqualFingerprints(GraphQLType type, GraphQLType equalType) {
+		assertThat(type, is(equalTo(equalType)));
+		assertThat(type.getFingerprint(), is(equalTo(equalType.getFingerprint())));
+		assertThat(type.getFingerprint().hashCode(), is(equalTo(equalType.getFingerprint().hashCode())));
+	}
+
+	@DataProvider(name = "differentTypes")
+	public Object[][] differentTypes() throws ParseException {
+
+		GraphQLObject object = new GraphQLObject();
+		object.addField("id", new GraphQLScalar(GraphQLScalarValue.ID));
+		GraphQLInputObject inputObject = new GraphQLInputObject();
+		inputObject.addField(new GraphQLInputValue("id", new GraphQLScalar(GraphQLScalarValue.ID)));
+		GraphQLInputObject defaulted = new GraphQLInputObject();
+		defaulted.addField(new GraphQLInputValue("id", new GraphQLScalar(GraphQLScalarValue.ID), "1"));
+
+		GraphQLEnum redBlue = new GraphQLEnum();
+		redBlue.addEnumValue("RED");
+		redBlue.addEnumValue("BLUE");
+		GraphQLEnum blueRed = new GraphQLEnum();
+		blueRed.addEnumValue("BLUE");
+		blueRed.addEnumValue("RED");
+
+		return new Object[][] {
+			{ new GraphQLScalar("Int"), new GraphQLScalar("Int!") },
+			{ new GraphQLScalar("Int"), new GraphQLScalar("Float") },
+			{ new GraphQLScalar("String"), new GraphQLReference("STRING") },
+			{ new GraphQLReference("Person"), new GraphQLReference("Pet") },
+			{ new GraphQLList("[Int]"), new GraphQLList("[[Int]]") },
+			{ new GraphQLList("[[Int]!]"), new GraphQLList("[[Int]]!") },
+			{ new GraphQLList("[Int]"), new GraphQLList("[Int!]") },
+			{ object, inputObject },
+			{ inputObject, defaulted },
+			{ redBlue, blueRed },
+			{ new GraphQLObject(), new GraphQLInputObject() },
+		};
+	}
+
+	@Test(dataProvider = "differentTypes")
+	public void differentTypesHaveDifferentFingerprints(GraphQLType type, GraphQLType otherType) {
+		assertThat(type, is(not(equalTo(otherType))));
+		assertThat(type.getFingerprint(), is(not(equalTo(otherType.getFingerprint()))));
+	}
+
+	@DataProvider(name = "changes")
+	public Object[][] changes() throws ParseException {
+		return new Object[][] {
+			{ new GraphQLScalar(GraphQLScalarValue.INT), (Consumer<GraphQLType>) GraphQLType::makeNonNullable },
+			{ new GraphQLReference("Person"), (Consumer<GraphQLType>) GraphQLType::makeNonNullable },
+			{ new GraphQLList("[[Int]]"), (Consumer<GraphQLType>) GraphQLType::makeNonNullable },
+			{ new GraphQLList("[[Int]]"),
+					(Consumer<GraphQLType>) type -> ((GraphQLList) type).makeInnerDimensionNonNullable() },
+			{ new GraphQLList("[[Int]]"),
+					(Consumer<GraphQLType>) type -> ((GraphQLList) type).makeDimensionNonNullable(1) },
+			{ new GraphQLObject(), (Consumer<GraphQLType>) GraphQLType::makeNonNullable },
+			{ new GraphQLObject(), (Consumer<GraphQLType>) type -> ((GraphQLObject) type).addField("id",
+					new GraphQLScalar(GraphQLScalarValue.ID)) },
+			{ new GraphQLInputObject(), (Consumer<GraphQLType>) GraphQLType::makeNonNullable },
+			{ new GraphQLInputObject(), (Consumer<GraphQLType>) type -> ((GraphQLInputObject) type)
+					.addField(new GraphQLInputValue("id", new GraphQLScalar(GraphQLScalarValue.ID))) },
+			{ new GraphQLEnum(), (Consumer<GraphQLType>) GraphQLType::makeNonNullable },
+			{ new GraphQLEnum(), (Consumer<GraphQLType>) type -> ((GraphQLEnum) type).addEnumValue("RED") },
+		};
+	}
+
+	@Test(dataProvider = "changes")
+	public void fingerprintIsKeptUntilTypeChanges(GraphQLType type, Consumer<GraphQLType> change) {
+
+		GraphQLFingerprint fingerprint = type.getFingerprint();
+		assertThat(type.getFingerprint(), is(sameInstance(fingerprint)));
+
+		change.accept(type);
+
+		assertThat(type.getFingerprint(), is(not(equalTo(fingerprint))));
+	}
+
+	@Test
+	public void singleDimensionHasNoInnerList() throws ParseException {
+
+		GraphQLList list = new GraphQLList("[Int]");
+		GraphQLFingerprint fingerprint = list.getFingerprint();
+
+		list.makeInnerDimensionNonNullable();
+
+		assertThat(list.getFingerprint(), is(sameInstance(fingerprint)));
+	}
+
+	@Test
+	public void composeFieldFingerprints() {
+
+		GraphQLScalar name = new GraphQLScalar(GraphQLScalarValue.STRING);
+		GraphQLObject person = new GraphQLObject();
+		person.addField("name", name);
+
+		assertThat(person.getFingerprint(), is(equalTo(GraphQLFingerprint.builder("object").add(1).add("name")
+				.add(true).add(name.getFingerprint()).add(true).build())));
+	}
+
+	@Test
+	public void encodeWithoutAmbiguity() {
+
+		assertThat(GraphQLFingerprint.builder("a").add((String) null).build(),
+				is(not(equalTo(GraphQLFingerprint.builder("a").add("").build()))));
+		assertThat(GraphQLFingerprint.builder("a").add("bc").build(),
+				is(not(equalTo(GraphQLFingerprint.builder("ab").add("c").build()))));
+		assertThat(GraphQLFingerprint.builder("a").addAll(null).build(),
+				is(not(equalTo(GraphQLFingerprint.builder("a").addAll(Collections.emptyList()).build()))));
+		assertThat(GraphQLFingerprint.builder("a").add((GraphQLType) null).build(),
+				is(equalTo(GraphQLFingerprint.builder("a").add(false).build())));
+		assertThat(
+				GraphQLFingerprint.builder("a").addLists(Collections.singletonMap("U", Arrays.asList("A", "B"))).build(),
+				is(equalTo(GraphQLFingerprint.builder("a").add(1).add("U").addAll(Arrays.asList("A", "B")).build())));
+	}
+
+	@Test
+	public void formatAsHex() {
+
+		GraphQLFingerprint fingerprint = GraphQLFingerprint.builder("").build();
+		byte[] bytes = fingerprint.toByteArray();
+
+		// SHA-256 of the length of the empty kind, four zero bytes.
+		assertThat(fingerprint.toString(),
+				is(equalTo("df3f619804a92fdb4057192dc43dd748ea778adc52bc498ce80524c014b81119")));
+		assertThat(bytes.length, is(32));
+		bytes[0]++;
+		assertThat(fingerprint.toByteArray()[0], is(not(equalTo(bytes[0]))));
+		assertThat(fingerprint.equals(fingerprint), is(true));
+		assertThat(fingerprint.equals(null), is(false));
+		assertThat(fingerprint.equals(fingerprint.toString()), is(false));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void customTypeMustOverrideFingerprint() {
+		new CustomType(true).getFingerprint();
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void objectWithCustomTypeMustOverrideFingerprint() {
+		GraphQLObject object = new GraphQLObject();
+		object.addField("custom", new CustomType(true));
+		object.getFingerprint();
+	}
+
+	@Test
+	public void customTypeWithOwnFingerprint() {
+
+		GraphQLObject object = new GraphQLObject();
+		object.addField("custom", new FingerprintedType(true));
+		GraphQLObject sameObject = new GraphQLObject();
+		sameObject.addField("custom", new FingerprintedType(true));
+		GraphQLObject otherObject = new GraphQLObject();
+		otherObject.addField("custom", new FingerprintedType(false));
+
+		assertThat(object.getFingerprint(), is(equalTo(sameObject.getFingerprint())));
+		assertThat(object.getFingerprint(), is(not(equalTo(otherObject.getFingerprint()))));
+	}
+
+	@Test
+	public void customTypeDropsDescription() {
+
+		GraphQLType custom = new CustomType(true);
+		custom.setDescription(() -> "Dropped.");
+
+		assertThat(custom.getDescription(), is(nullValue()));
+	}
+
+	private static final class CustomType implements GraphQLType {
+
+		private final boolean nullable;
+
+		CustomType(boolean nullable) {
+			this.nullable = nullable;
+		}
+
+		@Override
+		public void makeNonNullable() {
+		}
+
+		@Override
+		public boolean isNullable() {
+			return nullable;
+		}
+
+		@Override
+		public int hashCode() {
+			return Boolean.hashCode(nullable);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof CustomType && ((CustomType) obj).nullable == nullable;
+		}
+	}
+
+	private static final class FingerprintedType implements GraphQLType {
+
+		private final boolean nullable;
+
+		FingerprintedType(boolean nullable) {
+			this.nullable = nullable;
+		}
+
+		@Override
+		public void makeNonNullable() {
+		}
+
+		@Override
+		public boolean isNullable() {
+			return nullable;
+		}
+
+		@Override
+		public GraphQLFingerprint getFingerprint() {
+			return GraphQLFingerprint.builder("custom").add(nullable).build();
+		}
+	}
+}
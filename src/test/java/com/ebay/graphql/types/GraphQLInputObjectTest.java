@@ -0,0 +1,45 @@
+package com.ebay.graphql.types;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+
+public class GraphQLInputObjectTest {
+
+	@Test
+	public void getFieldsWhenEmpty() {
+		GraphQLInputObject inputObject = new GraphQLInputObject();
+		Map<String, GraphQLInputValue> fields = inputObject.getFields();
+		assertThat(fields, is(notNullValue()));
+		assertThat(fields.size(), is(equalTo(0)));
+		assertThat(inputObject.isNullable(), is(true));
+	}
+
+	@Test
+	public void addFieldsInOrder() {
+		GraphQLInputObject inputObject = new GraphQLInputObject();
+		inputObject.addField(new GraphQLInputValue("z", new GraphQLScalar(GraphQLScalarValue.INT)));
+		inputObject.addField(new GraphQLInputValue("a", new GraphQLReference("Filter"), "{}"));
+
+		assertThat(inputObject.getFields().keySet(), contains("z", "a"));
+		assertThat(inputObject.getFields().get("a").getDefaultValue(), is(equalTo("{}")));
+	}
+
+	@Test
+	public void requiredValues() {
+		GraphQLScalar nonNullable = new GraphQLScalar(GraphQLScalarValue.INT);
+		nonNullable.makeNonNullable();
+
+		assertThat(new GraphQLInputValue("a", nonNullable).isRequired(), is(true));
+		assertThat(new GraphQLInputValue("a", nonNullable, "1").isRequired(), is(false));
+		assertThat(new GraphQLInputValue("a", new GraphQLScalar(GraphQLScalarValue.INT)).isRequired(), is(false));
+	}
+}
@@ -3,6 +3,7 @@ package com.ebay.graphql.types;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 
 import java.text.ParseException;
 
@@ -76,7 +77,10 @@ public class GraphQLListTest {
 			{ "foo: [Int]" },
 			{ "foo" },
 			{ ": [Int]" },
-			{ "[[[Int]]]" },
+			{ "[[[Int]]" },
+			{ "[[Int]]]" },
+			{ "[Int!!]" },
+			{ "[Int] x" },
 			{ "[]Int[]" },
 		};
 	}
@@ -90,4 +94,98 @@ public class GraphQLListTest {
 	public void parseInvalidNullList() throws ParseException {
 		new GraphQLList(null);
 	}
+
+	@DataProvider(name = "nestedListValues")
+	public Object[][] nestedListValues() {
+		return new Object[][] {
+			{ "[Int]", new boolean[] { true } },
+			{ "[[Int]!]", new boolean[] { true, false } },
+			{ "[[[Float!]!]!]", new boolean[] { true, false, false } },
+			{ "[[[Float]]]!", new boolean[] { false, true, true } },
+			{ "[[[[ Float ]!]]!]", new boolean[] { true, false, true, false } },
+		};
+	}
+
+	@Test(dataProvider = "nestedListValues")
+	public void parseNestedLists(String line, boolean[] expectedNullableDimensions) throws ParseException {
+
+		GraphQLList list = new GraphQLList(line);
+
+		assertThat(list.getDimensions(), is(equalTo(expectedNullableDimensions.length)));
+		assertThat(list.getDimensionality(),
+				is(equalTo(expectedNullableDimensions.length == 1 ? Dimensionality.SINGLE : Dimensionality.MULTI)));
+		for (int dimension = 0; dimension < expectedNullableDimensions.length; dimension++) {
+			assertThat(line, list.isDimensionNullable(dimension), is(equalTo(expectedNullableDimensions[dimension])));
+		}
+		assertThat(list.isNullable(), is(equalTo(expectedNullableDimensions[0])));
+		assertThat(((GraphQLScalar) list.getType()).getScalarValue(),
+				is(equalTo(line.contains("Int") ? GraphQLScalarValue.INT : GraphQLScalarValue.FLOAT)));
+	}
+
+	@Test
+	public void dimensionsMatchDimensionality() throws ParseException {
+
+		GraphQLList list = new GraphQLList(new GraphQLScalar(GraphQLScalarValue.INT), 2);
+		list.makeDimensionNonNullable(1);
+
+		assertThat(list, is(equalTo(new GraphQLList("[[Int]!]"))));
+		assertThat(list.getDimensionality(), is(equalTo(Dimensionality.MULTI)));
+		assertThat(list.isInnerDimensionNullable(), is(equalTo(false)));
+		assertThat(new GraphQLList(new GraphQLScalar(GraphQLScalarValue.INT), 1),
+				is(equalTo(new GraphQLList(new GraphQLScalar(GraphQLScalarValue.INT), Dimensionality.SINGLE))));
+	}
+
+	@DataProvider(name = "differentLists")
+	public Object[][] differentLists() throws ParseException {
+		return new Object[][] {
+			{ new GraphQLList("[Int]"), new GraphQLList("[Float]") },
+			{ new GraphQLList("[Int]"), new GraphQLList("[Int]!") },
+			{ new GraphQLList("[[Int]]"), new GraphQLList("[[Int]!]") },
+			{ new GraphQLList("[Int]"), new GraphQLList("[[Int]]") },
+			{ new GraphQLList("[Int]"), null },
+			{ new GraphQLList("[Int]"), new GraphQLScalar(GraphQLScalarValue.INT) },
+		};
+	}
+
+	@Test(dataProvider = "differentLists")
+	public void differentListsAreNotEqual(GraphQLList list, GraphQLType other) {
+		assertThat(list.equals(other), is(equalTo(false)));
+	}
+
+	@Test
+	public void equalListsHaveEqualHashCodes() throws ParseException {
+
+		GraphQLList list = new GraphQLList("[[Int!]!]");
+		GraphQLList equalList = new GraphQLList(new GraphQLScalar("Int!"), 2);
+		equalList.makeInnerDimensionNonNullable();
+
+		assertThat(list.equals(list), is(equalTo(true)));
+		assertThat(list, is(equalTo(equalList)));
+		assertThat(list.hashCode(), is(equalTo(equalList.hashCode())));
+		assertThat(list.hashCode(), is(not(equalTo(new GraphQLList("[[Int!]]").hashCode()))));
+	}
+
+	@Test
+	public void makeOutermostDimensionNonNullable() throws ParseException {
+
+		GraphQLList list = new GraphQLList("[[Int]]");
+		list.makeNonNullable();
+
+		assertThat(list.isNullable(), is(equalTo(false)));
+		assertThat(list.isDimensionNullable(0), is(equalTo(false)));
+		assertThat(list.isInnerDimensionNullable(), is(equalTo(true)));
+		assertThat(list, is(equalTo(new GraphQLList("[[Int]]!"))));
+		assertThat(list.toString(), is(equalTo("GraphQLList [type=" + list.getType()
+				+ ", dimensionality=MULTI, nullableDimensions=[false, true]]")));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void listWithoutDimensions() {
+		new GraphQLList(new GraphQLScalar(GraphQLScalarValue.INT), 0);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void missingDimension() {
+		new GraphQLList(new GraphQLScalar(GraphQLScalarValue.INT), Dimensionality.SINGLE).isDimensionNullable(1);
+	}
 }
@@ -36,4 +36,12 @@ public class GraphQLReferenceTest {
 		GraphQLReference reference = new GraphQLReference("CustomReferenceType!");
 		assertThat(reference.isNullable(), is(equalTo(false)));
 	}
+
+	@Test
+	public void makeNonNullable() {
+		GraphQLReference reference = new GraphQLReference("CustomReferenceType");
+		reference.makeNonNullable();
+		assertThat(reference.isNullable(), is(equalTo(false)));
+		assertThat(reference, is(equalTo(new GraphQLReference("CustomReferenceType!"))));
+	}
 }
@@ -73,4 +73,12 @@ public class GraphQLScalarTest {
 		GraphQLScalar scalar = new GraphQLScalar("Boolean!");
 		assertThat(scalar.isNullable(), is(equalTo(false)));
 	}
+
+	@Test
+	public void makeNonNullable() throws Exception {
+		GraphQLScalar scalar = new GraphQLScalar(GraphQLScalarValue.BOOLEAN);
+		scalar.makeNonNullable();
+		assertThat(scalar.isNullable(), is(equalTo(false)));
+		assertThat(scalar, is(equalTo(new GraphQLScalar("Boolean!"))));
+	}
 }
@@ -0,0 +1,102 @@
+package com.ebay.graphql.types;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.Test;
+
+public class GraphQLSymbolTableTest {
+
+	@Test
+	public void internInOrder() {
+
+		GraphQLSymbolTable symbols = new GraphQLSymbolTable();
+
+		assertThat(symbols.intern("Person"), is(0));
+		assertThat(symbols.intern("name"), is(1));
+		assertThat(symbols.intern(new String("Person")), is(0));
+		assertThat(symbols.getId("name"), is(1));
+		assertThat(symbols.getId("age"), is(-1));
+		assertThat(symbols.getName(1), is(equalTo("name")));
+		assertThat(symbols.size(), is(2));
+	}
+
+	@Test
+	public void growPastInitialCapacity() {
+
+		GraphQLSymbolTable symbols = new GraphQLSymbolTable();
+		for (int i = 0; i < 100; i++) {
+			assertThat(symbols.intern("T" + i), is(i));
+		}
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(symbols.getName(i), is(equalTo("T" + i)));
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void unknownId() {
+		new GraphQLSymbolTable().getName(0);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void negativeId() {
+		new GraphQLSymbolTable().getName(-1);
+	}
+
+	@Test
+	public void internNamesSharesStrings() throws Exception {
+
+		GraphQLSymbolTable symbols = new GraphQLSymbolTable();
+		String name = symbols.getName(symbols.intern("name"));
+		String person = symbols.getName(symbols.intern("Person"));
+
+		GraphQLObject object = new GraphQLObject();
+		object.addField(new String("name"), new GraphQLScalar(GraphQLScalar.GraphQLScalarValue.STRING));
+		object.addField("friends", new GraphQLList(new GraphQLReference(new String("Person")), 1));
+		GraphQLInputObject input = new GraphQLInputObject();
+		GraphQLReference inputReference = new GraphQLReference(new String("Person"));
+		input.addField(new GraphQLInputValue("person", inputReference, null));
+
+		symbols.internNames(object);
+		symbols.internNames(input);
+		symbols.internNames(null);
+
+		List<String> fieldNames = new ArrayList<>(object.getFields().keySet());
+		assertThat(fieldNames.get(fieldNames.indexOf("name")), is(sameInstance(name)));
+		GraphQLReference reference = (GraphQLReference) ((GraphQLList) object.getFields().get("friends")).getType();
+		assertThat(reference.getReferenceTypeName(), is(sameInstance(person)));
+		assertThat(inputReference.getReferenceTypeName(), is(sameInstance(person)));
+	}
+
+	@Test
+	public void internFromManyThreads() throws Exception {
+
+		GraphQLSymbolTable symbols = new GraphQLSymbolTable();
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executorService.submit(() -> {
+					for (int j = 0; j < 1000; j++) {
+						int id = symbols.intern("T" + j);
+						assertThat(symbols.getName(id), is(equalTo("T" + j)));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdown();
+		}
+
+		assertThat(symbols.size(), is(1000));
+	}
+}
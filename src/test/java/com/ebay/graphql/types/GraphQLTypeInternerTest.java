@@ -0,0 +1,167 @@
+package com.ebay.graphql.types;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ebay.graphql.types.GraphQLScalar.GraphQLScalarValue;
+
+public class GraphQLTypeInternerTest {
+
+	@Test
+	public void shareEqualTypes() throws ParseException {
+
+		GraphQLTypeInterner interner = new GraphQLTypeInterner();
+
+		GraphQLType scalar = interner.intern(new GraphQLScalar("String"));
+		assertThat(interner.intern(new GraphQLScalar(GraphQLScalarValue.STRING)), is(sameInstance(scalar)));
+		assertThat(interner.scalar(GraphQLScalarValue.STRING, true), is(sameInstance(scalar)));
+		assertThat(interner.intern(new GraphQLScalar("String!")), is(not(sameInstance(scalar))));
+
+		GraphQLType reference = interner.intern(new GraphQLReference("Person!"));
+		assertThat(interner.reference("Person", false), is(sameInstance(reference)));
+		assertThat(reference, is(equalTo(new GraphQLReference("Person!"))));
+
+		GraphQLList list = (GraphQLList) interner.intern(new GraphQLList("[[String]!]"));
+		assertThat(interner.intern(new GraphQLList("[[String]!]")), is(sameInstance(list)));
+		assertThat(list, is(equalTo(new GraphQLList("[[String]!]"))));
+		assertThat(list.getType(), is(sameInstance(scalar)));
+
+		assertThat(interner.size(), is(4));
+	}
+
+	@Test
+	public void keepOtherTypes() {
+
+		GraphQLTypeInterner interner = new GraphQLTypeInterner();
+
+		GraphQLObject object = new GraphQLObject();
+		assertThat(interner.intern(object), is(sameInstance(object)));
+
+		GraphQLScalar described = new GraphQLScalar(GraphQLScalarValue.INT);
+		described.setDescription(() -> "Age.");
+		assertThat(interner.intern(described), is(sameInstance(described)));
+
+		assertThat(interner.intern(null), is(nullValue()));
+		assertThat(interner.size(), is(0));
+	}
+
+	@Test
+	public void leaveInternedTypeUnchanged() {
+
+		GraphQLTypeInterner interner = new GraphQLTypeInterner();
+		GraphQLScalar scalar = new GraphQLScalar(GraphQLScalarValue.INT);
+
+		GraphQLType canonical = interner.intern(scalar);
+		assertThat(canonical, is(not(sameInstance(scalar))));
+
+		scalar.makeNonNullable();
+		assertThat(canonical.isNullable(), is(true));
+	}
+
+	@Test
+	public void nonNullVariants() throws ParseException {
+
+		GraphQLTypeInterner interner = new GraphQLTypeInterner();
+
+		GraphQLType scalar = interner.scalar(GraphQLScalarValue.ID, true);
+		GraphQLType nonNullScalar = interner.nonNullable(scalar);
+		assertThat(nonNullScalar.isNullable(), is(false));
+		assertThat(scalar.isNullable(), is(true));
+		assertThat(interner.nonNullable(scalar), is(sameInstance(nonNullScalar)));
+		assertThat(interner.scalar(GraphQLScalarValue.ID, false), is(sameInstance(nonNullScalar)));
+
+		GraphQLType list = interner.nonNullable(new GraphQLList("[[Person!]]"));
+		assertThat(list, is(sameInstance(interner.intern(new GraphQLList("[[Person!]]!")))));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void nonNullObject() {
+		new GraphQLTypeInterner().nonNullable(new GraphQLObject());
+	}
+
+	@DataProvider(name = "changes")
+	public Object[][] changes() throws ParseException {
+
+		GraphQLTypeInterner interner = new GraphQLTypeInterner();
+		GraphQLType scalar = interner.scalar(GraphQLScalarValue.STRING, true);
+		GraphQLType reference = interner.reference("Person", true);
+		GraphQLList list = (GraphQLList) interner.intern(new GraphQLList("[[Int]]"));
+
+		return new Object[][] {
+			{ (Runnable) scalar::makeNonNullable },
+			{ (Runnable) () -> scalar.setDescription(null) },
+			{ (Runnable) reference::makeNonNullable },
+			{ (Runnable) () -> reference.setDescription(null) },
+			{ (Runnable) list::makeNonNullable },
+			{ (Runnable) list::makeInnerDimensionNonNullable },
+			{ (Runnable) () -> list.makeDimensionNonNullable(1) },
+			{ (Runnable) () -> list.setDescription(null) },
+			{ (Runnable) list.getType()::makeNonNullable },
+		};
+	}
+
+	@Test(dataProvider = "changes", expectedExceptions = UnsupportedOperationException.class)
+	public void canonicalTypesCantBeChanged(Runnable change) {
+		change.run();
+	}
+
+	@Test
+	public void keepNameOfCanonicalReference() {
+
+		String name = new String("Person");
+		GraphQLReference reference = new GraphQLTypeInterner().reference(name, true);
+		GraphQLSymbolTable symbols = new GraphQLSymbolTable();
+		symbols.intern("Person");
+
+		symbols.internNames(reference);
+
+		assertThat(reference.getReferenceTypeName(), is(sameInstance(name)));
+		assertThat(symbols.getId("Person"), is(0));
+	}
+
+	@Test
+	public void internFromManyThreads() throws Exception {
+
+		GraphQLTypeInterner interner = new GraphQLTypeInterner();
+		List<GraphQLType> canonical = new ArrayList<>();
+		Consumer<List<GraphQLType>> internAll = types -> {
+			for (int i = 0; i < 1000; i++) {
+				types.add(interner.reference("T" + i, i % 2 == 0));
+			}
+		};
+		internAll.accept(canonical);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<List<GraphQLType>>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executorService.submit(() -> {
+					List<GraphQLType> types = new ArrayList<>();
+					internAll.accept(types);
+					return types;
+				}));
+			}
+			for (Future<List<GraphQLType>> future : futures) {
+				List<GraphQLType> types = future.get();
+				for (int i = 0; i < types.size(); i++) {
+					assertThat(types.get(i), is(sameInstance(canonical.get(i))));
+				}
+			}
+		} finally {
+			executorService.shutdown();
+		}
+
+		assertThat(interner.size(), is(1000));
+	}
+}